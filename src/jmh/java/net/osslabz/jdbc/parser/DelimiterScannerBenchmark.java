@@ -0,0 +1,93 @@
+package net.osslabz.jdbc.parser;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import net.osslabz.jdbc.JdbcUrl;
+import net.osslabz.jdbc.JdbcUrlParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * Compares the scalar delimiter scanner with the variant selected at run time (the Vector API scanner on Java 21+ with {@code --add-modules jdk.incubator.vector}) on long, property-heavy URLs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class DelimiterScannerBenchmark {
+
+    @Param({"SQLSERVER_40_PROPERTIES", "DERBY_40_PROPERTIES", "ORACLE_DESCRIPTOR_4K"})
+    public String input;
+
+    private String url;
+
+
+    @Setup
+    public void setUp() {
+
+        url = switch (input) {
+            case "SQLSERVER_40_PROPERTIES" -> "jdbc:sqlserver://db1:1433" + properties(40);
+            case "DERBY_40_PROPERTIES" -> "jdbc:derby://db1:1527/orders" + properties(40);
+            case "ORACLE_DESCRIPTOR_4K" -> oracleDescriptor(4096);
+            default -> throw new IllegalArgumentException(input);
+        };
+
+        // The variant is selected by the JVM running the benchmark, which need not match the one the tests ran against, so it is verified here against the jar
+        if (!Arrays.equals(ScalarDelimiterScanner.scan(url, 0, url.length()), DelimiterScanner.scan(url, 0, url.length()))) {
+            throw new IllegalStateException("Delimiter scanners disagree on " + input);
+        }
+    }
+
+
+    @Benchmark
+    public int[] scalar() {
+
+        return ScalarDelimiterScanner.scan(url, 0, url.length());
+    }
+
+
+    @Benchmark
+    public int[] selected() {
+
+        return DelimiterScanner.scan(url, 0, url.length());
+    }
+
+
+    @Benchmark
+    public JdbcUrl parse() {
+
+        return JdbcUrlParser.parse(url);
+    }
+
+
+    private static String properties(int count) {
+
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            builder.append(';').append("connectionProperty").append(i).append('=').append("someLongerValue").append(i);
+        }
+        return builder.toString();
+    }
+
+
+    private static String oracleDescriptor(int minimumLength) {
+
+        StringBuilder builder = new StringBuilder("jdbc:oracle:thin:@(DESCRIPTION=(FAILOVER=on)(LOAD_BALANCE=off)(ADDRESS_LIST=");
+        for (int i = 0; builder.length() < minimumLength; i++) {
+            builder.append("(ADDRESS=(PROTOCOL=TCP)(HOST=db-node-").append(i).append(".example.com)(PORT=1521))");
+        }
+        return builder.append(")(CONNECT_DATA=(SERVICE_NAME=orders.example.com)))").toString();
+    }
+}
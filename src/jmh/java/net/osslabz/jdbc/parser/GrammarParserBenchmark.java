@@ -0,0 +1,92 @@
+package net.osslabz.jdbc.parser;
+
+import java.util.concurrent.TimeUnit;
+import net.osslabz.jdbc.JdbcUrl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+
+/**
+ * Measures the grammar-driven parsers per URL format, from the short embedded forms to network URLs with long property sections.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GrammarParserBenchmark {
+
+    @Param({"DERBY_EMBEDDED", "DERBY_NETWORK_40_PROPERTIES", "HSQLDB_MIXED_PROPERTIES", "POSTGRESQL_MULTI_HOST", "MYSQL_REPLICATION_ADDRESSES", "SQLITE_URI"})
+    public String input;
+
+    private GrammarUrlParser parser;
+
+    private String url;
+
+
+    @Setup
+    public void setUp() {
+
+        switch (input) {
+            case "DERBY_EMBEDDED" -> {
+                parser = new DerbyParser();
+                url = "jdbc:derby:memory:orders;create=true";
+            }
+            case "DERBY_NETWORK_40_PROPERTIES" -> {
+                parser = new DerbyParser();
+                url = "jdbc:derby://db1:1527/orders" + properties(40);
+            }
+            case "HSQLDB_MIXED_PROPERTIES" -> {
+                parser = new HSQLDBParser();
+                url = "jdbc:hsqldb:hsql://db1:9001/orders;ifexists=true;hsqldb.tx=mvcc?user=app&password=secret";
+            }
+            case "POSTGRESQL_MULTI_HOST" -> {
+                parser = new PostgreSQLParser();
+                url = "jdbc:postgresql://db1:5432,db2:5432,db3:5432/orders?targetServerType=primary&loadBalanceHosts=true&ssl=true";
+            }
+            case "MYSQL_REPLICATION_ADDRESSES" -> {
+                parser = new MySQLParser();
+                url = "jdbc:mysql:replication://address=(host=db1)(port=3306)(type=source),(host=db2,port=3306,type=replica)/orders?useSSL=true";
+            }
+            case "SQLITE_URI" -> {
+                parser = new SQLiteParser();
+                url = "jdbc:sqlite:file:///var/data/orders.db?mode=ro&cache=shared#ignored";
+            }
+            default -> throw new IllegalArgumentException(input);
+        }
+    }
+
+
+    @Benchmark
+    public UrlGrammar.Segments scan() {
+
+        return parser.getGrammar().scan(url.substring(parser.getGrammar().product().getUrlPrefix().length()));
+    }
+
+
+    @Benchmark
+    public JdbcUrl parse() {
+
+        return parser.parse(url);
+    }
+
+
+    private static String properties(int count) {
+
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            builder.append(';').append("connectionProperty").append(i).append('=').append("someLongerValue").append(i);
+        }
+        return builder.toString();
+    }
+}
@@ -7,59 +7,65 @@ public enum DatabaseProduct {
     /**
      * MySQL database
      */
-    MYSQL("mysql"),
+    MYSQL("mysql", 3306, "mysql+srv"),
 
     /**
      * MariaDB database
      */
-    MARIADB("mariadb"),
+    MARIADB("mariadb", 3306),
 
     /**
      * PostgreSQL database
      */
-    POSTGRESQL("postgresql"),
+    POSTGRESQL("postgresql", 5432),
 
     /**
      * Oracle database
      */
-    ORACLE("oracle"),
+    ORACLE("oracle", 1521),
 
     /**
      * Microsoft SQL Server
      */
-    SQLSERVER("sqlserver"),
+    SQLSERVER("sqlserver", 1433),
 
     /**
      * H2 embedded database
      */
-    H2("h2"),
+    H2("h2", 9092),
 
     /**
      * HSQLDB (HyperSQL) database
      */
-    HSQLDB("hsqldb"),
+    HSQLDB("hsqldb", 9001),
 
     /**
      * Apache Derby database
      */
-    DERBY("derby"),
+    DERBY("derby", 1527),
 
     /**
      * SQLite database
      */
-    SQLITE("sqlite"),
+    SQLITE("sqlite", null),
 
     /**
      * Unknown or unsupported database type
      */
-    UNKNOWN("");
+    UNKNOWN("", null);
 
     private final String productIndicator;
 
+    private final Integer defaultPort;
 
-    DatabaseProduct(String productIndicator) {
+    private final String[] aliasIndicators;
+
+
+    DatabaseProduct(String productIndicator, Integer defaultPort, String... aliasIndicators) {
 
         this.productIndicator = productIndicator;
+        this.defaultPort = defaultPort;
+        this.aliasIndicators = aliasIndicators;
     }
 
 
@@ -74,6 +80,17 @@ public enum DatabaseProduct {
     }
 
 
+    /**
+     * Gets the port the driver connects to if a network URL does not specify one.
+     *
+     * @return the default port (e.g., 5432 for PostgreSQL), or null for databases without network access
+     */
+    public Integer getDefaultPort() {
+
+        return defaultPort;
+    }
+
+
     /**
      * Gets the JDBC URL prefix for this database type.
      *
@@ -107,6 +124,12 @@ public enum DatabaseProduct {
             if (type != UNKNOWN && lowerUrl.startsWith(type.getUrlPrefix().toLowerCase())) {
                 return type;
             }
+            // Alternative prefixes, e.g. jdbc:mysql+srv: for DNS SRV lookups
+            for (String alias : type.aliasIndicators) {
+                if (lowerUrl.startsWith("jdbc:" + alias + ":")) {
+                    return type;
+                }
+            }
         }
 
         return UNKNOWN;
@@ -0,0 +1,225 @@
+package net.osslabz.jdbc;
+
+import java.util.List;
+import java.util.Objects;
+
+
+/**
+ * H2 specific view of a parsed JDBC URL with the connection mode, the server cluster and the storage backend. This is an immutable value object, it is meant to be parsed once and cached.
+ *
+ * <p>H2 file system prefixes can be stacked in front of the database path, e.g. {@code split:nioMapped:~/db}; they are listed in URL order in {@link #fileSystems()} and removed from the path.
+ * The {@link JdbcUrl#databaseName() database name} of {@link #jdbcUrl()} keeps them as written in the URL.
+ *
+ * <p>Example:
+ * <pre>{@code
+ * H2Url url = JdbcUrlParser.parseH2("jdbc:h2:tcp://node1:9101,node2:9101/split:nioMapped:~/db");
+ * url.connectionMode();    // TCP
+ * url.hosts();             // [node1:9101, node2:9101]
+ * url.isCluster();         // true
+ * url.fileSystems();       // [SPLIT, NIO_MAPPED]
+ * url.isMemoryMapped();    // true
+ * url.path();              // "~/db"
+ * }</pre>
+ *
+ * @param jdbcUrl        the generic parse result
+ * @param connectionMode whether the database is opened in-process or through a server
+ * @param hosts          the servers, more than one for a cluster; empty for embedded connections
+ * @param storage        whether the database lives in memory (mem:) or in files
+ * @param fileSystems    the file system prefixes in URL order, empty for the default file system
+ * @param path           the database name or path without mode and file system prefixes
+ */
+public record H2Url(
+    JdbcUrl jdbcUrl,
+    ConnectionMode connectionMode,
+    List<Host> hosts,
+    Storage storage,
+    List<FileSystem> fileSystems,
+    String path
+) {
+
+    /**
+     * Compact constructor with validation and defensive copying.
+     */
+    public H2Url {
+
+        Objects.requireNonNull(jdbcUrl, "JDBC URL cannot be null");
+        Objects.requireNonNull(connectionMode, "Connection mode cannot be null");
+        Objects.requireNonNull(storage, "Storage cannot be null");
+        Objects.requireNonNull(path, "Path cannot be null");
+
+        hosts = hosts == null ? List.of() : List.copyOf(hosts);
+        fileSystems = fileSystems == null ? List.of() : List.copyOf(fileSystems);
+    }
+
+
+    /**
+     * Checks if the URL lists more than one server (H2 cluster mode).
+     *
+     * @return true for cluster URLs
+     */
+    public boolean isCluster() {
+
+        return hosts.size() > 1;
+    }
+
+
+    /**
+     * Checks if the data is kept in memory, either as a mem: database or on an in-memory file system.
+     *
+     * @return true if nothing is written to disk
+     */
+    public boolean isInMemory() {
+
+        if (storage == Storage.MEMORY) {
+            return true;
+        }
+        for (FileSystem fileSystem : fileSystems) {
+            if (fileSystem.isInMemory()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+
+    /**
+     * Checks if the database files are accessed through memory-mapped buffers (nioMapped:).
+     *
+     * @return true for memory-mapped storage
+     */
+    public boolean isMemoryMapped() {
+
+        return fileSystems.contains(FileSystem.NIO_MAPPED);
+    }
+
+
+    /**
+     * How the database is opened.
+     */
+    public enum ConnectionMode {
+        /**
+         * In-process (jdbc:h2:~/db, jdbc:h2:mem:db)
+         */
+        EMBEDDED,
+
+        /**
+         * Through a server (jdbc:h2:tcp://)
+         */
+        TCP,
+
+        /**
+         * Through a server with TLS (jdbc:h2:ssl://)
+         */
+        SSL
+    }
+
+
+    /**
+     * Where the database lives.
+     */
+    public enum Storage {
+        /**
+         * Private or named in-memory database (mem:)
+         */
+        MEMORY,
+
+        /**
+         * Database files, possibly on a non-default file system
+         */
+        FILE
+    }
+
+
+    /**
+     * H2 file system prefixes.
+     */
+    public enum FileSystem {
+        /**
+         * Explicit default file system (file:)
+         */
+        FILE("file:", false),
+
+        /**
+         * Files split into chunks (split: or split:n:)
+         */
+        SPLIT("split:", false),
+
+        /**
+         * FileChannel based access (nio:)
+         */
+        NIO("nio:", false),
+
+        /**
+         * Memory-mapped files (nioMapped:)
+         */
+        NIO_MAPPED("nioMapped:", false),
+
+        /**
+         * Asynchronous file channel (async:)
+         */
+        ASYNC("async:", false),
+
+        /**
+         * Read-only access to a zip archive (zip:)
+         */
+        ZIP("zip:", false),
+
+        /**
+         * Retries on interruption (retry:)
+         */
+        RETRY("retry:", false),
+
+        /**
+         * In-memory file system (memFS:)
+         */
+        MEM_FS("memFS:", true),
+
+        /**
+         * Compressed in-memory file system (memLZF:)
+         */
+        MEM_LZF("memLZF:", true),
+
+        /**
+         * Off-heap in-memory file system (nioMemFS:)
+         */
+        NIO_MEM_FS("nioMemFS:", true),
+
+        /**
+         * Compressed off-heap in-memory file system (nioMemLZF:)
+         */
+        NIO_MEM_LZF("nioMemLZF:", true);
+
+        private final String prefix;
+
+        private final boolean inMemory;
+
+
+        FileSystem(String prefix, boolean inMemory) {
+
+            this.prefix = prefix;
+            this.inMemory = inMemory;
+        }
+
+
+        /**
+         * Gets the URL prefix including the trailing colon.
+         *
+         * @return the prefix, e.g. "nioMapped:"
+         */
+        public String getPrefix() {
+
+            return prefix;
+        }
+
+
+        /**
+         * Checks if the file system keeps its files in memory.
+         *
+         * @return true for in-memory file systems
+         */
+        public boolean isInMemory() {
+
+            return inMemory;
+        }
+    }
+}
@@ -1,7 +1,8 @@
 package net.osslabz.jdbc;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import net.osslabz.jdbc.parser.DerbyParser;
 import net.osslabz.jdbc.parser.H2Parser;
 import net.osslabz.jdbc.parser.HSQLDBParser;
@@ -42,19 +43,10 @@ public class JdbcUrlParser {
 
     private static final Logger log = LoggerFactory.getLogger(JdbcUrlParser.class);
 
-    private static final List<UrlParser> PARSERS = new ArrayList<>();
+    // Parsers are created on first use of their database product, so that an application only loads the parser classes it needs
+    private static final Map<DatabaseProduct, UrlParser> PARSERS = new ConcurrentHashMap<>();
 
-    static {
-        // Register all database-specific parsers
-        PARSERS.add(new MySQLParser());
-        PARSERS.add(new PostgreSQLParser());
-        PARSERS.add(new OracleParser());
-        PARSERS.add(new SQLServerParser());
-        PARSERS.add(new H2Parser());
-        PARSERS.add(new HSQLDBParser());
-        PARSERS.add(new DerbyParser());
-        PARSERS.add(new SQLiteParser());
-    }
+    private static volatile ParseTracer tracer;
 
     /**
      * Private constructor to prevent instantiation. This is a utility class with static methods only.
@@ -76,6 +68,222 @@ public class JdbcUrlParser {
      */
     public static JdbcUrl parse(String url) {
 
+        UrlParser parser = findParser(url);
+        ParseTracer currentTracer = tracer;
+        if (currentTracer != null && currentTracer.sample()) {
+            return currentTracer.trace(url, parser);
+        }
+        return parser.parse(url);
+    }
+
+
+    /**
+     * Parses a JDBC URL from an untrusted source. The URL length is checked before parsing, the number of hosts and properties (without {@link PropertySource#DERIVED} ones) after parsing, and
+     * unexpected failures of a parser are reported as {@link JdbcUrlParseException}, so callers only have to handle the documented exceptions.
+     *
+     * @param url    the JDBC URL to parse (must not be null or blank)
+     * @param limits the limits to enforce (must not be null)
+     * @return the parsed JDBC URL object
+     *
+     * @throws JdbcUrlParseException    if the URL cannot be parsed, is invalid or exceeds a limit
+     * @throws IllegalArgumentException if the URL is null or blank or the limits are null
+     */
+    public static JdbcUrl parse(String url, ParseLimits limits) {
+
+        if (limits == null) {
+            throw new IllegalArgumentException("Parse limits cannot be null");
+        }
+        if (url != null && url.length() > limits.maxUrlLength()) {
+            // Don't include the oversized URL in the exception message
+            throw new JdbcUrlParseException(url.substring(0, Math.min(url.length(), 64)) + "...", "URL exceeds maximum length of " + limits.maxUrlLength() + " characters");
+        }
+
+        UrlParser parser = findParser(url);
+        ParseTracer currentTracer = tracer;
+        JdbcUrl jdbcUrl;
+        try {
+            jdbcUrl = currentTracer != null && currentTracer.sample() ? currentTracer.trace(url, parser) : parser.parse(url);
+        } catch (JdbcUrlParseException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            throw new JdbcUrlParseException(url, "Malformed JDBC URL: " + e.getMessage(), e);
+        }
+
+        if (jdbcUrl.hosts().size() > limits.maxHosts()) {
+            throw new JdbcUrlParseException(url, "URL exceeds maximum of " + limits.maxHosts() + " hosts");
+        }
+        if (countWrittenProperties(jdbcUrl) > limits.maxProperties()) {
+            throw new JdbcUrlParseException(url, "URL exceeds maximum of " + limits.maxProperties() + " properties");
+        }
+        return jdbcUrl;
+    }
+
+
+    /**
+     * Extracts a single property from a JDBC URL without parsing it completely. The parsers only scan the part of the URL where the property can occur (e.g. the query after '?', the path parameters after ';' or an Oracle
+     * descriptor). For URLs that {@link #parse(String)} accepts, the result is the same as {@code parse(url).getPropertyValue(key)}; the rest of the URL and the {@link ParseLimits} are not checked, so a
+     * URL that parse rejects may still yield a value.
+     *
+     * @param url the JDBC URL to inspect (must not be null or blank)
+     * @param key the property key (must not be null)
+     * @return the property value, or null if not present
+     *
+     * @throws JdbcUrlParseException    if the URL cannot be parsed or is invalid
+     * @throws IllegalArgumentException if the URL is null or blank or the key is null
+     */
+    public static String extractProperty(String url, String key) {
+
+        if (key == null) {
+            throw new IllegalArgumentException("Property key cannot be null");
+        }
+        return findParser(url).extractProperty(url, key);
+    }
+
+
+    /**
+     * Extracts the hosts from a JDBC URL without parsing its properties. For URLs that {@link #parse(String)} accepts, the result is the same as {@code parse(url).hosts()}; the properties and the
+     * {@link ParseLimits} are not checked, so a URL that parse rejects may still yield hosts.
+     *
+     * @param url the JDBC URL to inspect (must not be null or blank)
+     * @return list of hosts (empty for file-based databases)
+     *
+     * @throws JdbcUrlParseException    if the URL cannot be parsed or is invalid
+     * @throws IllegalArgumentException if the URL is null or blank
+     */
+    public static List<Host> extractHosts(String url) {
+
+        return findParser(url).extractHosts(url);
+    }
+
+
+    /**
+     * Parses a MySQL or MariaDB JDBC URL including its connection topology (replication, load balancing, host roles and per-host properties).
+     *
+     * @param url the JDBC URL to parse (must not be null or blank)
+     * @return the parsed MySQL URL
+     *
+     * @throws JdbcUrlParseException    if the URL cannot be parsed or is not a MySQL or MariaDB URL
+     * @throws IllegalArgumentException if the URL is null or blank
+     */
+    public static MySQLUrl parseMySQL(String url) {
+
+        if (findParser(url) instanceof MySQLParser parser) {
+            return parser.parseMySQLUrl(url);
+        }
+        throw new JdbcUrlParseException(url, "Not a MySQL or MariaDB JDBC URL");
+    }
+
+
+    /**
+     * Parses a PostgreSQL JDBC URL including the settings pgjdbc uses to select a host (effective host list, targetServerType, loadBalanceHosts and hostRecheckSeconds).
+     *
+     * @param url the JDBC URL to parse (must not be null or blank)
+     * @return the parsed PostgreSQL URL
+     *
+     * @throws JdbcUrlParseException    if the URL cannot be parsed or is not a PostgreSQL URL
+     * @throws IllegalArgumentException if the URL is null or blank
+     */
+    public static PostgreSQLUrl parsePostgreSQL(String url) {
+
+        if (findParser(url) instanceof PostgreSQLParser parser) {
+            return parser.parsePostgreSQLUrl(url);
+        }
+        throw new JdbcUrlParseException(url, "Not a PostgreSQL JDBC URL");
+    }
+
+
+    /**
+     * Parses an H2 JDBC URL including connection mode, cluster servers and storage backend.
+     *
+     * @param url the JDBC URL to parse (must not be null or blank)
+     * @return the parsed H2 URL
+     *
+     * @throws JdbcUrlParseException    if the URL cannot be parsed or is not an H2 URL
+     * @throws IllegalArgumentException if the URL is null or blank
+     */
+    public static H2Url parseH2(String url) {
+
+        if (findParser(url) instanceof H2Parser parser) {
+            return parser.parseH2Url(url);
+        }
+        throw new JdbcUrlParseException(url, "Not an H2 JDBC URL");
+    }
+
+
+    /**
+     * Parses an Oracle JDBC URL including its address lists, network protocol and service name or SID.
+     *
+     * @param url the JDBC URL to parse (must not be null or blank)
+     * @return the parsed Oracle URL
+     *
+     * @throws JdbcUrlParseException    if the URL cannot be parsed or is not an Oracle URL
+     * @throws IllegalArgumentException if the URL is null or blank
+     */
+    public static OracleUrl parseOracle(String url) {
+
+        if (findParser(url) instanceof OracleParser parser) {
+            return parser.parseOracleUrl(url);
+        }
+        throw new JdbcUrlParseException(url, "Not an Oracle JDBC URL");
+    }
+
+
+    /**
+     * Parses a SQLite JDBC URL including the open flags derived from the filename (memory or file, shared cache, read-only, VFS).
+     *
+     * @param url the JDBC URL to parse (must not be null or blank)
+     * @return the parsed SQLite URL
+     *
+     * @throws JdbcUrlParseException    if the URL cannot be parsed or is not a SQLite URL
+     * @throws IllegalArgumentException if the URL is null or blank
+     */
+    public static SQLiteUrl parseSQLite(String url) {
+
+        if (findParser(url) instanceof SQLiteParser parser) {
+            return parser.parseSQLiteUrl(url);
+        }
+        throw new JdbcUrlParseException(url, "Not a SQLite JDBC URL");
+    }
+
+
+    /**
+     * Parses a SQL Server JDBC URL including its connection targets (server resolved from host, serverName, portNumber and instanceName, failover partner and multiSubnetFailover).
+     *
+     * @param url the JDBC URL to parse (must not be null or blank)
+     * @return the parsed SQL Server URL
+     *
+     * @throws JdbcUrlParseException    if the URL cannot be parsed or is not a SQL Server URL
+     * @throws IllegalArgumentException if the URL is null or blank
+     */
+    public static SQLServerUrl parseSQLServer(String url) {
+
+        if (findParser(url) instanceof SQLServerParser parser) {
+            return parser.parseSQLServerUrl(url);
+        }
+        throw new JdbcUrlParseException(url, "Not a SQL Server JDBC URL");
+    }
+
+
+    /**
+     * Counts the properties written in the URL; derived properties like MODE are not under the control of the URL author.
+     */
+    private static int countWrittenProperties(JdbcUrl jdbcUrl) {
+
+        int count = 0;
+        for (JdbcProperty property : jdbcUrl.properties().values()) {
+            if (property.source() != PropertySource.DERIVED) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+
+    /**
+     * Finds the parser responsible for a JDBC URL.
+     */
+    private static UrlParser findParser(String url) {
+
         if (url == null || url.isBlank()) {
             throw new IllegalArgumentException("JDBC URL cannot be null or blank");
         }
@@ -91,16 +299,61 @@ public class JdbcUrlParser {
 
         log.debug("Detected database type: {}", databaseProduct);
 
-        // Find appropriate parser for the database type
-        for (UrlParser parser : PARSERS) {
-            if (parser.supports(databaseProduct)) {
-                log.debug("Using parser: {}", parser.getClass().getSimpleName());
-                return parser.parse(url);
+        // No computeIfAbsent with a method reference, bootstrapping the lambda would be the most expensive part of the first parse
+        UrlParser parser = PARSERS.get(databaseProduct);
+        if (parser == null) {
+            parser = createParser(databaseProduct);
+            if (parser == null) {
+                // This should not happen if all database products have a parser
+                throw new JdbcUrlParseException(url, "No parser available for database type: " + databaseProduct);
             }
+            UrlParser existing = PARSERS.putIfAbsent(databaseProduct, parser);
+            parser = existing != null ? existing : parser;
         }
 
-        // This should not happen if parsers are registered correctly
-        throw new JdbcUrlParseException(url, "No parser available for database type: " + databaseProduct);
+        log.debug("Using parser: {}", parser.getClass().getSimpleName());
+        return parser;
+    }
+
+
+    /**
+     * Creates the parser for a database product. Called once per product, so a parser class is only loaded when its product is first parsed.
+     */
+    private static UrlParser createParser(DatabaseProduct databaseProduct) {
+
+        return switch (databaseProduct) {
+            case MYSQL, MARIADB -> new MySQLParser();
+            case POSTGRESQL -> new PostgreSQLParser();
+            case ORACLE -> new OracleParser();
+            case SQLSERVER -> new SQLServerParser();
+            case H2 -> new H2Parser();
+            case HSQLDB -> new HSQLDBParser();
+            case DERBY -> new DerbyParser();
+            case SQLITE -> new SQLiteParser();
+            case UNKNOWN -> null;
+        };
+    }
+
+
+    /**
+     * Installs a tracer that records the most expensive parses of {@link #parse(String)} and {@link #parse(String, ParseLimits)}. Without a tracer (the default) parses are not measured.
+     *
+     * @param parseTracer the tracer, or null to stop tracing
+     */
+    public static void setTracer(ParseTracer parseTracer) {
+
+        tracer = parseTracer;
+    }
+
+
+    /**
+     * Gets the installed tracer.
+     *
+     * @return the tracer, or null if parses are not traced
+     */
+    public static ParseTracer getTracer() {
+
+        return tracer;
     }
 
 
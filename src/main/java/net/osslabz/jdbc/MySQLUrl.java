@@ -0,0 +1,165 @@
+package net.osslabz.jdbc;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+
+/**
+ * MySQL and MariaDB specific view of a parsed JDBC URL, describing the connection topology. This is an immutable value object, it is meant to be parsed once and cached so that routing decisions don't have to look at the
+ * URL string again.
+ *
+ * <p>Example:
+ * <pre>{@code
+ * MySQLUrl url = JdbcUrlParser.parseMySQL("jdbc:mysql:replication://primary:3306,replica1:3306,replica2:3306/db");
+ * url.connectionType();  // REPLICATION
+ * url.sources();         // [primary:3306]
+ * url.replicas();        // [replica1:3306, replica2:3306]
+ * }</pre>
+ *
+ * @param jdbcUrl             the generic parse result
+ * @param connectionType      the connection type derived from the sub-protocol and the number of hosts
+ * @param dnsSrv              true if the hosts are DNS SRV service names (jdbc:mysql+srv:)
+ * @param hosts               the hosts with role and per-host properties, in URL order
+ * @param loadBalanceStrategy the load-balancing strategy for load-balanced and replication connections, null otherwise
+ */
+public record MySQLUrl(
+    JdbcUrl jdbcUrl,
+    ConnectionType connectionType,
+    boolean dnsSrv,
+    List<MySQLHost> hosts,
+    String loadBalanceStrategy
+) {
+
+    /**
+     * Compact constructor with validation and defensive copying.
+     */
+    public MySQLUrl {
+
+        Objects.requireNonNull(jdbcUrl, "JDBC URL cannot be null");
+        Objects.requireNonNull(connectionType, "Connection type cannot be null");
+
+        hosts = hosts == null ? List.of() : List.copyOf(hosts);
+    }
+
+
+    /**
+     * Gets all hosts that accept writes.
+     *
+     * @return list of source hosts
+     */
+    public List<MySQLHost> sources() {
+
+        return hosts.stream().filter(host -> host.role() == HostRole.SOURCE).toList();
+    }
+
+
+    /**
+     * Gets all read-only replica hosts. Only replication connections have replicas.
+     *
+     * @return list of replica hosts
+     */
+    public List<MySQLHost> replicas() {
+
+        return hosts.stream().filter(host -> host.role() == HostRole.REPLICA).toList();
+    }
+
+
+    /**
+     * Checks if connections are balanced across several hosts.
+     *
+     * @return true for load-balanced and replication connections
+     */
+    public boolean isLoadBalanced() {
+
+        return loadBalanceStrategy != null;
+    }
+
+
+    /**
+     * Connection types as defined by the sub-protocol of the URL.
+     */
+    public enum ConnectionType {
+        /**
+         * A single host (jdbc:mysql://host/db)
+         */
+        SINGLE,
+
+        /**
+         * Several hosts without sub-protocol, the first one is used until it fails (jdbc:mysql://host1,host2/db or jdbc:mariadb:failover:)
+         */
+        FAILOVER,
+
+        /**
+         * Several hosts tried in order on each connect (jdbc:mariadb:sequential:)
+         */
+        SEQUENTIAL,
+
+        /**
+         * Connections are balanced across all hosts (jdbc:mysql:loadbalance:)
+         */
+        LOADBALANCE,
+
+        /**
+         * Writes go to the sources, reads are balanced across the replicas (jdbc:mysql:replication:)
+         */
+        REPLICATION
+    }
+
+
+    /**
+     * Role of a host within the topology.
+     */
+    public enum HostRole {
+        /**
+         * Host accepting writes (type=source, type=master or type=primary)
+         */
+        SOURCE,
+
+        /**
+         * Read-only host (type=replica or type=slave)
+         */
+        REPLICA
+    }
+
+
+    /**
+     * A host of a MySQL topology with its role and the properties given for this host only, e.g. via {@code address=(host=db1)(port=3306)(type=source)}.
+     *
+     * @param host       the host
+     * @param role       the role of the host, always SOURCE unless this is a replication connection
+     * @param properties the per-host properties without host and port
+     */
+    public record MySQLHost(Host host, HostRole role, Map<String, String> properties) {
+
+        /**
+         * Compact constructor with validation and defensive copying.
+         */
+        public MySQLHost {
+
+            Objects.requireNonNull(host, "Host cannot be null");
+            Objects.requireNonNull(role, "Host role cannot be null");
+
+            properties = properties == null ? Map.of() : Map.copyOf(properties);
+        }
+
+
+        /**
+         * Gets a per-host property value.
+         *
+         * @param key the property key
+         * @return the property value, or null if not present
+         */
+        public String getPropertyValue(String key) {
+
+            return properties.get(key);
+        }
+
+
+        @Override
+        public String toString() {
+
+            return host + (properties.isEmpty() ? "" : properties.toString());
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package net.osslabz.jdbc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+
+/**
+ * Oracle specific view of a parsed JDBC URL with the address lists the driver tries when connecting. This is an immutable value object, it is meant to be parsed once and cached so that failover configuration
+ * doesn't have to be derived from the URL string again.
+ *
+ * <p>EZConnect Plus URLs group hosts into address lists separated by ';', hosts within a list are separated by ','. The driver tries the lists in order and the hosts of each list in order (or in random order
+ * with load balancing). The hosts of the generic {@link JdbcUrl} are all hosts of all lists in URL order.
+ *
+ * <p>Example:
+ * <pre>{@code
+ * OracleUrl url = JdbcUrlParser.parseOracle("jdbc:oracle:thin:@tcps://h1,h2:1522;h3/svc?wallet_location=/w");
+ * url.networkProtocol();  // "tcps"
+ * url.addressLists();     // [[h1:1522, h2:1522], [h3]]
+ * url.serviceName();      // "svc"
+ * }</pre>
+ *
+ * @param jdbcUrl         the generic parse result
+ * @param networkProtocol the network protocol in lower case (e.g. "tcp" or "tcps"), null if the URL doesn't name one
+ * @param addressLists    the hosts grouped by address list, in URL order
+ * @param serviceName     the service name, null for SID URLs or if not given
+ * @param sid             the SID, null for service name URLs
+ */
+public record OracleUrl(
+    JdbcUrl jdbcUrl,
+    String networkProtocol,
+    List<List<Host>> addressLists,
+    String serviceName,
+    String sid
+) {
+
+    /**
+     * Compact constructor with validation and defensive copying.
+     */
+    public OracleUrl {
+
+        Objects.requireNonNull(jdbcUrl, "JDBC URL cannot be null");
+
+        if (addressLists == null) {
+            addressLists = List.of();
+        } else {
+            List<List<Host>> copy = new ArrayList<>(addressLists.size());
+            for (List<Host> addressList : addressLists) {
+                copy.add(List.copyOf(addressList));
+            }
+            addressLists = List.copyOf(copy);
+        }
+    }
+
+
+    /**
+     * Checks if the URL uses TLS (network protocol tcps).
+     *
+     * @return true for tcps URLs
+     */
+    public boolean isSecure() {
+
+        return "tcps".equals(networkProtocol);
+    }
+}
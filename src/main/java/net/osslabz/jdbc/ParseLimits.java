@@ -0,0 +1,42 @@
+package net.osslabz.jdbc;
+
+/**
+ * Limits applied when parsing JDBC URLs from untrusted sources, see {@link JdbcUrlParser#parse(String, ParseLimits)}.
+ *
+ * <p>The parsers scan URLs in linear time. The URL length is checked before parsing and bounds the work and memory of the parse itself. The host and property counts are checked on the parsed URL,
+ * so they bound what the caller keeps and processes rather than the parse. Properties derived from the URL structure ({@link PropertySource#DERIVED}, e.g. MODE) don't count toward maxProperties.
+ *
+ * <p>Example:
+ * <pre>{@code
+ * ParseLimits limits = new ParseLimits(2048, 32, 8);
+ * JdbcUrl url = JdbcUrlParser.parse(untrustedUrl, limits);
+ * }</pre>
+ *
+ * @param maxUrlLength  the maximum number of characters of the URL
+ * @param maxProperties the maximum number of properties written in the URL
+ * @param maxHosts      the maximum number of hosts
+ */
+public record ParseLimits(int maxUrlLength, int maxProperties, int maxHosts) {
+
+    /**
+     * Limits suitable for URLs entered by users: 4096 characters, 256 properties and 64 hosts.
+     */
+    public static final ParseLimits DEFAULT = new ParseLimits(4096, 256, 64);
+
+
+    /**
+     * Compact constructor with validation.
+     */
+    public ParseLimits {
+
+        if (maxUrlLength <= 0) {
+            throw new IllegalArgumentException("Maximum URL length must be positive");
+        }
+        if (maxProperties < 0) {
+            throw new IllegalArgumentException("Maximum property count cannot be negative");
+        }
+        if (maxHosts < 0) {
+            throw new IllegalArgumentException("Maximum host count cannot be negative");
+        }
+    }
+}
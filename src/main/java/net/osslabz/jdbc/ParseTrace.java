@@ -0,0 +1,36 @@
+package net.osslabz.jdbc;
+
+import java.util.Objects;
+
+
+/**
+ * One parse recorded by a {@link ParseTracer}. This is an immutable value object.
+ *
+ * @param redactedUrl    the URL with credentials replaced by "***", truncated if very long
+ * @param product        the detected database product
+ * @param parserClass    the simple name of the parser class
+ * @param inputLength    the length of the URL in characters
+ * @param nanos          the parse time in nanoseconds
+ * @param allocatedBytes the bytes allocated by the parsing thread, -1 if the JVM cannot measure it
+ * @param failed         whether the parse threw an exception
+ */
+public record ParseTrace(
+    String redactedUrl,
+    DatabaseProduct product,
+    String parserClass,
+    int inputLength,
+    long nanos,
+    long allocatedBytes,
+    boolean failed
+) {
+
+    /**
+     * Compact constructor with validation.
+     */
+    public ParseTrace {
+
+        Objects.requireNonNull(redactedUrl, "Redacted URL cannot be null");
+        Objects.requireNonNull(product, "Database product cannot be null");
+        Objects.requireNonNull(parserClass, "Parser class cannot be null");
+    }
+}
@@ -0,0 +1,439 @@
+package net.osslabz.jdbc;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+import net.osslabz.jdbc.parser.UrlParser;
+
+
+/**
+ * Opt-in tracer that keeps the most expensive parses of {@link JdbcUrlParser#parse(String)} and {@link JdbcUrlParser#parse(String, ParseLimits)}, so that pathological inputs can be found in production without
+ * debug logging.
+ *
+ * <p>A random sample of the parses is measured (time and, where the JVM supports it, bytes allocated by the parsing thread). Two bounded tables keep the slowest and the most allocating parses; they are
+ * updated with compare-and-set, parses are never blocked. A parse that doesn't beat the cheapest entry of a full table is rejected after a single comparison, the URL is only redacted for parses that make
+ * it into a table. Redaction replaces passwords, secrets and tokens in properties and user info with "***".
+ *
+ * <p>Example:
+ * <pre>{@code
+ * ParseTracer tracer = new ParseTracer(20, 100);  // keep 20 entries per table, measure 1 in 100 parses
+ * JdbcUrlParser.setTracer(tracer);
+ * ...
+ * log.info("Most expensive JDBC URLs:\n{}", tracer.dump());
+ * }</pre>
+ *
+ * <p>The tracer is safe for concurrent use.
+ */
+public final class ParseTracer {
+
+    /**
+     * Redacted URLs are cut after this many characters.
+     */
+    public static final int MAX_URL_LENGTH = 512;
+
+    private static final String REDACTED = "***";
+
+    private final int sampleInterval;
+
+    private final com.sun.management.ThreadMXBean threadBean;
+
+    private final int capacity;
+
+    private final LongAdder sampled = new LongAdder();
+
+    private volatile TopK slowest;
+
+    private volatile TopK mostAllocating;
+
+
+    /**
+     * Creates a tracer.
+     *
+     * @param capacity       the number of entries kept per table
+     * @param sampleInterval measure one in this many parses on average, 1 to measure every parse
+     */
+    public ParseTracer(int capacity, int sampleInterval) {
+
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        if (sampleInterval < 1) {
+            throw new IllegalArgumentException("Sample interval must be positive");
+        }
+        this.capacity = capacity;
+        this.sampleInterval = sampleInterval;
+        this.threadBean = allocationBean();
+        this.slowest = new TopK(capacity, ParseTrace::nanos);
+        this.mostAllocating = new TopK(capacity, ParseTrace::allocatedBytes);
+    }
+
+
+    private static com.sun.management.ThreadMXBean allocationBean() {
+
+        try {
+            if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+                && bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled()) {
+                return bean;
+            }
+        } catch (LinkageError | UnsupportedOperationException e) {
+            // No jdk.management module or no allocation counters, only times are traced
+        }
+        return null;
+    }
+
+
+    /**
+     * Gets the slowest parses.
+     *
+     * @return the parses, slowest first
+     */
+    public List<ParseTrace> slowest() {
+
+        return slowest.sorted();
+    }
+
+
+    /**
+     * Gets the parses that allocated the most memory.
+     *
+     * @return the parses, most allocating first; empty if the JVM cannot measure allocations
+     */
+    public List<ParseTrace> mostAllocating() {
+
+        return mostAllocating.sorted();
+    }
+
+
+    /**
+     * Gets the number of parses measured so far.
+     *
+     * @return the number of sampled parses
+     */
+    public long sampledCount() {
+
+        return sampled.sum();
+    }
+
+
+    /**
+     * Removes all entries.
+     */
+    public void reset() {
+
+        // New tables rather than clearing the old ones, a parse recording concurrently can't leave a stale floor behind
+        slowest = new TopK(capacity, ParseTrace::nanos);
+        mostAllocating = new TopK(capacity, ParseTrace::allocatedBytes);
+        sampled.reset();
+    }
+
+
+    /**
+     * Formats both tables as text, one parse per line.
+     *
+     * @return the tables
+     */
+    public String dump() {
+
+        StringBuilder dump = new StringBuilder();
+        dump.append("Sampled parses: ").append(sampled.sum()).append('\n');
+        appendTable(dump, "Slowest parses", slowest());
+        appendTable(dump, "Most allocating parses", mostAllocating());
+        return dump.toString();
+    }
+
+
+    private static void appendTable(StringBuilder dump, String title, List<ParseTrace> traces) {
+
+        dump.append(title).append(":\n");
+        for (ParseTrace trace : traces) {
+            dump.append(String.format(Locale.ROOT, "  %,12d ns %,12d B  %-10s %-18s len=%-6d %s%s%n", trace.nanos(), trace.allocatedBytes(), trace.product(), trace.parserClass(),
+                trace.inputLength(), trace.failed() ? "FAILED " : "", trace.redactedUrl()));
+        }
+    }
+
+
+    boolean sample() {
+
+        return sampleInterval == 1 || ThreadLocalRandom.current().nextInt(sampleInterval) == 0;
+    }
+
+
+    /**
+     * Parses a URL with the given parser and records the cost.
+     */
+    JdbcUrl trace(String url, UrlParser parser) {
+
+        long allocatedBefore = threadBean != null ? threadBean.getCurrentThreadAllocatedBytes() : -1;
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            JdbcUrl jdbcUrl = parser.parse(url);
+            failed = false;
+            return jdbcUrl;
+        } finally {
+            long nanos = System.nanoTime() - start;
+            long allocated = threadBean != null ? threadBean.getCurrentThreadAllocatedBytes() - allocatedBefore : -1;
+            record(url, parser, nanos, allocated, failed);
+        }
+    }
+
+
+    void record(String url, UrlParser parser, long nanos, long allocatedBytes, boolean failed) {
+
+        sampled.increment();
+        TopK slowTable = slowest;
+        TopK allocationTable = mostAllocating;
+        boolean slow = slowTable.accepts(nanos);
+        boolean allocating = allocatedBytes >= 0 && allocationTable.accepts(allocatedBytes);
+        if (!slow && !allocating) {
+            return;
+        }
+
+        ParseTrace trace = new ParseTrace(redact(url), DatabaseProduct.fromUrl(url), parser.getClass().getSimpleName(), url.length(), nanos, allocatedBytes, failed);
+        if (slow) {
+            slowTable.offer(trace);
+        }
+        if (allocating) {
+            allocationTable.offer(trace);
+        }
+    }
+
+
+    /**
+     * Replaces credentials in a URL with "***": values of properties whose key names a password, secret or token, including {@code {...}} braced values, and the passwords of the user info in front of
+     * '@' of every host (user:password@ and Oracle's user/password@). URLs longer than {@link #MAX_URL_LENGTH} are cut.
+     *
+     * @param url the URL
+     * @return the redacted URL
+     */
+    static String redact(String url) {
+
+        StringBuilder redacted = new StringBuilder(Math.min(url.length(), MAX_URL_LENGTH + 3));
+        int[] passwords = findPasswords(url);
+        int nextPassword = 0;
+
+        int position = 0;
+        while (position < url.length() && redacted.length() < MAX_URL_LENGTH) {
+            if (nextPassword < passwords.length && position == passwords[nextPassword]) {
+                redacted.append(REDACTED);
+                position = passwords[nextPassword + 1];
+                nextPassword += 2;
+                continue;
+            }
+            char c = url.charAt(position);
+            redacted.append(c);
+            position++;
+            if (c == '=' && isSecretKey(url, position - 1)) {
+                redacted.append(REDACTED);
+                position = skipValue(url, position);
+            }
+        }
+        if (position < url.length()) {
+            redacted.append("...");
+        }
+        return redacted.toString();
+    }
+
+
+    /**
+     * Finds the passwords in the user info of the hosts in front of the properties. The user info of a host ends at the last '@' of the host, so passwords may contain '@'; hosts are separated by ','.
+     *
+     * @return start and end index of each password, in URL order
+     */
+    private static int[] findPasswords(String url) {
+
+        int limit = url.length();
+        for (int i = 0; i < url.length(); i++) {
+            if ("?;(".indexOf(url.charAt(i)) >= 0) {
+                limit = i;
+                break;
+            }
+        }
+        int at = url.indexOf('@');
+        if (at <= 0 || at >= limit) {
+            return new int[0];
+        }
+        int doubleSlash = url.lastIndexOf("//", at);
+        int hostStart = doubleSlash >= 0 ? doubleSlash + 2 : url.lastIndexOf(':', at) + 1;
+
+        int[] passwords = new int[0];
+        while (at >= 0 && at < limit) {
+            int hostEnd = url.indexOf(',', at);
+            if (hostEnd < 0 || hostEnd > limit) {
+                hostEnd = limit;
+            }
+            int userInfoEnd = url.lastIndexOf('@', hostEnd - 1);
+            int separator = findCredentialSeparator(url, hostStart, at);
+            if (separator >= 0) {
+                passwords = Arrays.copyOf(passwords, passwords.length + 2);
+                passwords[passwords.length - 2] = separator + 1;
+                passwords[passwords.length - 1] = userInfoEnd;
+            }
+            hostStart = hostEnd + 1;
+            at = hostStart < limit ? url.indexOf('@', hostStart) : -1;
+        }
+        return passwords;
+    }
+
+
+    /**
+     * Finds the ':' or '/' between user and password in the user info in front of '@'. The user info starts after the last ',' followed by a user, so hosts without user info in front of it and
+     * passwords containing ',' are both handled.
+     */
+    private static int findCredentialSeparator(String url, int start, int end) {
+
+        int userStart = start;
+        for (int i = end - 1; i > start; i--) {
+            if (url.charAt(i - 1) == ',' && separatorIn(url, i, end) >= 0) {
+                userStart = i;
+                break;
+            }
+        }
+        return separatorIn(url, userStart, end);
+    }
+
+
+    private static int separatorIn(String url, int start, int end) {
+
+        for (int i = start; i < end; i++) {
+            char c = url.charAt(i);
+            if (c == ':' || c == '/') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+
+    /**
+     * Skips a property value: a {@code {...}} braced value, in which "}}" escapes '}', or up to the next delimiter.
+     */
+    private static int skipValue(String url, int start) {
+
+        int position = start;
+        if (position < url.length() && url.charAt(position) == '{') {
+            position++;
+            while (position < url.length()) {
+                if (url.charAt(position) == '}') {
+                    if (position + 1 < url.length() && url.charAt(position + 1) == '}') {
+                        position += 2;
+                        continue;
+                    }
+                    return position + 1;
+                }
+                position++;
+            }
+            return position;
+        }
+        while (position < url.length() && ";&)".indexOf(url.charAt(position)) < 0) {
+            position++;
+        }
+        return position;
+    }
+
+
+    private static boolean isSecretKey(String url, int equalsIndex) {
+
+        int keyStart = equalsIndex;
+        while (keyStart > 0 && "?;&(:/, ".indexOf(url.charAt(keyStart - 1)) < 0) {
+            keyStart--;
+        }
+        String key = url.substring(keyStart, equalsIndex).toLowerCase(Locale.ROOT);
+        return key.contains("password") || key.contains("passwd") || key.equals("pwd") || key.contains("secret") || key.contains("token") || key.contains("credential")
+               || key.equals("pass") || key.endsWith("apikey") || key.endsWith("api_key");
+    }
+
+
+    /**
+     * Fixed-size table keeping the entries with the largest metric. Entries only ever replace cheaper entries, so the floor (a lower bound of the cheapest entry once the table is full) can reject most
+     * candidates without scanning.
+     */
+    private static final class TopK {
+
+        private final AtomicReferenceArray<ParseTrace> slots;
+
+        private final ToLongFunction<ParseTrace> metric;
+
+        private volatile long floor = Long.MIN_VALUE;
+
+
+        TopK(int capacity, ToLongFunction<ParseTrace> metric) {
+
+            this.slots = new AtomicReferenceArray<>(capacity);
+            this.metric = metric;
+        }
+
+
+        boolean accepts(long value) {
+
+            return value > floor;
+        }
+
+
+        void offer(ParseTrace trace) {
+
+            long value = metric.applyAsLong(trace);
+            while (value > floor) {
+                int cheapestIndex = -1;
+                ParseTrace cheapest = null;
+                long cheapestValue = Long.MAX_VALUE;
+                for (int i = 0; i < slots.length(); i++) {
+                    ParseTrace current = slots.get(i);
+                    long currentValue = current == null ? Long.MIN_VALUE : metric.applyAsLong(current);
+                    if (currentValue < cheapestValue) {
+                        cheapestIndex = i;
+                        cheapest = current;
+                        cheapestValue = currentValue;
+                    }
+                }
+                if (value <= cheapestValue) {
+                    floor = Math.max(floor, cheapestValue);
+                    return;
+                }
+                if (slots.compareAndSet(cheapestIndex, cheapest, trace)) {
+                    updateFloor();
+                    return;
+                }
+                // Another thread replaced the entry, look again
+            }
+        }
+
+
+        private void updateFloor() {
+
+            long minimum = Long.MAX_VALUE;
+            for (int i = 0; i < slots.length(); i++) {
+                ParseTrace current = slots.get(i);
+                if (current == null) {
+                    return;
+                }
+                minimum = Math.min(minimum, metric.applyAsLong(current));
+            }
+            // Slots only ever grow, so a minimum read slot by slot is never above the current minimum
+            if (minimum > floor) {
+                floor = minimum;
+            }
+        }
+
+
+        List<ParseTrace> sorted() {
+
+            List<ParseTrace> traces = new ArrayList<>(slots.length());
+            for (int i = 0; i < slots.length(); i++) {
+                ParseTrace trace = slots.get(i);
+                if (trace != null) {
+                    traces.add(trace);
+                }
+            }
+            traces.sort(Comparator.comparingLong(metric).reversed());
+            return traces;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package net.osslabz.jdbc;
+
+import java.util.List;
+import java.util.Objects;
+
+
+/**
+ * PostgreSQL specific view of a parsed JDBC URL with the settings pgjdbc uses to pick a host from a multi-host URL. This is an immutable value object, it is meant to be parsed once and cached so that the host selection
+ * doesn't have to read raw properties on every connection checkout.
+ *
+ * <p>Example:
+ * <pre>{@code
+ * PostgreSQLUrl url = JdbcUrlParser.parsePostgreSQL("jdbc:postgresql://pg1,pg2:5433/db?targetServerType=preferSecondary&loadBalanceHosts=true");
+ * url.hosts();             // [pg1:5432, pg2:5433]
+ * url.targetServerType();  // PREFER_SECONDARY
+ * url.loadBalanceHosts();  // true
+ * }</pre>
+ *
+ * @param jdbcUrl            the generic parse result
+ * @param hosts              the effective hosts with default host (localhost) and default port (5432) applied
+ * @param targetServerType   the type of server to connect to (targetServerType property, default ANY)
+ * @param loadBalanceHosts   whether hosts are tried in random order (loadBalanceHosts property, default false)
+ * @param hostRecheckSeconds how long the known server status of a host is trusted (hostRecheckSeconds property, default 10)
+ */
+public record PostgreSQLUrl(
+    JdbcUrl jdbcUrl,
+    List<Host> hosts,
+    TargetServerType targetServerType,
+    boolean loadBalanceHosts,
+    int hostRecheckSeconds
+) {
+
+    /**
+     * Default value of the hostRecheckSeconds property.
+     */
+    public static final int DEFAULT_HOST_RECHECK_SECONDS = 10;
+
+
+    /**
+     * Compact constructor with validation and defensive copying.
+     */
+    public PostgreSQLUrl {
+
+        Objects.requireNonNull(jdbcUrl, "JDBC URL cannot be null");
+        Objects.requireNonNull(targetServerType, "Target server type cannot be null");
+
+        hosts = hosts == null ? List.of() : List.copyOf(hosts);
+    }
+
+
+    /**
+     * Checks if the URL lists more than one host.
+     *
+     * @return true for multi-host URLs
+     */
+    public boolean isMultiHost() {
+
+        return hosts.size() > 1;
+    }
+
+
+    /**
+     * Server types accepted by the targetServerType property. The deprecated pgjdbc values master, slave and preferSlave are mapped to their current equivalents.
+     */
+    public enum TargetServerType {
+        /**
+         * Any server (any)
+         */
+        ANY("any"),
+
+        /**
+         * Only a server accepting writes (primary, master)
+         */
+        PRIMARY("primary", "master"),
+
+        /**
+         * Only a read-only standby (secondary, slave)
+         */
+        SECONDARY("secondary", "slave"),
+
+        /**
+         * A standby if available, otherwise a primary (preferSecondary, preferSlave)
+         */
+        PREFER_SECONDARY("preferSecondary", "preferSlave"),
+
+        /**
+         * A primary if available, otherwise a standby (preferPrimary)
+         */
+        PREFER_PRIMARY("preferPrimary");
+
+        private final String[] values;
+
+
+        TargetServerType(String... values) {
+
+            this.values = values;
+        }
+
+
+        /**
+         * Looks up a target server type by its property value (case-insensitive).
+         *
+         * @param value the property value
+         * @return the target server type, or null if the value is unknown
+         */
+        public static TargetServerType fromValue(String value) {
+
+            for (TargetServerType type : values()) {
+                for (String candidate : type.values) {
+                    if (candidate.equalsIgnoreCase(value)) {
+                        return type;
+                    }
+                }
+            }
+            return null;
+        }
+    }
+}
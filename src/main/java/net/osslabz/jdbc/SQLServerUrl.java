@@ -0,0 +1,62 @@
+package net.osslabz.jdbc;
+
+import java.util.Objects;
+
+
+/**
+ * SQL Server specific view of a parsed JDBC URL with the connection targets as the Microsoft JDBC driver resolves them. This is an immutable value object, it is meant to be parsed once and cached so that failover
+ * routing doesn't have to read raw properties on every connection checkout.
+ *
+ * <p>The server is taken from the host in front of the first ';' unless the serverName property is set, portNumber (or port) and instanceName properties override the port and instance. Property keys are
+ * matched case-insensitively and the last occurrence wins, like the driver does.
+ *
+ * <p>Example:
+ * <pre>{@code
+ * SQLServerUrl url = JdbcUrlParser.parseSQLServer("jdbc:sqlserver://;serverName=db1;portNumber=1444;failoverPartner=db2\\MIRROR");
+ * url.server();           // db1:1444
+ * url.failoverPartner();  // db2\MIRROR
+ * }</pre>
+ *
+ * @param jdbcUrl             the generic parse result, its hosts are the server followed by the failover partner
+ * @param server              the principal server; the port is null if it has to be resolved from the instance name or the default port (1433) applies
+ * @param failoverPartner     the database mirroring failover partner (failoverPartner property), null if not set
+ * @param multiSubnetFailover whether all IP addresses of the server are tried in parallel (multiSubnetFailover property, default false)
+ */
+public record SQLServerUrl(
+    JdbcUrl jdbcUrl,
+    Host server,
+    Host failoverPartner,
+    boolean multiSubnetFailover
+) {
+
+    /**
+     * Compact constructor with validation.
+     */
+    public SQLServerUrl {
+
+        Objects.requireNonNull(jdbcUrl, "JDBC URL cannot be null");
+        Objects.requireNonNull(server, "Server cannot be null");
+    }
+
+
+    /**
+     * Checks if a failover partner is configured.
+     *
+     * @return true if the URL has a failover partner
+     */
+    public boolean hasFailoverPartner() {
+
+        return failoverPartner != null;
+    }
+
+
+    /**
+     * Checks if the port of the server has to be looked up through the SQL Server Browser service, i.e. the server names an instance but no port.
+     *
+     * @return true if the server port is resolved from its instance name
+     */
+    public boolean requiresInstanceResolution() {
+
+        return server.port() == null && server.instanceName() != null && !server.instanceName().isBlank();
+    }
+}
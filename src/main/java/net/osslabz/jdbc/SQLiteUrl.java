@@ -0,0 +1,63 @@
+package net.osslabz.jdbc;
+
+import java.util.Objects;
+
+
+/**
+ * SQLite specific view of a parsed JDBC URL with the open flags SQLite derives from the filename. This is an immutable value object, it is meant to be parsed once and cached.
+ *
+ * <p>Both plain filenames ({@code jdbc:sqlite:/data/app.db}) and URI filenames ({@code jdbc:sqlite:file:app.db?mode=ro}) are supported. For URI filenames the authority is removed and the path is
+ * percent-decoded.
+ *
+ * <p>Example:
+ * <pre>{@code
+ * SQLiteUrl url = JdbcUrlParser.parseSQLite("jdbc:sqlite:file:cache.db?mode=memory&cache=shared");
+ * url.path();                     // "cache.db"
+ * url.inMemory();                 // true
+ * url.isSharedMemoryDatabase();   // true
+ * }</pre>
+ *
+ * @param jdbcUrl     the generic parse result
+ * @param uriFilename whether the filename is a URI (file: prefix)
+ * @param path        the normalized database path, the name of a named in-memory database, or ":memory:" for a private in-memory database
+ * @param inMemory    whether the database lives in memory (:memory: or mode=memory)
+ * @param sharedCache whether connections share a page cache (cache=shared)
+ * @param readOnly    whether the database is opened read-only (mode=ro or immutable=1)
+ * @param vfs         the name of the VFS to use (vfs parameter), null for the default
+ */
+public record SQLiteUrl(
+    JdbcUrl jdbcUrl,
+    boolean uriFilename,
+    String path,
+    boolean inMemory,
+    boolean sharedCache,
+    boolean readOnly,
+    String vfs
+) {
+
+    /**
+     * Name of the private in-memory database.
+     */
+    public static final String MEMORY = ":memory:";
+
+
+    /**
+     * Compact constructor with validation.
+     */
+    public SQLiteUrl {
+
+        Objects.requireNonNull(jdbcUrl, "JDBC URL cannot be null");
+        Objects.requireNonNull(path, "Path cannot be null");
+    }
+
+
+    /**
+     * Checks if all connections opened with this URL share one in-memory database: the database lives in memory and uses the shared cache. Private in-memory databases exist once per connection.
+     *
+     * @return true for shared in-memory databases
+     */
+    public boolean isSharedMemoryDatabase() {
+
+        return inMemory && sharedCache;
+    }
+}
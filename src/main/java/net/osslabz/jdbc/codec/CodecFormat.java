@@ -0,0 +1,82 @@
+package net.osslabz.jdbc.codec;
+
+import net.osslabz.jdbc.DatabaseProduct;
+import net.osslabz.jdbc.PropertySource;
+
+
+/**
+ * Constants of the binary snapshot format shared by {@link JdbcUrlWriter} and {@link JdbcUrlReader}.
+ *
+ * <p>Layout (all integers are unsigned LEB128 varints unless noted):
+ * <pre>
+ * stream   = magic:int32 version:byte record* END
+ * record   = RECORD product:byte originalUrl:literal protocol:string databaseName:literal hostCount host* propertyCount property*
+ * host     = hostname:string hasPort:byte port:zigzag varint (only if hasPort is 1) instanceName:string
+ * property = key:string source:byte value:string
+ * literal  = length + 1 (0 = null) utf8
+ * string   = tag, 0 = null, 1 = new string (length utf8) added to the dictionary, 2 = new string not added, n &gt;= 3 = dictionary entry n - 3
+ * </pre>
+ *
+ * <p>Products and property sources are written as fixed codes rather than enum ordinals, so reordering the enums doesn't change the format.
+ */
+final class CodecFormat {
+
+    static final int MAGIC = 0x4A555250; // "JURP"
+
+    static final byte VERSION = 2;
+
+    static final byte RECORD = 1;
+
+    static final byte END = 0;
+
+    static final int TAG_NULL = 0;
+
+    static final int TAG_NEW_DICTIONARY = 1;
+
+    static final int TAG_NEW_LITERAL = 2;
+
+    static final int TAG_FIRST_REFERENCE = 3;
+
+    // Strings beyond this many distinct values are written without dictionary entry, bounding the memory of writer and reader
+    static final int MAX_DICTIONARY_SIZE = 1 << 20;
+
+    // Index = code, never reorder, only append
+    static final DatabaseProduct[] PRODUCTS = {
+        DatabaseProduct.UNKNOWN, DatabaseProduct.MYSQL, DatabaseProduct.MARIADB, DatabaseProduct.POSTGRESQL, DatabaseProduct.ORACLE,
+        DatabaseProduct.SQLSERVER, DatabaseProduct.H2, DatabaseProduct.HSQLDB, DatabaseProduct.DERBY, DatabaseProduct.SQLITE
+    };
+
+    // Index = code, never reorder, only append
+    static final PropertySource[] SOURCES = {
+        PropertySource.QUERY, PropertySource.PATH, PropertySource.DERIVED, PropertySource.DESCRIPTOR
+    };
+
+
+    private CodecFormat() {
+
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+
+    static byte code(DatabaseProduct databaseProduct) {
+
+        return (byte) indexOf(PRODUCTS, databaseProduct);
+    }
+
+
+    static byte code(PropertySource source) {
+
+        return (byte) indexOf(SOURCES, source);
+    }
+
+
+    private static int indexOf(Object[] values, Object value) {
+
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] == value) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("No binary code for " + value);
+    }
+}
@@ -0,0 +1,318 @@
+package net.osslabz.jdbc.codec;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import net.osslabz.jdbc.DatabaseProduct;
+import net.osslabz.jdbc.Host;
+import net.osslabz.jdbc.JdbcProperty;
+import net.osslabz.jdbc.JdbcUrl;
+import net.osslabz.jdbc.PropertySource;
+
+
+/**
+ * Reads parsed JDBC URLs written by {@link JdbcUrlWriter}, either streaming from a channel or from a buffer holding the complete snapshot.
+ *
+ * <p>Example:
+ * <pre>{@code
+ * try (FileChannel channel = FileChannel.open(path, READ);
+ *      JdbcUrlReader reader = new JdbcUrlReader(channel)) {
+ *     JdbcUrl url;
+ *     while ((url = reader.read()) != null) {
+ *         index.add(url);
+ *     }
+ * }
+ * }</pre>
+ *
+ * <p>Closing the reader does not close the channel. A reader is not thread-safe.
+ */
+public class JdbcUrlReader implements Closeable {
+
+    private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    private final ReadableByteChannel channel;
+
+    private final ByteBuffer buffer;
+
+    private final List<String> dictionary = new ArrayList<>();
+
+    private boolean finished;
+
+
+    /**
+     * Creates a reader with a 64 KB buffer and checks the format header.
+     *
+     * @param channel the channel to read from
+     * @throws IOException if the header cannot be read or the data is not a supported snapshot
+     */
+    public JdbcUrlReader(ReadableByteChannel channel) throws IOException {
+
+        this.channel = Objects.requireNonNull(channel, "Channel cannot be null");
+        this.buffer = ByteBuffer.allocate(DEFAULT_BUFFER_SIZE);
+        buffer.flip();
+        readHeader();
+    }
+
+
+    /**
+     * Creates a reader over a buffer holding a complete snapshot and checks the format header. Reading advances the position of the buffer.
+     *
+     * @param source the snapshot
+     * @throws IOException if the data is not a supported snapshot
+     */
+    public JdbcUrlReader(ByteBuffer source) throws IOException {
+
+        this.channel = null;
+        this.buffer = Objects.requireNonNull(source, "Source cannot be null");
+        readHeader();
+    }
+
+
+    /**
+     * Reads the next URL.
+     *
+     * @return the URL, or null at the end of the snapshot
+     * @throws IOException if reading fails or the snapshot is corrupt or truncated
+     */
+    public JdbcUrl read() throws IOException {
+
+        if (finished) {
+            return null;
+        }
+
+        byte marker = readByte();
+        if (marker == CodecFormat.END) {
+            finished = true;
+            return null;
+        }
+        if (marker != CodecFormat.RECORD) {
+            throw new IOException("Corrupt JDBC URL snapshot: unexpected record marker " + marker);
+        }
+
+        DatabaseProduct databaseProduct = decode(CodecFormat.PRODUCTS, readByte(), "database product");
+        String originalUrl = readLiteral();
+        String protocol = readString();
+        String databaseName = readLiteral();
+
+        int hostCount = readVarint();
+        List<Host> hosts = new ArrayList<>(Math.min(hostCount, 64));
+        for (int i = 0; i < hostCount; i++) {
+            String hostname = readString();
+            Integer port = readPort();
+            String instanceName = readString();
+            if (hostname == null || hostname.isBlank()) {
+                throw new IOException("Corrupt JDBC URL snapshot: host without hostname");
+            }
+            hosts.add(new Host(hostname, port, instanceName));
+        }
+
+        int propertyCount = readVarint();
+        Map<String, JdbcProperty> properties = new LinkedHashMap<>();
+        for (int i = 0; i < propertyCount; i++) {
+            String key = readString();
+            PropertySource source = decode(CodecFormat.SOURCES, readByte(), "property source");
+            String value = readString();
+            if (key == null || value == null) {
+                throw new IOException("Corrupt JDBC URL snapshot: property without key or value");
+            }
+            properties.put(key, new JdbcProperty(source, value));
+        }
+
+        if (originalUrl == null || protocol == null) {
+            throw new IOException("Corrupt JDBC URL snapshot: record without URL or protocol");
+        }
+        return new JdbcUrl(originalUrl, databaseProduct, protocol, hosts, databaseName, properties);
+    }
+
+
+    /**
+     * Reads all remaining URLs.
+     *
+     * @return the URLs in snapshot order
+     * @throws IOException if reading fails or the snapshot is corrupt or truncated
+     */
+    public List<JdbcUrl> readAll() throws IOException {
+
+        List<JdbcUrl> urls = new ArrayList<>();
+        JdbcUrl url;
+        while ((url = read()) != null) {
+            urls.add(url);
+        }
+        return urls;
+    }
+
+
+    /**
+     * Releases the dictionary. The channel stays open.
+     */
+    @Override
+    public void close() {
+
+        finished = true;
+        dictionary.clear();
+    }
+
+
+    private void readHeader() throws IOException {
+
+        ensureAvailable(5);
+        int magic = buffer.getInt();
+        if (magic != CodecFormat.MAGIC) {
+            throw new IOException("Not a JDBC URL snapshot");
+        }
+        byte version = buffer.get();
+        if (version != CodecFormat.VERSION) {
+            throw new IOException("Unsupported JDBC URL snapshot version: " + version);
+        }
+    }
+
+
+    private String readString() throws IOException {
+
+        int tag = readVarint();
+        switch (tag) {
+            case CodecFormat.TAG_NULL:
+                return null;
+            case CodecFormat.TAG_NEW_DICTIONARY:
+                String value = readUtf8(readVarint());
+                dictionary.add(value);
+                return value;
+            case CodecFormat.TAG_NEW_LITERAL:
+                return readUtf8(readVarint());
+            default:
+                int id = tag - CodecFormat.TAG_FIRST_REFERENCE;
+                if (id >= dictionary.size()) {
+                    throw new IOException("Corrupt JDBC URL snapshot: unknown dictionary entry " + id);
+                }
+                return dictionary.get(id);
+        }
+    }
+
+
+    private String readLiteral() throws IOException {
+
+        int length = readVarint();
+        return length == 0 ? null : readUtf8(length - 1);
+    }
+
+
+    private String readUtf8(int length) throws IOException {
+
+        if (channel == null && length > buffer.remaining()) {
+            // Don't allocate a corrupt length before noticing the snapshot is too short
+            throw new EOFException("Truncated JDBC URL snapshot");
+        }
+        if (length <= buffer.capacity()) {
+            ensureAvailable(length);
+            String value;
+            if (buffer.hasArray()) {
+                value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+                buffer.position(buffer.position() + length);
+            } else {
+                byte[] bytes = new byte[length];
+                buffer.get(bytes);
+                value = new String(bytes, StandardCharsets.UTF_8);
+            }
+            return value;
+        }
+
+        // Longer than the buffer, copy chunk by chunk. The array grows with the bytes actually read, so a corrupt length ends in an EOFException rather than a huge allocation
+        byte[] bytes = new byte[buffer.capacity()];
+        int offset = 0;
+        while (offset < length) {
+            ensureAvailable(1);
+            int chunk = Math.min(buffer.remaining(), length - offset);
+            if (offset + chunk > bytes.length) {
+                bytes = Arrays.copyOf(bytes, (int) Math.min(length, Math.max(offset + chunk, 2L * bytes.length)));
+            }
+            buffer.get(bytes, offset, chunk);
+            offset += chunk;
+        }
+        return new String(bytes, 0, length, StandardCharsets.UTF_8);
+    }
+
+
+    private Integer readPort() throws IOException {
+
+        byte hasPort = readByte();
+        if (hasPort == 0) {
+            return null;
+        }
+        if (hasPort != 1) {
+            throw new IOException("Corrupt JDBC URL snapshot: unexpected port flag " + hasPort);
+        }
+        int zigzag = readUnsignedVarint();
+        return (zigzag >>> 1) ^ -(zigzag & 1);
+    }
+
+
+    private int readVarint() throws IOException {
+
+        int value = readUnsignedVarint();
+        if (value < 0) {
+            throw new IOException("Corrupt JDBC URL snapshot: negative length or count");
+        }
+        return value;
+    }
+
+
+    private int readUnsignedVarint() throws IOException {
+
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = readByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Corrupt JDBC URL snapshot: varint too long");
+    }
+
+
+    private byte readByte() throws IOException {
+
+        ensureAvailable(1);
+        return buffer.get();
+    }
+
+
+    private void ensureAvailable(int bytes) throws IOException {
+
+        if (buffer.remaining() >= bytes) {
+            return;
+        }
+        if (channel == null) {
+            throw new EOFException("Truncated JDBC URL snapshot");
+        }
+
+        buffer.compact();
+        try {
+            while (buffer.position() < bytes) {
+                if (channel.read(buffer) < 0) {
+                    throw new EOFException("Truncated JDBC URL snapshot");
+                }
+            }
+        } finally {
+            buffer.flip();
+        }
+    }
+
+
+    private static <T> T decode(T[] values, byte code, String name) throws IOException {
+
+        if (code < 0 || code >= values.length) {
+            throw new IOException("Corrupt JDBC URL snapshot: unknown " + name + " code " + code);
+        }
+        return values[code];
+    }
+}
@@ -0,0 +1,227 @@
+package net.osslabz.jdbc.codec;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import net.osslabz.jdbc.Host;
+import net.osslabz.jdbc.JdbcProperty;
+import net.osslabz.jdbc.JdbcUrl;
+
+
+/**
+ * Writes parsed JDBC URLs in a compact, versioned binary format that can be read back with {@link JdbcUrlReader}.
+ *
+ * <p>Lengths and counts are varints, property sources and products single bytes, and protocols, hostnames, property keys and values are written once and referenced by a dictionary id afterwards. Records
+ * are encoded into a buffer that is written to the channel when full, so snapshots of any size are written in constant memory (apart from the dictionary).
+ *
+ * <p>Example:
+ * <pre>{@code
+ * try (FileChannel channel = FileChannel.open(path, CREATE, WRITE, TRUNCATE_EXISTING);
+ *      JdbcUrlWriter writer = new JdbcUrlWriter(channel)) {
+ *     for (JdbcUrl url : inventory) {
+ *         writer.write(url);
+ *     }
+ * }
+ * }</pre>
+ *
+ * <p>Closing the writer writes the end marker but does not close the channel. A writer is not thread-safe.
+ */
+public class JdbcUrlWriter implements Closeable, Flushable {
+
+    private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    private final WritableByteChannel channel;
+
+    private final ByteBuffer buffer;
+
+    private final Map<String, Integer> dictionary = new HashMap<>();
+
+    private boolean closed;
+
+
+    /**
+     * Creates a writer with a 64 KB buffer and writes the format header.
+     *
+     * @param channel the channel to write to
+     * @throws IOException if the header cannot be written
+     */
+    public JdbcUrlWriter(WritableByteChannel channel) throws IOException {
+
+        this(channel, DEFAULT_BUFFER_SIZE);
+    }
+
+
+    /**
+     * Creates a writer and writes the format header.
+     *
+     * @param channel    the channel to write to
+     * @param bufferSize the size of the encoding buffer in bytes (at least 16)
+     * @throws IOException if the header cannot be written
+     */
+    public JdbcUrlWriter(WritableByteChannel channel, int bufferSize) throws IOException {
+
+        this.channel = Objects.requireNonNull(channel, "Channel cannot be null");
+        if (bufferSize < 16) {
+            throw new IllegalArgumentException("Buffer size must be at least 16 bytes");
+        }
+        this.buffer = ByteBuffer.allocate(bufferSize);
+
+        buffer.putInt(CodecFormat.MAGIC);
+        buffer.put(CodecFormat.VERSION);
+    }
+
+
+    /**
+     * Writes a parsed URL.
+     *
+     * @param jdbcUrl the URL to write
+     * @throws IOException if writing to the channel fails
+     */
+    public void write(JdbcUrl jdbcUrl) throws IOException {
+
+        if (jdbcUrl == null) {
+            throw new IllegalArgumentException("JDBC URL cannot be null");
+        }
+        if (closed) {
+            throw new IllegalStateException("Writer is closed");
+        }
+
+        ensureRemaining(2);
+        buffer.put(CodecFormat.RECORD);
+        buffer.put(CodecFormat.code(jdbcUrl.databaseProduct()));
+        writeLiteral(jdbcUrl.originalUrl());
+        writeString(jdbcUrl.protocol());
+        writeLiteral(jdbcUrl.databaseName());
+
+        writeVarint(jdbcUrl.hosts().size());
+        for (Host host : jdbcUrl.hosts()) {
+            writeString(host.hostname());
+            ensureRemaining(1);
+            if (host.port() == null) {
+                buffer.put((byte) 0);
+            } else {
+                buffer.put((byte) 1);
+                // Zigzag keeps any int, including negative ports, in at most 5 bytes
+                writeVarint((host.port() << 1) ^ (host.port() >> 31));
+            }
+            writeString(host.instanceName());
+        }
+
+        writeVarint(jdbcUrl.properties().size());
+        for (Map.Entry<String, JdbcProperty> property : jdbcUrl.properties().entrySet()) {
+            writeString(property.getKey());
+            ensureRemaining(1);
+            buffer.put(CodecFormat.code(property.getValue().source()));
+            writeString(property.getValue().value());
+        }
+    }
+
+
+    /**
+     * Writes all buffered records to the channel.
+     *
+     * @throws IOException if writing to the channel fails
+     */
+    @Override
+    public void flush() throws IOException {
+
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+
+    /**
+     * Writes the end marker and flushes. The channel stays open.
+     *
+     * @throws IOException if writing to the channel fails
+     */
+    @Override
+    public void close() throws IOException {
+
+        if (closed) {
+            return;
+        }
+        closed = true;
+        ensureRemaining(1);
+        buffer.put(CodecFormat.END);
+        flush();
+    }
+
+
+    private void writeString(String value) throws IOException {
+
+        if (value == null) {
+            writeVarint(CodecFormat.TAG_NULL);
+            return;
+        }
+
+        Integer id = dictionary.get(value);
+        if (id != null) {
+            writeVarint(CodecFormat.TAG_FIRST_REFERENCE + id);
+            return;
+        }
+
+        if (dictionary.size() < CodecFormat.MAX_DICTIONARY_SIZE) {
+            dictionary.put(value, dictionary.size());
+            writeVarint(CodecFormat.TAG_NEW_DICTIONARY);
+        } else {
+            writeVarint(CodecFormat.TAG_NEW_LITERAL);
+        }
+        writeBytes(value.getBytes(StandardCharsets.UTF_8), 0);
+    }
+
+
+    private void writeLiteral(String value) throws IOException {
+
+        if (value == null) {
+            writeVarint(0);
+            return;
+        }
+        writeBytes(value.getBytes(StandardCharsets.UTF_8), 1);
+    }
+
+
+    private void writeBytes(byte[] bytes, int lengthOffset) throws IOException {
+
+        writeVarint(bytes.length + lengthOffset);
+
+        int offset = 0;
+        while (offset < bytes.length) {
+            if (!buffer.hasRemaining()) {
+                flush();
+            }
+            int chunk = Math.min(buffer.remaining(), bytes.length - offset);
+            buffer.put(bytes, offset, chunk);
+            offset += chunk;
+        }
+    }
+
+
+    private void writeVarint(int value) throws IOException {
+
+        ensureRemaining(5);
+        int remaining = value;
+        while ((remaining & ~0x7F) != 0) {
+            buffer.put((byte) ((remaining & 0x7F) | 0x80));
+            remaining >>>= 7;
+        }
+        buffer.put((byte) remaining);
+    }
+
+
+    private void ensureRemaining(int bytes) throws IOException {
+
+        if (buffer.remaining() < bytes) {
+            flush();
+        }
+    }
+}
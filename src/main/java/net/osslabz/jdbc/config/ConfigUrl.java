@@ -0,0 +1,71 @@
+package net.osslabz.jdbc.config;
+
+import java.nio.file.Path;
+import java.util.Objects;
+import net.osslabz.jdbc.JdbcUrl;
+
+
+/**
+ * A datasource URL found in a configuration file by {@link ConfigUrlScanner}. This is an immutable value object.
+ *
+ * @param source  the configuration file
+ * @param line    the 1-based line the entry starts on
+ * @param key     the configuration key; nested YAML keys are joined with '.', sequence items are written as [index]
+ * @param value   the URL with placeholders resolved, or the raw value if a placeholder could not be resolved
+ * @param status  the outcome of resolving and parsing the value
+ * @param jdbcUrl the parse result, null unless the status is {@link Status#PARSED}
+ * @param error   why the value could not be resolved or parsed, null for parsed URLs
+ */
+public record ConfigUrl(
+    Path source,
+    int line,
+    String key,
+    String value,
+    Status status,
+    JdbcUrl jdbcUrl,
+    String error
+) {
+
+    /**
+     * Compact constructor with validation.
+     */
+    public ConfigUrl {
+
+        Objects.requireNonNull(source, "Source cannot be null");
+        Objects.requireNonNull(key, "Key cannot be null");
+        Objects.requireNonNull(value, "Value cannot be null");
+        Objects.requireNonNull(status, "Status cannot be null");
+    }
+
+
+    /**
+     * Checks if the value was parsed successfully.
+     *
+     * @return true if {@link #jdbcUrl()} is available
+     */
+    public boolean isParsed() {
+
+        return status == Status.PARSED;
+    }
+
+
+    /**
+     * Outcome of a configuration entry.
+     */
+    public enum Status {
+        /**
+         * The value is a valid JDBC URL
+         */
+        PARSED,
+
+        /**
+         * The value contains a placeholder without value or default, it was not parsed
+         */
+        UNRESOLVED,
+
+        /**
+         * The value is not a valid JDBC URL
+         */
+        INVALID
+    }
+}
@@ -0,0 +1,629 @@
+package net.osslabz.jdbc.config;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Stream;
+import net.osslabz.jdbc.JdbcUrlParseException;
+import net.osslabz.jdbc.JdbcUrlParser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+
+/**
+ * Finds the datasource URLs in application.properties, application.yml and .env files.
+ *
+ * <p>Files are read line by line, no file is loaded completely. An entry is a datasource URL if its value starts with "jdbc:" or its key is a known URL key, compared in relaxed form (case-insensitive, '_'
+ * as '.', '-' ignored): spring.datasource.url (SPRING_DATASOURCE_URL), keys ending in jdbc-url or jdbcUrl, keys ending in .datasource.url or _JDBC_URL, and JDBC_DATABASE_URL.
+ *
+ * <p>Placeholders ({@code ${name}}, {@code ${name:default}} and {@code ${name:-default}}) are resolved from the variables passed to the constructor only, falling back to the default. A value with a
+ * placeholder that has neither is reported as {@link ConfigUrl.Status#UNRESOLVED} and not parsed, so that no URL is guessed.
+ *
+ * <p>YAML support covers what configuration files use: nested mappings, sequences (keys like {@code datasources[0].url}), quoted scalars, comments and multiple documents. Flow collections and block scalars
+ * are skipped.
+ *
+ * <p>Example:
+ * <pre>{@code
+ * ConfigUrlScanner scanner = new ConfigUrlScanner(System.getenv());
+ * for (ConfigUrl url : scanner.scanTree(Path.of("/srv/apps"))) {
+ *     if (url.isParsed()) {
+ *         inventory.add(url.source(), url.line(), url.jdbcUrl());
+ *     }
+ * }
+ * }</pre>
+ *
+ * <p>Files are scanned and their URLs parsed in parallel. The scanner is safe for concurrent use.
+ */
+public class ConfigUrlScanner {
+
+    private static final Logger log = LoggerFactory.getLogger(ConfigUrlScanner.class);
+
+    private final Map<String, String> variables;
+
+
+    /**
+     * Creates a scanner that resolves placeholders from their defaults only.
+     */
+    public ConfigUrlScanner() {
+
+        this(Map.of());
+    }
+
+
+    /**
+     * Creates a scanner.
+     *
+     * @param variables the values of placeholders, e.g. {@code System.getenv()}
+     */
+    public ConfigUrlScanner(Map<String, String> variables) {
+
+        if (variables == null) {
+            throw new IllegalArgumentException("Variables cannot be null");
+        }
+        this.variables = Map.copyOf(variables);
+    }
+
+
+    /**
+     * Scans all configuration files below a directory; other files are ignored.
+     *
+     * @param root the directory
+     * @return the URLs ordered by file path and line
+     *
+     * @throws IOException if the directory cannot be walked
+     */
+    public List<ConfigUrl> scanTree(Path root) throws IOException {
+
+        List<Path> files;
+        try (Stream<Path> paths = Files.walk(root)) {
+            files = paths.filter(Files::isRegularFile).filter(path -> Format.of(path) != null).sorted().toList();
+        }
+        return scan(files);
+    }
+
+
+    /**
+     * Scans configuration files in parallel. Files that cannot be read are logged and skipped, files of unknown format are ignored.
+     *
+     * @param files the files
+     * @return the URLs in file order, and by line within a file
+     */
+    public List<ConfigUrl> scan(Collection<Path> files) {
+
+        if (files == null) {
+            throw new IllegalArgumentException("Files cannot be null");
+        }
+        return files.parallelStream()
+            .flatMap(file -> {
+                try {
+                    return scanFile(file).stream();
+                } catch (IOException | UncheckedIOException e) {
+                    log.warn("Skipping configuration file {}: {}", file, e.getMessage());
+                    return Stream.empty();
+                }
+            })
+            .toList();
+    }
+
+
+    /**
+     * Scans a single configuration file.
+     *
+     * @param file the file
+     * @return the URLs in line order, empty if the format is unknown
+     *
+     * @throws IOException if the file cannot be read
+     */
+    public List<ConfigUrl> scanFile(Path file) throws IOException {
+
+        if (file == null) {
+            throw new IllegalArgumentException("File cannot be null");
+        }
+        Format format = Format.of(file);
+        if (format == null) {
+            return List.of();
+        }
+
+        List<ConfigUrl> urls = new ArrayList<>();
+        EntrySink sink = (line, key, value) -> {
+            if (isCandidate(key, value)) {
+                urls.add(toConfigUrl(file, line, key, value));
+            }
+        };
+        // Malformed input is replaced rather than failing the whole file
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(Files.newInputStream(file), StandardCharsets.UTF_8))) {
+            switch (format) {
+                case PROPERTIES -> readProperties(reader, sink);
+                case YAML -> readYaml(reader, sink);
+                case DOTENV -> readDotenv(reader, sink);
+            }
+        }
+        return urls;
+    }
+
+
+    /**
+     * Checks if a key names a datasource URL, ignoring its value.
+     *
+     * @param key the configuration key
+     * @return true for known URL keys
+     */
+    static boolean isUrlKey(String key) {
+
+        StringBuilder relaxed = new StringBuilder(key.length());
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            if (c == '_') {
+                relaxed.append('.');
+            } else if (c != '-') {
+                relaxed.append(Character.toLowerCase(c));
+            }
+        }
+        String name = relaxed.toString();
+        return name.equals("spring.datasource.url") || name.equals("jdbc.database.url") || name.equals("jdbcurl") || name.endsWith(".jdbcurl")
+               || name.endsWith(".jdbc.url") || name.endsWith(".datasource.url");
+    }
+
+
+    private static boolean isCandidate(String key, String value) {
+
+        if (value.isBlank()) {
+            return false;
+        }
+        return value.regionMatches(true, 0, "jdbc:", 0, 5) || isUrlKey(key);
+    }
+
+
+    private ConfigUrl toConfigUrl(Path file, int line, String key, String value) {
+
+        String resolved = resolvePlaceholders(value);
+        if (resolved == null) {
+            return new ConfigUrl(file, line, key, value, ConfigUrl.Status.UNRESOLVED, null, "Unresolved placeholder");
+        }
+        try {
+            return new ConfigUrl(file, line, key, resolved, ConfigUrl.Status.PARSED, JdbcUrlParser.parse(resolved), null);
+        } catch (JdbcUrlParseException | IllegalArgumentException e) {
+            return new ConfigUrl(file, line, key, resolved, ConfigUrl.Status.INVALID, null, e.getMessage());
+        }
+    }
+
+
+    /**
+     * Replaces the placeholders of a value.
+     *
+     * @return the value without placeholders, or null if a placeholder has no value and no default or placeholders are nested
+     */
+    String resolvePlaceholders(String value) {
+
+        int start = value.indexOf("${");
+        if (start < 0) {
+            return value;
+        }
+
+        StringBuilder resolved = new StringBuilder(value.length());
+        int position = 0;
+        while (start >= 0) {
+            int end = value.indexOf('}', start + 2);
+            int nested = value.indexOf("${", start + 2);
+            if (end < 0 || nested >= 0 && nested < end) {
+                return null;
+            }
+
+            String expression = value.substring(start + 2, end);
+            int colon = expression.indexOf(':');
+            String name = colon >= 0 ? expression.substring(0, colon) : expression;
+            String replacement = variables.get(name.trim());
+            if (replacement == null && colon >= 0) {
+                replacement = expression.startsWith("-", colon + 1) ? expression.substring(colon + 2) : expression.substring(colon + 1);
+            }
+            if (replacement == null) {
+                return null;
+            }
+
+            resolved.append(value, position, start).append(replacement);
+            position = end + 1;
+            start = value.indexOf("${", position);
+        }
+        return resolved.append(value, position, value.length()).toString();
+    }
+
+
+    private static void readProperties(BufferedReader reader, EntrySink sink) throws IOException {
+
+        StringBuilder logical = new StringBuilder();
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            String trimmed = line.stripLeading();
+            if (trimmed.isEmpty() || trimmed.charAt(0) == '#' || trimmed.charAt(0) == '!') {
+                continue;
+            }
+
+            // Lines ending in an odd number of backslashes continue on the next line
+            int startLine = lineNumber;
+            logical.setLength(0);
+            logical.append(trimmed);
+            while (endsWithContinuation(logical)) {
+                logical.setLength(logical.length() - 1);
+                String next = reader.readLine();
+                if (next == null) {
+                    break;
+                }
+                lineNumber++;
+                logical.append(next.stripLeading());
+            }
+            parsePropertyLine(logical, startLine, sink);
+        }
+    }
+
+
+    private static boolean endsWithContinuation(CharSequence line) {
+
+        int backslashes = 0;
+        for (int i = line.length() - 1; i >= 0 && line.charAt(i) == '\\'; i--) {
+            backslashes++;
+        }
+        return backslashes % 2 == 1;
+    }
+
+
+    private static void parsePropertyLine(CharSequence line, int lineNumber, EntrySink sink) {
+
+        int length = line.length();
+        int keyEnd = 0;
+        while (keyEnd < length) {
+            char c = line.charAt(keyEnd);
+            if (c == '\\') {
+                keyEnd += 2;
+                continue;
+            }
+            if (c == '=' || c == ':' || Character.isWhitespace(c)) {
+                break;
+            }
+            keyEnd++;
+        }
+        keyEnd = Math.min(keyEnd, length);
+
+        int valueStart = keyEnd;
+        while (valueStart < length && Character.isWhitespace(line.charAt(valueStart))) {
+            valueStart++;
+        }
+        if (valueStart < length && (line.charAt(valueStart) == '=' || line.charAt(valueStart) == ':')) {
+            valueStart++;
+        }
+        while (valueStart < length && Character.isWhitespace(line.charAt(valueStart))) {
+            valueStart++;
+        }
+
+        sink.accept(lineNumber, unescape(line, 0, keyEnd), unescape(line, valueStart, length).trim());
+    }
+
+
+    private static String unescape(CharSequence text, int from, int to) {
+
+        StringBuilder result = new StringBuilder(to - from);
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            if (c != '\\' || i + 1 >= to) {
+                result.append(c);
+                continue;
+            }
+            c = text.charAt(++i);
+            switch (c) {
+                case 't' -> result.append('\t');
+                case 'n' -> result.append('\n');
+                case 'r' -> result.append('\r');
+                case 'f' -> result.append('\f');
+                case 'u' -> {
+                    if (i + 4 < to) {
+                        try {
+                            result.append((char) Integer.parseInt(text.subSequence(i + 1, i + 5).toString(), 16));
+                            i += 4;
+                        } catch (NumberFormatException e) {
+                            result.append(c);
+                        }
+                    } else {
+                        result.append(c);
+                    }
+                }
+                default -> result.append(c);
+            }
+        }
+        return result.toString();
+    }
+
+
+    private static void readYaml(BufferedReader reader, EntrySink sink) throws IOException {
+
+        Deque<YamlLevel> levels = new ArrayDeque<>();
+        int blockScalarIndent = -1;
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            int indent = 0;
+            while (indent < line.length() && line.charAt(indent) == ' ') {
+                indent++;
+            }
+            String content = line.substring(indent).stripTrailing();
+            if (content.isEmpty() || content.charAt(0) == '#') {
+                continue;
+            }
+            if (blockScalarIndent >= 0) {
+                if (indent > blockScalarIndent) {
+                    continue;
+                }
+                blockScalarIndent = -1;
+            }
+            if (indent == 0 && (content.equals("---") || content.startsWith("--- ") || content.equals("..."))) {
+                levels.clear();
+                continue;
+            }
+
+            // Sequence items open a level named [index] under their parent, the rest of the line is a mapping entry at the item's indentation
+            while (content.equals("-") || content.startsWith("- ")) {
+                while (!levels.isEmpty() && (levels.peek().indent > indent || levels.peek().indent == indent && levels.peek().item)) {
+                    levels.pop();
+                }
+                YamlLevel parent = levels.peek();
+                int index = parent != null ? parent.items++ : 0;
+                String itemPath = (parent != null ? parent.path : "") + "[" + index + "]";
+                levels.push(new YamlLevel(indent, itemPath, true));
+
+                int offset = 1;
+                while (offset < content.length() && content.charAt(offset) == ' ') {
+                    offset++;
+                }
+                indent += offset;
+                content = content.substring(offset);
+            }
+            if (content.isEmpty()) {
+                continue;
+            }
+
+            int separator = findKeySeparator(content);
+            if (separator < 0) {
+                // Plain scalar sequence item: "- jdbc:..."
+                YamlLevel item = levels.peek();
+                if (item != null && item.item && item.indent < indent) {
+                    String value = yamlScalar(content);
+                    if (value != null) {
+                        sink.accept(lineNumber, item.path, value);
+                    }
+                }
+                continue;
+            }
+
+            while (!levels.isEmpty() && levels.peek().indent >= indent) {
+                levels.pop();
+            }
+            String key = yamlScalar(content.substring(0, separator).trim());
+            if (key == null) {
+                continue;
+            }
+            YamlLevel parent = levels.peek();
+            String path = parent == null ? key : parent.path + "." + key;
+            String rawValue = content.substring(separator + 1).trim();
+
+            if (rawValue.isEmpty() || rawValue.charAt(0) == '#') {
+                levels.push(new YamlLevel(indent, path, false));
+            } else if (rawValue.charAt(0) == '|' || rawValue.charAt(0) == '>') {
+                blockScalarIndent = indent;
+            } else {
+                String value = yamlScalar(rawValue);
+                if (value != null) {
+                    sink.accept(lineNumber, path, value);
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Finds the ':' that separates key and value: outside quotes and followed by a space or the end of the line, so that URLs like {@code jdbc:h2:mem:db} are not split.
+     */
+    private static int findKeySeparator(String content) {
+
+        char quote = 0;
+        for (int i = 0; i < content.length(); i++) {
+            char c = content.charAt(i);
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                }
+            } else if (i == 0 && (c == '"' || c == '\'')) {
+                quote = c;
+            } else if (c == ':' && (i + 1 == content.length() || content.charAt(i + 1) == ' ')) {
+                return i;
+            } else if (c == '#' && i > 0 && content.charAt(i - 1) == ' ') {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+
+    /**
+     * Converts a YAML scalar to its value, removing quotes, comments and a !!str tag.
+     *
+     * @return the value, or null for flow collections and aliases
+     */
+    private static String yamlScalar(String raw) {
+
+        String text = raw.startsWith("!!str ") ? raw.substring(6).trim() : raw;
+        if (text.isEmpty()) {
+            return text;
+        }
+        char first = text.charAt(0);
+        if (first == '[' || first == '{' || first == '*') {
+            return null;
+        }
+        if (first == '\'') {
+            StringBuilder value = new StringBuilder();
+            for (int i = 1; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if (c == '\'') {
+                    if (i + 1 < text.length() && text.charAt(i + 1) == '\'') {
+                        value.append('\'');
+                        i++;
+                        continue;
+                    }
+                    return value.toString();
+                }
+                value.append(c);
+            }
+            return value.toString();
+        }
+        if (first == '"') {
+            return doubleQuoted(text);
+        }
+
+        int comment = text.indexOf(" #");
+        return (comment >= 0 ? text.substring(0, comment) : text).trim();
+    }
+
+
+    private static String doubleQuoted(String text) {
+
+        StringBuilder value = new StringBuilder();
+        for (int i = 1; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"') {
+                break;
+            }
+            if (c == '\\' && i + 1 < text.length()) {
+                char escaped = text.charAt(++i);
+                value.append(switch (escaped) {
+                    case 'n' -> '\n';
+                    case 't' -> '\t';
+                    case 'r' -> '\r';
+                    default -> escaped;
+                });
+            } else {
+                value.append(c);
+            }
+        }
+        return value.toString();
+    }
+
+
+    private static void readDotenv(BufferedReader reader, EntrySink sink) throws IOException {
+
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            String trimmed = line.strip();
+            if (trimmed.isEmpty() || trimmed.charAt(0) == '#') {
+                continue;
+            }
+            if (trimmed.startsWith("export ")) {
+                trimmed = trimmed.substring(7).stripLeading();
+            }
+            int equals = trimmed.indexOf('=');
+            if (equals <= 0) {
+                continue;
+            }
+
+            String key = trimmed.substring(0, equals).trim();
+            String rawValue = trimmed.substring(equals + 1).trim();
+            String value;
+            if (rawValue.startsWith("'")) {
+                int end = rawValue.indexOf('\'', 1);
+                value = end > 0 ? rawValue.substring(1, end) : rawValue.substring(1);
+            } else if (rawValue.startsWith("\"")) {
+                value = doubleQuoted(rawValue);
+            } else {
+                int comment = rawValue.indexOf(" #");
+                value = (comment >= 0 ? rawValue.substring(0, comment) : rawValue).trim();
+            }
+            sink.accept(lineNumber, key, value);
+        }
+    }
+
+
+    /**
+     * Configuration file formats, detected by file name.
+     */
+    public enum Format {
+        /**
+         * Java properties (*.properties)
+         */
+        PROPERTIES,
+
+        /**
+         * YAML (*.yml, *.yaml)
+         */
+        YAML,
+
+        /**
+         * Environment files (.env, .env.*, *.env)
+         */
+        DOTENV;
+
+
+        /**
+         * Detects the format of a file from its name.
+         *
+         * @param file the file
+         * @return the format, or null if the file is not a configuration file
+         */
+        public static Format of(Path file) {
+
+            Path fileName = file.getFileName();
+            if (fileName == null) {
+                return null;
+            }
+            String name = fileName.toString().toLowerCase(Locale.ROOT);
+            if (name.endsWith(".properties")) {
+                return PROPERTIES;
+            }
+            if (name.endsWith(".yml") || name.endsWith(".yaml")) {
+                return YAML;
+            }
+            if (name.equals(".env") || name.startsWith(".env.") || name.endsWith(".env")) {
+                return DOTENV;
+            }
+            return null;
+        }
+    }
+
+
+    @FunctionalInterface
+    private interface EntrySink {
+
+        void accept(int line, String key, String value);
+    }
+
+
+    private static final class YamlLevel {
+
+        final int indent;
+
+        final String path;
+
+        final boolean item;
+
+        int items;
+
+
+        YamlLevel(int indent, String path, boolean item) {
+
+            this.indent = indent;
+            this.path = path;
+            this.item = item;
+        }
+    }
+}
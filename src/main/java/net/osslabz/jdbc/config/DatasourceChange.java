@@ -0,0 +1,114 @@
+package net.osslabz.jdbc.config;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import net.osslabz.jdbc.Host;
+import net.osslabz.jdbc.JdbcProperty;
+import net.osslabz.jdbc.JdbcUrl;
+
+
+/**
+ * Structural change of a single datasource between two versions of a configuration source. This is an immutable value object.
+ *
+ * @param source            the configuration file declaring the datasource
+ * @param name              the datasource name (the configuration key)
+ * @param kind              the kind of change
+ * @param previous          the previous parse result, null if the datasource was added
+ * @param current           the current parse result, null if the datasource was removed
+ * @param addedHosts        hosts present only in the current URL
+ * @param removedHosts      hosts present only in the previous URL
+ * @param changedProperties keys of properties that were added, removed or changed
+ */
+public record DatasourceChange(
+    Path source,
+    String name,
+    Kind kind,
+    JdbcUrl previous,
+    JdbcUrl current,
+    List<Host> addedHosts,
+    List<Host> removedHosts,
+    Set<String> changedProperties
+) {
+
+    /**
+     * Compact constructor with validation and defensive copying.
+     */
+    public DatasourceChange {
+
+        Objects.requireNonNull(source, "Source cannot be null");
+        Objects.requireNonNull(name, "Name cannot be null");
+        Objects.requireNonNull(kind, "Kind cannot be null");
+
+        addedHosts = addedHosts == null ? List.of() : List.copyOf(addedHosts);
+        removedHosts = removedHosts == null ? List.of() : List.copyOf(removedHosts);
+        changedProperties = changedProperties == null ? Set.of() : Set.copyOf(changedProperties);
+    }
+
+
+    /**
+     * Computes the change between two versions of a datasource.
+     *
+     * @param source   the configuration file declaring the datasource
+     * @param name     the datasource name
+     * @param previous the previous parse result, or null if the datasource is new
+     * @param current  the current parse result, or null if the datasource was removed
+     * @return the change
+     */
+    public static DatasourceChange between(Path source, String name, JdbcUrl previous, JdbcUrl current) {
+
+        Kind kind = previous == null ? Kind.ADDED : current == null ? Kind.REMOVED : Kind.CHANGED;
+        List<Host> previousHosts = previous != null ? previous.hosts() : List.of();
+        List<Host> currentHosts = current != null ? current.hosts() : List.of();
+        Map<String, JdbcProperty> previousProperties = previous != null ? previous.properties() : Map.of();
+        Map<String, JdbcProperty> currentProperties = current != null ? current.properties() : Map.of();
+
+        Set<String> changedProperties = new TreeSet<>();
+        for (Map.Entry<String, JdbcProperty> entry : currentProperties.entrySet()) {
+            if (!entry.getValue().equals(previousProperties.get(entry.getKey()))) {
+                changedProperties.add(entry.getKey());
+            }
+        }
+        for (String key : previousProperties.keySet()) {
+            if (!currentProperties.containsKey(key)) {
+                changedProperties.add(key);
+            }
+        }
+
+        return new DatasourceChange(source, name, kind, previous, current,
+            difference(currentHosts, previousHosts), difference(previousHosts, currentHosts), changedProperties);
+    }
+
+
+    private static List<Host> difference(List<Host> hosts, List<Host> toRemove) {
+
+        List<Host> result = new ArrayList<>(hosts);
+        result.removeAll(toRemove);
+        return result;
+    }
+
+
+    /**
+     * Kinds of datasource changes.
+     */
+    public enum Kind {
+        /**
+         * The datasource is new
+         */
+        ADDED,
+
+        /**
+         * The datasource no longer exists
+         */
+        REMOVED,
+
+        /**
+         * The URL of the datasource changed
+         */
+        CHANGED
+    }
+}
@@ -0,0 +1,276 @@
+package net.osslabz.jdbc.config;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+
+/**
+ * Driver properties of one connection, merged from the layers of a {@link DriverPropertiesAssembler}. Instances are immutable and shared between all connections to the same URL with the same overrides.
+ */
+public final class DriverProperties {
+
+    private final Map<String, String> values;
+
+    private final Map<String, String> layers;
+
+    private final Properties properties;
+
+
+    DriverProperties(Map<String, String> values, Map<String, String> layers) {
+
+        this.values = Map.copyOf(values);
+        this.layers = Map.copyOf(layers);
+        this.properties = new ReadOnlyProperties(this.values);
+    }
+
+
+    /**
+     * Gets a property value.
+     *
+     * @param key the property key
+     * @return the value, or null if no layer sets the property
+     */
+    public String get(String key) {
+
+        return values.get(key);
+    }
+
+
+    /**
+     * Gets the name of the layer a property value was taken from.
+     *
+     * @param key the property key
+     * @return the layer name, or null if no layer sets the property
+     */
+    public String getLayer(String key) {
+
+        return layers.get(key);
+    }
+
+
+    /**
+     * Gets all properties.
+     *
+     * @return unmodifiable map of property keys to values
+     */
+    public Map<String, String> asMap() {
+
+        return values;
+    }
+
+
+    /**
+     * Gets the properties as a shared, read-only {@link Properties} object. Every call returns the same instance, so this is the cheapest way to pass the properties to a driver that doesn't modify them.
+     *
+     * @return the read-only properties; methods that would modify them throw {@link UnsupportedOperationException}
+     */
+    public Properties asProperties() {
+
+        return properties;
+    }
+
+
+    /**
+     * Copies the properties into a new {@link Properties} object, for drivers and pools that modify the properties they are given.
+     *
+     * @return a new, modifiable properties object
+     */
+    public Properties toProperties() {
+
+        Properties copy = new Properties(values.size());
+        copy.putAll(values);
+        return copy;
+    }
+
+
+    @Override
+    public boolean equals(Object o) {
+
+        return this == o || o instanceof DriverProperties other && values.equals(other.values) && layers.equals(other.layers);
+    }
+
+
+    @Override
+    public int hashCode() {
+
+        return values.hashCode();
+    }
+
+
+    @Override
+    public String toString() {
+
+        return "DriverProperties{" + values.size() + " entries}";
+    }
+
+
+    /**
+     * Properties that reject every modification, including through the key, value and entry views.
+     */
+    private static final class ReadOnlyProperties extends Properties {
+
+        private static final long serialVersionUID = 1L;
+
+
+        ReadOnlyProperties(Map<String, String> values) {
+
+            super(values.size());
+            for (Map.Entry<String, String> entry : values.entrySet()) {
+                super.put(entry.getKey(), entry.getValue());
+            }
+        }
+
+
+        @Override
+        public synchronized Object setProperty(String key, String value) {
+
+            throw readOnly();
+        }
+
+
+        @Override
+        public synchronized void load(Reader reader) {
+
+            throw readOnly();
+        }
+
+
+        @Override
+        public synchronized void load(InputStream inStream) {
+
+            throw readOnly();
+        }
+
+
+        @Override
+        public synchronized void loadFromXML(InputStream in) {
+
+            throw readOnly();
+        }
+
+
+        @Override
+        public synchronized Object put(Object key, Object value) {
+
+            throw readOnly();
+        }
+
+
+        @Override
+        public synchronized void putAll(Map<?, ?> t) {
+
+            throw readOnly();
+        }
+
+
+        @Override
+        public synchronized Object remove(Object key) {
+
+            throw readOnly();
+        }
+
+
+        @Override
+        public synchronized boolean remove(Object key, Object value) {
+
+            throw readOnly();
+        }
+
+
+        @Override
+        public synchronized void clear() {
+
+            throw readOnly();
+        }
+
+
+        @Override
+        public synchronized void replaceAll(BiFunction<? super Object, ? super Object, ?> function) {
+
+            throw readOnly();
+        }
+
+
+        @Override
+        public synchronized Object putIfAbsent(Object key, Object value) {
+
+            throw readOnly();
+        }
+
+
+        @Override
+        public synchronized boolean replace(Object key, Object oldValue, Object newValue) {
+
+            throw readOnly();
+        }
+
+
+        @Override
+        public synchronized Object replace(Object key, Object value) {
+
+            throw readOnly();
+        }
+
+
+        @Override
+        public synchronized Object computeIfAbsent(Object key, Function<? super Object, ?> mappingFunction) {
+
+            throw readOnly();
+        }
+
+
+        @Override
+        public synchronized Object computeIfPresent(Object key, BiFunction<? super Object, ? super Object, ?> remappingFunction) {
+
+            throw readOnly();
+        }
+
+
+        @Override
+        public synchronized Object compute(Object key, BiFunction<? super Object, ? super Object, ?> remappingFunction) {
+
+            throw readOnly();
+        }
+
+
+        @Override
+        public synchronized Object merge(Object key, Object value, BiFunction<? super Object, ? super Object, ?> remappingFunction) {
+
+            throw readOnly();
+        }
+
+
+        @Override
+        public Set<Object> keySet() {
+
+            return Collections.unmodifiableSet(super.keySet());
+        }
+
+
+        @Override
+        public Collection<Object> values() {
+
+            return Collections.unmodifiableCollection(super.values());
+        }
+
+
+        @Override
+        public Set<Map.Entry<Object, Object>> entrySet() {
+
+            return Collections.unmodifiableSet(super.entrySet());
+        }
+
+
+        private static UnsupportedOperationException readOnly() {
+
+            return new UnsupportedOperationException("Driver properties are read-only, use toProperties() for a modifiable copy");
+        }
+    }
+}
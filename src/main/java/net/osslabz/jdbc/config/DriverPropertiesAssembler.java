@@ -0,0 +1,191 @@
+package net.osslabz.jdbc.config;
+
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import net.osslabz.jdbc.JdbcProperty;
+import net.osslabz.jdbc.JdbcUrl;
+import net.osslabz.jdbc.PropertySource;
+
+
+/**
+ * Assembles the driver properties of a connection from the properties of its JDBC URL and external layers such as pool defaults and environment overrides.
+ *
+ * <p>Layers are given lowest precedence first; a property set by a later layer replaces the value of an earlier one. URL properties are only included from the sources of a
+ * {@link PropertyLayer#url(PropertySource...) URL layer}, so the {@link PropertySource#DERIVED} and {@link PropertySource#DESCRIPTOR} properties added by the parsers are left out unless listed. Overrides
+ * passed to {@link #assemble(JdbcUrl, Map)} take precedence over all layers. Keys are compared exactly, as most drivers do.
+ *
+ * <p>Results are cached by URL and overrides, so creating many connections to the same database merges the properties once. The cache holds at most {@link #MAX_CACHED} results and is emptied when it
+ * is full; call {@link #clear()} to drop it earlier.
+ *
+ * <p>Example:
+ * <pre>{@code
+ * DriverPropertiesAssembler assembler = new DriverPropertiesAssembler(
+ *     PropertyLayer.of("pool-defaults", Map.of("connectTimeout", "10", "ssl", "false")),
+ *     PropertyLayer.url(PropertySource.PATH, PropertySource.QUERY),
+ *     PropertyLayer.of("environment", environmentOverrides));
+ *
+ * DriverProperties properties = assembler.assemble(jdbcUrl, Map.of("user", user, "password", password));
+ * Connection connection = DriverManager.getConnection(jdbcUrl.originalUrl(), properties.toProperties());
+ * }</pre>
+ *
+ * <p>The assembler is safe for concurrent use.
+ */
+public class DriverPropertiesAssembler {
+
+    /**
+     * The maximum number of cached results.
+     */
+    public static final int MAX_CACHED = 10_000;
+
+    /**
+     * Name of the layer of the overrides passed to {@link #assemble(JdbcUrl, Map)}.
+     */
+    public static final String OVERRIDES = "overrides";
+
+    private final List<PropertyLayer> layers;
+
+    private final Map<CacheKey, DriverProperties> cache = new ConcurrentHashMap<>();
+
+
+    /**
+     * Creates an assembler.
+     *
+     * @param layers the layers, lowest precedence first
+     */
+    public DriverPropertiesAssembler(PropertyLayer... layers) {
+
+        if (layers == null || layers.length == 0) {
+            throw new IllegalArgumentException("At least one layer is required");
+        }
+        Set<PropertySource> urlSources = EnumSet.noneOf(PropertySource.class);
+        for (PropertyLayer layer : layers) {
+            if (layer == null) {
+                throw new IllegalArgumentException("Layer cannot be null");
+            }
+            for (PropertySource source : layer.urlSources()) {
+                if (!urlSources.add(source)) {
+                    throw new IllegalArgumentException("Property source " + source + " is taken by more than one layer");
+                }
+            }
+        }
+        this.layers = List.of(layers);
+    }
+
+
+    /**
+     * Gets the layers.
+     *
+     * @return the layers, lowest precedence first
+     */
+    public List<PropertyLayer> getLayers() {
+
+        return layers;
+    }
+
+
+    /**
+     * Assembles the driver properties of a URL.
+     *
+     * @param url the parsed URL
+     * @return the merged properties, shared with other callers
+     */
+    public DriverProperties assemble(JdbcUrl url) {
+
+        return assemble(url, Map.of());
+    }
+
+
+    /**
+     * Assembles the driver properties of a URL with per-connection overrides such as credentials.
+     *
+     * @param url       the parsed URL
+     * @param overrides properties taking precedence over all layers; pass an immutable map ({@link Map#of()}, {@link Map#copyOf(Map)}) to avoid a copy on every call
+     * @return the merged properties, shared with other callers
+     */
+    public DriverProperties assemble(JdbcUrl url, Map<String, String> overrides) {
+
+        if (url == null) {
+            throw new IllegalArgumentException("URL cannot be null");
+        }
+        if (overrides == null) {
+            throw new IllegalArgumentException("Overrides cannot be null");
+        }
+        CacheKey key;
+        try {
+            key = new CacheKey(url, Map.copyOf(overrides));
+        } catch (NullPointerException e) {
+            throw new IllegalArgumentException("Overrides cannot contain null keys or values", e);
+        }
+
+        DriverProperties properties = cache.get(key);
+        if (properties == null) {
+            properties = merge(url, key.overrides());
+            if (cache.size() >= MAX_CACHED) {
+                cache.clear();
+            }
+            DriverProperties existing = cache.putIfAbsent(key, properties);
+            if (existing != null) {
+                properties = existing;
+            }
+        }
+        return properties;
+    }
+
+
+    /**
+     * Gets the number of cached results.
+     *
+     * @return the cache size
+     */
+    public int cacheSize() {
+
+        return cache.size();
+    }
+
+
+    /**
+     * Empties the cache.
+     */
+    public void clear() {
+
+        cache.clear();
+    }
+
+
+    private DriverProperties merge(JdbcUrl url, Map<String, String> overrides) {
+
+        Map<String, String> values = new HashMap<>();
+        Map<String, String> origins = new HashMap<>();
+        for (PropertyLayer layer : layers) {
+            if (layer.isUrlLayer()) {
+                for (Map.Entry<String, JdbcProperty> property : url.properties().entrySet()) {
+                    if (layer.urlSources().contains(property.getValue().source())) {
+                        values.put(property.getKey(), property.getValue().value());
+                        origins.put(property.getKey(), layer.name());
+                    }
+                }
+            } else {
+                put(values, origins, layer.values(), layer.name());
+            }
+        }
+        put(values, origins, overrides, OVERRIDES);
+        return new DriverProperties(values, origins);
+    }
+
+
+    private static void put(Map<String, String> values, Map<String, String> origins, Map<String, String> layerValues, String layerName) {
+
+        for (Map.Entry<String, String> entry : layerValues.entrySet()) {
+            values.put(entry.getKey(), entry.getValue());
+            origins.put(entry.getKey(), layerName);
+        }
+    }
+
+
+    private record CacheKey(JdbcUrl url, Map<String, String> overrides) {
+    }
+}
@@ -0,0 +1,364 @@
+package net.osslabz.jdbc.config;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import net.osslabz.jdbc.JdbcUrl;
+import net.osslabz.jdbc.JdbcUrlParseException;
+import net.osslabz.jdbc.JdbcUrlParser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+
+/**
+ * Keeps the datasources declared in configuration files up to date and publishes structural changes.
+ *
+ * <p>Configuration files use the {@link Properties} format, every entry whose value is a JDBC URL is a datasource named by its key. On reload, only the file that changed is read again, and only
+ * URLs whose string changed are parsed again, so the cost of a reload is proportional to the change rather than to the number of datasources. URLs that cannot be parsed are logged and treated as absent.
+ *
+ * <p>The watcher reloads a file once its events have settled, and a file that turns up empty only loses its datasources if it is still empty after the settle time, so files rewritten in place (truncate,
+ * then write) don't publish removals followed by additions.
+ *
+ * <p>Example:
+ * <pre>{@code
+ * try (JdbcUrlReloader reloader = new JdbcUrlReloader(changes -> router.apply(changes))) {
+ *     reloader.watch(Path.of("/etc/app/datasources.properties"));
+ *     reloader.start();
+ *     ...
+ * }
+ * }</pre>
+ *
+ * <p>The listener is called on the thread performing the reload: the caller of {@link #watch(Path)} and {@link #reload(Path)}, or the watcher thread started by {@link #start()}.
+ */
+public class JdbcUrlReloader implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(JdbcUrlReloader.class);
+
+    // Time without further events before changed files are reloaded
+    private static final long SETTLE_MILLIS = 200;
+
+    private final Consumer<List<DatasourceChange>> listener;
+
+    // In the order the files were first loaded, which decides between datasources of the same name
+    private final Map<Path, Map<String, Entry>> datasourcesBySource = new LinkedHashMap<>();
+
+    private final Map<Path, Set<Path>> watchedFilesByDirectory = new HashMap<>();
+
+    private WatchService watchService;
+
+    private Thread watcherThread;
+
+
+    /**
+     * Creates a reloader.
+     *
+     * @param listener receives the changes of each reload that changed at least one datasource
+     */
+    public JdbcUrlReloader(Consumer<List<DatasourceChange>> listener) {
+
+        this.listener = Objects.requireNonNull(listener, "Listener cannot be null");
+    }
+
+
+    /**
+     * Adds a configuration file, loads it and publishes its datasources as added. If {@link #start()} was called, the file is watched for changes right away.
+     *
+     * @param file the configuration file
+     * @return the changes caused by loading the file
+     * @throws IOException if the file cannot be read or watched
+     */
+    public synchronized List<DatasourceChange> watch(Path file) throws IOException {
+
+        Path normalized = file.toAbsolutePath().normalize();
+        Path directory = normalized.getParent();
+
+        boolean newDirectory = !watchedFilesByDirectory.containsKey(directory);
+        watchedFilesByDirectory.computeIfAbsent(directory, d -> new HashSet<>()).add(normalized);
+        if (newDirectory && watchService != null) {
+            register(directory);
+        }
+
+        return reload(normalized);
+    }
+
+
+    /**
+     * Reloads a configuration file and publishes the changes. Usually called by the watcher thread, but can also be used without {@link #start()} to reload on demand.
+     *
+     * @param file the configuration file
+     * @return the changes, empty if no datasource changed
+     * @throws IOException if the file cannot be read
+     */
+    public synchronized List<DatasourceChange> reload(Path file) throws IOException {
+
+        Path normalized = file.toAbsolutePath().normalize();
+        Map<String, String> urls = Files.exists(normalized) ? readUrls(normalized) : Map.of();
+
+        Map<String, Entry> previous = datasourcesBySource.getOrDefault(normalized, Map.of());
+        Map<String, Entry> current = new LinkedHashMap<>();
+        List<DatasourceChange> changes = new ArrayList<>();
+
+        for (Map.Entry<String, String> url : urls.entrySet()) {
+            String name = url.getKey();
+            Entry previousEntry = previous.get(name);
+            if (previousEntry != null && previousEntry.url().equals(url.getValue())) {
+                // Unchanged URL, keep the parse result
+                current.put(name, previousEntry);
+                continue;
+            }
+
+            JdbcUrl parsed = tryParse(normalized, name, url.getValue());
+            if (parsed == null) {
+                continue;
+            }
+            current.put(name, new Entry(url.getValue(), parsed));
+            changes.add(DatasourceChange.between(normalized, name, previousEntry != null ? previousEntry.jdbcUrl() : null, parsed));
+        }
+        for (Map.Entry<String, Entry> previousEntry : previous.entrySet()) {
+            if (!current.containsKey(previousEntry.getKey())) {
+                changes.add(DatasourceChange.between(normalized, previousEntry.getKey(), previousEntry.getValue().jdbcUrl(), null));
+            }
+        }
+
+        datasourcesBySource.put(normalized, current);
+        warnAboutDuplicates(normalized, current.keySet());
+
+        if (!changes.isEmpty()) {
+            log.debug("Reloaded {}: {} datasource change(s)", normalized, changes.size());
+            try {
+                listener.accept(List.copyOf(changes));
+            } catch (RuntimeException e) {
+                log.warn("Datasource change listener failed for {}", normalized, e);
+            }
+        }
+        return List.copyOf(changes);
+    }
+
+
+    /**
+     * Gets the current datasources of all configuration files. A name declared in several files maps to the URL of the file loaded first; such duplicates are logged when a file is loaded.
+     *
+     * @return map of datasource name to parsed URL
+     */
+    public synchronized Map<String, JdbcUrl> datasources() {
+
+        Map<String, JdbcUrl> datasources = new LinkedHashMap<>();
+        for (Map<String, Entry> entries : datasourcesBySource.values()) {
+            entries.forEach((name, entry) -> datasources.putIfAbsent(name, entry.jdbcUrl()));
+        }
+        return datasources;
+    }
+
+
+    /**
+     * Gets the current datasources of one configuration file.
+     *
+     * @param file the configuration file
+     * @return map of datasource name to parsed URL, empty if the file is not loaded
+     */
+    public synchronized Map<String, JdbcUrl> datasources(Path file) {
+
+        Map<String, JdbcUrl> datasources = new LinkedHashMap<>();
+        datasourcesBySource.getOrDefault(file.toAbsolutePath().normalize(), Map.of()).forEach((name, entry) -> datasources.put(name, entry.jdbcUrl()));
+        return datasources;
+    }
+
+
+    /**
+     * Starts a daemon thread that watches the configuration files and reloads them when they change.
+     *
+     * @throws IOException if the watch service cannot be created
+     */
+    public synchronized void start() throws IOException {
+
+        if (watchService != null) {
+            throw new IllegalStateException("Reloader is already started");
+        }
+
+        watchService = FileSystems.getDefault().newWatchService();
+        for (Path directory : watchedFilesByDirectory.keySet()) {
+            register(directory);
+        }
+
+        WatchService service = watchService;
+        watcherThread = new Thread(() -> watchLoop(service), "jdbc-url-reloader");
+        watcherThread.setDaemon(true);
+        watcherThread.start();
+    }
+
+
+    /**
+     * Stops watching the configuration files.
+     *
+     * @throws IOException if the watch service cannot be closed
+     */
+    @Override
+    public synchronized void close() throws IOException {
+
+        if (watchService != null) {
+            watchService.close();
+            watchService = null;
+        }
+        if (watcherThread != null) {
+            watcherThread.interrupt();
+            watcherThread = null;
+        }
+    }
+
+
+    private void register(Path directory) throws IOException {
+
+        directory.register(watchService,
+            StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+    }
+
+
+    private void watchLoop(WatchService service) {
+
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                // Collect events until the files have been quiet for the settle time, so that a write in several steps is reloaded once
+                Set<Path> changedFiles = new HashSet<>();
+                WatchKey key = service.take();
+                while (key != null) {
+                    collectChangedFiles(key, changedFiles);
+                    key = service.poll(SETTLE_MILLIS, TimeUnit.MILLISECONDS);
+                }
+
+                for (Path changed : changedFiles) {
+                    try {
+                        reloadSettled(changed);
+                    } catch (IOException e) {
+                        log.warn("Failed to reload datasource configuration {}", changed, e);
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            log.debug("Datasource configuration watcher stopped");
+        }
+    }
+
+
+    private void collectChangedFiles(WatchKey key, Set<Path> changedFiles) {
+
+        Path directory = (Path) key.watchable();
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                changedFiles.addAll(watchedFiles(directory));
+            } else if (event.context() instanceof Path relative) {
+                Path changed = directory.resolve(relative).toAbsolutePath().normalize();
+                if (watchedFiles(directory).contains(changed)) {
+                    changedFiles.add(changed);
+                }
+            }
+        }
+        key.reset();
+    }
+
+
+    /**
+     * Reloads a file changed on disk. A file that is rewritten in place is empty between truncating and writing; removing all of its datasources would tear down their pools just before they are
+     * added again, so an empty file only counts as empty if it still is after the settle time.
+     */
+    private void reloadSettled(Path file) throws IOException, InterruptedException {
+
+        if (Files.exists(file) && Files.size(file) == 0 && hasDatasources(file)) {
+            Thread.sleep(SETTLE_MILLIS);
+        }
+        reload(file);
+    }
+
+
+    private void warnAboutDuplicates(Path file, Set<String> names) {
+
+        for (Map.Entry<Path, Map<String, Entry>> other : datasourcesBySource.entrySet()) {
+            if (other.getKey().equals(file)) {
+                continue;
+            }
+            for (String name : names) {
+                if (other.getValue().containsKey(name)) {
+                    log.warn("Datasource {} is declared in {} and {}, using the one of {}", name, file, other.getKey(), firstSource(name));
+                }
+            }
+        }
+    }
+
+
+    private Path firstSource(String name) {
+
+        for (Map.Entry<Path, Map<String, Entry>> source : datasourcesBySource.entrySet()) {
+            if (source.getValue().containsKey(name)) {
+                return source.getKey();
+            }
+        }
+        return null;
+    }
+
+
+    private synchronized boolean hasDatasources(Path file) {
+
+        return !datasourcesBySource.getOrDefault(file, Map.of()).isEmpty();
+    }
+
+
+    private synchronized Set<Path> watchedFiles(Path directory) {
+
+        return Set.copyOf(watchedFilesByDirectory.getOrDefault(directory, Set.of()));
+    }
+
+
+    private static Map<String, String> readUrls(Path file) throws IOException {
+
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+
+        Map<String, String> urls = new LinkedHashMap<>();
+        for (String name : properties.stringPropertyNames()) {
+            String value = properties.getProperty(name).trim();
+            if (JdbcUrlParser.isJdbcUrl(value)) {
+                urls.put(name, value);
+            }
+        }
+        return urls;
+    }
+
+
+    private static JdbcUrl tryParse(Path file, String name, String url) {
+
+        try {
+            return JdbcUrlParser.parse(url);
+        } catch (JdbcUrlParseException | IllegalArgumentException e) {
+            log.warn("Ignoring datasource {} in {}: {}", name, file, e.getMessage());
+            return null;
+        }
+    }
+
+
+    private record Entry(String url, JdbcUrl jdbcUrl) {
+
+    }
+}
@@ -0,0 +1,97 @@
+package net.osslabz.jdbc.config;
+
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import net.osslabz.jdbc.PropertySource;
+
+
+/**
+ * One layer of driver properties merged by {@link DriverPropertiesAssembler}: either the properties of the JDBC URL from the given sources, or a fixed set of external properties such as pool defaults or
+ * environment overrides. This is an immutable value object.
+ *
+ * @param name       the name of the layer, reported by {@link DriverProperties#getLayer(String)}
+ * @param urlSources the URL property sources this layer takes, empty for an external layer
+ * @param values     the external properties, empty for a URL layer
+ */
+public record PropertyLayer(String name, Set<PropertySource> urlSources, Map<String, String> values) {
+
+    /**
+     * Name of the layers created by {@link #url(PropertySource...)}.
+     */
+    public static final String URL = "url";
+
+
+    /**
+     * Compact constructor with validation and defensive copying.
+     */
+    public PropertyLayer {
+
+        if (name == null || name.isBlank()) {
+            throw new IllegalArgumentException("Layer name cannot be null or blank");
+        }
+        urlSources = urlSources == null ? Set.of() : Set.copyOf(urlSources);
+        if (values == null) {
+            values = Map.of();
+        } else {
+            for (Map.Entry<String, String> entry : values.entrySet()) {
+                if (entry.getKey() == null || entry.getValue() == null) {
+                    throw new IllegalArgumentException("Layer " + name + " contains a null key or value");
+                }
+            }
+            values = Map.copyOf(values);
+        }
+        if (!urlSources.isEmpty() && !values.isEmpty()) {
+            throw new IllegalArgumentException("Layer " + name + " cannot take both URL and external properties");
+        }
+    }
+
+
+    /**
+     * Creates a layer with the URL properties from the given sources.
+     *
+     * @param sources the property sources, usually {@link PropertySource#PATH} and {@link PropertySource#QUERY}
+     * @return the layer
+     */
+    public static PropertyLayer url(PropertySource... sources) {
+
+        if (sources == null || sources.length == 0) {
+            throw new IllegalArgumentException("At least one property source is required");
+        }
+        EnumSet<PropertySource> set = EnumSet.noneOf(PropertySource.class);
+        for (PropertySource source : sources) {
+            if (source == null) {
+                throw new IllegalArgumentException("Property source cannot be null");
+            }
+            set.add(source);
+        }
+        return new PropertyLayer(URL, set, Map.of());
+    }
+
+
+    /**
+     * Creates a layer with external properties.
+     *
+     * @param name   the name of the layer, e.g. "pool-defaults"
+     * @param values the properties
+     * @return the layer
+     */
+    public static PropertyLayer of(String name, Map<String, String> values) {
+
+        if (values == null) {
+            throw new IllegalArgumentException("Values cannot be null");
+        }
+        return new PropertyLayer(name, Set.of(), values);
+    }
+
+
+    /**
+     * Checks if this layer takes its properties from the JDBC URL.
+     *
+     * @return true for a layer created by {@link #url(PropertySource...)}
+     */
+    public boolean isUrlLayer() {
+
+        return !urlSources.isEmpty();
+    }
+}
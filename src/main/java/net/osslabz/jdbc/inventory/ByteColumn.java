@@ -0,0 +1,120 @@
+package net.osslabz.jdbc.inventory;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+
+/**
+ * Growable column of bytes, backed by an array on the heap or by a direct buffer outside of it. Used for single byte codes and as arena for variable length data. Not thread-safe.
+ */
+class ByteColumn {
+
+    private final boolean offHeap;
+
+    private byte[] heap;
+
+    private ByteBuffer direct;
+
+    private int size;
+
+
+    ByteColumn(boolean offHeap, int initialCapacity) {
+
+        this.offHeap = offHeap;
+        if (offHeap) {
+            direct = ByteBuffer.allocateDirect(initialCapacity);
+        } else {
+            heap = new byte[initialCapacity];
+        }
+    }
+
+
+    byte get(int index) {
+
+        return offHeap ? direct.get(index) : heap[index];
+    }
+
+
+    void add(byte value) {
+
+        ensureCapacity(size + 1);
+        if (offHeap) {
+            direct.put(size, value);
+        } else {
+            heap[size] = value;
+        }
+        size++;
+    }
+
+
+    /**
+     * Appends bytes.
+     *
+     * @return the offset of the first appended byte
+     */
+    int addAll(byte[] values) {
+
+        ensureCapacity(size + values.length);
+        int offset = size;
+        if (offHeap) {
+            direct.put(offset, values);
+        } else {
+            System.arraycopy(values, 0, heap, offset, values.length);
+        }
+        size += values.length;
+        return offset;
+    }
+
+
+    byte[] copy(int offset, int length) {
+
+        if (offHeap) {
+            byte[] values = new byte[length];
+            direct.get(offset, values);
+            return values;
+        }
+        return Arrays.copyOfRange(heap, offset, offset + length);
+    }
+
+
+    int size() {
+
+        return size;
+    }
+
+
+    long allocatedBytes() {
+
+        return capacity();
+    }
+
+
+    private int capacity() {
+
+        return offHeap ? direct.capacity() : heap.length;
+    }
+
+
+    private void ensureCapacity(int required) {
+
+        if (required < 0) {
+            throw new IllegalStateException("Column capacity exceeded");
+        }
+        if (required <= capacity()) {
+            return;
+        }
+
+        int newCapacity = Math.max(required, Math.max(64, capacity() + (capacity() >> 1)));
+        if (newCapacity < 0) {
+            newCapacity = Integer.MAX_VALUE - 8;
+        }
+
+        if (offHeap) {
+            ByteBuffer grown = ByteBuffer.allocateDirect(newCapacity);
+            grown.put(0, direct, 0, size);
+            direct = grown;
+        } else {
+            heap = Arrays.copyOf(heap, newCapacity);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package net.osslabz.jdbc.inventory;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+
+
+/**
+ * Growable column of primitive ints, backed by an array on the heap or by a direct buffer outside of it. Not thread-safe.
+ */
+class IntColumn {
+
+    private final boolean offHeap;
+
+    private int[] heap;
+
+    private IntBuffer direct;
+
+    private int size;
+
+
+    IntColumn(boolean offHeap, int initialCapacity) {
+
+        this.offHeap = offHeap;
+        if (offHeap) {
+            direct = allocateDirect(initialCapacity);
+        } else {
+            heap = new int[initialCapacity];
+        }
+    }
+
+
+    int get(int index) {
+
+        return offHeap ? direct.get(index) : heap[index];
+    }
+
+
+    void add(int value) {
+
+        if (size == capacity()) {
+            grow();
+        }
+        if (offHeap) {
+            direct.put(size, value);
+        } else {
+            heap[size] = value;
+        }
+        size++;
+    }
+
+
+    int size() {
+
+        return size;
+    }
+
+
+    /**
+     * Gets the number of bytes allocated for this column.
+     */
+    long allocatedBytes() {
+
+        return (long) capacity() * Integer.BYTES;
+    }
+
+
+    private int capacity() {
+
+        return offHeap ? direct.capacity() : heap.length;
+    }
+
+
+    private void grow() {
+
+        int newCapacity = Math.max(16, capacity() + (capacity() >> 1));
+        if (newCapacity < 0 || (offHeap && newCapacity > Integer.MAX_VALUE / Integer.BYTES)) {
+            throw new IllegalStateException("Column capacity exceeded");
+        }
+
+        if (offHeap) {
+            IntBuffer grown = allocateDirect(newCapacity);
+            grown.put(direct.duplicate().position(0).limit(size));
+            direct = grown;
+        } else {
+            heap = Arrays.copyOf(heap, newCapacity);
+        }
+    }
+
+
+    private static IntBuffer allocateDirect(int capacity) {
+
+        return ByteBuffer.allocateDirect(capacity * Integer.BYTES).order(ByteOrder.nativeOrder()).asIntBuffer();
+    }
+}
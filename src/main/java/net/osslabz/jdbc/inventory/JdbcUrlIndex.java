@@ -0,0 +1,336 @@
+package net.osslabz.jdbc.inventory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import net.osslabz.jdbc.DatabaseProduct;
+import net.osslabz.jdbc.Host;
+import net.osslabz.jdbc.JdbcProperty;
+import net.osslabz.jdbc.JdbcUrl;
+
+
+/**
+ * Inverted index over a collection of parsed JDBC URLs. Answers questions like "which URLs point at db-17:5432" without iterating over all URLs.
+ *
+ * <p>Each added URL gets a primitive id (ids of removed URLs are reused), the index keeps sorted id posting lists by
+ * <ul>
+ *   <li>host (hostname and port, hosts without port are indexed with the default port of the database product)</li>
+ *   <li>hostname (any port)</li>
+ *   <li>database product</li>
+ *   <li>database name</li>
+ *   <li>property key and value, for the property keys selected when creating the index</li>
+ * </ul>
+ *
+ * <p>Hostnames are matched case-insensitively. URLs can be added and removed incrementally, the index is safe for concurrent use: queries run in parallel, updates are exclusive.
+ *
+ * <p>Example:
+ * <pre>{@code
+ * JdbcUrlIndex index = new JdbcUrlIndex("ApplicationName");
+ * int id = index.add(JdbcUrlParser.parse("jdbc:postgresql://db-17/orders"));
+ * List<JdbcUrl> affected = index.findByHost("db-17", 5432);
+ * }</pre>
+ */
+public class JdbcUrlIndex {
+
+    private final Set<String> indexedPropertyKeys;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<HostKey, PostingList> byHost = new HashMap<>();
+
+    private final Map<String, PostingList> byHostname = new HashMap<>();
+
+    private final Map<DatabaseProduct, PostingList> byProduct = new EnumMap<>(DatabaseProduct.class);
+
+    private final Map<String, PostingList> byDatabaseName = new HashMap<>();
+
+    private final Map<PropertyKey, PostingList> byProperty = new HashMap<>();
+
+    private JdbcUrl[] entries = new JdbcUrl[16];
+
+    private int nextId;
+
+    private int[] freeIds = new int[0];
+
+    private int freeCount;
+
+    private int size;
+
+
+    /**
+     * Creates an index.
+     *
+     * @param indexedPropertyKeys the property keys whose values should be indexed
+     */
+    public JdbcUrlIndex(String... indexedPropertyKeys) {
+
+        this.indexedPropertyKeys = Set.of(indexedPropertyKeys);
+    }
+
+
+    /**
+     * Adds a parsed URL to the index.
+     *
+     * @param jdbcUrl the URL to add
+     * @return the id assigned to the URL
+     */
+    public int add(JdbcUrl jdbcUrl) {
+
+        if (jdbcUrl == null) {
+            throw new IllegalArgumentException("JDBC URL cannot be null");
+        }
+
+        lock.writeLock().lock();
+        try {
+            // Ids of removed URLs are reused to keep the entry table dense
+            int id = freeCount > 0 ? freeIds[--freeCount] : nextId++;
+            if (id == entries.length) {
+                entries = Arrays.copyOf(entries, entries.length * 2);
+            }
+            entries[id] = jdbcUrl;
+            size++;
+
+            for (Host host : jdbcUrl.hosts()) {
+                post(byHost, hostKey(jdbcUrl, host), id);
+                post(byHostname, normalizeHostname(host.hostname()), id);
+            }
+            post(byProduct, jdbcUrl.databaseProduct(), id);
+            post(byDatabaseName, jdbcUrl.databaseName(), id);
+            for (String key : indexedPropertyKeys) {
+                JdbcProperty property = jdbcUrl.properties().get(key);
+                if (property != null) {
+                    post(byProperty, new PropertyKey(key, property.value()), id);
+                }
+            }
+            return id;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+
+    /**
+     * Removes a URL from the index.
+     *
+     * @param id the id returned by {@link #add(JdbcUrl)}
+     * @return true if the URL was indexed
+     */
+    public boolean remove(int id) {
+
+        lock.writeLock().lock();
+        try {
+            if (id < 0 || id >= nextId || entries[id] == null) {
+                return false;
+            }
+            JdbcUrl jdbcUrl = entries[id];
+            entries[id] = null;
+            size--;
+            if (freeCount == freeIds.length) {
+                freeIds = Arrays.copyOf(freeIds, freeCount * 2 + 4);
+            }
+            freeIds[freeCount++] = id;
+
+            for (Host host : jdbcUrl.hosts()) {
+                unpost(byHost, hostKey(jdbcUrl, host), id);
+                unpost(byHostname, normalizeHostname(host.hostname()), id);
+            }
+            unpost(byProduct, jdbcUrl.databaseProduct(), id);
+            unpost(byDatabaseName, jdbcUrl.databaseName(), id);
+            for (String key : indexedPropertyKeys) {
+                JdbcProperty property = jdbcUrl.properties().get(key);
+                if (property != null) {
+                    unpost(byProperty, new PropertyKey(key, property.value()), id);
+                }
+            }
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+
+    /**
+     * Gets an indexed URL by its id.
+     *
+     * @param id the id returned by {@link #add(JdbcUrl)}
+     * @return the URL, or null if no URL with this id is indexed
+     */
+    public JdbcUrl get(int id) {
+
+        lock.readLock().lock();
+        try {
+            return id >= 0 && id < nextId ? entries[id] : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+
+    /**
+     * Gets the number of indexed URLs.
+     *
+     * @return the number of URLs
+     */
+    public int size() {
+
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+
+    /**
+     * Finds all URLs pointing at a host and port. Hosts without explicit port match the default port of their database product.
+     *
+     * @param hostname the hostname (case-insensitive)
+     * @param port     the port
+     * @return the matching URLs in id order
+     */
+    public List<JdbcUrl> findByHost(String hostname, int port) {
+
+        return find(byHost, new HostKey(normalizeHostname(hostname), port));
+    }
+
+
+    /**
+     * Finds all URLs pointing at a host, regardless of the port.
+     *
+     * @param hostname the hostname (case-insensitive)
+     * @return the matching URLs in id order
+     */
+    public List<JdbcUrl> findByHostname(String hostname) {
+
+        return find(byHostname, normalizeHostname(hostname));
+    }
+
+
+    /**
+     * Finds all URLs of a database product.
+     *
+     * @param databaseProduct the database product
+     * @return the matching URLs in id order
+     */
+    public List<JdbcUrl> findByProduct(DatabaseProduct databaseProduct) {
+
+        return find(byProduct, databaseProduct);
+    }
+
+
+    /**
+     * Finds all URLs with a database name.
+     *
+     * @param databaseName the database name (case-sensitive)
+     * @return the matching URLs in id order
+     */
+    public List<JdbcUrl> findByDatabaseName(String databaseName) {
+
+        return find(byDatabaseName, databaseName);
+    }
+
+
+    /**
+     * Finds all URLs with a property value.
+     *
+     * @param key   the property key, must be one of the keys the index was created with
+     * @param value the property value (case-sensitive)
+     * @return the matching URLs in id order
+     *
+     * @throws IllegalArgumentException if the property key is not indexed
+     */
+    public List<JdbcUrl> findByProperty(String key, String value) {
+
+        if (!indexedPropertyKeys.contains(key)) {
+            throw new IllegalArgumentException("Property key is not indexed: " + key);
+        }
+        return find(byProperty, new PropertyKey(key, value));
+    }
+
+
+    /**
+     * Gets all distinct hosts of the indexed URLs, with default ports applied.
+     *
+     * @return the hosts as hostname (lower case) and port
+     */
+    public Set<Host> hosts() {
+
+        lock.readLock().lock();
+        try {
+            Set<Host> hosts = new HashSet<>();
+            for (HostKey key : byHost.keySet()) {
+                hosts.add(new Host(key.hostname(), key.port(), null));
+            }
+            return hosts;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+
+    private <K> List<JdbcUrl> find(Map<K, PostingList> postings, K key) {
+
+        lock.readLock().lock();
+        try {
+            PostingList postingList = postings.get(key);
+            if (postingList == null) {
+                return List.of();
+            }
+            List<JdbcUrl> result = new ArrayList<>(postingList.size());
+            for (int i = 0; i < postingList.size(); i++) {
+                result.add(entries[postingList.get(i)]);
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+
+    private static <K> void post(Map<K, PostingList> postings, K key, int id) {
+
+        postings.computeIfAbsent(key, k -> new PostingList()).add(id);
+    }
+
+
+    private static <K> void unpost(Map<K, PostingList> postings, K key, int id) {
+
+        PostingList postingList = postings.get(key);
+        if (postingList != null && postingList.remove(id) && postingList.isEmpty()) {
+            postings.remove(key);
+        }
+    }
+
+
+    private static HostKey hostKey(JdbcUrl jdbcUrl, Host host) {
+
+        Integer port = host.port() != null ? host.port() : jdbcUrl.databaseProduct().getDefaultPort();
+        return new HostKey(normalizeHostname(host.hostname()), port);
+    }
+
+
+    private static String normalizeHostname(String hostname) {
+
+        return hostname == null ? null : hostname.toLowerCase(Locale.ROOT);
+    }
+
+
+    // Null port for hosts without port in products without default port, any int is a valid parsed port
+    private record HostKey(String hostname, Integer port) {
+
+    }
+
+
+    private record PropertyKey(String key, String value) {
+
+    }
+}
@@ -0,0 +1,517 @@
+package net.osslabz.jdbc.inventory;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import net.osslabz.jdbc.DatabaseProduct;
+import net.osslabz.jdbc.Host;
+import net.osslabz.jdbc.JdbcProperty;
+import net.osslabz.jdbc.JdbcUrl;
+import net.osslabz.jdbc.PropertySource;
+
+
+/**
+ * Column-oriented store for large numbers of parsed JDBC URLs. Instead of one {@link JdbcUrl} with its own lists, maps and strings per URL, the table keeps one primitive column per component:
+ * <ul>
+ *   <li>database product as one byte per row</li>
+ *   <li>protocol, database name, hostnames, instance names, property keys and property values as int ids into a shared string dictionary</li>
+ *   <li>ports as ints with a byte per host telling whether the host has a port, property sources as bytes</li>
+ *   <li>hosts and properties of all rows in flat columns, with a start offset per row</li>
+ *   <li>original URLs as UTF-8 bytes in a single arena</li>
+ * </ul>
+ *
+ * <p>Repeated strings are stored once, and the columns can be allocated outside of the Java heap ({@link Storage#OFF_HEAP}). Scans like {@link #rowsWithProperty(String, String)} compare ints without
+ * creating objects per row. {@link Row} views give access to a row with the accessors of {@link JdbcUrl}.
+ *
+ * <p>Example:
+ * <pre>{@code
+ * JdbcUrlTable table = new JdbcUrlTable(JdbcUrlTable.Storage.OFF_HEAP);
+ * urls.forEach(url -> table.add(JdbcUrlParser.parse(url)));
+ * for (int row : table.rowsWithProperty("useSSL", "false")) {
+ *     report(table.row(row).originalUrl());
+ * }
+ * }</pre>
+ *
+ * <p>Rows can only be appended. The table is not thread-safe: rows must not be added while other threads read, a fully built table can be read concurrently after safe publication.
+ */
+public class JdbcUrlTable {
+
+    private static final DatabaseProduct[] PRODUCTS = DatabaseProduct.values();
+
+    private static final PropertySource[] SOURCES = PropertySource.values();
+
+    private final StringDictionary dictionary = new StringDictionary();
+
+    private final ByteColumn products;
+
+    private final IntColumn protocols;
+
+    private final IntColumn databaseNames;
+
+    private final IntColumn urlOffsets;
+
+    private final ByteColumn urlBytes;
+
+    private final IntColumn hostStarts;
+
+    private final IntColumn hostnames;
+
+    private final IntColumn ports;
+
+    private final ByteColumn hasPorts;
+
+    private final IntColumn instanceNames;
+
+    private final IntColumn propertyStarts;
+
+    private final IntColumn propertyKeys;
+
+    private final ByteColumn propertySources;
+
+    private final IntColumn propertyValues;
+
+
+    /**
+     * Creates a table with its columns on the Java heap.
+     */
+    public JdbcUrlTable() {
+
+        this(Storage.HEAP);
+    }
+
+
+    /**
+     * Creates a table.
+     *
+     * @param storage where to allocate the columns
+     */
+    public JdbcUrlTable(Storage storage) {
+
+        if (storage == null) {
+            throw new IllegalArgumentException("Storage cannot be null");
+        }
+        boolean offHeap = storage == Storage.OFF_HEAP;
+
+        products = new ByteColumn(offHeap, 1024);
+        protocols = new IntColumn(offHeap, 1024);
+        databaseNames = new IntColumn(offHeap, 1024);
+        urlOffsets = new IntColumn(offHeap, 1024);
+        urlBytes = new ByteColumn(offHeap, 64 * 1024);
+        hostStarts = new IntColumn(offHeap, 1024);
+        hostnames = new IntColumn(offHeap, 1024);
+        ports = new IntColumn(offHeap, 1024);
+        hasPorts = new ByteColumn(offHeap, 1024);
+        instanceNames = new IntColumn(offHeap, 1024);
+        propertyStarts = new IntColumn(offHeap, 1024);
+        propertyKeys = new IntColumn(offHeap, 4096);
+        propertySources = new ByteColumn(offHeap, 4096);
+        propertyValues = new IntColumn(offHeap, 4096);
+
+        // Offsets have one more entry than rows, the end of row n is the start of row n + 1
+        urlOffsets.add(0);
+        hostStarts.add(0);
+        propertyStarts.add(0);
+    }
+
+
+    /**
+     * Appends a parsed URL.
+     *
+     * @param jdbcUrl the URL to add
+     * @return the row number
+     */
+    public int add(JdbcUrl jdbcUrl) {
+
+        if (jdbcUrl == null) {
+            throw new IllegalArgumentException("JDBC URL cannot be null");
+        }
+
+        int row = size();
+        products.add((byte) jdbcUrl.databaseProduct().ordinal());
+        protocols.add(dictionary.add(jdbcUrl.protocol()));
+        databaseNames.add(dictionary.add(jdbcUrl.databaseName()));
+
+        urlBytes.addAll(jdbcUrl.originalUrl().getBytes(StandardCharsets.UTF_8));
+        urlOffsets.add(urlBytes.size());
+
+        for (Host host : jdbcUrl.hosts()) {
+            hostnames.add(dictionary.add(host.hostname()));
+            // Any int is a valid parsed port, so absence is a column of its own rather than a sentinel
+            ports.add(host.port() != null ? host.port() : 0);
+            hasPorts.add((byte) (host.port() != null ? 1 : 0));
+            instanceNames.add(dictionary.add(host.instanceName()));
+        }
+        hostStarts.add(hostnames.size());
+
+        for (Map.Entry<String, JdbcProperty> property : jdbcUrl.properties().entrySet()) {
+            propertyKeys.add(dictionary.add(property.getKey()));
+            propertySources.add((byte) property.getValue().source().ordinal());
+            propertyValues.add(dictionary.add(property.getValue().value()));
+        }
+        propertyStarts.add(propertyKeys.size());
+
+        return row;
+    }
+
+
+    /**
+     * Gets the number of rows.
+     *
+     * @return the number of rows
+     */
+    public int size() {
+
+        return products.size();
+    }
+
+
+    /**
+     * Gets a view of a row.
+     *
+     * @param row the row number
+     * @return the row view
+     *
+     * @throws IndexOutOfBoundsException if the row doesn't exist
+     */
+    public Row row(int row) {
+
+        if (row < 0 || row >= size()) {
+            throw new IndexOutOfBoundsException("Row " + row + " out of bounds for size " + size());
+        }
+        return new Row(row);
+    }
+
+
+    /**
+     * Calls an action for each row, in row order.
+     *
+     * @param action the action
+     */
+    public void forEach(Consumer<Row> action) {
+
+        for (int row = 0; row < size(); row++) {
+            action.accept(new Row(row));
+        }
+    }
+
+
+    /**
+     * Finds all rows of a database product.
+     *
+     * @param databaseProduct the database product
+     * @return the row numbers in ascending order
+     */
+    public int[] rowsWithProduct(DatabaseProduct databaseProduct) {
+
+        byte code = (byte) databaseProduct.ordinal();
+        RowCollector rows = new RowCollector();
+        for (int row = 0; row < size(); row++) {
+            if (products.get(row) == code) {
+                rows.add(row);
+            }
+        }
+        return rows.toArray();
+    }
+
+
+    /**
+     * Finds all rows pointing at a host. Hosts without explicit port match the default port of their database product.
+     *
+     * @param hostname the hostname (case-insensitive)
+     * @param port     the port
+     * @return the row numbers in ascending order
+     */
+    public int[] rowsWithHost(String hostname, int port) {
+
+        RowCollector rows = new RowCollector();
+        for (int row = 0; row < size(); row++) {
+            Integer defaultPort = PRODUCTS[products.get(row)].getDefaultPort();
+            for (int i = hostStarts.get(row); i < hostStarts.get(row + 1); i++) {
+                boolean hasPort = hasPorts.get(i) != 0;
+                if ((hasPort || defaultPort != null) && (hasPort ? ports.get(i) : defaultPort) == port && dictionary.get(hostnames.get(i)).equalsIgnoreCase(hostname)) {
+                    rows.add(row);
+                    break;
+                }
+            }
+        }
+        return rows.toArray();
+    }
+
+
+    /**
+     * Finds all rows with a property value.
+     *
+     * @param key   the property key (case-sensitive)
+     * @param value the property value (case-sensitive)
+     * @return the row numbers in ascending order
+     */
+    public int[] rowsWithProperty(String key, String value) {
+
+        int keyId = dictionary.find(key);
+        int valueId = dictionary.find(value);
+        if (keyId == StringDictionary.NONE || valueId == StringDictionary.NONE) {
+            return new int[0];
+        }
+
+        RowCollector rows = new RowCollector();
+        for (int row = 0; row < size(); row++) {
+            for (int i = propertyStarts.get(row); i < propertyStarts.get(row + 1); i++) {
+                if (propertyKeys.get(i) == keyId) {
+                    if (propertyValues.get(i) == valueId) {
+                        rows.add(row);
+                    }
+                    break;
+                }
+            }
+        }
+        return rows.toArray();
+    }
+
+
+    /**
+     * Gets the number of distinct strings stored in the dictionary.
+     *
+     * @return the dictionary size
+     */
+    public int dictionarySize() {
+
+        return dictionary.size();
+    }
+
+
+    /**
+     * Gets the number of bytes allocated for the columns, on or off the heap. The string dictionary is not included.
+     *
+     * @return the allocated bytes
+     */
+    public long allocatedBytes() {
+
+        return products.allocatedBytes() + protocols.allocatedBytes() + databaseNames.allocatedBytes() + urlOffsets.allocatedBytes() + urlBytes.allocatedBytes()
+               + hostStarts.allocatedBytes() + hostnames.allocatedBytes() + ports.allocatedBytes() + hasPorts.allocatedBytes() + instanceNames.allocatedBytes()
+               + propertyStarts.allocatedBytes() + propertyKeys.allocatedBytes() + propertySources.allocatedBytes() + propertyValues.allocatedBytes();
+    }
+
+
+    /**
+     * Where the columns of a table are allocated.
+     */
+    public enum Storage {
+        /**
+         * Primitive arrays on the Java heap
+         */
+        HEAP,
+
+        /**
+         * Direct buffers outside of the Java heap, not counted against -Xmx and not scanned by the garbage collector
+         */
+        OFF_HEAP
+    }
+
+
+    /**
+     * View of a single row with the accessors of {@link JdbcUrl}. Values are read from the columns on each call, use {@link #toJdbcUrl()} to materialize the row.
+     */
+    public final class Row {
+
+        private final int row;
+
+
+        private Row(int row) {
+
+            this.row = row;
+        }
+
+
+        /**
+         * Gets the row number.
+         *
+         * @return the row number
+         */
+        public int rowNumber() {
+
+            return row;
+        }
+
+
+        /**
+         * See {@link JdbcUrl#originalUrl()}.
+         */
+        public String originalUrl() {
+
+            int offset = urlOffsets.get(row);
+            return new String(urlBytes.copy(offset, urlOffsets.get(row + 1) - offset), StandardCharsets.UTF_8);
+        }
+
+
+        /**
+         * See {@link JdbcUrl#databaseProduct()}.
+         */
+        public DatabaseProduct databaseProduct() {
+
+            return PRODUCTS[products.get(row)];
+        }
+
+
+        /**
+         * See {@link JdbcUrl#protocol()}.
+         */
+        public String protocol() {
+
+            return dictionary.get(protocols.get(row));
+        }
+
+
+        /**
+         * See {@link JdbcUrl#databaseName()}.
+         */
+        public String databaseName() {
+
+            return dictionary.get(databaseNames.get(row));
+        }
+
+
+        /**
+         * See {@link JdbcUrl#hosts()}.
+         */
+        public List<Host> hosts() {
+
+            int start = hostStarts.get(row);
+            int end = hostStarts.get(row + 1);
+            List<Host> hosts = new ArrayList<>(end - start);
+            for (int i = start; i < end; i++) {
+                hosts.add(host(i));
+            }
+            return List.copyOf(hosts);
+        }
+
+
+        /**
+         * See {@link JdbcUrl#getPrimaryHost()}.
+         */
+        public Host getPrimaryHost() {
+
+            int start = hostStarts.get(row);
+            return start == hostStarts.get(row + 1) ? null : host(start);
+        }
+
+
+        /**
+         * See {@link JdbcUrl#properties()}.
+         */
+        public Map<String, JdbcProperty> properties() {
+
+            Map<String, JdbcProperty> properties = new LinkedHashMap<>();
+            for (int i = propertyStarts.get(row); i < propertyStarts.get(row + 1); i++) {
+                properties.put(dictionary.get(propertyKeys.get(i)), property(i));
+            }
+            return Map.copyOf(properties);
+        }
+
+
+        /**
+         * See {@link JdbcUrl#getProperty(String)}.
+         */
+        public JdbcProperty getProperty(String key) {
+
+            int keyId = dictionary.find(key);
+            if (keyId == StringDictionary.NONE) {
+                return null;
+            }
+            for (int i = propertyStarts.get(row); i < propertyStarts.get(row + 1); i++) {
+                if (propertyKeys.get(i) == keyId) {
+                    return property(i);
+                }
+            }
+            return null;
+        }
+
+
+        /**
+         * See {@link JdbcUrl#getPropertyValue(String)}.
+         */
+        public String getPropertyValue(String key) {
+
+            JdbcProperty property = getProperty(key);
+            return property != null ? property.value() : null;
+        }
+
+
+        /**
+         * See {@link JdbcUrl#isFileBased()}.
+         */
+        public boolean isFileBased() {
+
+            return hostStarts.get(row) == hostStarts.get(row + 1);
+        }
+
+
+        /**
+         * See {@link JdbcUrl#isNetworkBased()}.
+         */
+        public boolean isNetworkBased() {
+
+            return !isFileBased();
+        }
+
+
+        /**
+         * Creates a {@link JdbcUrl} with the values of this row.
+         *
+         * @return the parsed URL
+         */
+        public JdbcUrl toJdbcUrl() {
+
+            return new JdbcUrl(originalUrl(), databaseProduct(), protocol(), hosts(), databaseName(), properties());
+        }
+
+
+        @Override
+        public String toString() {
+
+            return "Row{" + row + ": " + originalUrl() + "}";
+        }
+
+
+        private Host host(int index) {
+
+            Integer port = hasPorts.get(index) != 0 ? ports.get(index) : null;
+            return new Host(dictionary.get(hostnames.get(index)), port, dictionary.get(instanceNames.get(index)));
+        }
+
+
+        private JdbcProperty property(int index) {
+
+            return new JdbcProperty(SOURCES[propertySources.get(index)], dictionary.get(propertyValues.get(index)));
+        }
+    }
+
+
+    /**
+     * Collects row numbers into a growing int array.
+     */
+    private static final class RowCollector {
+
+        private int[] rows = new int[16];
+
+        private int size;
+
+
+        void add(int row) {
+
+            if (size == rows.length) {
+                rows = Arrays.copyOf(rows, size * 2);
+            }
+            rows[size++] = row;
+        }
+
+
+        int[] toArray() {
+
+            return Arrays.copyOf(rows, size);
+        }
+    }
+}
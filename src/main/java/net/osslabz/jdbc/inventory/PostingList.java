@@ -0,0 +1,88 @@
+package net.osslabz.jdbc.inventory;
+
+import java.util.Arrays;
+
+
+/**
+ * Sorted set of primitive entry ids used as posting list of an inverted index. Ids are usually added in ascending order, which makes adding an amortized constant time operation. Not thread-safe.
+ */
+class PostingList {
+
+    private int[] ids = new int[4];
+
+    private int size;
+
+
+    /**
+     * Adds an id to the list.
+     *
+     * @param id the id to add
+     * @return true if the id was not yet contained
+     */
+    boolean add(int id) {
+
+        if (size > 0 && ids[size - 1] >= id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index >= 0) {
+                return false;
+            }
+            insertAt(-index - 1, id);
+            return true;
+        }
+        insertAt(size, id);
+        return true;
+    }
+
+
+    /**
+     * Removes an id from the list.
+     *
+     * @param id the id to remove
+     * @return true if the id was contained
+     */
+    boolean remove(int id) {
+
+        int index = Arrays.binarySearch(ids, 0, size, id);
+        if (index < 0) {
+            return false;
+        }
+        System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+        size--;
+        return true;
+    }
+
+
+    boolean contains(int id) {
+
+        return Arrays.binarySearch(ids, 0, size, id) >= 0;
+    }
+
+
+    int size() {
+
+        return size;
+    }
+
+
+    boolean isEmpty() {
+
+        return size == 0;
+    }
+
+
+    int get(int index) {
+
+        return ids[index];
+    }
+
+
+    private void insertAt(int index, int id) {
+
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size + (size >> 1) + 1);
+        }
+        System.arraycopy(ids, index, ids, index + 1, size - index);
+        ids[index] = id;
+        size++;
+    }
+}
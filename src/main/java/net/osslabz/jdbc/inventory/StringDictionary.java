@@ -0,0 +1,65 @@
+package net.osslabz.jdbc.inventory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * Maps strings to dense int ids and back, each distinct string is stored once. Not thread-safe.
+ */
+class StringDictionary {
+
+    static final int NONE = -1;
+
+    private final Map<String, Integer> ids = new HashMap<>();
+
+    private final List<String> values = new ArrayList<>();
+
+
+    /**
+     * Gets the id of a string, adding it if necessary.
+     *
+     * @param value the string, may be null
+     * @return the id, or {@link #NONE} for null
+     */
+    int add(String value) {
+
+        if (value == null) {
+            return NONE;
+        }
+        Integer id = ids.get(value);
+        if (id == null) {
+            id = values.size();
+            ids.put(value, id);
+            values.add(value);
+        }
+        return id;
+    }
+
+
+    /**
+     * Gets the id of a string without adding it.
+     *
+     * @param value the string
+     * @return the id, or {@link #NONE} if the string is not in the dictionary
+     */
+    int find(String value) {
+
+        Integer id = value == null ? null : ids.get(value);
+        return id == null ? NONE : id;
+    }
+
+
+    String get(int id) {
+
+        return id == NONE ? null : values.get(id);
+    }
+
+
+    int size() {
+
+        return values.size();
+    }
+}
@@ -0,0 +1,298 @@
+package net.osslabz.jdbc.inventory;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import net.osslabz.jdbc.DatabaseProduct;
+import net.osslabz.jdbc.PropertySource;
+
+
+/**
+ * Condition on a parsed JDBC URL, built from the static factory methods and combined with {@link #and(UrlPredicate...)}, {@link #or(UrlPredicate...)} and {@link #not(UrlPredicate)}. Predicates are
+ * immutable descriptions, {@link UrlQuery#compile(UrlPredicate)} turns them into an evaluator.
+ *
+ * <p>Example:
+ * <pre>{@code
+ * // SQL Server URLs without encrypt=true
+ * UrlPredicate unencrypted = UrlPredicate.and(
+ *     UrlPredicate.product(DatabaseProduct.SQLSERVER),
+ *     UrlPredicate.not(UrlPredicate.propertyEqualsIgnoreCase("encrypt", "true")));
+ * }</pre>
+ */
+public sealed interface UrlPredicate {
+
+    /**
+     * Matches URLs of one of the given database products.
+     *
+     * @param databaseProducts the products
+     * @return the predicate
+     */
+    static UrlPredicate product(DatabaseProduct... databaseProducts) {
+
+        return new Product(Set.of(databaseProducts));
+    }
+
+
+    /**
+     * Matches URLs with at least one host with the given hostname.
+     *
+     * @param hostname the hostname (case-insensitive)
+     * @return the predicate
+     */
+    static UrlPredicate host(String hostname) {
+
+        return new HostIs(hostname);
+    }
+
+
+    /**
+     * Matches URLs with at least one host using the given port. Hosts without explicit port use the default port of the database product.
+     *
+     * @param port the port
+     * @return the predicate
+     */
+    static UrlPredicate port(int port) {
+
+        return new Port(port);
+    }
+
+
+    /**
+     * Matches URLs with the given database name.
+     *
+     * @param databaseName the database name (case-sensitive)
+     * @return the predicate
+     */
+    static UrlPredicate databaseName(String databaseName) {
+
+        return new DatabaseName(databaseName);
+    }
+
+
+    /**
+     * Matches URLs that have a property, regardless of its value.
+     *
+     * @param key the property key
+     * @return the predicate
+     */
+    static UrlPredicate hasProperty(String key) {
+
+        return new PropertyPresent(key);
+    }
+
+
+    /**
+     * Matches URLs with a property value.
+     *
+     * @param key   the property key
+     * @param value the value (case-sensitive)
+     * @return the predicate
+     */
+    static UrlPredicate propertyEquals(String key, String value) {
+
+        return new PropertyEquals(key, value, false);
+    }
+
+
+    /**
+     * Matches URLs with a property value, ignoring case, e.g. for boolean flags written as "true" or "TRUE".
+     *
+     * @param key   the property key
+     * @param value the value (case-insensitive)
+     * @return the predicate
+     */
+    static UrlPredicate propertyEqualsIgnoreCase(String key, String value) {
+
+        return new PropertyEquals(key, value, true);
+    }
+
+
+    /**
+     * Matches URLs with a property that originates from the given part of the URL.
+     *
+     * @param key    the property key
+     * @param source the property source
+     * @return the predicate
+     */
+    static UrlPredicate propertySource(String key, PropertySource source) {
+
+        return new PropertySourceIs(key, source);
+    }
+
+
+    /**
+     * Matches URLs that match all given predicates.
+     *
+     * @param predicates the predicates
+     * @return the predicate
+     */
+    static UrlPredicate and(UrlPredicate... predicates) {
+
+        return new And(List.of(predicates));
+    }
+
+
+    /**
+     * Matches URLs that match at least one of the given predicates.
+     *
+     * @param predicates the predicates
+     * @return the predicate
+     */
+    static UrlPredicate or(UrlPredicate... predicates) {
+
+        return new Or(List.of(predicates));
+    }
+
+
+    /**
+     * Matches URLs that don't match the given predicate.
+     *
+     * @param predicate the predicate to negate
+     * @return the predicate
+     */
+    static UrlPredicate not(UrlPredicate predicate) {
+
+        return new Not(predicate);
+    }
+
+
+    /**
+     * Database product is one of the given products.
+     *
+     * @param databaseProducts the products
+     */
+    record Product(Set<DatabaseProduct> databaseProducts) implements UrlPredicate {
+
+        public Product {
+
+            databaseProducts = Set.copyOf(databaseProducts);
+        }
+    }
+
+
+    /**
+     * A host has the hostname (case-insensitive).
+     *
+     * @param hostname the hostname
+     */
+    record HostIs(String hostname) implements UrlPredicate {
+
+        public HostIs {
+
+            Objects.requireNonNull(hostname, "Hostname cannot be null");
+        }
+    }
+
+
+    /**
+     * A host uses the port, with the product's default port for hosts without explicit port.
+     *
+     * @param port the port
+     */
+    record Port(int port) implements UrlPredicate {
+
+    }
+
+
+    /**
+     * The database name is equal (case-sensitive).
+     *
+     * @param databaseName the database name
+     */
+    record DatabaseName(String databaseName) implements UrlPredicate {
+
+        public DatabaseName {
+
+            Objects.requireNonNull(databaseName, "Database name cannot be null");
+        }
+    }
+
+
+    /**
+     * The property is present.
+     *
+     * @param key the property key
+     */
+    record PropertyPresent(String key) implements UrlPredicate {
+
+        public PropertyPresent {
+
+            Objects.requireNonNull(key, "Property key cannot be null");
+        }
+    }
+
+
+    /**
+     * The property has the value.
+     *
+     * @param key        the property key
+     * @param value      the value
+     * @param ignoreCase whether the value is compared ignoring case
+     */
+    record PropertyEquals(String key, String value, boolean ignoreCase) implements UrlPredicate {
+
+        public PropertyEquals {
+
+            Objects.requireNonNull(key, "Property key cannot be null");
+            Objects.requireNonNull(value, "Property value cannot be null");
+        }
+    }
+
+
+    /**
+     * The property is present and originates from the source.
+     *
+     * @param key    the property key
+     * @param source the property source
+     */
+    record PropertySourceIs(String key, PropertySource source) implements UrlPredicate {
+
+        public PropertySourceIs {
+
+            Objects.requireNonNull(key, "Property key cannot be null");
+            Objects.requireNonNull(source, "Property source cannot be null");
+        }
+    }
+
+
+    /**
+     * All predicates match.
+     *
+     * @param predicates the predicates
+     */
+    record And(List<UrlPredicate> predicates) implements UrlPredicate {
+
+        public And {
+
+            predicates = List.copyOf(predicates);
+        }
+    }
+
+
+    /**
+     * At least one predicate matches.
+     *
+     * @param predicates the predicates
+     */
+    record Or(List<UrlPredicate> predicates) implements UrlPredicate {
+
+        public Or {
+
+            predicates = List.copyOf(predicates);
+        }
+    }
+
+
+    /**
+     * The predicate doesn't match.
+     *
+     * @param predicate the predicate
+     */
+    record Not(UrlPredicate predicate) implements UrlPredicate {
+
+        public Not {
+
+            Objects.requireNonNull(predicate, "Predicate cannot be null");
+        }
+    }
+}
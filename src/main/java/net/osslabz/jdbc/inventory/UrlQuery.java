@@ -0,0 +1,352 @@
+package net.osslabz.jdbc.inventory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.function.Predicate;
+import net.osslabz.jdbc.DatabaseProduct;
+import net.osslabz.jdbc.Host;
+import net.osslabz.jdbc.JdbcProperty;
+import net.osslabz.jdbc.JdbcUrl;
+
+
+/**
+ * Compiled {@link UrlPredicate}, evaluated against single URLs or whole collections.
+ *
+ * <p>Compiling flattens nested and/or predicates, removes double negations and orders the operands of each and/or by evaluation cost, so cheap checks (product, database name) run before hosts and
+ * properties are looked at, and evaluation stops at the first operand that decides the result. A compiled query is immutable and can be shared between threads.
+ *
+ * <p>Example:
+ * <pre>{@code
+ * UrlQuery query = UrlQuery.compile(UrlPredicate.and(
+ *     UrlPredicate.product(DatabaseProduct.MYSQL),
+ *     UrlPredicate.propertyEqualsIgnoreCase("useSSL", "false")));
+ * List<JdbcUrl> violations = query.filter(inventory, true);
+ * }</pre>
+ */
+public final class UrlQuery {
+
+    /**
+     * Collections smaller than this are filtered sequentially even if parallel evaluation is requested.
+     */
+    static final int PARALLEL_THRESHOLD = 8192;
+
+    private static final int COST_PRODUCT = 1;
+
+    private static final int COST_DATABASE_NAME = 2;
+
+    private static final int COST_HOST = 4;
+
+    private static final int COST_PROPERTY = 4;
+
+    private final UrlPredicate predicate;
+
+    private final Predicate<JdbcUrl> matcher;
+
+
+    private UrlQuery(UrlPredicate predicate, Predicate<JdbcUrl> matcher) {
+
+        this.predicate = predicate;
+        this.matcher = matcher;
+    }
+
+
+    /**
+     * Compiles a predicate.
+     *
+     * @param predicate the predicate
+     * @return the compiled query
+     */
+    public static UrlQuery compile(UrlPredicate predicate) {
+
+        if (predicate == null) {
+            throw new IllegalArgumentException("Predicate cannot be null");
+        }
+        return new UrlQuery(predicate, compileNode(predicate).matcher());
+    }
+
+
+    /**
+     * Returns the predicate this query was compiled from.
+     *
+     * @return the predicate
+     */
+    public UrlPredicate predicate() {
+
+        return predicate;
+    }
+
+
+    /**
+     * Evaluates the query against a single URL.
+     *
+     * @param jdbcUrl the URL
+     * @return true if the URL matches
+     */
+    public boolean test(JdbcUrl jdbcUrl) {
+
+        if (jdbcUrl == null) {
+            throw new IllegalArgumentException("JDBC URL cannot be null");
+        }
+        return matcher.test(jdbcUrl);
+    }
+
+
+    /**
+     * Returns the matching URLs, evaluated sequentially.
+     *
+     * @param jdbcUrls the URLs
+     * @return the matching URLs in iteration order
+     */
+    public List<JdbcUrl> filter(Collection<JdbcUrl> jdbcUrls) {
+
+        return filter(jdbcUrls, false);
+    }
+
+
+    /**
+     * Returns the matching URLs.
+     *
+     * @param jdbcUrls the URLs
+     * @param parallel whether large collections are evaluated in parallel
+     * @return the matching URLs in iteration order
+     */
+    public List<JdbcUrl> filter(Collection<JdbcUrl> jdbcUrls, boolean parallel) {
+
+        if (jdbcUrls == null) {
+            throw new IllegalArgumentException("JDBC URLs cannot be null");
+        }
+        if (parallel && jdbcUrls.size() >= PARALLEL_THRESHOLD) {
+            return jdbcUrls.parallelStream().filter(matcher).toList();
+        }
+
+        List<JdbcUrl> matches = new ArrayList<>();
+        for (JdbcUrl jdbcUrl : jdbcUrls) {
+            if (matcher.test(jdbcUrl)) {
+                matches.add(jdbcUrl);
+            }
+        }
+        return matches;
+    }
+
+
+    /**
+     * Counts the matching URLs.
+     *
+     * @param jdbcUrls the URLs
+     * @param parallel whether large collections are evaluated in parallel
+     * @return the number of matching URLs
+     */
+    public long count(Collection<JdbcUrl> jdbcUrls, boolean parallel) {
+
+        if (jdbcUrls == null) {
+            throw new IllegalArgumentException("JDBC URLs cannot be null");
+        }
+        if (parallel && jdbcUrls.size() >= PARALLEL_THRESHOLD) {
+            return jdbcUrls.parallelStream().filter(matcher).count();
+        }
+
+        long count = 0;
+        for (JdbcUrl jdbcUrl : jdbcUrls) {
+            if (matcher.test(jdbcUrl)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+
+    /**
+     * Checks whether any URL matches, stopping at the first match.
+     *
+     * @param jdbcUrls the URLs
+     * @return true if at least one URL matches
+     */
+    public boolean anyMatch(Collection<JdbcUrl> jdbcUrls) {
+
+        if (jdbcUrls == null) {
+            throw new IllegalArgumentException("JDBC URLs cannot be null");
+        }
+        for (JdbcUrl jdbcUrl : jdbcUrls) {
+            if (matcher.test(jdbcUrl)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+
+    @Override
+    public String toString() {
+
+        return "UrlQuery[" + predicate + "]";
+    }
+
+
+    private static Node compileNode(UrlPredicate predicate) {
+
+        if (predicate instanceof UrlPredicate.Product product) {
+            return compileProduct(product);
+        }
+        if (predicate instanceof UrlPredicate.DatabaseName databaseName) {
+            String name = databaseName.databaseName();
+            return new Node(url -> name.equals(url.databaseName()), COST_DATABASE_NAME);
+        }
+        if (predicate instanceof UrlPredicate.HostIs hostIs) {
+            String hostname = hostIs.hostname();
+            return new Node(url -> hasHostname(url, hostname), COST_HOST);
+        }
+        if (predicate instanceof UrlPredicate.Port port) {
+            int value = port.port();
+            return new Node(url -> hasPort(url, value), COST_HOST);
+        }
+        if (predicate instanceof UrlPredicate.PropertyPresent present) {
+            String key = present.key();
+            return new Node(url -> url.properties().containsKey(key), COST_PROPERTY);
+        }
+        if (predicate instanceof UrlPredicate.PropertyEquals equals) {
+            return compilePropertyEquals(equals);
+        }
+        if (predicate instanceof UrlPredicate.PropertySourceIs sourceIs) {
+            String key = sourceIs.key();
+            return new Node(url -> {
+                JdbcProperty property = url.properties().get(key);
+                return property != null && property.source() == sourceIs.source();
+            }, COST_PROPERTY);
+        }
+        if (predicate instanceof UrlPredicate.Not not) {
+            if (not.predicate() instanceof UrlPredicate.Not inner) {
+                return compileNode(inner.predicate());
+            }
+            Node operand = compileNode(not.predicate());
+            return new Node(operand.matcher().negate(), operand.cost());
+        }
+        if (predicate instanceof UrlPredicate.And and) {
+            return compileJunction(and, true);
+        }
+        if (predicate instanceof UrlPredicate.Or or) {
+            return compileJunction(or, false);
+        }
+        throw new IllegalArgumentException("Unsupported predicate: " + predicate);
+    }
+
+
+    private static Node compileProduct(UrlPredicate.Product product) {
+
+        if (product.databaseProducts().size() == 1) {
+            DatabaseProduct databaseProduct = product.databaseProducts().iterator().next();
+            return new Node(url -> url.databaseProduct() == databaseProduct, COST_PRODUCT);
+        }
+        if (product.databaseProducts().isEmpty()) {
+            return new Node(url -> false, COST_PRODUCT);
+        }
+        EnumSet<DatabaseProduct> databaseProducts = EnumSet.copyOf(product.databaseProducts());
+        return new Node(url -> databaseProducts.contains(url.databaseProduct()), COST_PRODUCT);
+    }
+
+
+    private static Node compilePropertyEquals(UrlPredicate.PropertyEquals equals) {
+
+        String key = equals.key();
+        String value = equals.value();
+        if (equals.ignoreCase()) {
+            return new Node(url -> {
+                JdbcProperty property = url.properties().get(key);
+                return property != null && value.equalsIgnoreCase(property.value());
+            }, COST_PROPERTY);
+        }
+        return new Node(url -> {
+            JdbcProperty property = url.properties().get(key);
+            return property != null && value.equals(property.value());
+        }, COST_PROPERTY);
+    }
+
+
+    private static Node compileJunction(UrlPredicate junction, boolean conjunction) {
+
+        List<Node> operands = new ArrayList<>();
+        flatten(junction, conjunction, operands);
+        operands.sort(Comparator.comparingInt(Node::cost));
+
+        if (operands.size() == 1) {
+            return operands.get(0);
+        }
+
+        int cost = 0;
+        @SuppressWarnings("unchecked")
+        Predicate<JdbcUrl>[] matchers = new Predicate[operands.size()];
+        for (int i = 0; i < matchers.length; i++) {
+            matchers[i] = operands.get(i).matcher();
+            cost += operands.get(i).cost();
+        }
+
+        if (conjunction) {
+            return new Node(url -> {
+                for (Predicate<JdbcUrl> matcher : matchers) {
+                    if (!matcher.test(url)) {
+                        return false;
+                    }
+                }
+                return true;
+            }, cost);
+        }
+        return new Node(url -> {
+            for (Predicate<JdbcUrl> matcher : matchers) {
+                if (matcher.test(url)) {
+                    return true;
+                }
+            }
+            return false;
+        }, cost);
+    }
+
+
+    private static void flatten(UrlPredicate predicate, boolean conjunction, List<Node> operands) {
+
+        List<UrlPredicate> children = null;
+        if (conjunction && predicate instanceof UrlPredicate.And and) {
+            children = and.predicates();
+        } else if (!conjunction && predicate instanceof UrlPredicate.Or or) {
+            children = or.predicates();
+        }
+
+        if (children == null) {
+            operands.add(compileNode(predicate));
+            return;
+        }
+        for (UrlPredicate child : children) {
+            flatten(child, conjunction, operands);
+        }
+    }
+
+
+    private static boolean hasHostname(JdbcUrl jdbcUrl, String hostname) {
+
+        for (Host host : jdbcUrl.hosts()) {
+            if (hostname.equalsIgnoreCase(host.hostname())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+
+    private static boolean hasPort(JdbcUrl jdbcUrl, int port) {
+
+        Integer defaultPort = jdbcUrl.databaseProduct().getDefaultPort();
+        for (Host host : jdbcUrl.hosts()) {
+            Integer hostPort = host.port() != null ? host.port() : defaultPort;
+            if (hostPort != null && hostPort == port) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+
+    private record Node(Predicate<JdbcUrl> matcher, int cost) {
+
+    }
+}
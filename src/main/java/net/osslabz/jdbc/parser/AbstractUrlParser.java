@@ -87,28 +87,110 @@ public abstract class AbstractUrlParser implements UrlParser {
             return properties;
         }
 
-        String[] pairs = queryString.split("[&;]");
-
-        for (String pair : pairs) {
-            if (pair.isBlank()) {
+        // One pass over the string finds all separators and the '=' of each pair
+        int[] delimiters = DelimiterScanner.scan(queryString, 0, queryString.length());
+        int start = 0;
+        int equalsIndex = -1;
+        for (int i = 0; i <= delimiters.length; i++) {
+            int end = i < delimiters.length ? delimiters[i] : queryString.length();
+            char delimiter = i < delimiters.length ? queryString.charAt(end) : '&';
+            if (delimiter == '=' && equalsIndex < 0) {
+                equalsIndex = end;
+            }
+            if (delimiter != '&' && delimiter != ';') {
                 continue;
             }
 
-            int equalsIndex = pair.indexOf('=');
-            if (equalsIndex > 0) {
-                String key = pair.substring(0, equalsIndex).trim();
-                String value = pair.substring(equalsIndex + 1).trim();
-                properties.put(key, new JdbcProperty(source, value));
-            } else {
-                // Property without value (flag)
-                properties.put(pair.trim(), new JdbcProperty(source, ""));
-            }
+            addProperty(properties, queryString, start, equalsIndex, end, source);
+            start = end + 1;
+            equalsIndex = -1;
         }
 
         return properties;
     }
 
 
+    private static void addProperty(Map<String, JdbcProperty> properties, String queryString, int start, int equalsIndex, int end, PropertySource source) {
+
+        String pair = queryString.substring(start, end);
+        if (pair.isBlank()) {
+            return;
+        }
+
+        if (equalsIndex > start) {
+            String key = queryString.substring(start, equalsIndex).trim();
+            String value = queryString.substring(equalsIndex + 1, end).trim();
+            properties.put(key, new JdbcProperty(source, value));
+        } else {
+            // Property without value (flag)
+            properties.put(pair.trim(), new JdbcProperty(source, ""));
+        }
+    }
+
+
+    /**
+     * Looks up a single property in a query string or path parameters without building the full property map. The string is scanned backwards so that, like in {@link #parseProperties(String, PropertySource)}, the last occurrence of a
+     * key wins.
+     *
+     * @param queryString the query string without the leading '?' or ';'
+     * @param key         the property key to look up
+     * @return the property value, or null if the key is not present
+     */
+    protected String findPropertyValue(String queryString, String key) {
+
+        if (queryString == null || queryString.isBlank()) {
+            return null;
+        }
+
+        int end = queryString.length();
+        while (end >= 0) {
+            int start = end - 1;
+            while (start >= 0 && queryString.charAt(start) != '&' && queryString.charAt(start) != ';') {
+                start--;
+            }
+            start++;
+
+            String value = matchPair(queryString, start, end, key);
+            if (value != null) {
+                return value;
+            }
+            end = start - 1;
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Matches a single key=value pair of a query string against a key, applying the same trimming rules as {@link #parseProperties(String, PropertySource)}.
+     */
+    private String matchPair(String queryString, int start, int end, String key) {
+
+        int equalsIndex = queryString.indexOf('=', start);
+        if (equalsIndex >= end) {
+            equalsIndex = -1;
+        }
+
+        int keyEnd = equalsIndex > start ? equalsIndex : end;
+        int keyStart = start;
+        while (keyStart < keyEnd && queryString.charAt(keyStart) <= ' ') {
+            keyStart++;
+        }
+        while (keyEnd > keyStart && queryString.charAt(keyEnd - 1) <= ' ') {
+            keyEnd--;
+        }
+        if (keyStart == keyEnd && equalsIndex <= start) {
+            // Blank pair, skipped by parseProperties as well
+            return null;
+        }
+        if (keyEnd - keyStart != key.length() || !queryString.regionMatches(keyStart, key, 0, key.length())) {
+            return null;
+        }
+
+        return equalsIndex > start ? queryString.substring(equalsIndex + 1, end).trim() : "";
+    }
+
+
     /**
      * Adds a derived property to the properties map.
      *
@@ -200,7 +282,8 @@ public abstract class AbstractUrlParser implements UrlParser {
             instanceName = remaining;
         }
 
-        return Host.of(hostname, port != null ? port : 0, instanceName);
+        // Without a port the driver asks the SQL Server Browser for the port of the instance
+        return new Host(hostname, port, instanceName);
     }
 
 
@@ -296,13 +379,13 @@ public abstract class AbstractUrlParser implements UrlParser {
 
 
     /**
-     * Common parsing logic for standard network-based JDBC URLs. Handles format: jdbc:protocol://host:port/database?properties
+     * Strips protocol and leading slashes from a standard network-based JDBC URL.
      *
-     * @param url          the original JDBC URL
+     * @param url             the original JDBC URL
      * @param databaseProduct the database type
-     * @return parsed JdbcUrl
+     * @return the URL remainder starting with the host list
      */
-    protected JdbcUrl parseStandardNetworkUrl(String url, DatabaseProduct databaseProduct) {
+    protected String standardNetworkRemainder(String url, DatabaseProduct databaseProduct) {
 
         validateJdbcPrefix(url);
 
@@ -313,6 +396,62 @@ public abstract class AbstractUrlParser implements UrlParser {
         if (remainder.startsWith("//")) {
             remainder = remainder.substring(2);
         }
+        return remainder;
+    }
+
+
+    /**
+     * Extracts a single property from a standard network-based JDBC URL by scanning only the query component.
+     *
+     * @param url             the original JDBC URL
+     * @param databaseProduct the database type
+     * @param key             the property key
+     * @return the property value, or null if not present
+     */
+    protected String extractStandardNetworkProperty(String url, DatabaseProduct databaseProduct, String key) {
+
+        String remainder = standardNetworkRemainder(url, databaseProduct);
+
+        int questionIndex = remainder.indexOf('?');
+        return questionIndex >= 0 ? findPropertyValue(remainder.substring(questionIndex + 1), key) : null;
+    }
+
+
+    /**
+     * Extracts the hosts from a standard network-based JDBC URL without parsing the database name or properties.
+     *
+     * @param url             the original JDBC URL
+     * @param databaseProduct the database type
+     * @return list of Host objects
+     */
+    protected List<Host> extractStandardNetworkHosts(String url, DatabaseProduct databaseProduct) {
+
+        String remainder = standardNetworkRemainder(url, databaseProduct);
+
+        int hostsEnd = remainder.length();
+        for (int i = 0; i < remainder.length(); i++) {
+            char c = remainder.charAt(i);
+            if (c == '/' || c == '?') {
+                hostsEnd = i;
+                break;
+            }
+        }
+
+        return parseMultipleHosts(remainder.substring(0, hostsEnd));
+    }
+
+
+    /**
+     * Common parsing logic for standard network-based JDBC URLs. Handles format: jdbc:protocol://host:port/database?properties
+     *
+     * @param url          the original JDBC URL
+     * @param databaseProduct the database type
+     * @return parsed JdbcUrl
+     */
+    protected JdbcUrl parseStandardNetworkUrl(String url, DatabaseProduct databaseProduct) {
+
+        String remainder = standardNetworkRemainder(url, databaseProduct);
+        String protocol = extractProtocol(url, databaseProduct);
 
         // Split into host/database and properties parts
         String[] mainAndProps = splitFirst(remainder, '?');
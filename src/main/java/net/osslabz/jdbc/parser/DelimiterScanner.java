@@ -0,0 +1,40 @@
+package net.osslabz.jdbc.parser;
+
+/**
+ * Finds all URL delimiters (';', '?', '&amp;', '=', '/', ',', '(' and ')') of a string in a single pass, so that parsers can split long property lists without rescanning.
+ *
+ * <p>This is the Java 17 variant. The multi-release jar contains a Java 21 variant in {@code META-INF/versions/21} that scans with the Vector API when the {@code jdk.incubator.vector} module is
+ * available.
+ */
+final class DelimiterScanner {
+
+    private DelimiterScanner() {
+
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+
+    /**
+     * Finds the positions of all delimiters in a region of a string.
+     *
+     * @param value the string to scan
+     * @param from  the start index (inclusive)
+     * @param to    the end index (exclusive)
+     * @return the delimiter positions in ascending order
+     */
+    static int[] scan(String value, int from, int to) {
+
+        return ScalarDelimiterScanner.scan(value, from, to);
+    }
+
+
+    /**
+     * Checks if the Vector API is used for scanning.
+     *
+     * @return always false on Java 17
+     */
+    static boolean isVectorized() {
+
+        return false;
+    }
+}
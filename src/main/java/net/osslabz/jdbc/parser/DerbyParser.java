@@ -1,12 +1,10 @@
 package net.osslabz.jdbc.parser;
 
-import java.util.List;
-import java.util.Map;
 import net.osslabz.jdbc.DatabaseProduct;
-import net.osslabz.jdbc.Host;
-import net.osslabz.jdbc.JdbcProperty;
-import net.osslabz.jdbc.JdbcUrl;
 import net.osslabz.jdbc.PropertySource;
+import net.osslabz.jdbc.parser.UrlGrammar.Format;
+import net.osslabz.jdbc.parser.UrlGrammar.HostList;
+import net.osslabz.jdbc.parser.UrlGrammar.PropertySection;
 
 
 /**
@@ -23,69 +21,36 @@ import net.osslabz.jdbc.PropertySource;
  *
  * <p>Note: Derby uses semicolon (;) as the property separator.
  */
-public class DerbyParser extends AbstractUrlParser {
+public class DerbyParser extends GrammarUrlParser {
+
+    private static final UrlGrammar GRAMMAR = UrlGrammar.of(DatabaseProduct.DERBY,
+        Format.network("//", "NETWORK", HostList.SINGLE, PropertySection.of(";", PropertySource.PATH)),
+        Format.path("memory:", "MEMORY", PropertySection.of(";", PropertySource.PATH)),
+        Format.path("", "EMBEDDED", PropertySection.of(";", PropertySource.PATH)));
+
 
     public DerbyParser() {
 
-        super(DatabaseProduct.DERBY);
+        super(GRAMMAR);
     }
 
 
     @Override
-    public JdbcUrl parse(String url) {
+    public String extractProperty(String url, String key) {
 
         validateJdbcPrefix(url);
 
-        DatabaseProduct dbType = DatabaseProduct.DERBY;
-        String protocol = extractProtocol(url, dbType);
-        String remainder = removeProtocol(url, protocol);
+        String remainder = removeProtocol(url, extractProtocol(url, DatabaseProduct.DERBY));
 
-        // Check for network mode (client/server)
-        if (remainder.startsWith("//")) {
-            return parseNetworkMode(url, protocol, remainder);
+        // MODE is always derived from the URL structure and overrides any path property
+        if ("MODE".equals(key)) {
+            if (remainder.startsWith("//")) {
+                return "NETWORK";
+            }
+            return remainder.startsWith("memory:") ? "MEMORY" : "EMBEDDED";
         }
 
-        // Embedded mode - split by semicolon for properties (PATH properties)
-        String[] parts = splitFirst(remainder, ';');
-        String databasePath = parts[0];
-        String propsString = parts.length > 1 ? parts[1] : null;
-
-        Map<String, JdbcProperty> properties = parseProperties(propsString, PropertySource.PATH);
-
-        // Check for in-memory mode
-        if (databasePath.startsWith("memory:")) {
-            addDerivedProperty(properties, "MODE", "MEMORY");
-            databasePath = databasePath.substring(7);
-        } else {
-            addDerivedProperty(properties, "MODE", "EMBEDDED");
-        }
-
-        return new JdbcUrl(url, dbType, protocol, List.of(), databasePath, properties);
-    }
-
-
-    /**
-     * Parses Derby in network/client mode.
-     */
-    private JdbcUrl parseNetworkMode(String url, String protocol, String remainder) {
-        // Format: //host:port/database[;properties]
-        String withoutSlashes = remainder.substring(2);
-
-        // Split by semicolon for properties (PATH properties)
-        String[] mainAndProps = splitFirst(withoutSlashes, ';');
-        String mainPart = mainAndProps[0];
-        String propsString = mainAndProps.length > 1 ? mainAndProps[1] : null;
-
-        Map<String, JdbcProperty> properties = parseProperties(propsString, PropertySource.PATH);
-
-        // Split host and database
-        String[] hostAndDb = splitFirst(mainPart, '/');
-        String hostString = hostAndDb[0];
-        String databaseName = hostAndDb.length > 1 ? hostAndDb[1] : "";
-
-        Host host = parseHost(hostString);
-        addDerivedProperty(properties, "MODE", "NETWORK");
-
-        return new JdbcUrl(url, DatabaseProduct.DERBY, protocol, List.of(host), databaseName, properties);
+        int semicolonIndex = remainder.indexOf(';');
+        return semicolonIndex >= 0 ? findPropertyValue(remainder.substring(semicolonIndex + 1), key) : null;
     }
 }
@@ -0,0 +1,402 @@
+package net.osslabz.jdbc.parser;
+
+import java.util.List;
+import java.util.Map;
+import net.osslabz.jdbc.DatabaseProduct;
+import net.osslabz.jdbc.Host;
+import net.osslabz.jdbc.JdbcProperty;
+import net.osslabz.jdbc.JdbcUrl;
+import net.osslabz.jdbc.JdbcUrlParseException;
+import net.osslabz.jdbc.PropertySource;
+
+
+/**
+ * Parser driven by a {@link UrlGrammar}. Vendors whose URLs are fully described by a grammar need no parsing code of their own. Vendors with rules beyond the segment structure override the hooks
+ * {@link #parseHosts(ScannedUrl, Map)}, {@link #parseDatabaseName(ScannedUrl, Map)} and {@link #deriveProperties(ScannedUrl, String, Map)}, or build typed views on {@link #scan(String)}.
+ *
+ * <p>A parser can serve several products with one grammar each, e.g. MySQL and MariaDB; the grammar is selected by the product of the URL.
+ */
+public class GrammarUrlParser extends AbstractUrlParser {
+
+    private final UrlGrammar[] grammars;
+
+
+    /**
+     * Creates a parser for one product.
+     *
+     * @param grammar the grammar
+     */
+    public GrammarUrlParser(UrlGrammar grammar) {
+
+        this(grammar, new UrlGrammar[0]);
+    }
+
+
+    /**
+     * Creates a parser for several products.
+     *
+     * @param grammar the grammar of the first product
+     * @param more    the grammars of further products, one per product
+     */
+    public GrammarUrlParser(UrlGrammar grammar, UrlGrammar... more) {
+
+        this(concat(grammar, more));
+    }
+
+
+    private GrammarUrlParser(UrlGrammar[] grammars) {
+
+        super(products(grammars));
+        this.grammars = grammars;
+    }
+
+
+    private static UrlGrammar[] concat(UrlGrammar grammar, UrlGrammar... more) {
+
+        if (more == null) {
+            throw new IllegalArgumentException("Grammars cannot be null");
+        }
+        UrlGrammar[] grammars = new UrlGrammar[more.length + 1];
+        grammars[0] = grammar;
+        System.arraycopy(more, 0, grammars, 1, more.length);
+        return grammars;
+    }
+
+
+    private static DatabaseProduct[] products(UrlGrammar[] grammars) {
+
+        DatabaseProduct[] products = new DatabaseProduct[grammars.length];
+        for (int i = 0; i < grammars.length; i++) {
+            if (grammars[i] == null) {
+                throw new IllegalArgumentException("Grammar cannot be null");
+            }
+            for (int j = 0; j < i; j++) {
+                if (products[j] == grammars[i].product()) {
+                    throw new IllegalArgumentException("Duplicate grammar for " + products[j]);
+                }
+            }
+            products[i] = grammars[i].product();
+        }
+        return products;
+    }
+
+
+    /**
+     * Gets the grammar of this parser.
+     *
+     * @return the grammar, the first one if the parser has several
+     */
+    public UrlGrammar getGrammar() {
+
+        return grammars[0];
+    }
+
+
+    /**
+     * Gets the grammars of this parser.
+     *
+     * @return the grammars, one per product
+     */
+    public List<UrlGrammar> getGrammars() {
+
+        return List.of(grammars);
+    }
+
+
+    @Override
+    public JdbcUrl parse(String url) {
+
+        return toJdbcUrl(scan(url));
+    }
+
+
+    /**
+     * Extracts a property from the property section only. MODE is answered from the format; parsers deriving other properties in {@link #deriveProperties(ScannedUrl, String, Map)} must override this
+     * method. Only the format is validated, the checks of the {@link #parseHosts(ScannedUrl, Map)} and {@link #parseDatabaseName(ScannedUrl, Map)} hooks are skipped.
+     */
+    @Override
+    public String extractProperty(String url, String key) {
+
+        ScannedUrl scanned = scan(url);
+        String value = findPropertyValue(scanned.propertySection(), key);
+
+        UrlGrammar.Format format = scanned.format();
+        if ("MODE".equals(key) && format.mode() != null && (value == null || !format.has(UrlGrammar.Option.MODE_IF_ABSENT))) {
+            return format.mode();
+        }
+        return value;
+    }
+
+
+    /**
+     * Validates a URL and splits it into the segments of its format.
+     *
+     * @param url the JDBC URL
+     * @return the scanned URL
+     *
+     * @throws JdbcUrlParseException if the URL is not a URL of a product of this parser or matches no format
+     */
+    protected ScannedUrl scan(String url) {
+
+        validateJdbcPrefix(url);
+
+        UrlGrammar grammar = grammarFor(url);
+        String protocol = extractProtocol(url, grammar.product());
+        String remainder = removeProtocol(url, protocol);
+
+        UrlGrammar.Segments segments = grammar.scan(remainder);
+        if (segments == null) {
+            if (grammar.qualifier() != null && remainder.indexOf(':') < 0) {
+                throw new JdbcUrlParseException(url, "Invalid " + grammar.product() + " URL format: missing " + grammar.qualifier());
+            }
+            throw new JdbcUrlParseException(url, "Unsupported " + grammar.product() + " URL format");
+        }
+        return new ScannedUrl(url, grammar.product(), protocol, remainder, segments);
+    }
+
+
+    private UrlGrammar grammarFor(String url) {
+
+        if (grammars.length == 1) {
+            // A URL of another product is rejected by extractProtocol
+            return grammars[0];
+        }
+        DatabaseProduct product = DatabaseProduct.fromUrl(url);
+        for (UrlGrammar grammar : grammars) {
+            if (grammar.product() == product) {
+                return grammar;
+            }
+        }
+        throw new JdbcUrlParseException(url, "Unsupported database type for " + grammars[0].product() + " parser: " + product);
+    }
+
+
+    /**
+     * Builds the parsed URL from the segments, calling the hooks in the order properties, hosts, database name and derived properties.
+     *
+     * @param scanned the scanned URL
+     * @return the parsed URL
+     */
+    protected JdbcUrl toJdbcUrl(ScannedUrl scanned) {
+
+        return toJdbcUrl(scanned, parseProperties(scanned));
+    }
+
+
+    /**
+     * Builds the parsed URL from the segments and properties parsed by {@link #parseProperties(ScannedUrl)}, for typed views that inspect the properties in URL order.
+     *
+     * @param scanned    the scanned URL
+     * @param properties the mutable properties, derived properties are added to them
+     * @return the parsed URL
+     */
+    protected JdbcUrl toJdbcUrl(ScannedUrl scanned, Map<String, JdbcProperty> properties) {
+
+        List<Host> hosts = parseHosts(scanned, properties);
+        String databaseName = parseDatabaseName(scanned, properties);
+        deriveProperties(scanned, databaseName, properties);
+
+        return new JdbcUrl(scanned.url(), scanned.product(), scanned.protocol(), hosts, databaseName, properties);
+    }
+
+
+    /**
+     * Parses the property section.
+     *
+     * @param scanned the scanned URL
+     * @return mutable map of the properties in URL order
+     */
+    protected Map<String, JdbcProperty> parseProperties(ScannedUrl scanned) {
+
+        return parseProperties(scanned.propertySection(), scanned.propertySource());
+    }
+
+
+    /**
+     * Parses the hosts segment as declared by the format, falling back to its default host.
+     *
+     * @param scanned    the scanned URL
+     * @param properties the properties of the URL
+     * @return the hosts
+     */
+    protected List<Host> parseHosts(ScannedUrl scanned, Map<String, JdbcProperty> properties) {
+
+        UrlGrammar.Format format = scanned.format();
+        List<Host> hosts = switch (format.hosts()) {
+            case NONE -> List.of();
+            case SINGLE -> List.of(parseHost(scanned.hosts()));
+            case MULTIPLE -> parseMultipleHosts(scanned.hosts());
+        };
+        if (hosts.isEmpty() && format.defaultHost() != null) {
+            hosts = List.of(Host.of(format.defaultHost()));
+        }
+        return hosts;
+    }
+
+
+    /**
+     * Gets the database name, by default the database segment as written.
+     *
+     * @param scanned    the scanned URL
+     * @param properties the properties of the URL
+     * @return the database name, empty if the URL names none
+     */
+    protected String parseDatabaseName(ScannedUrl scanned, Map<String, JdbcProperty> properties) {
+
+        return scanned.database();
+    }
+
+
+    /**
+     * Adds the properties derived from the URL structure, by default the MODE of the format. MODE overrides any property of the same name unless the format has
+     * {@link UrlGrammar.Option#MODE_IF_ABSENT}.
+     *
+     * @param scanned      the scanned URL
+     * @param databaseName the database name returned by {@link #parseDatabaseName(ScannedUrl, Map)}
+     * @param properties   the properties of the URL, to add to
+     */
+    protected void deriveProperties(ScannedUrl scanned, String databaseName, Map<String, JdbcProperty> properties) {
+
+        UrlGrammar.Format format = scanned.format();
+        if (format.mode() != null && !(format.has(UrlGrammar.Option.MODE_IF_ABSENT) && properties.containsKey("MODE"))) {
+            addDerivedProperty(properties, "MODE", format.mode());
+        }
+    }
+
+
+    /**
+     * A URL split into the segments of its format. Segments are cut from the URL on access.
+     */
+    public static final class ScannedUrl {
+
+        private final String url;
+
+        private final DatabaseProduct product;
+
+        private final String protocol;
+
+        private final String remainder;
+
+        private final UrlGrammar.Segments segments;
+
+
+        ScannedUrl(String url, DatabaseProduct product, String protocol, String remainder, UrlGrammar.Segments segments) {
+
+            this.url = url;
+            this.product = product;
+            this.protocol = protocol;
+            this.remainder = remainder;
+            this.segments = segments;
+        }
+
+
+        /**
+         * Gets the original URL.
+         *
+         * @return the URL
+         */
+        public String url() {
+
+            return url;
+        }
+
+
+        /**
+         * Gets the product of the grammar that matched.
+         *
+         * @return the product
+         */
+        public DatabaseProduct product() {
+
+            return product;
+        }
+
+
+        /**
+         * Gets the protocol, e.g. "jdbc:oracle:".
+         *
+         * @return the protocol
+         */
+        public String protocol() {
+
+            return protocol;
+        }
+
+
+        /**
+         * Gets the format that matched.
+         *
+         * @return the format
+         */
+        public UrlGrammar.Format format() {
+
+            return segments.format();
+        }
+
+
+        /**
+         * Gets the qualifier segment of a {@link UrlGrammar#qualified(DatabaseProduct, String, UrlGrammar.Format...) qualified} grammar.
+         *
+         * @return the qualifier without ':', or null if the grammar has none
+         */
+        public String qualifier() {
+
+            return segments.formatStart() > 0 ? remainder.substring(0, segments.formatStart() - 1) : null;
+        }
+
+
+        /**
+         * Gets the hosts segment.
+         *
+         * @return the hosts as written, empty for formats without hosts
+         */
+        public String hosts() {
+
+            return remainder.substring(segments.hostsStart(), segments.hostsEnd());
+        }
+
+
+        /**
+         * Gets the database segment.
+         *
+         * @return the database as written, empty if the URL has none
+         */
+        public String database() {
+
+            return remainder.substring(segments.databaseStart(), segments.databaseEnd());
+        }
+
+
+        /**
+         * Gets the text of the format from its prefix up to the property section, i.e. prefix, hosts and database.
+         *
+         * @return the format text
+         */
+        public String formatText() {
+
+            return remainder.substring(segments.formatStart(), segments.databaseEnd());
+        }
+
+
+        /**
+         * Gets the property section.
+         *
+         * @return the properties without the leading delimiter, or null if the URL has none
+         */
+        public String propertySection() {
+
+            return segments.propertiesStart() >= 0 ? remainder.substring(segments.propertiesStart(), segments.end()) : null;
+        }
+
+
+        /**
+         * Gets the source of the properties in the property section.
+         *
+         * @return the source, or null if the format has no property section
+         */
+        public PropertySource propertySource() {
+
+            return segments.propertySource();
+        }
+    }
+}
@@ -1,12 +1,18 @@
 package net.osslabz.jdbc.parser;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import net.osslabz.jdbc.DatabaseProduct;
+import net.osslabz.jdbc.H2Url;
 import net.osslabz.jdbc.Host;
 import net.osslabz.jdbc.JdbcProperty;
 import net.osslabz.jdbc.JdbcUrl;
-import net.osslabz.jdbc.PropertySource;
+import net.osslabz.jdbc.JdbcUrlParseException;
+import net.osslabz.jdbc.parser.UrlGrammar.Format;
+import net.osslabz.jdbc.parser.UrlGrammar.HostList;
+import net.osslabz.jdbc.parser.UrlGrammar.Option;
+import net.osslabz.jdbc.parser.UrlGrammar.PropertySection;
 
 
 /**
@@ -20,80 +26,104 @@ import net.osslabz.jdbc.PropertySource;
  *   <li>jdbc:h2:/path/to/database (implied file)</li>
  *   <li>jdbc:h2:tcp://host:port/database (network mode)</li>
  *   <li>jdbc:h2:ssl://host:port/database (network with SSL)</li>
+ *   <li>jdbc:h2:tcp://host1:port,host2:port/database (cluster)</li>
+ *   <li>jdbc:h2:split:nioMapped:~/database (file system prefixes, also after the server in network mode)</li>
  * </ul>
+ *
+ * <p>MODE is TCP or SSL for network URLs. For embedded URLs it is MEMORY or FILE unless the URL sets MODE, which H2 also uses for compatibility modes.
  */
-public class H2Parser extends AbstractUrlParser {
+public class H2Parser extends GrammarUrlParser {
+
+    private static final H2Url.FileSystem[] FILE_SYSTEMS = H2Url.FileSystem.values();
+
+    private static final UrlGrammar GRAMMAR = UrlGrammar.of(DatabaseProduct.H2,
+        Format.network("tcp://", "TCP", HostList.MULTIPLE, PropertySection.pathOrQuery()),
+        Format.network("ssl://", "SSL", HostList.MULTIPLE, PropertySection.pathOrQuery()),
+        Format.path("mem:", "MEMORY", PropertySection.pathOrQuery()).withOptions(Option.MODE_IF_ABSENT),
+        Format.path("file:", "FILE", PropertySection.pathOrQuery()).withOptions(Option.MODE_IF_ABSENT),
+        Format.path("", "FILE", PropertySection.pathOrQuery()).withOptions(Option.MODE_IF_ABSENT));
+
 
     public H2Parser() {
 
-        super(DatabaseProduct.H2);
+        super(GRAMMAR);
     }
 
 
-    @Override
-    public JdbcUrl parse(String url) {
+    /**
+     * Parses an H2 JDBC URL including connection mode, cluster servers and storage backend (mem: and file system prefixes).
+     *
+     * @param url the JDBC URL to parse
+     * @return the parsed H2 URL
+     *
+     * @throws JdbcUrlParseException if the URL cannot be parsed
+     */
+    public H2Url parseH2Url(String url) {
 
-        validateJdbcPrefix(url);
+        ScannedUrl scanned = scan(url);
+        JdbcUrl jdbcUrl = toJdbcUrl(scanned);
 
-        DatabaseProduct dbType = DatabaseProduct.H2;
-        String protocol = extractProtocol(url, dbType);
-        String remainder = removeProtocol(url, protocol);
+        H2Url.ConnectionMode connectionMode = switch (scanned.format().prefix()) {
+            case "tcp://" -> H2Url.ConnectionMode.TCP;
+            case "ssl://" -> H2Url.ConnectionMode.SSL;
+            default -> H2Url.ConnectionMode.EMBEDDED;
+        };
 
-        // Split properties (using ; or ?)
-        String[] mainAndProps = splitByFirstPropertyDelimiter(remainder);
-        String mainPart = mainAndProps[0];
-        String propsString = mainAndProps.length > 1 ? mainAndProps[1] : null;
+        // The server opens the database, so in network mode the path can name an in-memory database or file system prefixes as well
+        String location = connectionMode == H2Url.ConnectionMode.EMBEDDED ? scanned.formatText() : scanned.database();
+        H2Url.Storage storage = location.startsWith("mem:") ? H2Url.Storage.MEMORY : H2Url.Storage.FILE;
+        List<H2Url.FileSystem> fileSystems = new ArrayList<>();
+        String path = storage == H2Url.Storage.MEMORY ? location.substring(4) : stripFileSystems(location, fileSystems);
 
-        // H2 uses semicolon in path, so these are PATH properties, but also supports ? for QUERY
-        PropertySource propertySource = remainder.contains("?") ? PropertySource.QUERY : PropertySource.PATH;
-        Map<String, JdbcProperty> properties = parseProperties(propsString, propertySource);
+        return new H2Url(jdbcUrl, connectionMode, jdbcUrl.hosts(), storage, fileSystems, path);
+    }
 
-        // Check for network modes (tcp, ssl)
-        if (mainPart.startsWith("tcp://") || mainPart.startsWith("ssl://")) {
-            return parseNetworkMode(url, protocol, mainPart, properties);
-        }
 
-        // File-based or in-memory mode
-        String databasePath = mainPart;
+    /**
+     * Network URLs need at least one server.
+     */
+    @Override
+    protected List<Host> parseHosts(ScannedUrl scanned, Map<String, JdbcProperty> properties) {
 
-        // Add mode to properties for clarity (only if not already specified in properties)
-        if (mainPart.startsWith("mem:")) {
-            if (!properties.containsKey("MODE")) {
-                addDerivedProperty(properties, "MODE", "MEMORY");
-            }
-            databasePath = mainPart.substring(4); // Remove "mem:" prefix
-        } else if (mainPart.startsWith("file:")) {
-            if (!properties.containsKey("MODE")) {
-                addDerivedProperty(properties, "MODE", "FILE");
-            }
-            databasePath = mainPart.substring(5); // Remove "file:" prefix
-        } else {
-            // Default is file mode
-            if (!properties.containsKey("MODE")) {
-                addDerivedProperty(properties, "MODE", "FILE");
-            }
+        List<Host> hosts = super.parseHosts(scanned, properties);
+        if (hosts.isEmpty() && scanned.format().hosts() != HostList.NONE) {
+            throw new JdbcUrlParseException(scanned.url(), "Missing H2 server in network URL");
         }
-
-        return new JdbcUrl(url, dbType, protocol, List.of(), databasePath, properties);
+        return hosts;
     }
 
 
     /**
-     * Parses H2 in network mode (tcp:// or ssl://).
+     * Removes stacked file system prefixes ({@code split:nioMapped:~/db}) from a database path, collecting them in URL order. {@code split:} may carry a size exponent ({@code split:28:}).
      */
-    private JdbcUrl parseNetworkMode(String url, String protocol, String mainPart, Map<String, JdbcProperty> properties) {
-        // Format: tcp://host:port/database or ssl://host:port/database
-        boolean isSsl = mainPart.startsWith("ssl://");
-        String withoutScheme = isSsl ? mainPart.substring(6) : mainPart.substring(6);
+    private static String stripFileSystems(String databasePath, List<H2Url.FileSystem> fileSystems) {
+
+        int position = 0;
+        boolean matched = true;
+        while (matched) {
+            matched = false;
+            for (H2Url.FileSystem fileSystem : FILE_SYSTEMS) {
+                if (databasePath.startsWith(fileSystem.getPrefix(), position)) {
+                    fileSystems.add(fileSystem);
+                    position += fileSystem.getPrefix().length();
+                    if (fileSystem == H2Url.FileSystem.SPLIT) {
+                        position = skipSplitSize(databasePath, position);
+                    }
+                    matched = true;
+                    break;
+                }
+            }
+        }
+        return databasePath.substring(position);
+    }
 
-        String[] hostAndDb = splitFirst(withoutScheme, '/');
-        String hostString = hostAndDb[0];
-        String databaseName = hostAndDb.length > 1 ? hostAndDb[1] : "";
 
-        Host host = parseHost(hostString);
-        addDerivedProperty(properties, "MODE", isSsl ? "SSL" : "TCP");
+    private static int skipSplitSize(String databasePath, int position) {
 
-        return new JdbcUrl(url, DatabaseProduct.H2, protocol, List.of(host), databaseName, properties);
+        int end = position;
+        while (end < databasePath.length() && databasePath.charAt(end) >= '0' && databasePath.charAt(end) <= '9') {
+            end++;
+        }
+        return end > position && end < databasePath.length() && databasePath.charAt(end) == ':' ? end + 1 : position;
     }
-
 }
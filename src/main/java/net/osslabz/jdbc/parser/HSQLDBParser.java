@@ -1,12 +1,9 @@
 package net.osslabz.jdbc.parser;
 
-import java.util.List;
-import java.util.Map;
 import net.osslabz.jdbc.DatabaseProduct;
-import net.osslabz.jdbc.Host;
-import net.osslabz.jdbc.JdbcProperty;
-import net.osslabz.jdbc.JdbcUrl;
-import net.osslabz.jdbc.PropertySource;
+import net.osslabz.jdbc.parser.UrlGrammar.Format;
+import net.osslabz.jdbc.parser.UrlGrammar.HostList;
+import net.osslabz.jdbc.parser.UrlGrammar.PropertySection;
 
 
 /**
@@ -24,88 +21,47 @@ import net.osslabz.jdbc.PropertySource;
  *   <li>jdbc:hsqldb:https://host:port/database</li>
  * </ul>
  */
-public class HSQLDBParser extends AbstractUrlParser {
+public class HSQLDBParser extends GrammarUrlParser {
+
+    private static final UrlGrammar GRAMMAR = UrlGrammar.of(DatabaseProduct.HSQLDB,
+        Format.network("hsql://", "HSQL", HostList.SINGLE, PropertySection.pathOrQuery()),
+        Format.network("hsqls://", "HSQLS", HostList.SINGLE, PropertySection.pathOrQuery()),
+        Format.network("http://", "HTTP", HostList.SINGLE, PropertySection.pathOrQuery()),
+        Format.network("https://", "HTTPS", HostList.SINGLE, PropertySection.pathOrQuery()),
+        Format.path("mem:", "MEMORY", PropertySection.pathOrQuery()),
+        Format.path("file:", "FILE", PropertySection.pathOrQuery()),
+        Format.path("res:", "RESOURCE", PropertySection.pathOrQuery()),
+        Format.path("", "FILE", PropertySection.pathOrQuery()));
+
 
     public HSQLDBParser() {
 
-        super(DatabaseProduct.HSQLDB);
+        super(GRAMMAR);
     }
 
 
     @Override
-    public JdbcUrl parse(String url) {
+    public String extractProperty(String url, String key) {
 
         validateJdbcPrefix(url);
 
-        DatabaseProduct dbType = DatabaseProduct.HSQLDB;
-        String protocol = extractProtocol(url, dbType);
-        String remainder = removeProtocol(url, protocol);
-
-        // Split properties
+        String remainder = removeProtocol(url, extractProtocol(url, DatabaseProduct.HSQLDB));
         String[] mainAndProps = splitByFirstPropertyDelimiter(remainder);
-        String mainPart = mainAndProps[0];
-        String propsString = mainAndProps.length > 1 ? mainAndProps[1] : null;
-
-        // HSQLDB uses semicolon in path, so these are PATH properties, but also supports ? for QUERY
-        PropertySource propertySource = remainder.contains("?") ? PropertySource.QUERY : PropertySource.PATH;
-        Map<String, JdbcProperty> properties = parseProperties(propsString, propertySource);
-
-        // Check for network modes
-        if (mainPart.startsWith("hsql://") || mainPart.startsWith("hsqls://") ||
-            mainPart.startsWith("http://") || mainPart.startsWith("https://")) {
-            return parseNetworkMode(url, protocol, mainPart, properties);
-        }
-
-        // File-based or in-memory mode
-        String databasePath = mainPart;
-
-        if (mainPart.startsWith("mem:")) {
-            addDerivedProperty(properties, "MODE", "MEMORY");
-            databasePath = mainPart.substring(4);
-        } else if (mainPart.startsWith("file:")) {
-            addDerivedProperty(properties, "MODE", "FILE");
-            databasePath = mainPart.substring(5);
-        } else if (mainPart.startsWith("res:")) {
-            addDerivedProperty(properties, "MODE", "RESOURCE");
-            databasePath = mainPart.substring(4);
-        } else {
-            // Default is file mode
-            addDerivedProperty(properties, "MODE", "FILE");
-        }
-
-        return new JdbcUrl(url, dbType, protocol, List.of(), databasePath, properties);
-    }
-
 
-    /**
-     * Parses HSQLDB in network mode.
-     */
-    private JdbcUrl parseNetworkMode(String url, String protocol, String mainPart, Map<String, JdbcProperty> properties) {
-
-        String scheme;
-        String withoutScheme;
-
-        if (mainPart.startsWith("hsqls://")) {
-            scheme = "hsqls";
-            withoutScheme = mainPart.substring(8);
-        } else if (mainPart.startsWith("hsql://")) {
-            scheme = "hsql";
-            withoutScheme = mainPart.substring(7);
-        } else if (mainPart.startsWith("https://")) {
-            scheme = "https";
-            withoutScheme = mainPart.substring(8);
-        } else { // http://
-            scheme = "http";
-            withoutScheme = mainPart.substring(7);
+        // MODE is always derived from the URL structure and overrides any path or query property
+        if ("MODE".equals(key)) {
+            String mainPart = mainAndProps[0];
+            if (mainPart.startsWith("hsql://") || mainPart.startsWith("hsqls://") ||
+                mainPart.startsWith("http://") || mainPart.startsWith("https://")) {
+                return mainPart.substring(0, mainPart.indexOf(':')).toUpperCase();
+            } else if (mainPart.startsWith("mem:")) {
+                return "MEMORY";
+            } else if (mainPart.startsWith("res:")) {
+                return "RESOURCE";
+            }
+            return "FILE";
         }
 
-        String[] hostAndDb = splitFirst(withoutScheme, '/');
-        String hostString = hostAndDb[0];
-        String databaseName = hostAndDb.length > 1 ? hostAndDb[1] : "";
-
-        Host host = parseHost(hostString);
-        addDerivedProperty(properties, "MODE", scheme.toUpperCase());
-
-        return new JdbcUrl(url, DatabaseProduct.HSQLDB, protocol, List.of(host), databaseName, properties);
+        return mainAndProps.length > 1 ? findPropertyValue(mainAndProps[1], key) : null;
     }
 }
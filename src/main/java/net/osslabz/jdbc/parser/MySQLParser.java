@@ -1,8 +1,25 @@
 package net.osslabz.jdbc.parser;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import net.osslabz.jdbc.DatabaseProduct;
+import net.osslabz.jdbc.Host;
+import net.osslabz.jdbc.JdbcProperty;
 import net.osslabz.jdbc.JdbcUrl;
 import net.osslabz.jdbc.JdbcUrlParseException;
+import net.osslabz.jdbc.MySQLUrl;
+import net.osslabz.jdbc.MySQLUrl.ConnectionType;
+import net.osslabz.jdbc.MySQLUrl.HostRole;
+import net.osslabz.jdbc.MySQLUrl.MySQLHost;
+import net.osslabz.jdbc.PropertySource;
+import net.osslabz.jdbc.parser.UrlGrammar.Format;
+import net.osslabz.jdbc.parser.UrlGrammar.HostList;
+import net.osslabz.jdbc.parser.UrlGrammar.Option;
+import net.osslabz.jdbc.parser.UrlGrammar.PropertySection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 
 /**
@@ -13,25 +30,338 @@ import net.osslabz.jdbc.JdbcUrlParseException;
  *   <li>jdbc:mysql://host:port/database</li>
  *   <li>jdbc:mysql://host1:port1,host2:port2/database</li>
  *   <li>jdbc:mysql://host/database?param=value</li>
+ *   <li>jdbc:mysql:loadbalance://host1,host2/database</li>
+ *   <li>jdbc:mysql:replication://source,replica1,replica2/database</li>
+ *   <li>jdbc:mysql+srv://service.example.com/database (DNS SRV)</li>
+ *   <li>jdbc:mysql://address=(host=host1)(port=3306)(type=source),(host=host2,port=3306,type=replica)/database</li>
+ *   <li>jdbc:mysql://[host1:3306,host2:3306]/database (host sublist)</li>
  *   <li>jdbc:mariadb://host:port/database</li>
+ *   <li>jdbc:mariadb:replication|loadbalance|sequential|failover://host1,host2/database</li>
  * </ul>
+ *
+ * <p>Sub-protocols are formats of the grammar, matched case-insensitively. The host list ends at the first '/' or '?' outside of parentheses and brackets.
  */
-public class MySQLParser extends AbstractUrlParser {
+public class MySQLParser extends GrammarUrlParser {
+
+    private static final Logger log = LoggerFactory.getLogger(MySQLParser.class);
+
+    private static final String SRV_PREFIX = "jdbc:mysql+srv:";
+
+    private static final String LOAD_BALANCE_STRATEGY_KEY = "ha.loadBalanceStrategy";
+
+    private static final String DEFAULT_LOAD_BALANCE_STRATEGY = "random";
+
+    private static final UrlGrammar MYSQL_GRAMMAR = UrlGrammar.of(DatabaseProduct.MYSQL,
+        hosts("//"), hosts(""),
+        hosts("loadbalance://"), hosts("loadbalance:"),
+        hosts("replication://"), hosts("replication:"));
+
+    private static final UrlGrammar MARIADB_GRAMMAR = UrlGrammar.of(DatabaseProduct.MARIADB,
+        hosts("//"), hosts(""),
+        hosts("loadbalance://"), hosts("loadbalance:"),
+        hosts("replication://"), hosts("replication:"),
+        hosts("sequential://"), hosts("sequential:"),
+        hosts("failover://"), hosts("failover:"));
+
 
     public MySQLParser() {
 
-        super(DatabaseProduct.MYSQL, DatabaseProduct.MARIADB);
+        super(MYSQL_GRAMMAR, MARIADB_GRAMMAR);
+    }
+
+
+    private static Format hosts(String prefix) {
+
+        return Format.network(prefix, null, HostList.MULTIPLE, PropertySection.of("?", PropertySource.QUERY)).withOptions(Option.IGNORE_CASE, Option.NESTED_HOSTS);
     }
 
 
     @Override
     public JdbcUrl parse(String url) {
 
-        DatabaseProduct dbType = DatabaseProduct.fromUrl(url);
-        if (!supports(dbType)) {
-            throw new JdbcUrlParseException(url, "Unsupported database type for MySQL parser: " + dbType);
+        return parseMySQLUrl(url).jdbcUrl();
+    }
+
+
+    /**
+     * Parses a MySQL or MariaDB JDBC URL including its topology (sub-protocol, host roles and per-host properties).
+     *
+     * @param url the JDBC URL to parse
+     * @return the parsed MySQL URL
+     *
+     * @throws JdbcUrlParseException if the URL cannot be parsed
+     */
+    public MySQLUrl parseMySQLUrl(String url) {
+
+        ScannedUrl scanned = scan(url);
+        boolean dnsSrv = SRV_PREFIX.equals(scanned.protocol());
+
+        Map<String, JdbcProperty> properties = parseProperties(scanned);
+
+        List<ParsedHost> parsedHosts = new ArrayList<>();
+        parseHostList(url, scanned.hosts(), parsedHosts);
+
+        if (dnsSrv) {
+            validateDnsSrvHosts(url, parsedHosts);
+        }
+
+        ConnectionType connectionType = connectionType(scanned.format());
+        if (connectionType == ConnectionType.SINGLE && parsedHosts.size() > 1) {
+            connectionType = ConnectionType.FAILOVER;
+        }
+
+        List<MySQLHost> mySQLHosts = assignRoles(parsedHosts, connectionType);
+        List<Host> hosts = new ArrayList<>(mySQLHosts.size());
+        for (MySQLHost mySQLHost : mySQLHosts) {
+            hosts.add(mySQLHost.host());
+        }
+
+        String loadBalanceStrategy = null;
+        if (connectionType == ConnectionType.LOADBALANCE || connectionType == ConnectionType.REPLICATION) {
+            JdbcProperty strategy = properties.get(LOAD_BALANCE_STRATEGY_KEY);
+            loadBalanceStrategy = strategy != null && !strategy.value().isBlank() ? strategy.value() : DEFAULT_LOAD_BALANCE_STRATEGY;
+        }
+
+        JdbcUrl jdbcUrl = new JdbcUrl(url, scanned.product(), protocol(scanned), hosts, scanned.database(), properties);
+
+        return new MySQLUrl(jdbcUrl, connectionType, dnsSrv, mySQLHosts, loadBalanceStrategy);
+    }
+
+
+    /**
+     * Accepts the DNS SRV protocol {@code jdbc:mysql+srv:} in addition to the product prefixes.
+     */
+    @Override
+    protected String extractProtocol(String url, DatabaseProduct databaseProduct) {
+
+        if (url.regionMatches(true, 0, SRV_PREFIX, 0, SRV_PREFIX.length())) {
+            return SRV_PREFIX;
+        }
+        return super.extractProtocol(url, databaseProduct);
+    }
+
+
+    @Override
+    public List<Host> extractHosts(String url) {
+
+        ScannedUrl scanned = scan(url);
+        List<ParsedHost> parsedHosts = new ArrayList<>();
+        parseHostList(url, scanned.hosts(), parsedHosts);
+        if (SRV_PREFIX.equals(scanned.protocol())) {
+            validateDnsSrvHosts(url, parsedHosts);
+        }
+
+        List<Host> hosts = new ArrayList<>(parsedHosts.size());
+        for (ParsedHost parsedHost : parsedHosts) {
+            hosts.add(parsedHost.host());
+        }
+        return hosts;
+    }
+
+
+    private static void validateDnsSrvHosts(String url, List<ParsedHost> parsedHosts) {
+
+        if (parsedHosts.size() > 1) {
+            throw new JdbcUrlParseException(url, "DNS SRV URLs can contain only one host");
+        }
+        if (!parsedHosts.isEmpty() && parsedHosts.get(0).host().port() != null) {
+            throw new JdbcUrlParseException(url, "Specifying a port number in DNS SRV URLs is not allowed");
+        }
+    }
+
+
+    /**
+     * The protocol includes the sub-protocol in lower case, e.g. {@code jdbc:mysql:replication:}.
+     */
+    private static String protocol(ScannedUrl scanned) {
+
+        String prefix = scanned.format().prefix();
+        int colonIndex = prefix.indexOf(':');
+        return colonIndex > 0 ? scanned.protocol().concat(prefix.substring(0, colonIndex + 1)) : scanned.protocol();
+    }
+
+
+    private static ConnectionType connectionType(Format format) {
+
+        return switch (format.prefix()) {
+            case "loadbalance://", "loadbalance:" -> ConnectionType.LOADBALANCE;
+            case "replication://", "replication:" -> ConnectionType.REPLICATION;
+            case "sequential://", "sequential:" -> ConnectionType.SEQUENTIAL;
+            case "failover://", "failover:" -> ConnectionType.FAILOVER;
+            default -> ConnectionType.SINGLE;
+        };
+    }
+
+
+    /**
+     * Parses a comma-separated host list, descending into bracketed sublists.
+     */
+    private void parseHostList(String url, String hostList, List<ParsedHost> result) {
+
+        int depth = 0;
+        int start = 0;
+        for (int i = 0; i <= hostList.length(); i++) {
+            char c = i < hostList.length() ? hostList.charAt(i) : ',';
+            if (c == '(' || c == '[') {
+                depth++;
+            } else if ((c == ')' || c == ']') && depth > 0) {
+                depth--;
+            } else if (c == ',' && depth == 0) {
+                String hostSpec = hostList.substring(start, i).trim();
+                if (!hostSpec.isEmpty()) {
+                    parseHostSpec(url, hostSpec, result);
+                }
+                start = i + 1;
+            }
         }
+    }
+
+
+    private void parseHostSpec(String url, String hostSpec, List<ParsedHost> result) {
+
+        if (hostSpec.regionMatches(true, 0, "address=", 0, 8)) {
+            result.add(parseKeyValueHost(url, hostSpec.substring(8), true));
+        } else if (hostSpec.startsWith("(")) {
+            result.add(parseKeyValueHost(url, hostSpec, false));
+        } else if (isSublist(hostSpec)) {
+            parseHostList(url, hostSpec.substring(1, hostSpec.length() - 1), result);
+        } else {
+            result.add(parseSimpleHost(hostSpec));
+        }
+    }
+
+
+    /**
+     * A bracketed host spec is a sublist unless it is an IPv6 literal like [::1] or [::1]:3306.
+     */
+    private boolean isSublist(String hostSpec) {
+
+        if (!hostSpec.startsWith("[") || !hostSpec.endsWith("]")) {
+            return false;
+        }
+        String content = hostSpec.substring(1, hostSpec.length() - 1);
+        if (content.indexOf(',') >= 0 || content.indexOf('(') >= 0 || content.indexOf('=') >= 0) {
+            return true;
+        }
+        return content.indexOf(':') == content.lastIndexOf(':');
+    }
+
+
+    /**
+     * Parses [user[:password]@]host[:port].
+     */
+    private ParsedHost parseSimpleHost(String hostSpec) {
+
+        Map<String, String> hostProperties = new LinkedHashMap<>();
+
+        int atIndex = hostSpec.lastIndexOf('@');
+        if (atIndex >= 0) {
+            String[] userAndPassword = splitFirst(hostSpec.substring(0, atIndex), ':');
+            hostProperties.put("user", userAndPassword[0]);
+            if (userAndPassword.length > 1) {
+                hostProperties.put("password", userAndPassword[1]);
+            }
+            hostSpec = hostSpec.substring(atIndex + 1);
+        }
+
+        return new ParsedHost(parseHost(hostSpec), hostProperties);
+    }
+
+
+    /**
+     * Parses address=(host=h)(port=p)(key=value) (with address=) or (host=h,port=p,key=value) host specs.
+     */
+    private ParsedHost parseKeyValueHost(String url, String hostSpec, boolean addressForm) {
+
+        Map<String, String> hostProperties = new LinkedHashMap<>();
+
+        int index = 0;
+        while (index < hostSpec.length()) {
+            if (hostSpec.charAt(index) != '(') {
+                throw new JdbcUrlParseException(url, "Invalid MySQL host specification: " + hostSpec);
+            }
+            int closeIndex = hostSpec.indexOf(')', index);
+            if (closeIndex < 0) {
+                throw new JdbcUrlParseException(url, "Unbalanced parentheses in MySQL host specification: " + hostSpec);
+            }
+            String content = hostSpec.substring(index + 1, closeIndex);
+            String[] pairs = addressForm ? new String[] {content} : content.split(",");
+            for (String pair : pairs) {
+                String[] keyAndValue = splitFirst(pair, '=');
+                String key = keyAndValue[0].trim();
+                if (!key.isEmpty()) {
+                    hostProperties.put(key, keyAndValue.length > 1 ? keyAndValue[1].trim() : "");
+                }
+            }
+            index = closeIndex + 1;
+        }
+
+        String hostname = hostProperties.remove("host");
+        String portString = hostProperties.remove("port");
+
+        if (hostname == null || hostname.isBlank()) {
+            hostname = "localhost";
+        }
+
+        Host host = Host.of(hostname);
+        if (portString != null) {
+            try {
+                host = Host.of(hostname, Integer.parseInt(portString));
+            } catch (NumberFormatException e) {
+                log.debug("Invalid port number in MySQL host specification: {}", hostSpec);
+            }
+        }
+
+        return new ParsedHost(host, hostProperties);
+    }
+
+
+    /**
+     * Assigns host roles. For replication connections, hosts with type=source (or master, primary) are sources and hosts with type=replica (or slave) are replicas. If no source is declared, the first undeclared host
+     * becomes the source, all remaining undeclared hosts are replicas. This mirrors Connector/J.
+     */
+    private List<MySQLHost> assignRoles(List<ParsedHost> parsedHosts, ConnectionType connectionType) {
+
+        List<MySQLHost> hosts = new ArrayList<>(parsedHosts.size());
+        if (connectionType != ConnectionType.REPLICATION) {
+            for (ParsedHost parsedHost : parsedHosts) {
+                hosts.add(new MySQLHost(parsedHost.host(), HostRole.SOURCE, parsedHost.properties()));
+            }
+            return hosts;
+        }
+
+        HostRole[] roles = new HostRole[parsedHosts.size()];
+        boolean hasSource = false;
+        for (int i = 0; i < roles.length; i++) {
+            roles[i] = declaredRole(parsedHosts.get(i).properties().get("type"));
+            hasSource |= roles[i] == HostRole.SOURCE;
+        }
+        for (int i = 0; i < roles.length; i++) {
+            if (roles[i] == null) {
+                roles[i] = hasSource ? HostRole.REPLICA : HostRole.SOURCE;
+                hasSource = true;
+            }
+            ParsedHost parsedHost = parsedHosts.get(i);
+            hosts.add(new MySQLHost(parsedHost.host(), roles[i], parsedHost.properties()));
+        }
+        return hosts;
+    }
+
+
+    private HostRole declaredRole(String type) {
+
+        if (type == null) {
+            return null;
+        }
+        return switch (type.toLowerCase()) {
+            case "source", "master", "primary" -> HostRole.SOURCE;
+            case "replica", "slave" -> HostRole.REPLICA;
+            default -> null;
+        };
+    }
+
+
+    private record ParsedHost(Host host, Map<String, String> properties) {
 
-        return parseStandardNetworkUrl(url, dbType);
     }
 }
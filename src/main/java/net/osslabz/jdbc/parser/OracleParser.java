@@ -1,15 +1,21 @@
 package net.osslabz.jdbc.parser;
 
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 import net.osslabz.jdbc.DatabaseProduct;
 import net.osslabz.jdbc.Host;
 import net.osslabz.jdbc.JdbcProperty;
 import net.osslabz.jdbc.JdbcUrl;
 import net.osslabz.jdbc.JdbcUrlParseException;
+import net.osslabz.jdbc.OracleUrl;
+import net.osslabz.jdbc.PropertySource;
+import net.osslabz.jdbc.parser.UrlGrammar.Format;
+import net.osslabz.jdbc.parser.UrlGrammar.PropertySection;
+import net.osslabz.jdbc.resolver.TnsNamesResolver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -21,171 +27,362 @@ import org.slf4j.LoggerFactory;
  * <ul>
  *   <li>jdbc:oracle:thin:@host:port:SID</li>
  *   <li>jdbc:oracle:thin:@//host:port/serviceName</li>
+ *   <li>jdbc:oracle:thin:@tcps://host1,host2:port;host3:port/serviceName?key=value (EZConnect Plus)</li>
  *   <li>jdbc:oracle:thin:@(DESCRIPTION=...)</li>
+ *   <li>jdbc:oracle:thin:@ALIAS (resolved with tnsnames.ora)</li>
  * </ul>
+ *
+ * <p>The grammar splits off the driver type and selects descriptors or the short forms; the address lists of descriptors and EZConnect strings are parsed by this class.
  */
-public class OracleParser extends AbstractUrlParser {
+public class OracleParser extends GrammarUrlParser {
 
     private static final Logger log = LoggerFactory.getLogger(OracleParser.class);
 
-    // Pattern for thin driver with SID: @host:port:SID
-    private static final Pattern SID_PATTERN = Pattern.compile("@([^:]+):(\\d+):(.+)");
+    private static final UrlGrammar GRAMMAR = UrlGrammar.qualified(DatabaseProduct.ORACLE, "driver type",
+        Format.path("@(DESCRIPTION=", null, null),
+        Format.path("@(description=", null, null),
+        Format.path("@", null, PropertySection.of("?", PropertySource.QUERY)));
+
 
-    // Pattern for thin driver with service name: @//host:port/serviceName or @host:port/serviceName
-    private static final Pattern SERVICE_PATTERN = Pattern.compile("@/?/?([^/:]+):(\\d+)/(.+)");
+    private final TnsNamesResolver tnsNamesResolver;
 
 
+    /**
+     * Creates a parser resolving TNS aliases with the tnsnames.ora file of the TNS_ADMIN directory (oracle.net.tns_admin system property or TNS_ADMIN environment variable), if configured.
+     */
     public OracleParser() {
 
-        super(DatabaseProduct.ORACLE);
+        this(TnsNamesResolver.fromEnvironment());
+    }
+
+
+    /**
+     * Creates a parser resolving TNS aliases with the given tnsnames.ora resolver.
+     *
+     * @param tnsNamesResolver the resolver, null to reject alias URLs
+     */
+    public OracleParser(TnsNamesResolver tnsNamesResolver) {
+
+        super(GRAMMAR);
+        this.tnsNamesResolver = tnsNamesResolver;
     }
 
 
     @Override
     public JdbcUrl parse(String url) {
 
-        validateJdbcPrefix(url);
-
-        DatabaseProduct dbType = DatabaseProduct.ORACLE;
-        String protocol = extractProtocol(url, dbType);
-        String remainder = removeProtocol(url, protocol);
+        return parseOracleUrl(url).jdbcUrl();
+    }
 
-        // Oracle URLs have format: jdbc:oracle:{driver_type}:{connection_info}
-        // Common driver types: thin, oci, oci8
 
-        // Extract driver type
-        int colonIndex = remainder.indexOf(':');
-        if (colonIndex < 0) {
-            throw new JdbcUrlParseException(url, "Invalid Oracle URL format: missing driver type");
-        }
+    /**
+     * Parses an Oracle JDBC URL including the address lists, network protocol and service name or SID.
+     *
+     * @param url the JDBC URL to parse
+     * @return the parsed Oracle URL
+     *
+     * @throws JdbcUrlParseException if the URL cannot be parsed
+     */
+    public OracleUrl parseOracleUrl(String url) {
 
-        String driverType = remainder.substring(0, colonIndex);
-        String connectionInfo = remainder.substring(colonIndex + 1);
+        ScannedUrl scanned = scan(url);
+        String protocol = scanned.protocol();
+        String driverType = scanned.qualifier();
+        String connectionInfo = scanned.formatText();
 
         // Parse based on connection format
-        if (connectionInfo.startsWith("@(DESCRIPTION=") || connectionInfo.startsWith("@(description=")) {
+        if (scanned.format().properties() == null) {
             return parseDescriptorFormat(url, protocol, driverType, connectionInfo);
-        } else if (connectionInfo.startsWith("@//")) {
-            return parseServiceNameFormat(url, protocol, driverType, connectionInfo);
-        } else if (connectionInfo.startsWith("@")) {
-            return parseSidFormat(url, protocol, driverType, connectionInfo);
-        } else {
-            throw new JdbcUrlParseException(url, "Unsupported Oracle connection format");
         }
+        if (scanned.propertySection() != null || isEasyConnect(connectionInfo)) {
+            return parseEasyConnectFormat(url, protocol, driverType, connectionInfo, parseProperties(scanned));
+        }
+
+        Address sid = scanSidFormat(url, connectionInfo);
+        if (sid == null && connectionInfo.indexOf(':') < 0 && connectionInfo.length() > 1) {
+            return parseTnsAlias(url, protocol, driverType, connectionInfo.substring(1).trim());
+        }
+        if (sid == null) {
+            throw new JdbcUrlParseException(url, "Invalid Oracle SID or service name format");
+        }
+        Host host = Host.of(sid.hostname(), sid.port());
+        Map<String, JdbcProperty> properties = new LinkedHashMap<>();
+        addDerivedProperty(properties, "DRIVER_TYPE", driverType);
+        addDescriptorProperty(properties, "SID", sid.name());
+
+        JdbcUrl jdbcUrl = new JdbcUrl(url, DatabaseProduct.ORACLE, protocol, List.of(host), sid.name(), properties);
+        return new OracleUrl(jdbcUrl, null, List.of(List.of(host)), null, sid.name());
+    }
+
+
+    /**
+     * Checks whether the connection info without query is an EZConnect (Plus) string rather than the SID format {@code @host:port:SID}: EZConnect has a service name after '/', a protocol prefix or
+     * several hosts. Connection info with query parameters is always EZConnect.
+     */
+    private static boolean isEasyConnect(String connectionInfo) {
+
+        for (int i = 1; i < connectionInfo.length(); i++) {
+            char c = connectionInfo.charAt(i);
+            if (c == '/' || c == ',' || c == ';') {
+                return true;
+            }
+        }
+        return false;
     }
 
 
     /**
-     * Parses Oracle SID format: @host:port:SID or service name format @host:port/serviceName
+     * Parses the EZConnect Plus format {@code @[[protocol:]//]host[:port][,host[:port]...][;host...][/[service][:server][/instance]]} in a single left-to-right pass; the query parameters are parsed by the
+     * grammar. A port applies to the hosts without port in front of it within the same address list.
      */
-    private JdbcUrl parseSidFormat(String url, String protocol, String driverType, String connectionInfo) {
-        // First try service name format (with /)
-        Matcher serviceMatcher = SERVICE_PATTERN.matcher(connectionInfo);
-        if (serviceMatcher.matches()) {
-            String hostname = serviceMatcher.group(1);
-            int port = Integer.parseInt(serviceMatcher.group(2));
-            String serviceName = serviceMatcher.group(3);
-
-            Host host = Host.of(hostname, port);
-            Map<String, JdbcProperty> properties = new LinkedHashMap<>();
-            addDerivedProperty(properties, "DRIVER_TYPE", driverType);
+    private OracleUrl parseEasyConnectFormat(String url, String protocol, String driverType, String connectionInfo, Map<String, JdbcProperty> query) {
+
+        int end = connectionInfo.length();
+        int position = 1;
+
+        String networkProtocol = null;
+        int schemeEnd = connectionInfo.indexOf("://", position);
+        if (schemeEnd > position && isSchemeName(connectionInfo, position, schemeEnd)) {
+            networkProtocol = connectionInfo.substring(position, schemeEnd).toLowerCase(Locale.ROOT);
+            position = schemeEnd + 3;
+        } else if (connectionInfo.startsWith("//", position)) {
+            position += 2;
+        }
+
+        List<List<Host>> addressLists = new ArrayList<>();
+        List<Host> addressList = new ArrayList<>();
+        int firstWithoutPort = 0;
+        while (true) {
+            String hostname;
+            if (position < end && connectionInfo.charAt(position) == '[') {
+                int closeIndex = connectionInfo.indexOf(']', position);
+                if (closeIndex < 0 || closeIndex >= end) {
+                    throw new JdbcUrlParseException(url, "Unclosed IPv6 address in Oracle URL");
+                }
+                hostname = connectionInfo.substring(position + 1, closeIndex);
+                position = closeIndex + 1;
+            } else {
+                int hostStart = position;
+                while (position < end && !isAddressDelimiter(connectionInfo.charAt(position))) {
+                    position++;
+                }
+                hostname = connectionInfo.substring(hostStart, position).trim();
+            }
+            if (hostname.isEmpty()) {
+                throw new JdbcUrlParseException(url, "Missing host in Oracle URL");
+            }
+
+            Integer port = null;
+            if (position < end && connectionInfo.charAt(position) == ':') {
+                int portStart = ++position;
+                while (position < end && isAsciiDigit(connectionInfo.charAt(position))) {
+                    position++;
+                }
+                if (position == portStart) {
+                    throw new JdbcUrlParseException(url, "Missing Oracle port after host " + hostname);
+                }
+                port = parsePort(url, connectionInfo.substring(portStart, position));
+            }
+
+            addressList.add(new Host(hostname, port, null));
+            if (port != null) {
+                // "h1,h2:1522" - the port also applies to the preceding hosts without port
+                for (int i = firstWithoutPort; i < addressList.size() - 1; i++) {
+                    addressList.set(i, Host.of(addressList.get(i).hostname(), port));
+                }
+                firstWithoutPort = addressList.size();
+            }
+
+            char delimiter = position < end ? connectionInfo.charAt(position) : '/';
+            if (delimiter == ',') {
+                position++;
+            } else if (delimiter == ';') {
+                addressLists.add(addressList);
+                addressList = new ArrayList<>();
+                firstWithoutPort = 0;
+                position++;
+            } else if (delimiter == '/') {
+                addressLists.add(addressList);
+                break;
+            } else {
+                throw new JdbcUrlParseException(url, "Invalid character '" + delimiter + "' in Oracle address list");
+            }
+        }
+
+        // Optional /service[:server][/instance]
+        String serviceName = null;
+        String server = null;
+        String instanceName = null;
+        if (position < end) {
+            int serviceStart = position + 1;
+            int serviceEnd = serviceStart;
+            while (serviceEnd < end && connectionInfo.charAt(serviceEnd) != ':' && connectionInfo.charAt(serviceEnd) != '/') {
+                serviceEnd++;
+            }
+            serviceName = emptyToNull(connectionInfo.substring(serviceStart, serviceEnd));
+
+            int instanceStart = serviceEnd;
+            if (serviceEnd < end && connectionInfo.charAt(serviceEnd) == ':') {
+                int serverEnd = connectionInfo.indexOf('/', serviceEnd + 1);
+                if (serverEnd < 0 || serverEnd > end) {
+                    serverEnd = end;
+                }
+                server = emptyToNull(connectionInfo.substring(serviceEnd + 1, serverEnd));
+                instanceStart = serverEnd;
+            }
+            if (instanceStart < end) {
+                instanceName = emptyToNull(connectionInfo.substring(instanceStart + 1, end));
+            }
+        }
+
+        Map<String, JdbcProperty> properties = new LinkedHashMap<>();
+        addDerivedProperty(properties, "DRIVER_TYPE", driverType);
+        if (networkProtocol != null) {
+            addDescriptorProperty(properties, "PROTOCOL", networkProtocol);
+        }
+        if (serviceName != null) {
             addDescriptorProperty(properties, "SERVICE_NAME", serviceName);
+        }
+        if (server != null) {
+            addDescriptorProperty(properties, "SERVER", server);
+        }
+        if (instanceName != null) {
+            addDescriptorProperty(properties, "INSTANCE_NAME", instanceName);
+        }
+        properties.putAll(query);
 
-            return new JdbcUrl(url, DatabaseProduct.ORACLE, protocol, List.of(host), serviceName, properties);
+        List<Host> hosts = new ArrayList<>();
+        for (List<Host> list : addressLists) {
+            hosts.addAll(list);
         }
 
-        // Try SID format (with :)
-        Matcher sidMatcher = SID_PATTERN.matcher(connectionInfo);
-        if (sidMatcher.matches()) {
-            String hostname = sidMatcher.group(1);
-            int port = Integer.parseInt(sidMatcher.group(2));
-            String sid = sidMatcher.group(3);
+        JdbcUrl jdbcUrl = new JdbcUrl(url, DatabaseProduct.ORACLE, protocol, hosts, serviceName != null ? serviceName : "", properties);
+        return new OracleUrl(jdbcUrl, networkProtocol, addressLists, serviceName, null);
+    }
+
 
-            Host host = Host.of(hostname, port);
-            Map<String, JdbcProperty> properties = new LinkedHashMap<>();
-            addDerivedProperty(properties, "DRIVER_TYPE", driverType);
-            addDescriptorProperty(properties, "SID", sid);
+    private static boolean isSchemeName(String connectionInfo, int start, int end) {
 
-            return new JdbcUrl(url, DatabaseProduct.ORACLE, protocol, List.of(host), sid, properties);
+        for (int i = start; i < end; i++) {
+            char c = connectionInfo.charAt(i);
+            if (!(c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z')) {
+                return false;
+            }
         }
+        return true;
+    }
+
+
+    private static boolean isAddressDelimiter(char c) {
 
-        throw new JdbcUrlParseException(url, "Invalid Oracle SID or service name format");
+        return c == ',' || c == ';' || c == ':' || c == '/';
+    }
+
+
+    private static String emptyToNull(String value) {
+
+        return value.isBlank() ? null : value;
     }
 
 
     /**
-     * Parses Oracle service name format: @//host:port/serviceName
+     * Scans the SID format {@code @host:port:SID} in linear time. The host must not contain ':'.
+     *
+     * @return the address, or null if the connection info has a different format
      */
-    private JdbcUrl parseServiceNameFormat(String url, String protocol, String driverType, String connectionInfo) {
+    private Address scanSidFormat(String url, String connectionInfo) {
+
+        int hostEnd = connectionInfo.indexOf(':', 1);
+        if (hostEnd <= 1) {
+            return null;
+        }
 
-        Matcher matcher = SERVICE_PATTERN.matcher(connectionInfo);
-        if (!matcher.matches()) {
-            throw new JdbcUrlParseException(url, "Invalid Oracle service name format");
+        int portEnd = hostEnd + 1;
+        while (portEnd < connectionInfo.length() && isAsciiDigit(connectionInfo.charAt(portEnd))) {
+            portEnd++;
+        }
+        if (portEnd == hostEnd + 1 || portEnd >= connectionInfo.length() - 1 || connectionInfo.charAt(portEnd) != ':') {
+            return null;
         }
 
-        String hostname = matcher.group(1);
-        int port = Integer.parseInt(matcher.group(2));
-        String serviceName = matcher.group(3);
+        return new Address(connectionInfo.substring(1, hostEnd), parsePort(url, connectionInfo.substring(hostEnd + 1, portEnd)), connectionInfo.substring(portEnd + 1));
+    }
 
-        Host host = Host.of(hostname, port);
-        Map<String, JdbcProperty> properties = new LinkedHashMap<>();
-        addDerivedProperty(properties, "DRIVER_TYPE", driverType);
-        addDescriptorProperty(properties, "SERVICE_NAME", serviceName);
 
-        return new JdbcUrl(url, DatabaseProduct.ORACLE, protocol, List.of(host), serviceName, properties);
+    private static boolean isAsciiDigit(char c) {
+
+        return c >= '0' && c <= '9';
+    }
+
+
+    private int parsePort(String url, String portString) {
+
+        try {
+            return Integer.parseInt(portString);
+        } catch (NumberFormatException e) {
+            throw new JdbcUrlParseException(url, "Invalid Oracle port: " + portString, e);
+        }
+    }
+
+
+    /**
+     * Resolves a TNS alias ({@code @PRODDB}) with tnsnames.ora and parses its descriptor.
+     */
+    private OracleUrl parseTnsAlias(String url, String protocol, String driverType, String alias) {
+
+        if (tnsNamesResolver == null) {
+            throw new JdbcUrlParseException(url, "Cannot resolve TNS alias " + alias + ": no tnsnames.ora configured (TNS_ADMIN)");
+        }
+
+        String descriptor;
+        try {
+            descriptor = tnsNamesResolver.resolve(alias);
+        } catch (IOException e) {
+            throw new JdbcUrlParseException(url, "Cannot read " + tnsNamesResolver.file() + ": " + e.getMessage(), e);
+        }
+        if (descriptor == null || !descriptor.startsWith("(")) {
+            throw new JdbcUrlParseException(url, "Unknown TNS alias: " + alias);
+        }
+
+        return parseDescriptorFormat(url, protocol, driverType, "@" + descriptor, alias);
     }
 
 
     /**
      * Parses Oracle TNSNAMES descriptor format.
      */
-    private JdbcUrl parseDescriptorFormat(String url, String protocol, String driverType, String connectionInfo) {
+    private OracleUrl parseDescriptorFormat(String url, String protocol, String driverType, String connectionInfo) {
+
+        return parseDescriptorFormat(url, protocol, driverType, connectionInfo, null);
+    }
+
+
+    private OracleUrl parseDescriptorFormat(String url, String protocol, String driverType, String connectionInfo, String tnsAlias) {
 
         log.debug("Parsing Oracle descriptor format: {}", connectionInfo);
 
         // Extract basic information from the descriptor
         Map<String, JdbcProperty> properties = new LinkedHashMap<>();
         addDerivedProperty(properties, "DRIVER_TYPE", driverType);
-
-        String hostname = null;
-        Integer port = null;
-        String databaseName = null;
-
-        // Extract HOST
-        Pattern hostPattern = Pattern.compile("\\(HOST\\s*=\\s*([^)]+)\\)", Pattern.CASE_INSENSITIVE);
-        Matcher hostMatcher = hostPattern.matcher(connectionInfo);
-        if (hostMatcher.find()) {
-            hostname = hostMatcher.group(1).trim();
-        }
-
-        // Extract PORT
-        Pattern portPattern = Pattern.compile("\\(PORT\\s*=\\s*(\\d+)\\)", Pattern.CASE_INSENSITIVE);
-        Matcher portMatcher = portPattern.matcher(connectionInfo);
-        if (portMatcher.find()) {
-            port = Integer.parseInt(portMatcher.group(1));
+        if (tnsAlias != null) {
+            addDerivedProperty(properties, "TNS_ALIAS", tnsAlias);
         }
 
         // Extract SERVICE_NAME or SID
-        Pattern servicePattern = Pattern.compile("\\(SERVICE_NAME\\s*=\\s*([^)]+)\\)", Pattern.CASE_INSENSITIVE);
-        Matcher serviceMatcher = servicePattern.matcher(connectionInfo);
-        if (serviceMatcher.find()) {
-            databaseName = serviceMatcher.group(1).trim();
-            addDescriptorProperty(properties, "SERVICE_NAME", databaseName);
+        String serviceName = findDescriptorValue(connectionInfo, "SERVICE_NAME", false);
+        String sid = null;
+        String databaseName = serviceName;
+        if (serviceName != null) {
+            addDescriptorProperty(properties, "SERVICE_NAME", serviceName);
         } else {
-            Pattern sidPattern = Pattern.compile("\\(SID\\s*=\\s*([^)]+)\\)", Pattern.CASE_INSENSITIVE);
-            Matcher sidMatcher = sidPattern.matcher(connectionInfo);
-            if (sidMatcher.find()) {
-                databaseName = sidMatcher.group(1).trim();
-                addDescriptorProperty(properties, "SID", databaseName);
+            sid = findDescriptorValue(connectionInfo, "SID", false);
+            databaseName = sid;
+            if (sid != null) {
+                addDescriptorProperty(properties, "SID", sid);
             }
         }
 
-        // Create host if we found hostname
-        List<Host> hosts = List.of();
-        if (hostname != null) {
-            Host host = port != null ? Host.of(hostname, port) : Host.of(hostname);
-            hosts = List.of(host);
-        }
+        List<Host> hosts = findDescriptorHosts(url, connectionInfo);
 
         if (databaseName == null) {
             databaseName = "";
@@ -194,6 +391,178 @@ public class OracleParser extends AbstractUrlParser {
         // Store the full descriptor in properties for reference
         addDescriptorProperty(properties, "DESCRIPTOR", connectionInfo);
 
-        return new JdbcUrl(url, DatabaseProduct.ORACLE, protocol, hosts, databaseName, properties);
+        String networkProtocol = findDescriptorValue(connectionInfo, "PROTOCOL", false);
+        JdbcUrl jdbcUrl = new JdbcUrl(url, DatabaseProduct.ORACLE, protocol, hosts, databaseName, properties);
+        return new OracleUrl(jdbcUrl, networkProtocol != null ? networkProtocol.toLowerCase(Locale.ROOT) : null, hosts.isEmpty() ? List.of() : List.of(hosts), serviceName, sid);
+    }
+
+
+    /**
+     * Collects the host of every {@code (ADDRESS=...)} entry of a descriptor in order. Descriptors without ADDRESS entries contribute their first HOST and PORT. Runs in linear time.
+     */
+    private List<Host> findDescriptorHosts(String url, String descriptor) {
+
+        List<Host> hosts = new ArrayList<>();
+        int index = descriptor.indexOf('(');
+        while (index >= 0) {
+            if (!isEntry(descriptor, index, "ADDRESS")) {
+                index = descriptor.indexOf('(', index + 1);
+                continue;
+            }
+            int end = findClosingParenthesis(descriptor, index);
+            if (end < 0) {
+                // Unbalanced descriptor, stop here to keep the scan linear
+                break;
+            }
+            Host host = createDescriptorHost(url, descriptor.substring(index, end + 1));
+            if (host != null) {
+                hosts.add(host);
+            }
+            index = descriptor.indexOf('(', end);
+        }
+
+        if (hosts.isEmpty()) {
+            Host host = createDescriptorHost(url, descriptor);
+            if (host != null) {
+                hosts.add(host);
+            }
+        }
+        return hosts;
+    }
+
+
+    private Host createDescriptorHost(String url, String descriptor) {
+
+        String hostname = findDescriptorValue(descriptor, "HOST", false);
+        if (hostname == null || hostname.isEmpty()) {
+            return null;
+        }
+        String portString = findDescriptorValue(descriptor, "PORT", true);
+        return portString != null ? Host.of(hostname, parsePort(url, portString)) : Host.of(hostname);
+    }
+
+
+    /**
+     * Checks whether a {@code (NAME=} entry starts at the given '(' (name case-insensitive, whitespace before '=' allowed).
+     */
+    private static boolean isEntry(String descriptor, int index, String name) {
+
+        if (!descriptor.regionMatches(true, index + 1, name, 0, name.length())) {
+            return false;
+        }
+        int position = index + 1 + name.length();
+        while (position < descriptor.length() && Character.isWhitespace(descriptor.charAt(position))) {
+            position++;
+        }
+        return position < descriptor.length() && descriptor.charAt(position) == '=';
+    }
+
+
+    private static int findClosingParenthesis(String descriptor, int openIndex) {
+
+        int depth = 0;
+        for (int i = openIndex; i < descriptor.length(); i++) {
+            char c = descriptor.charAt(i);
+            if (c == '(') {
+                depth++;
+            } else if (c == ')' && --depth == 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+
+    @Override
+    public String extractProperty(String url, String key) {
+
+        ScannedUrl scanned = scan(url);
+
+        // Only descriptors are worth scanning selectively, the short forms are cheap to parse completely
+        if (scanned.format().properties() != null) {
+            return parse(url).getPropertyValue(key);
+        }
+
+        String connectionInfo = scanned.formatText();
+        return switch (key) {
+            case "DRIVER_TYPE" -> scanned.qualifier();
+            case "DESCRIPTOR" -> connectionInfo;
+            case "SERVICE_NAME" -> findDescriptorValue(connectionInfo, "SERVICE_NAME", false);
+            case "SID" -> findDescriptorValue(connectionInfo, "SERVICE_NAME", false) == null
+                ? findDescriptorValue(connectionInfo, "SID", false)
+                : null;
+            default -> null;
+        };
+    }
+
+
+    /**
+     * Finds the value of the first {@code (NAME=value)} entry in a descriptor. The name is matched case-insensitively and whitespace around '=' and the value is ignored. Runs in linear time.
+     *
+     * @param descriptor the descriptor to scan
+     * @param name       the entry name, e.g. "HOST"
+     * @param digitsOnly whether the value must consist of digits only (e.g. for PORT)
+     * @return the trimmed value, or null if no matching entry exists
+     */
+    static String findDescriptorValue(String descriptor, String name, boolean digitsOnly) {
+
+        int length = descriptor.length();
+        int closeIndex = -1;
+        int index = descriptor.indexOf('(');
+
+        while (index >= 0 && index + name.length() < length) {
+            if (descriptor.regionMatches(true, index + 1, name, 0, name.length())) {
+                int position = index + 1 + name.length();
+                while (position < length && Character.isWhitespace(descriptor.charAt(position))) {
+                    position++;
+                }
+                if (position < length && descriptor.charAt(position) == '=') {
+                    if (closeIndex < position) {
+                        closeIndex = descriptor.indexOf(')', position);
+                        if (closeIndex < 0) {
+                            // No closing parenthesis left, so no later entry can match either
+                            return null;
+                        }
+                    }
+                    String value = extractEntryValue(descriptor, position + 1, closeIndex, digitsOnly);
+                    if (value != null) {
+                        return value;
+                    }
+                }
+            }
+            index = descriptor.indexOf('(', index + 1);
+        }
+
+        return null;
+    }
+
+
+    private static String extractEntryValue(String descriptor, int start, int end, boolean digitsOnly) {
+
+        if (start >= end) {
+            return null;
+        }
+        if (digitsOnly) {
+            int digitsStart = start;
+            while (digitsStart < end && Character.isWhitespace(descriptor.charAt(digitsStart))) {
+                digitsStart++;
+            }
+            if (digitsStart == end) {
+                return null;
+            }
+            for (int i = digitsStart; i < end; i++) {
+                char c = descriptor.charAt(i);
+                if (c < '0' || c > '9') {
+                    return null;
+                }
+            }
+            return descriptor.substring(digitsStart, end);
+        }
+        return descriptor.substring(start, end).trim();
+    }
+
+
+    private record Address(String hostname, int port, String name) {
+
     }
 }
@@ -1,7 +1,17 @@
 package net.osslabz.jdbc.parser;
 
+import java.util.ArrayList;
+import java.util.List;
 import net.osslabz.jdbc.DatabaseProduct;
+import net.osslabz.jdbc.Host;
 import net.osslabz.jdbc.JdbcUrl;
+import net.osslabz.jdbc.JdbcUrlParseException;
+import net.osslabz.jdbc.PostgreSQLUrl;
+import net.osslabz.jdbc.PostgreSQLUrl.TargetServerType;
+import net.osslabz.jdbc.PropertySource;
+import net.osslabz.jdbc.parser.UrlGrammar.Format;
+import net.osslabz.jdbc.parser.UrlGrammar.HostList;
+import net.osslabz.jdbc.parser.UrlGrammar.PropertySection;
 
 
 /**
@@ -13,19 +23,86 @@ import net.osslabz.jdbc.JdbcUrl;
  *   <li>jdbc:postgresql://host/database</li>
  *   <li>jdbc:postgresql://host:port/database?param=value</li>
  *   <li>jdbc:postgresql://host1:port1,host2:port2/database (multi-host)</li>
+ *   <li>jdbc:postgresql:database (localhost)</li>
+ *   <li>jdbc:postgresql:/ (localhost, default database)</li>
  * </ul>
+ *
+ * <p>Like pgjdbc, URLs without host and URLs with an empty host list connect to localhost.
  */
-public class PostgreSQLParser extends AbstractUrlParser {
+public class PostgreSQLParser extends GrammarUrlParser {
+
+    private static final String DEFAULT_HOST = "localhost";
+
+    private static final UrlGrammar GRAMMAR = UrlGrammar.of(DatabaseProduct.POSTGRESQL,
+        Format.network("//", null, HostList.MULTIPLE, PropertySection.of("?", PropertySource.QUERY)).withDefaultHost(DEFAULT_HOST),
+        Format.path("/", null, PropertySection.of("?", PropertySource.QUERY)).withDefaultHost(DEFAULT_HOST),
+        Format.path("", null, PropertySection.of("?", PropertySource.QUERY)).withDefaultHost(DEFAULT_HOST));
+
 
     public PostgreSQLParser() {
 
-        super(DatabaseProduct.POSTGRESQL);
+        super(GRAMMAR);
+    }
+
+
+    /**
+     * Parses a PostgreSQL JDBC URL including the settings that control host selection (targetServerType, loadBalanceHosts and hostRecheckSeconds).
+     *
+     * @param url the JDBC URL to parse
+     * @return the parsed PostgreSQL URL
+     *
+     * @throws JdbcUrlParseException if the URL cannot be parsed or a host selection property has an invalid value
+     */
+    public PostgreSQLUrl parsePostgreSQLUrl(String url) {
+
+        JdbcUrl jdbcUrl = parse(url);
+
+        int defaultPort = DatabaseProduct.POSTGRESQL.getDefaultPort();
+        List<Host> hosts = new ArrayList<>(jdbcUrl.hosts().size());
+        for (Host host : jdbcUrl.hosts()) {
+            hosts.add(host.port() != null ? host : Host.of(host.hostname(), defaultPort));
+        }
+
+        TargetServerType targetServerType = TargetServerType.ANY;
+        String targetServerTypeValue = jdbcUrl.getPropertyValue("targetServerType");
+        if (targetServerTypeValue != null) {
+            targetServerType = TargetServerType.fromValue(targetServerTypeValue);
+            if (targetServerType == null) {
+                throw new JdbcUrlParseException(url, "Invalid targetServerType: " + targetServerTypeValue);
+            }
+        }
+
+        boolean loadBalanceHosts = Boolean.parseBoolean(jdbcUrl.getPropertyValue("loadBalanceHosts"));
+
+        int hostRecheckSeconds = PostgreSQLUrl.DEFAULT_HOST_RECHECK_SECONDS;
+        String hostRecheckValue = jdbcUrl.getPropertyValue("hostRecheckSeconds");
+        if (hostRecheckValue != null) {
+            try {
+                hostRecheckSeconds = Integer.parseInt(hostRecheckValue.trim());
+            } catch (NumberFormatException e) {
+                throw new JdbcUrlParseException(url, "Invalid hostRecheckSeconds: " + hostRecheckValue, e);
+            }
+        }
+
+        return new PostgreSQLUrl(jdbcUrl, hosts, targetServerType, loadBalanceHosts, hostRecheckSeconds);
+    }
+
+
+    @Override
+    public String extractProperty(String url, String key) {
+
+        return extractStandardNetworkProperty(url, DatabaseProduct.POSTGRESQL, key);
     }
 
 
     @Override
-    public JdbcUrl parse(String url) {
+    public List<Host> extractHosts(String url) {
+
+        validateJdbcPrefix(url);
+
+        String remainder = removeProtocol(url, extractProtocol(url, DatabaseProduct.POSTGRESQL));
+        List<Host> hosts = remainder.startsWith("//") ? extractStandardNetworkHosts(url, DatabaseProduct.POSTGRESQL) : List.of();
 
-        return parseStandardNetworkUrl(url, DatabaseProduct.POSTGRESQL);
+        return hosts.isEmpty() ? List.of(Host.of(DEFAULT_HOST)) : hosts;
     }
 }
@@ -6,7 +6,13 @@ import net.osslabz.jdbc.DatabaseProduct;
 import net.osslabz.jdbc.Host;
 import net.osslabz.jdbc.JdbcProperty;
 import net.osslabz.jdbc.JdbcUrl;
+import net.osslabz.jdbc.JdbcUrlParseException;
 import net.osslabz.jdbc.PropertySource;
+import net.osslabz.jdbc.SQLServerUrl;
+import net.osslabz.jdbc.parser.UrlGrammar.Format;
+import net.osslabz.jdbc.parser.UrlGrammar.HostList;
+import net.osslabz.jdbc.parser.UrlGrammar.Option;
+import net.osslabz.jdbc.parser.UrlGrammar.PropertySection;
 
 
 /**
@@ -17,51 +23,134 @@ import net.osslabz.jdbc.PropertySource;
  *   <li>jdbc:sqlserver://host:port;databaseName=db</li>
  *   <li>jdbc:sqlserver://host\instance;databaseName=db</li>
  *   <li>jdbc:sqlserver://host:port;databaseName=db;property=value</li>
+ *   <li>jdbc:sqlserver://;serverName=host;portNumber=port;instanceName=instance;failoverPartner=host2</li>
  * </ul>
  *
- * <p>Note: SQL Server uses semicolon (;) as the property separator, not question mark (?).
+ * <p>Note: SQL Server uses semicolon (;) as the property separator, not question mark (?). Like the driver, the connection properties serverName, portNumber (alias port), instanceName, databaseName
+ * (alias database), failoverPartner and multiSubnetFailover are matched case-insensitively and override the host in front of the first semicolon. The grammar has no database segment, the database is
+ * named by a property.
  */
-public class SQLServerParser extends AbstractUrlParser {
+public class SQLServerParser extends GrammarUrlParser {
+
+    private static final String DEFAULT_HOST = "localhost";
+
+    private static final UrlGrammar GRAMMAR = UrlGrammar.of(DatabaseProduct.SQLSERVER,
+        Format.network("//", null, HostList.SINGLE, PropertySection.of(";", PropertySource.PATH)).withOptions(Option.NO_DATABASE),
+        Format.network("", null, HostList.SINGLE, PropertySection.of(";", PropertySource.PATH)).withOptions(Option.NO_DATABASE));
+
 
     public SQLServerParser() {
 
-        super(DatabaseProduct.SQLSERVER);
+        super(GRAMMAR);
+    }
+
+
+    /**
+     * Parses a SQL Server JDBC URL including the connection targets (server, instance, port and failover partner) resolved from the host and the connection properties.
+     *
+     * @param url the JDBC URL to parse
+     * @return the parsed SQL Server URL
+     *
+     * @throws JdbcUrlParseException if the URL cannot be parsed or portNumber is not a valid port
+     */
+    public SQLServerUrl parseSQLServerUrl(String url) {
+
+        ScannedUrl scanned = scan(url);
+        Map<String, JdbcProperty> properties = parseProperties(scanned);
+        JdbcUrl jdbcUrl = toJdbcUrl(scanned, properties);
+
+        Host failoverPartner = jdbcUrl.hosts().size() > 1 ? jdbcUrl.hosts().get(1) : null;
+        boolean multiSubnetFailover = Boolean.parseBoolean(findIgnoreCase(properties, "multiSubnetFailover"));
+        return new SQLServerUrl(jdbcUrl, jdbcUrl.hosts().get(0), failoverPartner, multiSubnetFailover);
+    }
+
+
+    /**
+     * Resolves the principal server and adds the failover partner, if any.
+     */
+    @Override
+    protected List<Host> parseHosts(ScannedUrl scanned, Map<String, JdbcProperty> properties) {
+
+        Host server = resolveServer(scanned.url(), scanned.hosts(), properties);
+
+        String failoverPartnerValue = findIgnoreCase(properties, "failoverPartner");
+        if (failoverPartnerValue == null || failoverPartnerValue.isBlank()) {
+            return List.of(server);
+        }
+        return List.of(server, parseHost(failoverPartnerValue.trim()));
+    }
+
+
+    @Override
+    protected String parseDatabaseName(ScannedUrl scanned, Map<String, JdbcProperty> properties) {
+
+        String databaseName = findIgnoreCase(properties, "databaseName", "database");
+        return databaseName != null ? databaseName : "";
     }
 
 
     @Override
-    public JdbcUrl parse(String url) {
+    public List<Host> extractHosts(String url) {
+
+        // Hosts can be set by connection properties anywhere in the URL, so there is no shortcut
+        return parse(url).hosts();
+    }
+
 
-        validateJdbcPrefix(url);
+    /**
+     * Resolves the principal server: serverName (or its synonym server) replaces the host in front of the first semicolon, portNumber and instanceName override its port and instance. Without any host the driver connects to
+     * localhost.
+     */
+    private Host resolveServer(String url, String hostPart, Map<String, JdbcProperty> properties) {
 
-        DatabaseProduct dbType = DatabaseProduct.SQLSERVER;
-        String protocol = extractProtocol(url, dbType);
-        String remainder = removeProtocol(url, protocol);
+        String serverName = findIgnoreCase(properties, "serverName", "server");
+        String hostSpec = serverName != null && !serverName.isBlank() ? serverName.trim() : hostPart.trim();
+        Host host = hostSpec.isEmpty() ? Host.of(DEFAULT_HOST) : parseHost(hostSpec);
 
-        // Remove leading slashes
-        if (remainder.startsWith("//")) {
-            remainder = remainder.substring(2);
+        Integer port = host.port();
+        String portValue = findIgnoreCase(properties, "portNumber", "port");
+        if (portValue != null && !portValue.isBlank()) {
+            port = parsePort(url, portValue.trim());
         }
 
-        // SQL Server format: host[:port][\instance];property=value;...
-        // Split by first semicolon to separate host from properties
-        String[] parts = splitFirst(remainder, ';');
-        String hostPart = parts[0];
-        String propertiesPart = parts.length > 1 ? parts[1] : "";
+        String instanceName = host.instanceName();
+        String instanceValue = findIgnoreCase(properties, "instanceName");
+        if (instanceValue != null && !instanceValue.isBlank()) {
+            instanceName = instanceValue.trim();
+        }
+
+        return new Host(host.hostname(), port, instanceName);
+    }
 
-        // Parse host (may include instance name with backslash)
-        Host host = parseHost(hostPart);
 
-        // Parse properties (semicolon-separated path parameters)
-        Map<String, JdbcProperty> properties = parseProperties(propertiesPart, PropertySource.PATH);
+    private static int parsePort(String url, String value) {
 
-        // Extract database name from properties (it's typically in 'databaseName' property)
-        JdbcProperty dbNameProp = properties.get("databaseName");
-        if (dbNameProp == null) {
-            dbNameProp = properties.get("database");
+        try {
+            int port = Integer.parseInt(value);
+            if (port < 0 || port > 65535) {
+                throw new JdbcUrlParseException(url, "Invalid portNumber: " + value);
+            }
+            return port;
+        } catch (NumberFormatException e) {
+            throw new JdbcUrlParseException(url, "Invalid portNumber: " + value, e);
         }
-        String databaseName = dbNameProp != null ? dbNameProp.value() : "";
+    }
 
-        return new JdbcUrl(url, dbType, protocol, List.of(host), databaseName, properties);
+
+    /**
+     * Looks up a connection property the way the driver does: keys are case-insensitive and the last occurrence of any of the given keys wins.
+     */
+    private static String findIgnoreCase(Map<String, JdbcProperty> properties, String... keys) {
+
+        String value = null;
+        for (Map.Entry<String, JdbcProperty> property : properties.entrySet()) {
+            for (String key : keys) {
+                if (key.equalsIgnoreCase(property.getKey())) {
+                    value = property.getValue().value();
+                    break;
+                }
+            }
+        }
+        return value;
     }
 }
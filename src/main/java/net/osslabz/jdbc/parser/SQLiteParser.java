@@ -1,11 +1,17 @@
 package net.osslabz.jdbc.parser;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
 import net.osslabz.jdbc.DatabaseProduct;
+import net.osslabz.jdbc.Host;
 import net.osslabz.jdbc.JdbcProperty;
 import net.osslabz.jdbc.JdbcUrl;
 import net.osslabz.jdbc.PropertySource;
+import net.osslabz.jdbc.SQLiteUrl;
+import net.osslabz.jdbc.parser.UrlGrammar.Format;
+import net.osslabz.jdbc.parser.UrlGrammar.Option;
+import net.osslabz.jdbc.parser.UrlGrammar.PropertySection;
 
 
 /**
@@ -17,41 +23,164 @@ import net.osslabz.jdbc.PropertySource;
  *   <li>jdbc:sqlite:C:\path\to\database.db (Windows)</li>
  *   <li>jdbc:sqlite::memory: (in-memory)</li>
  *   <li>jdbc:sqlite:file.db?param=value</li>
+ *   <li>jdbc:sqlite:file:path/to/database.db?mode=ro (URI filename, also file:///path and file://localhost/path)</li>
+ *   <li>jdbc:sqlite:file::memory:?cache=shared and jdbc:sqlite:file:name?mode=memory&amp;cache=shared (in-memory URI filenames)</li>
  * </ul>
+ *
+ * <p>URI filenames are percent-decoded and lose their authority and fragment. MODE is always derived from the filename and the mode parameter.
  */
-public class SQLiteParser extends AbstractUrlParser {
+public class SQLiteParser extends GrammarUrlParser {
+
+    private static final String URI_SCHEME = "file:";
+
+    private static final UrlGrammar GRAMMAR = UrlGrammar.of(DatabaseProduct.SQLITE,
+        Format.path(URI_SCHEME, null, PropertySection.of("?", PropertySource.QUERY)).withOptions(Option.IGNORE_CASE, Option.FRAGMENT),
+        Format.path("", null, PropertySection.of("?", PropertySource.QUERY)));
+
 
     public SQLiteParser() {
 
-        super(DatabaseProduct.SQLITE);
+        super(GRAMMAR);
+    }
+
+
+    /**
+     * Parses a SQLite JDBC URL including the open flags SQLite derives from the filename (memory or file, shared cache, read-only, VFS).
+     *
+     * @param url the JDBC URL to parse
+     * @return the parsed SQLite URL
+     *
+     * @throws net.osslabz.jdbc.JdbcUrlParseException if the URL cannot be parsed
+     */
+    public SQLiteUrl parseSQLiteUrl(String url) {
+
+        ScannedUrl scanned = scan(url);
+        Map<String, JdbcProperty> properties = parseProperties(scanned);
+        JdbcUrl jdbcUrl = toJdbcUrl(scanned, properties);
+
+        String mode = valueOf(properties, "mode");
+        boolean sharedCache = "shared".equals(valueOf(properties, "cache"));
+        boolean readOnly = "ro".equals(mode) || isTrue(valueOf(properties, "immutable"));
+
+        return new SQLiteUrl(jdbcUrl, isUriFilename(scanned), jdbcUrl.databaseName(), "MEMORY".equals(valueOf(properties, "MODE")), sharedCache, readOnly,
+            valueOf(properties, "vfs"));
+    }
+
+
+    /**
+     * Decodes URI filenames and normalizes the in-memory database names to {@link SQLiteUrl#MEMORY}.
+     */
+    @Override
+    protected String parseDatabaseName(ScannedUrl scanned, Map<String, JdbcProperty> properties) {
+
+        String databasePath = scanned.database();
+        if (isUriFilename(scanned)) {
+            databasePath = percentDecode(removeAuthority(databasePath));
+        }
+        return isMemoryPath(databasePath) ? SQLiteUrl.MEMORY : databasePath;
     }
 
 
+    /**
+     * Derives MODE from the filename and the mode parameter.
+     */
     @Override
-    public JdbcUrl parse(String url) {
+    protected void deriveProperties(ScannedUrl scanned, String databaseName, Map<String, JdbcProperty> properties) {
+
+        boolean inMemory = isMemoryPath(databaseName) || "memory".equals(valueOf(properties, "mode"));
+        addDerivedProperty(properties, "MODE", inMemory ? "MEMORY" : "FILE");
+    }
+
+
+    @Override
+    public String extractProperty(String url, String key) {
+
+        // MODE is derived from the path and the mode parameter, so it needs the complete filename
+        if ("MODE".equals(key)) {
+            return parse(url).getPropertyValue(key);
+        }
+        return super.extractProperty(url, key);
+    }
+
+
+    private static boolean isUriFilename(ScannedUrl scanned) {
+
+        return !scanned.format().prefix().isEmpty();
+    }
+
+
+    @Override
+    public List<Host> extractHosts(String url) {
 
         validateJdbcPrefix(url);
+        extractProtocol(url, DatabaseProduct.SQLITE);
 
-        DatabaseProduct dbType = DatabaseProduct.SQLITE;
-        String protocol = extractProtocol(url, dbType);
-        String remainder = removeProtocol(url, protocol);
+        return List.of();
+    }
 
-        // Split properties (QUERY properties after ?)
-        String[] mainAndProps = splitFirst(remainder, '?');
-        String databasePath = mainAndProps[0];
-        String propsString = mainAndProps.length > 1 ? mainAndProps[1] : null;
 
-        Map<String, JdbcProperty> properties = parseProperties(propsString, PropertySource.QUERY);
+    private static boolean isMemoryPath(String databasePath) {
 
-        // Check for in-memory database
-        if (":memory:".equals(databasePath) || "memory:".equals(databasePath)) {
-            addDerivedProperty(properties, "MODE", "MEMORY");
-            databasePath = ":memory:";
-        } else {
-            addDerivedProperty(properties, "MODE", "FILE");
+        return ":memory:".equals(databasePath) || "memory:".equals(databasePath);
+    }
+
+
+    /**
+     * Removes the authority of a URI filename: {@code //localhost/path} and {@code ///path} become {@code /path}, a Windows drive ({@code /C:/path}) loses the leading slash.
+     */
+    private static String removeAuthority(String path) {
+
+        String result = path;
+        if (result.startsWith("//")) {
+            int pathStart = result.indexOf('/', 2);
+            result = pathStart >= 0 ? result.substring(pathStart) : "";
         }
+        if (result.length() >= 3 && result.charAt(0) == '/' && Character.isLetter(result.charAt(1)) && result.charAt(2) == ':') {
+            result = result.substring(1);
+        }
+        return result;
+    }
+
+
+    /**
+     * Decodes %HH escapes as UTF-8. Malformed escapes are kept as they are, '+' is not a space in URI filenames.
+     */
+    private static String percentDecode(String value) {
+
+        if (value.indexOf('%') < 0) {
+            return value;
+        }
+
+        StringBuilder decoded = new StringBuilder(value.length());
+        byte[] escaped = new byte[value.length() / 3];
+        int escapedLength = 0;
+        int i = 0;
+        while (i < value.length()) {
+            char c = value.charAt(i);
+            int high = c == '%' && i + 2 < value.length() ? Character.digit(value.charAt(i + 1), 16) : -1;
+            int low = high >= 0 ? Character.digit(value.charAt(i + 2), 16) : -1;
+            if (low >= 0) {
+                escaped[escapedLength++] = (byte) (high << 4 | low);
+                i += 3;
+            } else {
+                decoded.append(new String(escaped, 0, escapedLength, StandardCharsets.UTF_8)).append(c);
+                escapedLength = 0;
+                i++;
+            }
+        }
+        return decoded.append(new String(escaped, 0, escapedLength, StandardCharsets.UTF_8)).toString();
+    }
+
+
+    private static String valueOf(Map<String, JdbcProperty> properties, String key) {
+
+        JdbcProperty property = properties.get(key);
+        return property != null ? property.value() : null;
+    }
+
+
+    private static boolean isTrue(String value) {
 
-        // SQLite is always file-based (no network hosts)
-        return new JdbcUrl(url, dbType, protocol, List.of(), databasePath, properties);
+        return "1".equals(value) || "true".equalsIgnoreCase(value) || "yes".equalsIgnoreCase(value) || "on".equalsIgnoreCase(value);
     }
 }
@@ -0,0 +1,54 @@
+package net.osslabz.jdbc.parser;
+
+import java.util.Arrays;
+
+
+/**
+ * Scalar implementation of {@link DelimiterScanner}, checks one character at a time.
+ */
+final class ScalarDelimiterScanner {
+
+    private ScalarDelimiterScanner() {
+
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+
+    /**
+     * Finds the positions of all delimiters in a region of a string.
+     *
+     * @param value the string to scan
+     * @param from  the start index (inclusive)
+     * @param to    the end index (exclusive)
+     * @return the delimiter positions in ascending order
+     */
+    static int[] scan(String value, int from, int to) {
+
+        int[] positions = new int[8];
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            if (isDelimiter(value.charAt(i))) {
+                if (count == positions.length) {
+                    positions = Arrays.copyOf(positions, count * 2);
+                }
+                positions[count++] = i;
+            }
+        }
+        return Arrays.copyOf(positions, count);
+    }
+
+
+    /**
+     * Checks if a character is one of the delimiters reported by {@link DelimiterScanner}.
+     *
+     * @param c the character
+     * @return true for ';', '?', '&amp;', '=', '/', ',', '(' and ')'
+     */
+    static boolean isDelimiter(char c) {
+
+        return switch (c) {
+            case ';', '?', '&', '=', '/', ',', '(', ')' -> true;
+            default -> false;
+        };
+    }
+}
@@ -0,0 +1,508 @@
+package net.osslabz.jdbc.parser;
+
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import net.osslabz.jdbc.DatabaseProduct;
+import net.osslabz.jdbc.PropertySource;
+
+
+/**
+ * Declarative description of a vendor URL format, compiled once into a table-driven scanner. Parsers built on a grammar ({@link GrammarUrlParser}) share one scanning engine instead of hand-written
+ * split and substring logic.
+ *
+ * <p>The part of a URL after the protocol is described as a list of {@link Format formats}. A format is selected by a literal prefix (the longest matching prefix wins, an empty prefix is the fallback) and
+ * consists of the segments
+ * <pre>
+ * [qualifier ':'] prefix [hosts '/'] database [delimiter properties] ['#' fragment]
+ * </pre>
+ * Hosts end at '/' or at a property delimiter, the database ends at a property delimiter. Each format can derive a MODE property and name a host that is used when the URL lists none. {@link Option Options}
+ * cover the vendor variations of this structure: case-insensitive prefixes, host lists with nested parentheses, hosts without database segment and URI fragments. A {@link #qualified(DatabaseProduct, String,
+ * Format...) qualified} grammar starts with a segment up to the first ':' in front of the formats, such as the Oracle driver type.
+ *
+ * <p>Example, the Derby grammar:
+ * <pre>{@code
+ * UrlGrammar.of(DatabaseProduct.DERBY,
+ *     Format.network("//", "NETWORK", HostList.SINGLE, PropertySection.of(";", PropertySource.PATH)),
+ *     Format.path("memory:", "MEMORY", PropertySection.of(";", PropertySource.PATH)),
+ *     Format.path("", "EMBEDDED", PropertySection.of(";", PropertySource.PATH)));
+ * }</pre>
+ *
+ * <p>Compiling builds a transition table per format indexed by state and ASCII character, so scanning is one table lookup per character up to the start of the properties; the properties themselves are
+ * split by {@link DelimiterScanner}. Grammars are immutable and safe for concurrent use.
+ */
+public final class UrlGrammar {
+
+    private static final int ASCII = 128;
+
+    private static final byte STAY = 0;
+
+    private static final byte TO_DATABASE = 1;
+
+    private static final byte TO_PROPERTIES = 2;
+
+    private static final byte OPEN = 3;
+
+    private static final byte CLOSE = 4;
+
+    private static final int HOSTS_STATE = 0;
+
+    private static final int DATABASE_STATE = 1;
+
+    private final DatabaseProduct product;
+
+    private final String qualifier;
+
+    private final List<Format> formats;
+
+    private final CompiledFormat[] compiled;
+
+
+    private UrlGrammar(DatabaseProduct product, String qualifier, List<Format> formats) {
+
+        this.product = product;
+        this.qualifier = qualifier;
+        this.formats = formats;
+
+        // Longest prefix first, so that "//" is tried before "/" and the empty fallback comes last. Insertion sort, a comparator
+        // lambda would be bootstrapped by the first parse
+        this.compiled = new CompiledFormat[formats.size()];
+        for (int i = 0; i < compiled.length; i++) {
+            CompiledFormat format = CompiledFormat.of(formats.get(i));
+            int j = i;
+            while (j > 0 && compiled[j - 1].format().prefix().length() < format.format().prefix().length()) {
+                compiled[j] = compiled[j - 1];
+                j--;
+            }
+            compiled[j] = format;
+        }
+    }
+
+
+    /**
+     * Creates and compiles a grammar.
+     *
+     * @param product the database product the grammar describes
+     * @param formats the formats, each with a distinct prefix
+     * @return the compiled grammar
+     */
+    public static UrlGrammar of(DatabaseProduct product, Format... formats) {
+
+        return new UrlGrammar(product, null, validate(product, formats));
+    }
+
+
+    /**
+     * Creates and compiles a grammar whose formats follow a qualifier segment, e.g. {@code thin:} in {@code jdbc:oracle:thin:@//host/service}.
+     *
+     * @param product   the database product the grammar describes
+     * @param qualifier the name of the qualifier, used in error messages
+     * @param formats   the formats, each with a distinct prefix
+     * @return the compiled grammar
+     */
+    public static UrlGrammar qualified(DatabaseProduct product, String qualifier, Format... formats) {
+
+        if (qualifier == null || qualifier.isBlank()) {
+            throw new IllegalArgumentException("Qualifier cannot be null or blank");
+        }
+        return new UrlGrammar(product, qualifier, validate(product, formats));
+    }
+
+
+    private static List<Format> validate(DatabaseProduct product, Format... formats) {
+
+        if (product == null) {
+            throw new IllegalArgumentException("Database product cannot be null");
+        }
+        if (formats == null || formats.length == 0) {
+            throw new IllegalArgumentException("Grammar needs at least one format");
+        }
+        Set<String> prefixes = new HashSet<>();
+        for (Format format : formats) {
+            if (format == null) {
+                throw new IllegalArgumentException("Format cannot be null");
+            }
+            if (!prefixes.add(format.prefix())) {
+                throw new IllegalArgumentException("Duplicate format prefix: '" + format.prefix() + "'");
+            }
+        }
+        return List.of(formats);
+    }
+
+
+    /**
+     * Gets the database product the grammar describes.
+     *
+     * @return the product
+     */
+    public DatabaseProduct product() {
+
+        return product;
+    }
+
+
+    /**
+     * Gets the name of the qualifier segment.
+     *
+     * @return the qualifier name, or null if the formats directly follow the protocol
+     */
+    public String qualifier() {
+
+        return qualifier;
+    }
+
+
+    /**
+     * Gets the formats in declaration order.
+     *
+     * @return the formats
+     */
+    public List<Format> formats() {
+
+        return formats;
+    }
+
+
+    /**
+     * Splits the part of a URL after the protocol into its segments.
+     *
+     * @param remainder the URL without protocol
+     * @return the segments, or null if the qualifier is missing or no format matches
+     */
+    Segments scan(String remainder) {
+
+        int formatStart = 0;
+        if (qualifier != null) {
+            formatStart = remainder.indexOf(':') + 1;
+            if (formatStart == 0) {
+                return null;
+            }
+        }
+        for (CompiledFormat candidate : compiled) {
+            String prefix = candidate.format().prefix();
+            if (remainder.regionMatches(candidate.ignoreCase(), formatStart, prefix, 0, prefix.length())) {
+                return candidate.scan(remainder, formatStart);
+            }
+        }
+        return null;
+    }
+
+
+    /**
+     * Variations of the segment structure a format can opt into.
+     */
+    public enum Option {
+        /**
+         * The prefix is matched case-insensitively, as the MySQL sub-protocols and the SQLite {@code file:} scheme
+         */
+        IGNORE_CASE,
+
+        /**
+         * '/' and property delimiters inside parentheses or brackets do not end the hosts, as in MySQL {@code address=(host=h)(port=p)} specs and {@code [h1,h2]} sublists
+         */
+        NESTED_HOSTS,
+
+        /**
+         * There is no database segment: the hosts run up to the property section, '/' included, and the database is named by a property (SQL Server)
+         */
+        NO_DATABASE,
+
+        /**
+         * A '#' ends the URL, the fragment after it is ignored (SQLite URI filenames)
+         */
+        FRAGMENT,
+
+        /**
+         * The MODE property is only derived if the URL does not set it, for vendors where MODE is also a connection setting (H2 compatibility modes)
+         */
+        MODE_IF_ABSENT
+    }
+
+
+    /**
+     * How many hosts a format lists.
+     */
+    public enum HostList {
+        /**
+         * No hosts, the whole segment is the database (file-based and in-memory databases)
+         */
+        NONE,
+
+        /**
+         * Exactly one host
+         */
+        SINGLE,
+
+        /**
+         * Comma-separated hosts, possibly none
+         */
+        MULTIPLE
+    }
+
+
+    /**
+     * The property section of a format.
+     *
+     * @param delimiters          the characters that start the section; '&amp;' and ';' separate properties within it
+     * @param source              the source of the properties
+     * @param queryIfQuestionMark whether the properties are {@link PropertySource#QUERY} properties if the URL contains a '?' anywhere in the section, as in H2 and HSQLDB URLs that mix ';' and '?'
+     */
+    public record PropertySection(String delimiters, PropertySource source, boolean queryIfQuestionMark) {
+
+        /**
+         * Compact constructor with validation.
+         */
+        public PropertySection {
+
+            if (delimiters == null || delimiters.isEmpty()) {
+                throw new IllegalArgumentException("Property delimiters cannot be null or empty");
+            }
+            if (source == null) {
+                throw new IllegalArgumentException("Property source cannot be null");
+            }
+            for (int i = 0; i < delimiters.length(); i++) {
+                char delimiter = delimiters.charAt(i);
+                if (delimiter >= ASCII || delimiter == '/') {
+                    throw new IllegalArgumentException("Invalid property delimiter: '" + delimiter + "'");
+                }
+            }
+        }
+
+
+        /**
+         * Creates a property section.
+         *
+         * @param delimiters the characters that start the section
+         * @param source     the source of the properties
+         * @return the section
+         */
+        public static PropertySection of(String delimiters, PropertySource source) {
+
+            return new PropertySection(delimiters, source, false);
+        }
+
+
+        /**
+         * Creates a section started by ';' or '?' whose properties are path properties, or query properties if a '?' occurs.
+         *
+         * @return the section
+         */
+        public static PropertySection pathOrQuery() {
+
+            return new PropertySection(";?", PropertySource.PATH, true);
+        }
+    }
+
+
+    /**
+     * One URL format of a grammar.
+     *
+     * @param prefix      the literal that selects the format and is skipped, empty for the fallback format
+     * @param mode        the value of the derived MODE property, null to derive none
+     * @param hosts       how many hosts precede the database
+     * @param defaultHost the host used when the URL lists none, null for none
+     * @param properties  the property section, null if everything after the prefix is hosts and database
+     * @param options     the variations of the segment structure
+     */
+    public record Format(String prefix, String mode, HostList hosts, String defaultHost, PropertySection properties, Set<Option> options) {
+
+        /**
+         * Compact constructor with validation.
+         */
+        public Format {
+
+            if (prefix == null) {
+                throw new IllegalArgumentException("Prefix cannot be null");
+            }
+            if (hosts == null) {
+                throw new IllegalArgumentException("Host list cannot be null");
+            }
+            if (options == null) {
+                throw new IllegalArgumentException("Options cannot be null");
+            }
+            options = Set.copyOf(options);
+        }
+
+
+        /**
+         * Creates a format without options.
+         *
+         * @param prefix      the literal that selects the format
+         * @param mode        the derived MODE value, or null
+         * @param hosts       how many hosts precede the database
+         * @param defaultHost the host used when the URL lists none, or null
+         * @param properties  the property section, or null
+         */
+        public Format(String prefix, String mode, HostList hosts, String defaultHost, PropertySection properties) {
+
+            this(prefix, mode, hosts, defaultHost, properties, Set.of());
+        }
+
+
+        /**
+         * Creates a format with hosts in front of the database.
+         *
+         * @param prefix     the literal that selects the format
+         * @param mode       the derived MODE value, or null
+         * @param hosts      how many hosts the format lists
+         * @param properties the property section
+         * @return the format
+         */
+        public static Format network(String prefix, String mode, HostList hosts, PropertySection properties) {
+
+            return new Format(prefix, mode, hosts, null, properties);
+        }
+
+
+        /**
+         * Creates a format without hosts.
+         *
+         * @param prefix     the literal that selects the format
+         * @param mode       the derived MODE value, or null
+         * @param properties the property section
+         * @return the format
+         */
+        public static Format path(String prefix, String mode, PropertySection properties) {
+
+            return new Format(prefix, mode, HostList.NONE, null, properties);
+        }
+
+
+        /**
+         * Returns a copy of this format that connects to the given host when the URL lists none.
+         *
+         * @param host the default host
+         * @return the format with default host
+         */
+        public Format withDefaultHost(String host) {
+
+            return new Format(prefix, mode, hosts, host, properties, options);
+        }
+
+
+        /**
+         * Returns a copy of this format with the given options added.
+         *
+         * @param added the options
+         * @return the format with options
+         */
+        public Format withOptions(Option... added) {
+
+            Set<Option> combined = EnumSet.noneOf(Option.class);
+            combined.addAll(options);
+            for (Option option : added) {
+                combined.add(option);
+            }
+            return new Format(prefix, mode, hosts, defaultHost, properties, combined);
+        }
+
+
+        /**
+         * Checks whether the format has an option.
+         *
+         * @param option the option
+         * @return true if the option is set
+         */
+        public boolean has(Option option) {
+
+            return options.contains(option);
+        }
+    }
+
+
+    /**
+     * Segment boundaries of a scanned URL remainder; the format starts after the qualifier, the hosts are empty for formats without hosts, the properties start is -1 if the URL has none, and
+     * everything ends before the fragment.
+     */
+    record Segments(Format format, int formatStart, int hostsStart, int hostsEnd, int databaseStart, int databaseEnd, int propertiesStart, int end, PropertySource propertySource) {
+
+    }
+
+
+    /**
+     * A format with its transition table: {@code transitions[state * 128 + c]} tells whether character c ends the current segment or opens or closes a nesting level of the hosts.
+     */
+    private record CompiledFormat(Format format, byte[] transitions, boolean ignoreCase, boolean fragment) {
+
+        static CompiledFormat of(Format format) {
+
+            byte[] transitions = new byte[2 * ASCII];
+            if (!format.has(Option.NO_DATABASE)) {
+                transitions[HOSTS_STATE * ASCII + '/'] = TO_DATABASE;
+            }
+            if (format.has(Option.NESTED_HOSTS)) {
+                transitions[HOSTS_STATE * ASCII + '('] = OPEN;
+                transitions[HOSTS_STATE * ASCII + '['] = OPEN;
+                transitions[HOSTS_STATE * ASCII + ')'] = CLOSE;
+                transitions[HOSTS_STATE * ASCII + ']'] = CLOSE;
+            }
+            if (format.properties() != null) {
+                String delimiters = format.properties().delimiters();
+                for (int i = 0; i < delimiters.length(); i++) {
+                    transitions[HOSTS_STATE * ASCII + delimiters.charAt(i)] = TO_PROPERTIES;
+                    transitions[DATABASE_STATE * ASCII + delimiters.charAt(i)] = TO_PROPERTIES;
+                }
+            }
+            return new CompiledFormat(format, transitions, format.has(Option.IGNORE_CASE), format.has(Option.FRAGMENT));
+        }
+
+
+        Segments scan(String remainder, int formatStart) {
+
+            int start = formatStart + format.prefix().length();
+            int length = remainder.length();
+            if (fragment) {
+                int fragmentStart = remainder.indexOf('#', start);
+                length = fragmentStart >= 0 ? fragmentStart : length;
+            }
+            int state = format.hosts() == HostList.NONE ? DATABASE_STATE : HOSTS_STATE;
+            int hostsEnd = start;
+            int databaseStart = start;
+            int position = start;
+            int propertiesStart = -1;
+            int depth = 0;
+
+            while (position < length) {
+                char c = remainder.charAt(position);
+                byte action = c < ASCII ? transitions[state * ASCII + c] : STAY;
+                if (action == OPEN) {
+                    depth++;
+                } else if (action == CLOSE) {
+                    depth = depth > 0 ? depth - 1 : 0;
+                } else if (depth > 0) {
+                    // Inside parentheses or brackets of the hosts, nothing ends a segment
+                } else if (action == TO_DATABASE) {
+                    hostsEnd = position;
+                    databaseStart = position + 1;
+                    state = DATABASE_STATE;
+                } else if (action == TO_PROPERTIES) {
+                    propertiesStart = position + 1;
+                    break;
+                }
+                position++;
+            }
+
+            int databaseEnd = propertiesStart >= 0 ? propertiesStart - 1 : length;
+            if (state == HOSTS_STATE) {
+                // No '/' after the hosts: everything up to the properties are hosts, the database is empty
+                hostsEnd = databaseEnd;
+                databaseStart = databaseEnd;
+            }
+
+            PropertySource source = format.properties() != null ? format.properties().source() : null;
+            if (propertiesStart >= 0 && format.properties().queryIfQuestionMark()
+                && (remainder.charAt(propertiesStart - 1) == '?' || questionMarkBefore(remainder, propertiesStart, length))) {
+                source = PropertySource.QUERY;
+            }
+            return new Segments(format, formatStart, start, hostsEnd, databaseStart, databaseEnd, propertiesStart, length, source);
+        }
+
+
+        private static boolean questionMarkBefore(String remainder, int start, int end) {
+
+            int index = remainder.indexOf('?', start);
+            return index >= 0 && index < end;
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package net.osslabz.jdbc.parser;
 
+import java.util.List;
 import net.osslabz.jdbc.DatabaseProduct;
+import net.osslabz.jdbc.Host;
 import net.osslabz.jdbc.JdbcUrl;
 
 
@@ -26,4 +28,33 @@ public interface UrlParser {
      * @throws net.osslabz.jdbc.JdbcUrlParseException if the URL cannot be parsed
      */
     JdbcUrl parse(String url);
+
+    /**
+     * Extracts the value of a single property from a JDBC URL. For URLs that {@link #parse(String)} accepts, the result is the same as {@code parse(url).getPropertyValue(key)}, but implementations may scan only the part of the URL where the property
+     * can occur. Such implementations don't validate the rest of the URL, so they may return a value for a URL that parse rejects.
+     *
+     * @param url the JDBC URL to inspect
+     * @param key the property key
+     * @return the property value, or null if not present
+     *
+     * @throws net.osslabz.jdbc.JdbcUrlParseException if the URL cannot be parsed
+     */
+    default String extractProperty(String url, String key) {
+
+        return parse(url).getPropertyValue(key);
+    }
+
+    /**
+     * Extracts the hosts from a JDBC URL. For URLs that {@link #parse(String)} accepts, the result is the same as {@code parse(url).hosts()}, but implementations may skip parsing of the property section. Such implementations don't
+     * validate the properties, so they may return hosts for a URL that parse rejects.
+     *
+     * @param url the JDBC URL to inspect
+     * @return list of hosts (empty for file-based databases)
+     *
+     * @throws net.osslabz.jdbc.JdbcUrlParseException if the URL cannot be parsed
+     */
+    default List<Host> extractHosts(String url) {
+
+        return parse(url).hosts();
+    }
 }
@@ -0,0 +1,719 @@
+package net.osslabz.jdbc.r2dbc;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import net.osslabz.jdbc.DatabaseProduct;
+import net.osslabz.jdbc.H2Url;
+import net.osslabz.jdbc.Host;
+import net.osslabz.jdbc.JdbcProperty;
+import net.osslabz.jdbc.JdbcUrl;
+import net.osslabz.jdbc.JdbcUrlParseException;
+import net.osslabz.jdbc.JdbcUrlParser;
+import net.osslabz.jdbc.MySQLUrl;
+import net.osslabz.jdbc.PropertySource;
+
+
+/**
+ * Parses R2DBC URLs and converts between R2DBC and JDBC URLs, so that one URL can configure both a JDBC datasource and a reactive connection factory.
+ *
+ * <p>Supported formats ({@code pool:} wraps any of them in an r2dbc-pool connection pool):
+ * <ul>
+ *   <li>r2dbc:[pool:]postgresql://[user[:password]@]host[:port][,host[:port]]/database[?option=value]</li>
+ *   <li>r2dbc:[pool:]mysql|mariadb[:loadbalance|replication|sequential|failover]://[user[:password]@]host[:port]/database[?option=value]</li>
+ *   <li>r2dbc:[pool:]mssql://[user[:password]@]host[:port]/database[?option=value]</li>
+ *   <li>r2dbc:[pool:]h2:mem:///name, r2dbc:h2:file///absolute/path, r2dbc:h2:file//relative/path, r2dbc:h2:tcp|ssl://host[:port]/path</li>
+ * </ul>
+ *
+ * <p>An R2DBC URL is parsed by rewriting it into the JDBC URL of the same vendor and parsing that with the JDBC parser, so hosts, database name and properties are the same as for the JDBC URL. Property
+ * names are the JDBC names of the vendor driver (e.g. {@code sslmode} for the R2DBC option {@code sslMode} of PostgreSQL), connect timeouts are converted between ISO-8601 durations and the seconds or
+ * milliseconds of the JDBC driver, and user info becomes the user and password properties. Options of r2dbc-pool have no JDBC counterpart: they are kept as query properties of the parsed URL and left out
+ * of JDBC URLs.
+ *
+ * <p>User info, database names and option values are percent-decoded when an R2DBC URL is parsed and percent-encoded when one is written, so credentials may contain '@', ':' or '&amp;'. PostgreSQL, MySQL and MariaDB
+ * drivers decode the values of their JDBC query strings as well, so these are encoded in JDBC URLs and decoded when converted; SQL Server and H2 JDBC URLs take values as written and cannot contain a
+ * value with ';'.
+ *
+ * <p>Example:
+ * <pre>{@code
+ * JdbcUrl url = R2dbcUrlConverter.parse("r2dbc:pool:postgresql://app@db1:5432/orders?sslMode=require&maxSize=20");
+ * url.getPropertyValue("sslmode");  // "require"
+ *
+ * R2dbcUrlConverter.toJdbcUrl("r2dbc:postgresql://app@db1:5432/orders?sslMode=require");
+ * // jdbc:postgresql://db1:5432/orders?user=app&sslmode=require
+ *
+ * R2dbcUrlConverter.toR2dbcUrl(JdbcUrlParser.parse("jdbc:sqlserver://db1:1433;databaseName=orders;encrypt=true"));
+ * // r2dbc:mssql://db1:1433/orders?ssl=true
+ * }</pre>
+ */
+public final class R2dbcUrlConverter {
+
+    /**
+     * Prefix of all R2DBC URLs.
+     */
+    public static final String SCHEME = "r2dbc:";
+
+    /**
+     * Options of r2dbc-pool; they configure the pool rather than the connection and have no JDBC counterpart.
+     */
+    public static final Set<String> POOL_OPTIONS = Set.of("acquireRetry", "backgroundEvictionInterval", "initialSize", "maxAcquireTime", "maxCreateConnectionTime", "maxIdleTime",
+        "maxLifeTime", "maxSize", "maxValidationTime", "minIdle", "poolName", "registerJmx", "validationDepth", "validationQuery");
+
+    private static final String POOL = "pool:";
+
+    private static final String USER = "user";
+
+    private static final String PASSWORD = "password";
+
+    // Characters written as they are, all others are percent-encoded
+    private static final String USER_INFO_CHARACTERS = "-._~";
+
+    private static final String OPTION_VALUE_CHARACTERS = "-._~/:,";
+
+    private static final String DATABASE_CHARACTERS = "-._~";
+
+    private static final String[] SQLSERVER_TARGETS = {"serverName", "server", "portNumber", "port", "instanceName", "databaseName", "database"};
+
+    private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+
+
+    /**
+     * Private constructor to prevent instantiation. This is a utility class with static methods only.
+     */
+    private R2dbcUrlConverter() {
+
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+
+    /**
+     * Checks if a string is an R2DBC URL.
+     *
+     * @param url the string to check
+     * @return true if the string starts with "r2dbc:"
+     */
+    public static boolean isR2dbcUrl(String url) {
+
+        return url != null && url.regionMatches(true, 0, SCHEME, 0, SCHEME.length());
+    }
+
+
+    /**
+     * Parses an R2DBC URL. The result has the R2DBC URL as original URL and the R2DBC scheme (e.g. "r2dbc:pool:postgresql:") as protocol; properties use the JDBC names of the vendor driver.
+     *
+     * @param r2dbcUrl the R2DBC URL to parse (must not be null or blank)
+     * @return the parsed URL
+     *
+     * @throws JdbcUrlParseException    if the URL cannot be parsed or its driver is not supported
+     * @throws IllegalArgumentException if the URL is null or blank
+     */
+    public static JdbcUrl parse(String r2dbcUrl) {
+
+        Sections sections = split(r2dbcUrl);
+        Map<String, String> jdbcOptions = toJdbcOptions(r2dbcUrl, sections);
+        JdbcUrl jdbcUrl;
+        try {
+            jdbcUrl = JdbcUrlParser.parse(toJdbcUrl(r2dbcUrl, sections, jdbcOptions));
+        } catch (JdbcUrlParseException e) {
+            // Report the R2DBC URL instead of the JDBC URL derived from it
+            String message = e.getMessage();
+            int urlSuffix = message.lastIndexOf(" [URL: ");
+            throw new JdbcUrlParseException(r2dbcUrl, urlSuffix >= 0 ? message.substring(0, urlSuffix) : message, e);
+        }
+
+        Map<String, JdbcProperty> properties = new HashMap<>(jdbcUrl.properties());
+        // The JDBC URL has the values encoded for the vendor driver, the parsed URL has them decoded
+        for (Map.Entry<String, String> option : jdbcOptions.entrySet()) {
+            JdbcProperty property = properties.get(option.getKey());
+            if (property != null) {
+                properties.put(option.getKey(), new JdbcProperty(property.source(), option.getValue()));
+            }
+        }
+        for (String[] option : sections.options()) {
+            if (POOL_OPTIONS.contains(option[0])) {
+                properties.put(option[0], new JdbcProperty(PropertySource.QUERY, option[1]));
+            }
+        }
+        // The database name of an H2 URL is a file path, the others are decoded from the R2DBC path
+        String databaseName = sections.driver() == Driver.H2 ? jdbcUrl.databaseName() : sections.path();
+        return new JdbcUrl(r2dbcUrl, sections.driver().product, sections.scheme(), jdbcUrl.hosts(), databaseName, properties);
+    }
+
+
+    /**
+     * Converts an R2DBC URL into the JDBC URL of the same vendor. Pool options are left out.
+     *
+     * @param r2dbcUrl the R2DBC URL (must not be null or blank)
+     * @return the JDBC URL
+     *
+     * @throws JdbcUrlParseException    if the URL cannot be parsed or its driver is not supported
+     * @throws IllegalArgumentException if the URL is null or blank
+     */
+    public static String toJdbcUrl(String r2dbcUrl) {
+
+        Sections sections = split(r2dbcUrl);
+        return toJdbcUrl(r2dbcUrl, sections, toJdbcOptions(r2dbcUrl, sections));
+    }
+
+
+    /**
+     * Converts a JDBC URL into the R2DBC URL of the same vendor.
+     *
+     * @param jdbcUrl the JDBC URL (must not be null or blank)
+     * @return the R2DBC URL
+     *
+     * @throws JdbcUrlParseException    if the URL cannot be parsed or its database has no R2DBC driver
+     * @throws IllegalArgumentException if the URL is null or blank
+     */
+    public static String toR2dbcUrl(String jdbcUrl) {
+
+        return toR2dbcUrl(JdbcUrlParser.parse(jdbcUrl));
+    }
+
+
+    /**
+     * Converts a parsed URL into an R2DBC URL. Derived and descriptor properties are left out, as are the SQL Server properties naming server, port, instance and database, which are part of the host and
+     * path. Pool options (of a URL parsed with {@link #parse(String)}) select an r2dbc-pool URL. Options are written
+     * in alphabetical order.
+     *
+     * @param url the parsed JDBC or R2DBC URL (must not be null)
+     * @return the R2DBC URL
+     *
+     * @throws JdbcUrlParseException    if the database has no R2DBC driver or the URL uses a feature the R2DBC driver doesn't support, such as different credentials per MySQL host, a SQL Server failover partner or an embedded H2
+     *                                  database on a file system other than the default one
+     * @throws IllegalArgumentException if the URL is null
+     */
+    public static String toR2dbcUrl(JdbcUrl url) {
+
+        if (url == null) {
+            throw new IllegalArgumentException("URL cannot be null");
+        }
+        Driver driver = Driver.of(url.databaseProduct());
+        if (driver == null) {
+            throw new JdbcUrlParseException(url.originalUrl(), "No R2DBC driver for database type: " + url.databaseProduct());
+        }
+
+        // Values parsed from an R2DBC URL are decoded already
+        boolean encodedValues = driver.encodesJdbcValues() && !isR2dbcUrl(url.originalUrl());
+        String user = null;
+        String password = null;
+        boolean pooled = false;
+        Map<String, String> options = new TreeMap<>();
+        for (Map.Entry<String, JdbcProperty> property : url.properties().entrySet()) {
+            String key = property.getKey();
+            JdbcProperty jdbcProperty = property.getValue();
+            if (jdbcProperty.source() == PropertySource.DERIVED || jdbcProperty.source() == PropertySource.DESCRIPTOR) {
+                continue;
+            }
+            String value = encodedValues && jdbcProperty.source() == PropertySource.QUERY ? percentDecode(jdbcProperty.value()) : jdbcProperty.value();
+            if (POOL_OPTIONS.contains(key)) {
+                pooled = true;
+                options.put(key, value);
+            } else if (driver == Driver.SQLSERVER && isSqlServerTarget(key)) {
+                // Folded into the host and path of the R2DBC URL
+            } else if (driver == Driver.SQLSERVER && key.equalsIgnoreCase("failoverPartner") && !value.isBlank()) {
+                throw new JdbcUrlParseException(url.originalUrl(), "The R2DBC SQL Server driver does not support failover partners");
+            } else if (driver != Driver.H2 && key.equalsIgnoreCase(USER)) {
+                user = value;
+            } else if (driver != Driver.H2 && key.equalsIgnoreCase(PASSWORD)) {
+                password = value;
+            } else {
+                driver.toR2dbcOption(url.originalUrl(), key, value, options);
+            }
+        }
+
+        if ((driver == Driver.MYSQL || driver == Driver.MARIADB) && !isR2dbcUrl(url.originalUrl())) {
+            // Credentials can be given per host (user:password@host), R2DBC has one set for all hosts
+            String[] credentials = hostCredentials(JdbcUrlParser.parseMySQL(url.originalUrl()), user, password);
+            user = credentials[0];
+            password = credentials[1];
+        }
+
+        StringBuilder r2dbcUrl = new StringBuilder(url.originalUrl().length() + 16).append(SCHEME);
+        if (pooled) {
+            r2dbcUrl.append(POOL);
+        }
+        r2dbcUrl.append(driver.names[0]);
+
+        if (driver == Driver.H2) {
+            appendH2Location(r2dbcUrl, url);
+        } else {
+            String subProtocol = subProtocol(url, driver);
+            if (subProtocol != null) {
+                r2dbcUrl.append(':').append(subProtocol);
+            }
+            r2dbcUrl.append("://");
+            if (user != null) {
+                r2dbcUrl.append(percentEncode(user, USER_INFO_CHARACTERS));
+                if (password != null) {
+                    r2dbcUrl.append(':').append(percentEncode(password, USER_INFO_CHARACTERS));
+                }
+                r2dbcUrl.append('@');
+            } else if (password != null) {
+                options.put(PASSWORD, password);
+            }
+            appendHosts(r2dbcUrl, url);
+            r2dbcUrl.append('/');
+            if (url.databaseName() != null) {
+                String databaseName = encodedValues ? percentDecode(url.databaseName()) : url.databaseName();
+                r2dbcUrl.append(percentEncode(databaseName, DATABASE_CHARACTERS));
+            }
+        }
+
+        char separator = '?';
+        for (Map.Entry<String, String> option : options.entrySet()) {
+            r2dbcUrl.append(separator).append(option.getKey()).append('=').append(percentEncode(option.getValue(), OPTION_VALUE_CHARACTERS));
+            separator = '&';
+        }
+        return r2dbcUrl.toString();
+    }
+
+
+    /**
+     * Splits an R2DBC URL into driver, sub-protocol, user info, hosts, path and options. Option values and database names are percent-decoded, the user info is decoded when it is split into user and
+     * password.
+     */
+    private static Sections split(String url) {
+
+        if (url == null || url.isBlank()) {
+            throw new IllegalArgumentException("R2DBC URL cannot be null or blank");
+        }
+        if (!isR2dbcUrl(url)) {
+            throw new JdbcUrlParseException(url, "R2DBC URL must start with '" + SCHEME + "'");
+        }
+
+        int position = SCHEME.length();
+        boolean pooled = url.regionMatches(true, position, POOL, 0, POOL.length());
+        if (pooled) {
+            position += POOL.length();
+        }
+
+        int slashes = url.indexOf("//", position);
+        if (slashes < 0) {
+            throw new JdbcUrlParseException(url, "Missing '//' after the R2DBC driver");
+        }
+        String scheme = url.substring(0, slashes);
+        int driverEnd = scheme.endsWith(":") ? slashes - 1 : slashes;
+        if (driverEnd <= position) {
+            throw new JdbcUrlParseException(url, "Missing R2DBC driver");
+        }
+        String[] names = url.substring(position, driverEnd).split(":", -1);
+        if (names.length > 2) {
+            throw new JdbcUrlParseException(url, "Invalid R2DBC driver and protocol: " + String.join(":", names));
+        }
+        Driver driver = Driver.of(names[0]);
+        if (driver == null) {
+            throw new JdbcUrlParseException(url, "Unsupported R2DBC driver: " + names[0]);
+        }
+        String protocol = names.length > 1 ? names[1].toLowerCase(Locale.ROOT) : null;
+        driver.validateProtocol(url, protocol);
+
+        String remainder = url.substring(slashes + 2);
+        int queryStart = remainder.indexOf('?');
+        String query = queryStart >= 0 ? remainder.substring(queryStart + 1) : "";
+        remainder = queryStart >= 0 ? remainder.substring(0, queryStart) : remainder;
+
+        String userInfo = null;
+        String hosts = "";
+        String path = remainder;
+        if (driver != Driver.H2 || "tcp".equals(protocol) || "ssl".equals(protocol)) {
+            int pathStart = remainder.indexOf('/');
+            String authority = pathStart >= 0 ? remainder.substring(0, pathStart) : remainder;
+            path = pathStart >= 0 ? remainder.substring(pathStart + 1) : "";
+            if (driver != Driver.H2) {
+                // A database name, the H2 server path is a file path taken as written
+                path = percentDecode(path);
+            }
+            int at = authority.lastIndexOf('@');
+            userInfo = at >= 0 ? authority.substring(0, at) : null;
+            hosts = authority.substring(at + 1);
+        }
+
+        List<String[]> options = new ArrayList<>();
+        for (String pair : query.split("&")) {
+            if (!pair.isEmpty()) {
+                int equals = pair.indexOf('=');
+                options.add(equals >= 0 ? new String[] {pair.substring(0, equals), percentDecode(pair.substring(equals + 1))} : new String[] {pair, ""});
+            }
+        }
+
+        // The scheme ends with ':' when followed by "//", like the protocol of the JDBC parsers
+        return new Sections(scheme.endsWith(":") ? scheme : scheme + ":", driver, protocol, userInfo, hosts, path, options);
+    }
+
+
+    /**
+     * Gets the JDBC properties of an R2DBC URL: user info and options without pool options, with JDBC names and decoded values.
+     */
+    private static Map<String, String> toJdbcOptions(String url, Sections sections) {
+
+        Map<String, String> options = new LinkedHashMap<>();
+        if (sections.userInfo() != null) {
+            int colon = sections.userInfo().indexOf(':');
+            options.put(USER, percentDecode(colon >= 0 ? sections.userInfo().substring(0, colon) : sections.userInfo()));
+            if (colon >= 0) {
+                options.put(PASSWORD, percentDecode(sections.userInfo().substring(colon + 1)));
+            }
+        }
+        for (String[] option : sections.options()) {
+            if (!POOL_OPTIONS.contains(option[0])) {
+                sections.driver().toJdbcOption(url, option[0], option[1], options);
+            }
+        }
+        return options;
+    }
+
+
+    private static String toJdbcUrl(String url, Sections sections, Map<String, String> options) {
+
+        Driver driver = sections.driver();
+        StringBuilder jdbcUrl = new StringBuilder(url.length() + 16).append("jdbc:");
+        char separator;
+        switch (driver) {
+            case POSTGRESQL -> {
+                jdbcUrl.append("postgresql://").append(sections.hosts()).append('/').append(percentEncode(sections.path(), DATABASE_CHARACTERS));
+                separator = '?';
+            }
+            case MYSQL, MARIADB -> {
+                jdbcUrl.append(driver.product.getProductIndicator()).append(':');
+                if (sections.protocol() != null) {
+                    jdbcUrl.append(sections.protocol()).append(':');
+                }
+                jdbcUrl.append("//").append(sections.hosts()).append('/').append(percentEncode(sections.path(), DATABASE_CHARACTERS));
+                separator = '?';
+            }
+            case SQLSERVER -> {
+                jdbcUrl.append("sqlserver://").append(sections.hosts());
+                if (sections.path().indexOf(';') >= 0) {
+                    throw new JdbcUrlParseException(url, "The database name contains ';', which the " + driver.product + " JDBC URL cannot hold");
+                }
+                if (!sections.path().isEmpty()) {
+                    jdbcUrl.append(";databaseName=").append(sections.path());
+                }
+                separator = ';';
+            }
+            default -> {
+                jdbcUrl.append("h2:");
+                switch (sections.protocol()) {
+                    case "mem" -> jdbcUrl.append("mem:").append(sections.path().startsWith("/") ? sections.path().substring(1) : sections.path());
+                    case "file" -> jdbcUrl.append("file:").append(sections.path());
+                    default -> jdbcUrl.append(sections.protocol()).append("://").append(sections.hosts()).append('/').append(sections.path());
+                }
+                separator = ';';
+            }
+        }
+
+        for (Map.Entry<String, String> option : options.entrySet()) {
+            String value = option.getValue();
+            if (driver.encodesJdbcValues()) {
+                value = percentEncode(value, OPTION_VALUE_CHARACTERS);
+            } else if (value.indexOf(';') >= 0) {
+                // Don't include the value, it may be a password
+                throw new JdbcUrlParseException(url, "The value of " + option.getKey() + " contains ';', which the " + driver.product + " JDBC URL cannot hold");
+            }
+            jdbcUrl.append(separator).append(option.getKey()).append('=').append(value);
+            if (separator == '?') {
+                separator = '&';
+            }
+        }
+        return jdbcUrl.toString();
+    }
+
+
+    /**
+     * Checks whether a SQL Server property names the server, instance, port or database, which the parser resolves into the host and the database name.
+     */
+    private static boolean isSqlServerTarget(String key) {
+
+        for (String target : SQLSERVER_TARGETS) {
+            if (target.equalsIgnoreCase(key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+
+    /**
+     * Gets the R2DBC sub-protocol for a multi-host URL: "failover" for PostgreSQL, the JDBC sub-protocol (e.g. "sequential") for MySQL and MariaDB.
+     */
+    private static String subProtocol(JdbcUrl url, Driver driver) {
+
+        if (driver == Driver.POSTGRESQL) {
+            return url.hosts().size() > 1 ? "failover" : null;
+        }
+        if (driver == Driver.MYSQL || driver == Driver.MARIADB) {
+            String protocol = url.protocol().endsWith(":") ? url.protocol().substring(0, url.protocol().length() - 1) : url.protocol();
+            String last = protocol.substring(protocol.lastIndexOf(':') + 1);
+            return driver.protocols.contains(last) ? last : null;
+        }
+        return null;
+    }
+
+
+    private static void appendHosts(StringBuilder r2dbcUrl, JdbcUrl url) {
+
+        if (url.hosts().isEmpty()) {
+            throw new JdbcUrlParseException(url.originalUrl(), "R2DBC URLs require a host");
+        }
+        for (int i = 0; i < url.hosts().size(); i++) {
+            Host host = url.hosts().get(i);
+            if (host.instanceName() != null && !host.instanceName().isBlank()) {
+                throw new JdbcUrlParseException(url.originalUrl(), "The R2DBC SQL Server driver does not support named instances, use the port of the instance");
+            }
+            if (i > 0) {
+                r2dbcUrl.append(',');
+            }
+            boolean ipv6 = host.hostname().indexOf(':') >= 0 && !host.hostname().startsWith("[");
+            r2dbcUrl.append(ipv6 ? "[" : "").append(host.hostname()).append(ipv6 ? "]" : "");
+            if (host.port() != null) {
+                r2dbcUrl.append(':').append(host.port());
+            }
+        }
+    }
+
+
+    private static void appendH2Location(StringBuilder r2dbcUrl, JdbcUrl url) {
+
+        // The H2 view of an R2DBC URL is the one of the JDBC URL it converts to
+        H2Url h2Url = JdbcUrlParser.parseH2(isR2dbcUrl(url.originalUrl()) ? toJdbcUrl(url.originalUrl()) : url.originalUrl());
+        if (h2Url.connectionMode() != H2Url.ConnectionMode.EMBEDDED) {
+            // The server opens the database, so mem: and file system prefixes are passed on as written
+            r2dbcUrl.append(':').append(h2Url.connectionMode() == H2Url.ConnectionMode.SSL ? "ssl" : "tcp").append("://");
+            appendHosts(r2dbcUrl, url);
+            r2dbcUrl.append('/').append(h2Url.jdbcUrl().databaseName());
+        } else if (h2Url.storage() == H2Url.Storage.MEMORY) {
+            r2dbcUrl.append(":mem:///").append(h2Url.path());
+        } else {
+            // The R2DBC driver opens embedded databases with a file: URL, which cannot be combined with other file systems
+            for (H2Url.FileSystem fileSystem : h2Url.fileSystems()) {
+                if (fileSystem != H2Url.FileSystem.FILE) {
+                    throw new JdbcUrlParseException(url.originalUrl(), "The R2DBC H2 driver does not support the file system prefix " + fileSystem.getPrefix() + " for embedded databases");
+                }
+            }
+            r2dbcUrl.append(":file//").append(h2Url.path());
+        }
+    }
+
+
+    /**
+     * Gets the user and password shared by all hosts of a MySQL or MariaDB URL, from user info of the hosts or the URL properties.
+     */
+    private static String[] hostCredentials(MySQLUrl mySQLUrl, String user, String password) {
+
+        String[] credentials = null;
+        for (MySQLUrl.MySQLHost host : mySQLUrl.hosts()) {
+            String hostUser = user;
+            String hostPassword = password;
+            for (Map.Entry<String, String> property : host.properties().entrySet()) {
+                if (property.getKey().equalsIgnoreCase(USER)) {
+                    hostUser = percentDecode(property.getValue());
+                } else if (property.getKey().equalsIgnoreCase(PASSWORD)) {
+                    hostPassword = percentDecode(property.getValue());
+                } else {
+                    throw new JdbcUrlParseException(mySQLUrl.jdbcUrl().originalUrl(), "R2DBC URLs do not support per-host properties: " + property.getKey());
+                }
+            }
+            if (credentials == null) {
+                credentials = new String[] {hostUser, hostPassword};
+            } else if (!Objects.equals(credentials[0], hostUser) || !Objects.equals(credentials[1], hostPassword)) {
+                throw new JdbcUrlParseException(mySQLUrl.jdbcUrl().originalUrl(), "R2DBC URLs do not support different credentials per host");
+            }
+        }
+        return credentials != null ? credentials : new String[] {user, password};
+    }
+
+
+    /**
+     * Decodes %HH escapes as UTF-8. Malformed escapes are kept as they are, '+' is not a space.
+     */
+    private static String percentDecode(String value) {
+
+        if (value.indexOf('%') < 0) {
+            return value;
+        }
+
+        StringBuilder decoded = new StringBuilder(value.length());
+        byte[] escaped = new byte[value.length() / 3];
+        int escapedLength = 0;
+        int i = 0;
+        while (i < value.length()) {
+            char c = value.charAt(i);
+            int high = c == '%' && i + 2 < value.length() ? Character.digit(value.charAt(i + 1), 16) : -1;
+            int low = high >= 0 ? Character.digit(value.charAt(i + 2), 16) : -1;
+            if (low >= 0) {
+                escaped[escapedLength++] = (byte) (high << 4 | low);
+                i += 3;
+            } else {
+                decoded.append(new String(escaped, 0, escapedLength, StandardCharsets.UTF_8)).append(c);
+                escapedLength = 0;
+                i++;
+            }
+        }
+        return decoded.append(new String(escaped, 0, escapedLength, StandardCharsets.UTF_8)).toString();
+    }
+
+
+    /**
+     * Encodes all characters except ASCII letters, digits and the given characters as UTF-8 %HH escapes.
+     */
+    private static String percentEncode(String value, String allowed) {
+
+        StringBuilder encoded = null;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80 && (Character.isLetterOrDigit(c) || allowed.indexOf(c) >= 0)) {
+                if (encoded != null) {
+                    encoded.append(c);
+                }
+                continue;
+            }
+            if (encoded == null) {
+                encoded = new StringBuilder(value.length() + 16).append(value, 0, i);
+            }
+            int end = Character.isHighSurrogate(c) && i + 1 < value.length() ? i + 2 : i + 1;
+            for (byte b : value.substring(i, end).getBytes(StandardCharsets.UTF_8)) {
+                encoded.append('%').append(HEX_DIGITS[(b >> 4) & 0xF]).append(HEX_DIGITS[b & 0xF]);
+            }
+            i = end - 1;
+        }
+        return encoded != null ? encoded.toString() : value;
+    }
+
+
+    /**
+     * Sections of an R2DBC URL.
+     */
+    private record Sections(String scheme, Driver driver, String protocol, String userInfo, String hosts, String path, List<String[]> options) {
+    }
+
+
+    /**
+     * The supported R2DBC drivers with their names, sub-protocols and the options whose names differ from the JDBC driver.
+     */
+    private enum Driver {
+        POSTGRESQL(DatabaseProduct.POSTGRESQL, new String[] {"postgresql", "postgres"}, Set.of("failover"), "connectTimeout", TimeUnit.SECONDS,
+            Map.of("sslMode", "sslmode", "sslRootCert", "sslrootcert", "sslCert", "sslcert", "sslKey", "sslkey", "sslPassword", "sslpassword",
+                "applicationName", "ApplicationName", "schema", "currentSchema")),
+        MYSQL(DatabaseProduct.MYSQL, new String[] {"mysql"}, Set.of("loadbalance", "replication"), "connectTimeout", TimeUnit.MILLISECONDS,
+            Map.of("serverZoneId", "connectionTimeZone", "useServerPrepareStatement", "useServerPrepStmts")),
+        MARIADB(DatabaseProduct.MARIADB, new String[] {"mariadb"}, Set.of("loadbalance", "replication", "sequential", "failover"), "connectTimeout", TimeUnit.MILLISECONDS,
+            Map.of()),
+        SQLSERVER(DatabaseProduct.SQLSERVER, new String[] {"mssql", "sqlserver"}, Set.of(), "loginTimeout", TimeUnit.SECONDS,
+            Map.of("ssl", "encrypt")),
+        H2(DatabaseProduct.H2, new String[] {"h2"}, Set.of("mem", "file", "tcp", "ssl"), null, null,
+            Map.of());
+
+        private static final String CONNECT_TIMEOUT = "connectTimeout";
+
+        private final DatabaseProduct product;
+
+        private final String[] names;
+
+        private final Set<String> protocols;
+
+        private final String jdbcTimeoutKey;
+
+        private final TimeUnit jdbcTimeoutUnit;
+
+        private final Map<String, String> jdbcNames;
+
+        private final Map<String, String> r2dbcNames = new HashMap<>();
+
+
+        Driver(DatabaseProduct product, String[] names, Set<String> protocols, String jdbcTimeoutKey, TimeUnit jdbcTimeoutUnit, Map<String, String> jdbcNames) {
+
+            this.product = product;
+            this.names = names;
+            this.protocols = protocols;
+            this.jdbcTimeoutKey = jdbcTimeoutKey;
+            this.jdbcTimeoutUnit = jdbcTimeoutUnit;
+            this.jdbcNames = jdbcNames;
+            for (Map.Entry<String, String> name : jdbcNames.entrySet()) {
+                r2dbcNames.put(name.getValue().toLowerCase(Locale.ROOT), name.getKey());
+            }
+        }
+
+
+        static Driver of(String name) {
+
+            for (Driver driver : values()) {
+                for (String driverName : driver.names) {
+                    if (driverName.equalsIgnoreCase(name)) {
+                        return driver;
+                    }
+                }
+            }
+            return null;
+        }
+
+
+        static Driver of(DatabaseProduct product) {
+
+            for (Driver driver : values()) {
+                if (driver.product == product) {
+                    return driver;
+                }
+            }
+            return null;
+        }
+
+
+        /**
+         * Checks if the JDBC driver percent-decodes the values of its URL, so that they are percent-encoded in JDBC URLs.
+         */
+        boolean encodesJdbcValues() {
+
+            return this == POSTGRESQL || this == MYSQL || this == MARIADB;
+        }
+
+
+        void validateProtocol(String url, String protocol) {
+
+            if (this == H2 && protocol == null) {
+                throw new JdbcUrlParseException(url, "R2DBC H2 URLs require a protocol: mem, file, tcp or ssl");
+            }
+            if (protocol != null && !protocols.contains(protocol)) {
+                throw new JdbcUrlParseException(url, "Unsupported protocol for R2DBC driver " + names[0] + ": " + protocol);
+            }
+        }
+
+
+        void toJdbcOption(String url, String key, String value, Map<String, String> jdbcOptions) {
+
+            if (jdbcTimeoutKey != null && key.equals(CONNECT_TIMEOUT)) {
+                try {
+                    jdbcOptions.put(jdbcTimeoutKey, Long.toString(jdbcTimeoutUnit.convert(Duration.parse(value))));
+                } catch (DateTimeParseException e) {
+                    throw new JdbcUrlParseException(url, "Invalid duration for " + CONNECT_TIMEOUT + ": " + value, e);
+                }
+                return;
+            }
+            jdbcOptions.put(jdbcNames.getOrDefault(key, key), value);
+        }
+
+
+        void toR2dbcOption(String url, String key, String value, Map<String, String> r2dbcOptions) {
+
+            if (jdbcTimeoutKey != null && key.equalsIgnoreCase(jdbcTimeoutKey)) {
+                try {
+                    r2dbcOptions.put(CONNECT_TIMEOUT, Duration.of(Long.parseLong(value.trim()), jdbcTimeoutUnit.toChronoUnit()).toString());
+                } catch (NumberFormatException e) {
+                    throw new JdbcUrlParseException(url, "Invalid " + key + ": " + value, e);
+                }
+                return;
+            }
+            r2dbcOptions.put(r2dbcNames.getOrDefault(key.toLowerCase(Locale.ROOT), key), value);
+        }
+    }
+}
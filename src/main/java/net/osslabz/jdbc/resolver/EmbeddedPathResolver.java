@@ -0,0 +1,253 @@
+package net.osslabz.jdbc.resolver;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import net.osslabz.jdbc.DatabaseProduct;
+import net.osslabz.jdbc.H2Url;
+import net.osslabz.jdbc.JdbcProperty;
+import net.osslabz.jdbc.JdbcUrl;
+import net.osslabz.jdbc.JdbcUrlParser;
+import net.osslabz.jdbc.SQLiteUrl;
+
+
+/**
+ * Resolves the database name of embedded H2, HSQLDB, Derby and SQLite URLs to the canonical path of the database on the local file system, so that different URLs opening the same database can be detected.
+ *
+ * <p>Paths are resolved the way the vendors do it:
+ * <ul>
+ *   <li>H2: a leading '~' is the user home, relative paths are resolved against h2.baseDir if set; the path names the {@code .mv.db} file ({@code .h2.db} with MV_STORE=FALSE)</li>
+ *   <li>HSQLDB: a leading '~' is the user home; the path names the {@code .script} file</li>
+ *   <li>Derby: relative paths are resolved against derby.system.home; the path names the database directory</li>
+ *   <li>SQLite: the path names the database file as given</li>
+ * </ul>
+ * Other relative paths are resolved against the working directory. Symbolic links in the existing part of the path are resolved, the rest is normalized.
+ *
+ * <p>Results are cached by URL, the file system is only accessed on the first lookup of a URL. Call {@link #clear()} after moving databases or changing symbolic links.
+ *
+ * <p>Example:
+ * <pre>{@code
+ * EmbeddedPathResolver resolver = new EmbeddedPathResolver();
+ * Path a = resolver.resolve(JdbcUrlParser.parse("jdbc:h2:~/data/app"));
+ * Path b = resolver.resolve(JdbcUrlParser.parse("jdbc:h2:file:./data/app"));
+ * a.equals(b);  // true if the user home is /home/alice and h2.baseDir is /home/alice: both are /home/alice/data/app.mv.db
+ * }</pre>
+ *
+ * <p>The resolver is safe for concurrent use.
+ */
+public class EmbeddedPathResolver {
+
+    /**
+     * System property naming the Derby system directory.
+     */
+    public static final String DERBY_SYSTEM_HOME = "derby.system.home";
+
+    /**
+     * System property naming the H2 base directory.
+     */
+    public static final String H2_BASE_DIR = "h2.baseDir";
+
+    private final Path userHome;
+
+    private final Path workingDirectory;
+
+    private final Path derbySystemHome;
+
+    private final Path h2BaseDir;
+
+    private final Map<String, Optional<Path>> cache = new ConcurrentHashMap<>();
+
+
+    /**
+     * Creates a resolver using the user.home, user.dir, derby.system.home and h2.baseDir system properties. derby.system.home defaults to the working directory, like in Derby.
+     */
+    public EmbeddedPathResolver() {
+
+        this(Path.of(System.getProperty("user.home")), Path.of(System.getProperty("user.dir")),
+            Path.of(System.getProperty(DERBY_SYSTEM_HOME, System.getProperty("user.dir"))), h2BaseDirProperty());
+    }
+
+
+    /**
+     * Creates a resolver with explicit base directories and no H2 base directory.
+     *
+     * @param userHome         the directory '~' stands for
+     * @param workingDirectory the directory relative paths are resolved against
+     * @param derbySystemHome  the directory relative Derby database names are resolved against
+     */
+    public EmbeddedPathResolver(Path userHome, Path workingDirectory, Path derbySystemHome) {
+
+        this(userHome, workingDirectory, derbySystemHome, null);
+    }
+
+
+    /**
+     * Creates a resolver with explicit base directories.
+     *
+     * @param userHome         the directory '~' stands for
+     * @param workingDirectory the directory relative paths are resolved against
+     * @param derbySystemHome  the directory relative Derby database names are resolved against
+     * @param h2BaseDir        the directory relative H2 database names are resolved against, or null to use the working directory
+     */
+    public EmbeddedPathResolver(Path userHome, Path workingDirectory, Path derbySystemHome, Path h2BaseDir) {
+
+        if (userHome == null || workingDirectory == null || derbySystemHome == null) {
+            throw new IllegalArgumentException("Directories cannot be null");
+        }
+        this.userHome = userHome.toAbsolutePath();
+        this.workingDirectory = workingDirectory.toAbsolutePath();
+        this.derbySystemHome = this.workingDirectory.resolve(derbySystemHome);
+        this.h2BaseDir = h2BaseDir != null ? expandHome(h2BaseDir.toString(), this.workingDirectory) : this.workingDirectory;
+    }
+
+
+    private static Path h2BaseDirProperty() {
+
+        String baseDir = System.getProperty(H2_BASE_DIR);
+        return baseDir != null && !baseDir.isBlank() ? Path.of(baseDir) : null;
+    }
+
+
+    /**
+     * Resolves the database file or directory of a URL.
+     *
+     * @param url the parsed URL
+     * @return the canonical path, or null for network URLs, in-memory databases, databases in archives or on the class path, and other products
+     *
+     * @throws java.nio.file.InvalidPathException if the database name is not a valid path on this file system
+     */
+    public Path resolve(JdbcUrl url) {
+
+        if (url == null) {
+            throw new IllegalArgumentException("URL cannot be null");
+        }
+        if (url.isNetworkBased()) {
+            return null;
+        }
+        Optional<Path> path = cache.get(url.originalUrl());
+        if (path == null) {
+            path = Optional.ofNullable(locate(url)).map(EmbeddedPathResolver::canonicalize);
+            cache.putIfAbsent(url.originalUrl(), path);
+        }
+        return path.orElse(null);
+    }
+
+
+    /**
+     * Removes all cached paths.
+     */
+    public void clear() {
+
+        cache.clear();
+    }
+
+
+    private Path locate(JdbcUrl url) {
+
+        DatabaseProduct product = url.databaseProduct();
+        String name = url.databaseName();
+        String mode = url.getPropertyValue("MODE");
+        return switch (product) {
+            case H2 -> locateH2(url);
+            case HSQLDB -> "FILE".equals(mode) && !name.isEmpty() ? withSuffix(expandHome(name, workingDirectory), ".script") : null;
+            case DERBY -> "EMBEDDED".equals(mode) ? locateDerby(name) : null;
+            case SQLITE -> locateSQLite(url);
+            default -> null;
+        };
+    }
+
+
+    private Path locateH2(JdbcUrl url) {
+
+        H2Url h2Url = JdbcUrlParser.parseH2(url.originalUrl());
+        if (h2Url.isInMemory() || h2Url.fileSystems().contains(H2Url.FileSystem.ZIP) || h2Url.path().isEmpty()) {
+            return null;
+        }
+
+        String suffix = "FALSE".equalsIgnoreCase(findIgnoreCase(url, "MV_STORE")) ? ".h2.db" : ".mv.db";
+        return withSuffix(expandHome(h2Url.path(), h2BaseDir), suffix);
+    }
+
+
+    private Path locateDerby(String name) {
+
+        String path = name;
+        if (path.startsWith("classpath:") || path.startsWith("jar:")) {
+            return null;
+        }
+        if (path.startsWith("directory:")) {
+            path = path.substring("directory:".length());
+        }
+        return path.isEmpty() ? null : derbySystemHome.resolve(path);
+    }
+
+
+    private Path locateSQLite(JdbcUrl url) {
+
+        SQLiteUrl sqliteUrl = JdbcUrlParser.parseSQLite(url.originalUrl());
+        if (sqliteUrl.inMemory() || sqliteUrl.path().isEmpty()) {
+            // An empty name opens a private temporary database
+            return null;
+        }
+        return workingDirectory.resolve(sqliteUrl.path());
+    }
+
+
+    /**
+     * Resolves a path against a base directory, replacing a leading '~' with the user home.
+     */
+    private Path expandHome(String path, Path base) {
+
+        if (path.equals("~")) {
+            return userHome;
+        }
+        if (path.startsWith("~/") || path.startsWith("~\\")) {
+            return userHome.resolve(path.substring(2));
+        }
+        return base.resolve(path);
+    }
+
+
+    private static Path withSuffix(Path path, String suffix) {
+
+        Path fileName = path.getFileName();
+        return fileName == null ? null : path.resolveSibling(fileName + suffix);
+    }
+
+
+    private static String findIgnoreCase(JdbcUrl url, String key) {
+
+        String upperKey = key.toUpperCase(Locale.ROOT);
+        for (Map.Entry<String, JdbcProperty> property : url.properties().entrySet()) {
+            if (property.getKey().toUpperCase(Locale.ROOT).equals(upperKey)) {
+                return property.getValue().value();
+            }
+        }
+        return null;
+    }
+
+
+    /**
+     * Normalizes an absolute path and resolves symbolic links in its longest existing prefix, the part that doesn't exist yet is appended unchanged.
+     */
+    private static Path canonicalize(Path path) {
+
+        Path normalized = path.toAbsolutePath().normalize();
+        Path existing = normalized;
+        while (existing != null && !Files.exists(existing)) {
+            existing = existing.getParent();
+        }
+        if (existing == null) {
+            return normalized;
+        }
+        try {
+            return existing.toRealPath().resolve(existing.relativize(normalized));
+        } catch (IOException e) {
+            return normalized;
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package net.osslabz.jdbc.resolver;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.LongSupplier;
+import net.osslabz.jdbc.Host;
+
+
+/**
+ * Resolves SQL Server hosts that name an instance but no port (e.g. {@code db1\REPORTING}) to a host with the concrete TCP port, caching the instance-to-port mapping.
+ *
+ * <p>Resolved ports are cached for a fixed time to live, failed lookups are not cached. Concurrent lookups of the same instance are coalesced into a single {@link SqlBrowserClient} request, the other
+ * callers wait for its result. Hostnames and instance names are matched case-insensitively. The resolver is safe for concurrent use.
+ *
+ * <p>Example:
+ * <pre>{@code
+ * InstancePortResolver resolver = new InstancePortResolver(new UdpSqlBrowserClient(), Duration.ofMinutes(10));
+ * SQLServerUrl url = JdbcUrlParser.parseSQLServer("jdbc:sqlserver://db1\\REPORTING;databaseName=erp");
+ * Host server = resolver.resolve(url.server());  // db1\REPORTING:50123
+ * }</pre>
+ */
+public class InstancePortResolver {
+
+    private final SqlBrowserClient client;
+
+    private final long ttlNanos;
+
+    private final LongSupplier nanoClock;
+
+    private final Map<InstanceKey, CompletableFuture<CachedPort>> cache = new ConcurrentHashMap<>();
+
+
+    /**
+     * Creates a resolver.
+     *
+     * @param client the client used to look up ports that are not cached
+     * @param ttl    how long a resolved port is cached
+     */
+    public InstancePortResolver(SqlBrowserClient client, Duration ttl) {
+
+        this(client, ttl, System::nanoTime);
+    }
+
+
+    InstancePortResolver(SqlBrowserClient client, Duration ttl, LongSupplier nanoClock) {
+
+        if (client == null) {
+            throw new IllegalArgumentException("SQL Browser client cannot be null");
+        }
+        if (ttl == null || ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("TTL must be positive");
+        }
+        this.client = client;
+        this.ttlNanos = ttl.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+
+    /**
+     * Resolves the port of a host. Hosts with a port or without instance name are returned unchanged.
+     *
+     * @param host the host
+     * @return the host with the port of its instance
+     *
+     * @throws IOException if the port cannot be looked up
+     */
+    public Host resolve(Host host) throws IOException {
+
+        if (host == null) {
+            throw new IllegalArgumentException("Host cannot be null");
+        }
+        if (host.port() != null || host.instanceName() == null || host.instanceName().isBlank()) {
+            return host;
+        }
+        int port = lookup(host.hostname(), host.instanceName());
+        return new Host(host.hostname(), port, host.instanceName());
+    }
+
+
+    /**
+     * Removes the cached port of an instance, e.g. after connecting to it failed because the instance moved to a different port.
+     *
+     * @param host the host naming the instance
+     */
+    public void invalidate(Host host) {
+
+        if (host != null && host.instanceName() != null) {
+            cache.remove(InstanceKey.of(host.hostname(), host.instanceName()));
+        }
+    }
+
+
+    /**
+     * Removes all cached ports.
+     */
+    public void clear() {
+
+        cache.clear();
+    }
+
+
+    private int lookup(String hostname, String instanceName) throws IOException {
+
+        InstanceKey key = InstanceKey.of(hostname, instanceName);
+        while (true) {
+            CompletableFuture<CachedPort> future = cache.get(key);
+            if (future == null) {
+                CompletableFuture<CachedPort> pending = new CompletableFuture<>();
+                future = cache.putIfAbsent(key, pending);
+                if (future == null) {
+                    return lookupAndPublish(key, pending, hostname, instanceName);
+                }
+            }
+
+            CachedPort cached = await(future, instanceName);
+            if (cached.expiresAt() - nanoClock.getAsLong() > 0) {
+                return cached.port();
+            }
+            cache.remove(key, future);
+        }
+    }
+
+
+    private int lookupAndPublish(InstanceKey key, CompletableFuture<CachedPort> pending, String hostname, String instanceName) throws IOException {
+
+        try {
+            int port = client.lookupPort(hostname, instanceName);
+            pending.complete(new CachedPort(port, nanoClock.getAsLong() + ttlNanos));
+            return port;
+        } catch (IOException | RuntimeException e) {
+            cache.remove(key, pending);
+            pending.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+
+    private static CachedPort await(CompletableFuture<CachedPort> future, String instanceName) throws IOException {
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while resolving SQL Server instance " + instanceName);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IOException("Resolving SQL Server instance " + instanceName + " failed: " + cause.getMessage(), cause);
+        }
+    }
+
+
+    private record InstanceKey(String hostname, String instanceName) {
+
+        static InstanceKey of(String hostname, String instanceName) {
+
+            return new InstanceKey(hostname.toLowerCase(Locale.ROOT), instanceName.toUpperCase(Locale.ROOT));
+        }
+    }
+
+
+    private record CachedPort(int port, long expiresAt) {
+
+    }
+}
@@ -0,0 +1,24 @@
+package net.osslabz.jdbc.resolver;
+
+import java.io.IOException;
+
+
+/**
+ * Looks up the TCP port of a named SQL Server instance, e.g. through the SQL Server Browser service. Implementations must be safe for concurrent use.
+ *
+ * @see UdpSqlBrowserClient
+ */
+@FunctionalInterface
+public interface SqlBrowserClient {
+
+    /**
+     * Looks up the TCP port of an instance.
+     *
+     * @param hostname     the host running the instance
+     * @param instanceName the instance name
+     * @return the TCP port the instance listens on
+     *
+     * @throws IOException if the lookup fails, times out or the instance has no TCP endpoint
+     */
+    int lookupPort(String hostname, String instanceName) throws IOException;
+}
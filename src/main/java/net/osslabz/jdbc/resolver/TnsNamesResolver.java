@@ -0,0 +1,336 @@
+package net.osslabz.jdbc.resolver;
+
+import java.io.IOException;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.LongSupplier;
+
+
+/**
+ * Resolves Oracle net service names (TNS aliases) to connect descriptors using a tnsnames.ora file.
+ *
+ * <p>The file and all files it includes with {@code IFILE} are memory-mapped and parsed once into a map from alias to descriptor. Lookups are hash lookups; the modification times of the files are checked
+ * at most once per check interval, and the files are only read again when one of them changed. Aliases are matched case-insensitively, an alias defined more than once resolves to its last definition.
+ * Descriptors are returned without line breaks, comments and whitespace around parentheses and '='.
+ *
+ * <p>Example:
+ * <pre>{@code
+ * TnsNamesResolver resolver = new TnsNamesResolver(Path.of("/opt/oracle/network/admin/tnsnames.ora"));
+ * String descriptor = resolver.resolve("PRODDB");  // (DESCRIPTION=(ADDRESS=(PROTOCOL=TCP)(HOST=db1)(PORT=1521))...)
+ * }</pre>
+ *
+ * <p>The resolver is safe for concurrent use.
+ */
+public class TnsNamesResolver {
+
+    /**
+     * Name of the file in the TNS_ADMIN directory.
+     */
+    public static final String FILE_NAME = "tnsnames.ora";
+
+    /**
+     * Default interval between checks of the file modification times.
+     */
+    public static final Duration DEFAULT_CHECK_INTERVAL = Duration.ofSeconds(1);
+
+    private static final String INCLUDE_KEYWORD = "IFILE";
+
+    private final Path file;
+
+    private final long checkIntervalNanos;
+
+    private final LongSupplier nanoClock;
+
+    private volatile Snapshot snapshot;
+
+
+    /**
+     * Creates a resolver checking the file for changes at most once per second.
+     *
+     * @param file the tnsnames.ora file
+     */
+    public TnsNamesResolver(Path file) {
+
+        this(file, DEFAULT_CHECK_INTERVAL);
+    }
+
+
+    /**
+     * Creates a resolver.
+     *
+     * @param file          the tnsnames.ora file
+     * @param checkInterval the minimum time between checks of the file modification times, zero to check on every lookup
+     */
+    public TnsNamesResolver(Path file, Duration checkInterval) {
+
+        this(file, checkInterval, System::nanoTime);
+    }
+
+
+    TnsNamesResolver(Path file, Duration checkInterval, LongSupplier nanoClock) {
+
+        if (file == null) {
+            throw new IllegalArgumentException("File cannot be null");
+        }
+        if (checkInterval == null || checkInterval.isNegative()) {
+            throw new IllegalArgumentException("Check interval cannot be null or negative");
+        }
+        this.file = file;
+        this.checkIntervalNanos = checkInterval.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+
+    /**
+     * Creates a resolver for the tnsnames.ora file in the directory named by the oracle.net.tns_admin system property or, if not set, the TNS_ADMIN environment variable, like the Oracle JDBC driver.
+     *
+     * @return the resolver, or null if neither is set
+     */
+    public static TnsNamesResolver fromEnvironment() {
+
+        String tnsAdmin = System.getProperty("oracle.net.tns_admin");
+        if (tnsAdmin == null || tnsAdmin.isBlank()) {
+            tnsAdmin = System.getenv("TNS_ADMIN");
+        }
+        if (tnsAdmin == null || tnsAdmin.isBlank()) {
+            return null;
+        }
+        return new TnsNamesResolver(Path.of(tnsAdmin.trim()).resolve(FILE_NAME));
+    }
+
+
+    /**
+     * Returns the tnsnames.ora file.
+     *
+     * @return the file
+     */
+    public Path file() {
+
+        return file;
+    }
+
+
+    /**
+     * Looks up the connect descriptor of an alias.
+     *
+     * @param alias the net service name (case-insensitive)
+     * @return the descriptor, or null if the alias is not defined
+     *
+     * @throws IOException if the file or an included file cannot be read or is malformed
+     */
+    public String resolve(String alias) throws IOException {
+
+        if (alias == null || alias.isBlank()) {
+            throw new IllegalArgumentException("Alias cannot be null or blank");
+        }
+        return current().descriptors().get(alias.trim().toUpperCase(Locale.ROOT));
+    }
+
+
+    /**
+     * Returns all defined aliases in upper case.
+     *
+     * @return the aliases
+     *
+     * @throws IOException if the file or an included file cannot be read or is malformed
+     */
+    public Set<String> aliases() throws IOException {
+
+        return current().descriptors().keySet();
+    }
+
+
+    private Snapshot current() throws IOException {
+
+        Snapshot current = snapshot;
+        long now = nanoClock.getAsLong();
+        if (current != null && now - current.checkedAt() < checkIntervalNanos) {
+            return current;
+        }
+
+        synchronized (this) {
+            current = snapshot;
+            if (current != null && now - current.checkedAt() < checkIntervalNanos) {
+                return current;
+            }
+            if (current != null && !isModified(current)) {
+                current = new Snapshot(current.descriptors(), current.modificationTimes(), now);
+            } else {
+                current = load(now);
+            }
+            snapshot = current;
+            return current;
+        }
+    }
+
+
+    private static boolean isModified(Snapshot snapshot) throws IOException {
+
+        for (Map.Entry<Path, FileTime> entry : snapshot.modificationTimes().entrySet()) {
+            try {
+                if (!Files.getLastModifiedTime(entry.getKey()).equals(entry.getValue())) {
+                    return true;
+                }
+            } catch (NoSuchFileException e) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+
+    private Snapshot load(long now) throws IOException {
+
+        Map<String, String> descriptors = new HashMap<>();
+        Map<Path, FileTime> modificationTimes = new LinkedHashMap<>();
+        parseFile(file.toAbsolutePath().normalize(), descriptors, modificationTimes);
+        return new Snapshot(Map.copyOf(descriptors), Map.copyOf(modificationTimes), now);
+    }
+
+
+    private static void parseFile(Path path, Map<String, String> descriptors, Map<Path, FileTime> modificationTimes) throws IOException {
+
+        if (modificationTimes.containsKey(path)) {
+            // Included twice or an include cycle, the entries are already known
+            return;
+        }
+        // Take the time before reading, a change while reading is then noticed on the next check
+        modificationTimes.put(path, Files.getLastModifiedTime(path));
+
+        CharBuffer text;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            text = StandardCharsets.ISO_8859_1.decode(mapped);
+        }
+
+        int length = text.length();
+        int position = 0;
+        StringBuilder value = new StringBuilder();
+        while ((position = skipWhitespaceAndComments(text, position)) < length) {
+            int namesStart = position;
+            while (position < length && text.charAt(position) != '=' && text.charAt(position) != '(' && text.charAt(position) != '#') {
+                position++;
+            }
+            String names = text.subSequence(namesStart, position).toString().trim();
+            if (position == length || text.charAt(position) != '=' || names.isEmpty()) {
+                throw new IOException("Invalid " + path + ": expected 'alias = descriptor' at offset " + namesStart);
+            }
+
+            position = skipWhitespaceAndComments(text, position + 1);
+            value.setLength(0);
+            if (position < length && text.charAt(position) == '(') {
+                position = readDescriptor(text, position, value);
+                if (position < 0) {
+                    throw new IOException("Invalid " + path + ": unbalanced parentheses in entry " + names);
+                }
+            } else {
+                int valueStart = position;
+                while (position < length && text.charAt(position) != '\n' && text.charAt(position) != '\r' && text.charAt(position) != '#') {
+                    position++;
+                }
+                value.append(text, valueStart, position);
+            }
+
+            for (String name : names.split(",")) {
+                String alias = name.trim();
+                if (alias.equalsIgnoreCase(INCLUDE_KEYWORD)) {
+                    parseFile(resolveInclude(path, value.toString()), descriptors, modificationTimes);
+                } else if (!alias.isEmpty()) {
+                    descriptors.put(alias.toUpperCase(Locale.ROOT), value.toString().trim());
+                }
+            }
+        }
+    }
+
+
+    private static Path resolveInclude(Path includingFile, String value) {
+
+        String include = value.trim();
+        if (include.length() >= 2 && (include.startsWith("\"") && include.endsWith("\"") || include.startsWith("'") && include.endsWith("'"))) {
+            include = include.substring(1, include.length() - 1);
+        }
+        return includingFile.resolveSibling(include).toAbsolutePath().normalize();
+    }
+
+
+    /**
+     * Copies a parenthesized descriptor starting at {@code start}, dropping comments, line breaks and whitespace next to parentheses and '='.
+     *
+     * @return the position after the closing parenthesis, or -1 if the parentheses are unbalanced
+     */
+    private static int readDescriptor(CharSequence text, int start, StringBuilder descriptor) {
+
+        int depth = 0;
+        boolean pendingSpace = false;
+        for (int i = start; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '#') {
+                while (i < text.length() && text.charAt(i) != '\n') {
+                    i++;
+                }
+                pendingSpace = true;
+                continue;
+            }
+            if (Character.isWhitespace(c)) {
+                pendingSpace = true;
+                continue;
+            }
+
+            if (pendingSpace && descriptor.length() > 0 && !isStructural(descriptor.charAt(descriptor.length() - 1)) && !isStructural(c)) {
+                descriptor.append(' ');
+            }
+            pendingSpace = false;
+            descriptor.append(c);
+
+            if (c == '(') {
+                depth++;
+            } else if (c == ')' && --depth == 0) {
+                return i + 1;
+            }
+        }
+        return -1;
+    }
+
+
+    private static boolean isStructural(char c) {
+
+        return c == '(' || c == ')' || c == '=';
+    }
+
+
+    private static int skipWhitespaceAndComments(CharSequence text, int position) {
+
+        int length = text.length();
+        while (position < length) {
+            char c = text.charAt(position);
+            if (c == '#') {
+                while (position < length && text.charAt(position) != '\n') {
+                    position++;
+                }
+            } else if (Character.isWhitespace(c)) {
+                position++;
+            } else {
+                break;
+            }
+        }
+        return position;
+    }
+
+
+    private record Snapshot(Map<String, String> descriptors, Map<Path, FileTime> modificationTimes, long checkedAt) {
+
+    }
+}
@@ -0,0 +1,145 @@
+package net.osslabz.jdbc.resolver;
+
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+
+/**
+ * {@link SqlBrowserClient} speaking the SQL Server Resolution Protocol (MC-SQLR) over UDP: sends a CLNT_UCAST_INST request (0x04 followed by the instance name) to the SQL Server Browser and reads the
+ * tcp entry of the SVR_RESP reply (0x05, a two byte little-endian length and "key;value;" pairs such as {@code ServerName;DB1;InstanceName;REPORTING;tcp;50123;;}).
+ *
+ * <p>Each lookup uses its own socket, so the client is safe for concurrent use. There are no retries; wrap the client in an {@link InstancePortResolver} to cache results.
+ */
+public class UdpSqlBrowserClient implements SqlBrowserClient {
+
+    /**
+     * UDP port of the SQL Server Browser service.
+     */
+    public static final int DEFAULT_BROWSER_PORT = 1434;
+
+    /**
+     * Default time to wait for a reply.
+     */
+    public static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(1);
+
+    private static final byte CLNT_UCAST_INST = 0x04;
+
+    private static final byte SVR_RESP = 0x05;
+
+    private static final int MAX_INSTANCE_NAME_LENGTH = 32;
+
+    private static final int MAX_RESPONSE_LENGTH = 4096;
+
+    private final int browserPort;
+
+    private final int timeoutMillis;
+
+
+    /**
+     * Creates a client querying the SQL Server Browser on UDP port 1434 with a one second timeout.
+     */
+    public UdpSqlBrowserClient() {
+
+        this(DEFAULT_BROWSER_PORT, DEFAULT_TIMEOUT);
+    }
+
+
+    /**
+     * Creates a client.
+     *
+     * @param browserPort the UDP port of the SQL Server Browser
+     * @param timeout     the time to wait for a reply
+     */
+    public UdpSqlBrowserClient(int browserPort, Duration timeout) {
+
+        if (browserPort < 1 || browserPort > 65535) {
+            throw new IllegalArgumentException("Browser port must be between 1 and 65535");
+        }
+        if (timeout == null || timeout.isNegative() || timeout.isZero()) {
+            throw new IllegalArgumentException("Timeout must be positive");
+        }
+        this.browserPort = browserPort;
+        this.timeoutMillis = (int) Math.min(timeout.toMillis(), Integer.MAX_VALUE);
+    }
+
+
+    @Override
+    public int lookupPort(String hostname, String instanceName) throws IOException {
+
+        if (hostname == null || hostname.isBlank()) {
+            throw new IllegalArgumentException("Hostname cannot be null or blank");
+        }
+        byte[] request = encodeRequest(instanceName);
+
+        try (DatagramSocket socket = new DatagramSocket()) {
+            socket.setSoTimeout(timeoutMillis);
+            socket.connect(new InetSocketAddress(hostname, browserPort));
+            socket.send(new DatagramPacket(request, request.length));
+
+            byte[] response = new byte[MAX_RESPONSE_LENGTH];
+            DatagramPacket packet = new DatagramPacket(response, response.length);
+            socket.receive(packet);
+            return parseTcpPort(response, packet.getLength(), instanceName);
+        }
+    }
+
+
+    /**
+     * Encodes a CLNT_UCAST_INST request: 0x04, the instance name and a terminating zero byte.
+     */
+    static byte[] encodeRequest(String instanceName) {
+
+        if (instanceName == null || instanceName.isBlank()) {
+            throw new IllegalArgumentException("Instance name cannot be null or blank");
+        }
+        byte[] name = instanceName.getBytes(StandardCharsets.US_ASCII);
+        if (name.length > MAX_INSTANCE_NAME_LENGTH) {
+            throw new IllegalArgumentException("Instance name must not be longer than " + MAX_INSTANCE_NAME_LENGTH + " characters");
+        }
+
+        byte[] request = new byte[name.length + 2];
+        request[0] = CLNT_UCAST_INST;
+        System.arraycopy(name, 0, request, 1, name.length);
+        return request;
+    }
+
+
+    /**
+     * Extracts the TCP port from a SVR_RESP reply.
+     */
+    static int parseTcpPort(byte[] response, int length, String instanceName) throws IOException {
+
+        if (length < 3 || response[0] != SVR_RESP) {
+            throw new IOException("Invalid SQL Server Browser response for instance " + instanceName);
+        }
+        int size = (response[1] & 0xFF) | (response[2] & 0xFF) << 8;
+        String data = new String(response, 3, Math.min(size, length - 3), StandardCharsets.ISO_8859_1);
+
+        // key;value;key;value;... terminated by ";;"
+        int start = 0;
+        while (start < data.length()) {
+            int keyEnd = data.indexOf(';', start);
+            if (keyEnd < 0) {
+                break;
+            }
+            int valueEnd = data.indexOf(';', keyEnd + 1);
+            if (valueEnd < 0) {
+                valueEnd = data.length();
+            }
+            if (data.regionMatches(true, start, "tcp", 0, 3) && keyEnd - start == 3) {
+                String port = data.substring(keyEnd + 1, valueEnd).trim();
+                try {
+                    return Integer.parseInt(port);
+                } catch (NumberFormatException e) {
+                    throw new IOException("Invalid TCP port in SQL Server Browser response for instance " + instanceName + ": " + port, e);
+                }
+            }
+            start = valueEnd + 1;
+        }
+        throw new IOException("SQL Server instance " + instanceName + " has no TCP endpoint");
+    }
+}
@@ -0,0 +1,62 @@
+package net.osslabz.jdbc.parser;
+
+/**
+ * Finds all URL delimiters (';', '?', '&amp;', '=', '/', ',', '(' and ')') of a string in a single pass, so that parsers can split long property lists without rescanning.
+ *
+ * <p>This is the Java 21 variant of the multi-release jar. Long regions are scanned with the Vector API if the {@code jdk.incubator.vector} module was added to the JVM
+ * ({@code --add-modules jdk.incubator.vector}), otherwise and for short regions the scalar scanner is used.
+ */
+final class DelimiterScanner {
+
+    // Below this length the setup of the vector loop costs more than it saves
+    private static final int VECTOR_THRESHOLD = 64;
+
+    private static final boolean VECTORIZED = isModuleLoaded("jdk.incubator.vector");
+
+
+    private DelimiterScanner() {
+
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+
+    /**
+     * Finds the positions of all delimiters in a region of a string.
+     *
+     * @param value the string to scan
+     * @param from  the start index (inclusive)
+     * @param to    the end index (exclusive)
+     * @return the delimiter positions in ascending order
+     */
+    static int[] scan(String value, int from, int to) {
+
+        if (VECTORIZED && to - from >= VECTOR_THRESHOLD) {
+            // VectorDelimiterScanner is only loaded here, so the incubator classes are never linked if the module is absent
+            return VectorDelimiterScanner.scan(value, from, to);
+        }
+        return ScalarDelimiterScanner.scan(value, from, to);
+    }
+
+
+    /**
+     * Checks if the Vector API is used for scanning.
+     *
+     * @return true if the jdk.incubator.vector module is available
+     */
+    static boolean isVectorized() {
+
+        return VECTORIZED;
+    }
+
+
+    // ModuleLayer.findModule is implemented with a stream and would bootstrap lambdas on the first parse
+    private static boolean isModuleLoaded(String name) {
+
+        for (Module module : ModuleLayer.boot().modules()) {
+            if (name.equals(module.getName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,74 @@
+package net.osslabz.jdbc.parser;
+
+import java.util.Arrays;
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorSpecies;
+
+
+/**
+ * Vector API implementation of {@link DelimiterScanner}: compares a full vector of characters against all delimiters at once and turns the resulting mask into positions.
+ */
+final class VectorDelimiterScanner {
+
+    private static final VectorSpecies<Short> SPECIES = ShortVector.SPECIES_PREFERRED;
+
+
+    private VectorDelimiterScanner() {
+
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+
+    /**
+     * Finds the positions of all delimiters in a region of a string.
+     *
+     * @param value the string to scan
+     * @param from  the start index (inclusive)
+     * @param to    the end index (exclusive)
+     * @return the delimiter positions in ascending order
+     */
+    static int[] scan(String value, int from, int to) {
+
+        int length = to - from;
+        char[] chars = new char[length];
+        value.getChars(from, to, chars, 0);
+
+        int[] positions = new int[Math.max(8, length / 8)];
+        int count = 0;
+
+        int i = 0;
+        int upperBound = SPECIES.loopBound(length);
+        for (; i < upperBound; i += SPECIES.length()) {
+            ShortVector vector = ShortVector.fromCharArray(SPECIES, chars, i);
+            VectorMask<Short> mask = vector.eq((short) ';')
+                .or(vector.eq((short) '?'))
+                .or(vector.eq((short) '&'))
+                .or(vector.eq((short) '='))
+                .or(vector.eq((short) '/'))
+                .or(vector.eq((short) ','))
+                .or(vector.eq((short) '('))
+                .or(vector.eq((short) ')'));
+
+            long bits = mask.toLong();
+            while (bits != 0) {
+                if (count == positions.length) {
+                    positions = Arrays.copyOf(positions, count * 2);
+                }
+                positions[count++] = from + i + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+            }
+        }
+
+        // Tail shorter than a vector
+        for (; i < length; i++) {
+            if (ScalarDelimiterScanner.isDelimiter(chars[i])) {
+                if (count == positions.length) {
+                    positions = Arrays.copyOf(positions, count * 2);
+                }
+                positions[count++] = from + i;
+            }
+        }
+        return Arrays.copyOf(positions, count);
+    }
+}
@@ -0,0 +1,48 @@
+package net.osslabz.jdbc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
+
+
+/**
+ * Tests the classes loaded by the first parse in a fresh JVM.
+ */
+@DisabledInNativeImage
+class ColdStartTest {
+
+    @Test
+    void testOnlyParserOfParsedProductIsLoaded() throws Exception {
+
+        StartupBenchmark.Result result = StartupBenchmark.measure("jdbc:postgresql://db1,db2/orders?ssl=true");
+        List<String> libraryClasses = result.libraryClasses();
+
+        assertTrue(libraryClasses.contains("net.osslabz.jdbc.parser.PostgreSQLParser"));
+        List<String> otherParsers = libraryClasses.stream()
+            .filter(name -> name.startsWith("net.osslabz.jdbc.parser.") && name.endsWith("Parser"))
+            .filter(name -> !name.endsWith(".PostgreSQLParser") && !name.endsWith(".AbstractUrlParser") && !name.endsWith(".GrammarUrlParser")
+                && !name.endsWith(".UrlParser"))
+            .toList();
+        assertEquals(List.of(), otherParsers);
+    }
+
+
+    @Test
+    void testFirstParseDoesNotBootstrapLambdasOrRegex() throws Exception {
+
+        StartupBenchmark.Result result = StartupBenchmark.measure("jdbc:mysql://db1:3306,db2:3306/orders?useSSL=true");
+        List<String> loadedClasses = result.loadedClasses();
+
+        int firstLibraryClass = loadedClasses.indexOf("net.osslabz.jdbc.DatabaseProduct");
+        assertTrue(firstLibraryClass >= 0);
+        List<String> loadedByParse = loadedClasses.subList(firstLibraryClass, loadedClasses.size());
+
+        assertFalse(loadedByParse.contains("java.lang.invoke.InnerClassLambdaMetafactory"), "lambda bootstrapped by first parse");
+        assertFalse(loadedByParse.contains("java.lang.invoke.StringConcatFactory"), "string concatenation bootstrapped by first parse");
+        assertFalse(loadedByParse.contains("java.util.regex.Pattern"), "regex used by first parse");
+    }
+}
@@ -1,8 +1,11 @@
 package net.osslabz.jdbc;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.List;
 import org.junit.jupiter.api.Test;
 
 
@@ -122,4 +125,61 @@ class H2ParserTest {
         assertEquals("PostgreSQL", parsed.getPropertyValue("MODE"));
         assertEquals("TRUE", parsed.getPropertyValue("DATABASE_TO_LOWER"));
     }
+
+
+    @Test
+    void testH2Cluster() {
+
+        H2Url parsed = JdbcUrlParser.parseH2("jdbc:h2:tcp://node1:9101,node2:9101/~/db;AUTO_RECONNECT=TRUE");
+
+        assertEquals(H2Url.ConnectionMode.TCP, parsed.connectionMode());
+        assertEquals(List.of(Host.of("node1", 9101), Host.of("node2", 9101)), parsed.hosts());
+        assertEquals(parsed.hosts(), parsed.jdbcUrl().hosts());
+        assertTrue(parsed.isCluster());
+        assertEquals("~/db", parsed.path());
+        assertEquals("TRUE", parsed.jdbcUrl().getPropertyValue("AUTO_RECONNECT"));
+        assertEquals("TCP", parsed.jdbcUrl().getPropertyValue("MODE"));
+
+        assertThrows(JdbcUrlParseException.class, () -> JdbcUrlParser.parse("jdbc:h2:tcp:///~/db"));
+    }
+
+
+    @Test
+    void testH2FileSystemPrefixes() {
+
+        H2Url mapped = JdbcUrlParser.parseH2("jdbc:h2:split:28:nioMapped:~/db;MODE=MySQL");
+        assertEquals(H2Url.ConnectionMode.EMBEDDED, mapped.connectionMode());
+        assertEquals(H2Url.Storage.FILE, mapped.storage());
+        assertEquals(List.of(H2Url.FileSystem.SPLIT, H2Url.FileSystem.NIO_MAPPED), mapped.fileSystems());
+        assertTrue(mapped.isMemoryMapped());
+        assertFalse(mapped.isInMemory());
+        assertEquals("~/db", mapped.path());
+        assertEquals("split:28:nioMapped:~/db", mapped.jdbcUrl().databaseName());
+        assertEquals("MySQL", mapped.jdbcUrl().getPropertyValue("MODE"));
+
+        H2Url memFs = JdbcUrlParser.parseH2("jdbc:h2:memFS:test");
+        assertEquals(List.of(H2Url.FileSystem.MEM_FS), memFs.fileSystems());
+        assertTrue(memFs.isInMemory());
+        assertEquals("test", memFs.path());
+        assertEquals("memFS:test", memFs.jdbcUrl().databaseName());
+        assertEquals("memFS:test", JdbcUrlParser.parse("jdbc:h2:memFS:test").databaseName());
+        assertEquals("FILE", memFs.jdbcUrl().getPropertyValue("MODE"));
+
+        assertEquals(List.of(H2Url.FileSystem.ASYNC), JdbcUrlParser.parseH2("jdbc:h2:async:/data/db").fileSystems());
+        assertEquals(List.of(H2Url.FileSystem.ZIP), JdbcUrlParser.parseH2("jdbc:h2:zip:~/db.zip!/test").fileSystems());
+        assertEquals(List.of(H2Url.FileSystem.FILE), JdbcUrlParser.parseH2("jdbc:h2:file:/data/db").fileSystems());
+
+        H2Url remote = JdbcUrlParser.parseH2("jdbc:h2:ssl://db1/nio:~/prod");
+        assertEquals(H2Url.ConnectionMode.SSL, remote.connectionMode());
+        assertEquals(List.of(H2Url.FileSystem.NIO), remote.fileSystems());
+        assertEquals("~/prod", remote.path());
+        assertEquals("nio:~/prod", remote.jdbcUrl().databaseName());
+
+        H2Url remoteMemory = JdbcUrlParser.parseH2("jdbc:h2:tcp://db1/mem:shared");
+        assertEquals(H2Url.Storage.MEMORY, remoteMemory.storage());
+        assertEquals("shared", remoteMemory.path());
+        assertTrue(remoteMemory.isInMemory());
+        assertEquals("mem:shared", remoteMemory.jdbcUrl().databaseName());
+        assertEquals("mem:shared", JdbcUrlParser.parse("jdbc:h2:tcp://db1/mem:shared").databaseName());
+    }
 }
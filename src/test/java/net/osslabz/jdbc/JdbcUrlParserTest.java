@@ -7,6 +7,7 @@ import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.List;
 import org.junit.jupiter.api.Test;
 
 
@@ -151,4 +152,58 @@ class JdbcUrlParserTest {
         JdbcUrl sqlite = JdbcUrlParser.parse("jdbc:sqlite:test.db");
         assertNull(sqlite.getPrimaryHost());
     }
+
+
+    @Test
+    void testExtractPropertyMatchesFullParse() {
+
+        List<String> urls = List.of(
+            "jdbc:mysql://host1:3306,host2:3307/db?useSSL=true&user=admin&flag&useSSL=false",
+            "jdbc:mariadb://localhost/db",
+            "jdbc:postgresql://localhost:5432/db?ApplicationName=app&currentSchema= public ",
+            "jdbc:sqlserver://localhost\\SQLEXPRESS:1433;databaseName=mydb;encrypt=true;;",
+            "jdbc:oracle:thin:@localhost:1521:ORCL",
+            "jdbc:oracle:thin:@//localhost:1521/XEPDB1",
+            "jdbc:oracle:thin:@(DESCRIPTION=(ADDRESS=(PROTOCOL=TCP)(HOST=dbhost)(PORT=1521))(CONNECT_DATA=(SERVICE_NAME=svc)(SID=ORCL)))",
+            "jdbc:oracle:thin:@(description=(address=(host=dbhost)(port=1521))(connect_data=(sid=ORCL)))",
+            "jdbc:h2:mem:test;DB_CLOSE_DELAY=-1;MODE=MySQL",
+            "jdbc:h2:tcp://localhost:9092/~/test;MODE=PostgreSQL",
+            "jdbc:h2:~/test?user=sa",
+            "jdbc:hsqldb:hsql://localhost:9001/db;user=sa;MODE=x",
+            "jdbc:hsqldb:res:/db",
+            "jdbc:derby:memory:db;create=true",
+            "jdbc:derby://localhost:1527/db;user=app",
+            "jdbc:sqlite::memory:",
+            "jdbc:sqlite:test.db?foreign_keys=true&MODE=x",
+            "jdbc:sqlite:file:x.db?cache=shared&mode=ro#frag"
+        );
+        List<String> keys = List.of("useSSL", "user", "flag", "ApplicationName", "currentSchema", "databaseName", "encrypt",
+            "SID", "SERVICE_NAME", "DRIVER_TYPE", "DESCRIPTOR", "MODE", "DB_CLOSE_DELAY", "create", "foreign_keys", "cache", "mode", "missing", "");
+
+        for (String url : urls) {
+            JdbcUrl parsed = JdbcUrlParser.parse(url);
+            for (String key : keys) {
+                assertEquals(parsed.getPropertyValue(key), JdbcUrlParser.extractProperty(url, key), url + " / " + key);
+            }
+            assertEquals(parsed.hosts(), JdbcUrlParser.extractHosts(url), url);
+        }
+    }
+
+
+    @Test
+    void testExtractPropertyLastOccurrenceWins() {
+
+        assertEquals("false", JdbcUrlParser.extractProperty("jdbc:mysql://localhost/db?useSSL=true&useSSL=false", "useSSL"));
+        assertEquals("", JdbcUrlParser.extractProperty("jdbc:mysql://localhost/db?flag&useSSL=false", "flag"));
+        assertNull(JdbcUrlParser.extractProperty("jdbc:mysql://localhost/db", "useSSL"));
+    }
+
+
+    @Test
+    void testExtractPropertyInvalidArguments() {
+
+        assertThrows(IllegalArgumentException.class, () -> JdbcUrlParser.extractProperty(null, "user"));
+        assertThrows(IllegalArgumentException.class, () -> JdbcUrlParser.extractProperty("jdbc:mysql://localhost/db", null));
+        assertThrows(JdbcUrlParseException.class, () -> JdbcUrlParser.extractHosts("jdbc:unknown://localhost/db"));
+    }
 }
@@ -1,9 +1,14 @@
 package net.osslabz.jdbc;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import net.osslabz.jdbc.MySQLUrl.ConnectionType;
+import net.osslabz.jdbc.MySQLUrl.HostRole;
+
 import org.junit.jupiter.api.Test;
 
 
@@ -118,4 +123,123 @@ class MySQLParserTest {
         assertEquals("true", parsed.getPropertyValue("useSSL"));
         assertEquals("true", parsed.getPropertyValue("rewriteBatchedStatements"));
     }
+
+
+    @Test
+    void testMySQLSingleHostTopology() {
+
+        MySQLUrl parsed = JdbcUrlParser.parseMySQL("jdbc:mysql://localhost:3306/mydb");
+
+        assertEquals(ConnectionType.SINGLE, parsed.connectionType());
+        assertFalse(parsed.dnsSrv());
+        assertFalse(parsed.isLoadBalanced());
+        assertEquals(1, parsed.sources().size());
+        assertTrue(parsed.replicas().isEmpty());
+    }
+
+
+    @Test
+    void testMySQLMultiHostIsFailover() {
+
+        MySQLUrl parsed = JdbcUrlParser.parseMySQL("jdbc:mysql://host1:3306,host2:3307/mydb");
+
+        assertEquals(ConnectionType.FAILOVER, parsed.connectionType());
+        assertEquals(2, parsed.sources().size());
+    }
+
+
+    @Test
+    void testMySQLReplication() {
+
+        String url = "jdbc:mysql:replication://primary:3306,replica1:3306,replica2:3306/mydb?ha.loadBalanceStrategy=bestResponseTime";
+        MySQLUrl parsed = JdbcUrlParser.parseMySQL(url);
+
+        assertEquals(ConnectionType.REPLICATION, parsed.connectionType());
+        assertEquals("jdbc:mysql:replication:", parsed.jdbcUrl().protocol());
+        assertEquals("mydb", parsed.jdbcUrl().databaseName());
+        assertEquals(3, parsed.jdbcUrl().hosts().size());
+        assertEquals("primary", parsed.sources().get(0).host().hostname());
+        assertEquals(2, parsed.replicas().size());
+        assertEquals("replica2", parsed.replicas().get(1).host().hostname());
+        assertEquals("bestResponseTime", parsed.loadBalanceStrategy());
+    }
+
+
+    @Test
+    void testMySQLReplicationWithDeclaredRoles() {
+
+        String url = "jdbc:mysql:replication://address=(host=r1)(port=3306)(type=replica),"
+                     + "address=(host=s1)(port=3307)(type=source)(useSSL=true),(host=r2,port=3308)/mydb";
+        MySQLUrl parsed = JdbcUrlParser.parseMySQL(url);
+
+        assertEquals(1, parsed.sources().size());
+        assertEquals(Host.of("s1", 3307), parsed.sources().get(0).host());
+        assertEquals("true", parsed.sources().get(0).getPropertyValue("useSSL"));
+        assertEquals("source", parsed.sources().get(0).getPropertyValue("type"));
+        assertEquals(2, parsed.replicas().size());
+        assertEquals(Host.of("r1", 3306), parsed.replicas().get(0).host());
+        assertEquals(Host.of("r2", 3308), parsed.replicas().get(1).host());
+        assertEquals("random", parsed.loadBalanceStrategy());
+    }
+
+
+    @Test
+    void testMySQLLoadBalanceWithSublist() {
+
+        String url = "jdbc:mysql:loadbalance://[host1:3306,host2:3306],host3:3306/mydb?useSSL=true";
+        MySQLUrl parsed = JdbcUrlParser.parseMySQL(url);
+
+        assertEquals(ConnectionType.LOADBALANCE, parsed.connectionType());
+        assertTrue(parsed.isLoadBalanced());
+        assertEquals(3, parsed.hosts().size());
+        assertEquals("host2", parsed.hosts().get(1).host().hostname());
+        assertEquals("true", parsed.jdbcUrl().getPropertyValue("useSSL"));
+    }
+
+
+    @Test
+    void testMySQLDnsSrv() {
+
+        MySQLUrl parsed = JdbcUrlParser.parseMySQL("jdbc:mysql+srv://_mysql._tcp.example.com/mydb");
+
+        assertEquals(DatabaseProduct.MYSQL, parsed.jdbcUrl().databaseProduct());
+        assertEquals("jdbc:mysql+srv:", parsed.jdbcUrl().protocol());
+        assertTrue(parsed.dnsSrv());
+        assertEquals("_mysql._tcp.example.com", parsed.jdbcUrl().getPrimaryHost().hostname());
+
+        assertThrows(JdbcUrlParseException.class, () -> JdbcUrlParser.parse("jdbc:mysql+srv://host1,host2/mydb"));
+        assertThrows(JdbcUrlParseException.class, () -> JdbcUrlParser.parse("jdbc:mysql+srv://host1:3306/mydb"));
+        assertThrows(JdbcUrlParseException.class, () -> JdbcUrlParser.extractHosts("jdbc:mysql+srv://host1,host2/mydb"));
+        assertThrows(JdbcUrlParseException.class, () -> JdbcUrlParser.extractHosts("jdbc:mysql+srv://host1:3306/mydb"));
+    }
+
+
+    @Test
+    void testMySQLUserInfoAndIPv6() {
+
+        MySQLUrl parsed = JdbcUrlParser.parseMySQL("jdbc:mysql://admin:secret@[::1]:3306,[fe80::1]/mydb");
+
+        assertEquals(Host.of("[::1]", 3306), parsed.hosts().get(0).host());
+        assertEquals("admin", parsed.hosts().get(0).getPropertyValue("user"));
+        assertEquals("secret", parsed.hosts().get(0).getPropertyValue("password"));
+        assertEquals(Host.of("[fe80::1]"), parsed.hosts().get(1).host());
+    }
+
+
+    @Test
+    void testMariaDBSequential() {
+
+        MySQLUrl parsed = JdbcUrlParser.parseMySQL("jdbc:mariadb:sequential://host1,host2/mydb");
+
+        assertEquals(DatabaseProduct.MARIADB, parsed.jdbcUrl().databaseProduct());
+        assertEquals(ConnectionType.SEQUENTIAL, parsed.connectionType());
+        assertEquals(HostRole.SOURCE, parsed.hosts().get(1).role());
+    }
+
+
+    @Test
+    void testParseMySQLRejectsOtherProducts() {
+
+        assertThrows(JdbcUrlParseException.class, () -> JdbcUrlParser.parseMySQL("jdbc:postgresql://localhost/db"));
+    }
 }
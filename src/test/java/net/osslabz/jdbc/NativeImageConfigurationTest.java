@@ -0,0 +1,62 @@
+package net.osslabz.jdbc;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
+import org.slf4j.Logger;
+
+
+/**
+ * Tests the native-image configuration shipped with the library, so that a class added to build-time initialization doesn't capture a logger at image build time.
+ */
+@DisabledInNativeImage
+class NativeImageConfigurationTest {
+
+    private static final String CONFIGURATION = "META-INF/native-image/net.osslabz/jdbc-url-parser/native-image.properties";
+
+    private static final String BUILD_TIME_OPTION = "--initialize-at-build-time=";
+
+
+    @Test
+    void testBuildTimeInitializedClassesHaveNoLogger() throws Exception {
+
+        List<String> classNames = buildTimeInitializedClasses();
+        assertTrue(classNames.contains("net.osslabz.jdbc.DatabaseProduct"));
+        assertFalse(classNames.contains(JdbcUrlParser.class.getName()));
+
+        for (String className : classNames) {
+            Class<?> type = Class.forName(className, false, getClass().getClassLoader());
+            for (Field field : type.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers())) {
+                    assertFalse(Logger.class.isAssignableFrom(field.getType()), className + " has a static logger");
+                }
+            }
+        }
+    }
+
+
+    private List<String> buildTimeInitializedClasses() throws Exception {
+
+        Properties properties = new Properties();
+        try (InputStream in = getClass().getClassLoader().getResourceAsStream(CONFIGURATION)) {
+            assertNotNull(in, CONFIGURATION);
+            properties.load(in);
+        }
+
+        String args = properties.getProperty("Args");
+        int optionIndex = args.indexOf(BUILD_TIME_OPTION);
+        assertTrue(optionIndex >= 0);
+        String value = args.substring(optionIndex + BUILD_TIME_OPTION.length()).split("\\s")[0];
+
+        return Arrays.asList(value.split(","));
+    }
+}
@@ -1,8 +1,11 @@
 package net.osslabz.jdbc;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.List;
 import org.junit.jupiter.api.Test;
 
 
@@ -101,4 +104,67 @@ class OracleParserTest {
         assertEquals(DatabaseProduct.ORACLE, parsed.databaseProduct());
         assertEquals("mydb", parsed.databaseName());
     }
+
+
+    @Test
+    void testEasyConnectPlusMultipleHostsAndParameters() {
+
+        String url = "jdbc:oracle:thin:@tcps://h1:1522,h2:1522/svc?wallet_location=/w&retry_count=3";
+        OracleUrl parsed = JdbcUrlParser.parseOracle(url);
+
+        assertEquals("tcps", parsed.networkProtocol());
+        assertTrue(parsed.isSecure());
+        assertEquals(List.of(List.of(Host.of("h1", 1522), Host.of("h2", 1522))), parsed.addressLists());
+        assertEquals(List.of(Host.of("h1", 1522), Host.of("h2", 1522)), parsed.jdbcUrl().hosts());
+        assertEquals("svc", parsed.serviceName());
+        assertEquals("svc", parsed.jdbcUrl().databaseName());
+        assertEquals("/w", parsed.jdbcUrl().getPropertyValue("wallet_location"));
+        assertEquals(PropertySource.QUERY, parsed.jdbcUrl().getProperty("retry_count").source());
+        assertEquals("3", parsed.jdbcUrl().getPropertyValue("retry_count"));
+    }
+
+
+    @Test
+    void testEasyConnectPlusAddressLists() {
+
+        String url = "jdbc:oracle:thin:@h1,h2:1522;[::1],h4/sales.example.com:dedicated/inst1";
+        OracleUrl parsed = JdbcUrlParser.parseOracle(url);
+
+        assertNull(parsed.networkProtocol());
+        assertEquals(List.of(
+            List.of(Host.of("h1", 1522), Host.of("h2", 1522)),
+            List.of(Host.of("::1"), Host.of("h4"))), parsed.addressLists());
+        assertEquals(4, parsed.jdbcUrl().hosts().size());
+        assertEquals("sales.example.com", parsed.serviceName());
+        assertEquals("dedicated", parsed.jdbcUrl().getPropertyValue("SERVER"));
+        assertEquals("inst1", parsed.jdbcUrl().getPropertyValue("INSTANCE_NAME"));
+    }
+
+
+    @Test
+    void testShortFormsKeepTheirMeaning() {
+
+        OracleUrl sid = JdbcUrlParser.parseOracle("jdbc:oracle:thin:@localhost:1521:ORCL");
+        assertEquals("ORCL", sid.sid());
+        assertNull(sid.serviceName());
+        assertEquals(List.of(List.of(Host.of("localhost", 1521))), sid.addressLists());
+
+        OracleUrl service = JdbcUrlParser.parseOracle("jdbc:oracle:thin:@//db1/svc");
+        assertEquals(List.of(Host.of("db1")), service.jdbcUrl().hosts());
+        assertEquals("svc", service.serviceName());
+
+        OracleUrl descriptor = JdbcUrlParser.parseOracle("jdbc:oracle:thin:@(DESCRIPTION=(ADDRESS=(PROTOCOL=TCPS)(HOST=h1)(PORT=2484))(CONNECT_DATA=(SERVICE_NAME=svc)))");
+        assertEquals("tcps", descriptor.networkProtocol());
+        assertEquals(List.of(List.of(Host.of("h1", 2484))), descriptor.addressLists());
+    }
+
+
+    @Test
+    void testInvalidEasyConnect() {
+
+        assertThrows(JdbcUrlParseException.class, () -> JdbcUrlParser.parse("jdbc:oracle:thin:@h1,,h2/svc"));
+        assertThrows(JdbcUrlParseException.class, () -> JdbcUrlParser.parse("jdbc:oracle:thin:@h1:/svc"));
+        assertThrows(JdbcUrlParseException.class, () -> JdbcUrlParser.parse("jdbc:oracle:thin:@h1:15x2/svc"));
+        assertThrows(JdbcUrlParseException.class, () -> JdbcUrlParser.parse("jdbc:oracle:thin:@[::1/svc"));
+    }
 }
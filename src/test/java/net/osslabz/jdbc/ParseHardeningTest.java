@@ -0,0 +1,108 @@
+package net.osslabz.jdbc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+
+/**
+ * Tests for parsing untrusted URLs: input limits and bounded parse time on adversarial input.
+ */
+class ParseHardeningTest {
+
+    private static final List<String> PREFIXES = List.of(
+        "jdbc:mysql://", "jdbc:mysql:replication://", "jdbc:mariadb:sequential://", "jdbc:postgresql://", "jdbc:postgresql:",
+        "jdbc:oracle:thin:@", "jdbc:oracle:thin:@//", "jdbc:oracle:thin:@(DESCRIPTION=", "jdbc:sqlserver://", "jdbc:h2:tcp://",
+        "jdbc:h2:mem:", "jdbc:hsqldb:hsql://", "jdbc:derby://", "jdbc:derby:memory:", "jdbc:sqlite:");
+
+    // Characters with a meaning to at least one of the parsers
+    private static final String ALPHABET = ":/@;?&=,()[]\\.-_ aZ09\t";
+
+
+    @Test
+    void testLimitsAreEnforced() {
+
+        ParseLimits limits = new ParseLimits(100, 2, 2);
+
+        assertEquals(2, JdbcUrlParser.parse("jdbc:postgresql://h1,h2/db?a=1&b=2", limits).hosts().size());
+
+        JdbcUrlParseException tooLong = assertThrows(JdbcUrlParseException.class,
+            () -> JdbcUrlParser.parse("jdbc:postgresql://host/" + "x".repeat(100), limits));
+        assertTrue(tooLong.getMessage().contains("maximum length"));
+        assertTrue(tooLong.getJdbcUrl().length() < 100);
+
+        assertThrows(JdbcUrlParseException.class, () -> JdbcUrlParser.parse("jdbc:postgresql://h1,h2,h3/db", limits));
+        assertThrows(JdbcUrlParseException.class, () -> JdbcUrlParser.parse("jdbc:postgresql://h1/db?a=1&b=2&c=3", limits));
+        assertEquals("MEMORY", JdbcUrlParser.parse("jdbc:h2:mem:x", new ParseLimits(100, 0, 0)).getPropertyValue("MODE"));
+        assertThrows(JdbcUrlParseException.class, () -> JdbcUrlParser.parse("jdbc:h2:mem:x;a=1", new ParseLimits(100, 0, 0)));
+        assertThrows(IllegalArgumentException.class, () -> JdbcUrlParser.parse("jdbc:postgresql://h1/db", null));
+        assertThrows(IllegalArgumentException.class, () -> new ParseLimits(0, 1, 1));
+    }
+
+
+    @Test
+    void testAdversarialInputsParseInLinearTime() {
+
+        int length = 200_000;
+        List<String> urls = List.of(
+            "jdbc:oracle:thin:@" + "a".repeat(length),
+            "jdbc:oracle:thin:@" + ":".repeat(length),
+            "jdbc:oracle:thin:@" + "a:1".repeat(length / 3),
+            "jdbc:oracle:thin:@//" + "/".repeat(length) + ":1",
+            "jdbc:oracle:thin:@(DESCRIPTION=" + "(HOST=".repeat(length / 6),
+            "jdbc:oracle:thin:@(" + "(".repeat(length) + ")".repeat(length),
+            "jdbc:mysql://" + "[".repeat(length),
+            "jdbc:mysql://" + "(".repeat(length),
+            "jdbc:mysql://" + "h,".repeat(length / 2) + "/db",
+            "jdbc:postgresql://host/db?" + "&".repeat(length),
+            "jdbc:postgresql://host/db?" + "a=b&".repeat(length / 4),
+            "jdbc:sqlserver://host" + ";".repeat(length),
+            "jdbc:h2:mem:test" + ";a=b".repeat(length / 4),
+            "jdbc:sqlite:" + "?".repeat(length));
+
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+            for (String url : urls) {
+                try {
+                    JdbcUrlParser.parse(url, new ParseLimits(Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE));
+                } catch (JdbcUrlParseException e) {
+                    // Rejecting the input is fine, it just has to happen quickly
+                }
+            }
+        });
+    }
+
+
+    @Test
+    void testRandomInputsOnlyFailWithParseException() {
+
+        Random random = new Random(20240131L);
+
+        assertTimeoutPreemptively(Duration.ofSeconds(20), () -> {
+            for (int i = 0; i < 20_000; i++) {
+                String url = PREFIXES.get(random.nextInt(PREFIXES.size())) + randomString(random, random.nextInt(200));
+                try {
+                    JdbcUrl jdbcUrl = JdbcUrlParser.parse(url, ParseLimits.DEFAULT);
+                    assertTrue(jdbcUrl.hosts().size() <= ParseLimits.DEFAULT.maxHosts());
+                } catch (JdbcUrlParseException e) {
+                    // Expected for most random input
+                }
+            }
+        });
+    }
+
+
+    private static String randomString(Random random, int length) {
+
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        }
+        return builder.toString();
+    }
+}
@@ -1,7 +1,13 @@
 package net.osslabz.jdbc;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import net.osslabz.jdbc.PostgreSQLUrl.TargetServerType;
 
 import org.junit.jupiter.api.Test;
 
@@ -99,4 +105,71 @@ class PostgreSQLParserTest {
         assertEquals("[::1]", parsed.hosts().get(0).hostname());
         assertEquals(5432, parsed.hosts().get(0).port());
     }
+
+
+    @Test
+    void testPostgreSQLDatabaseOnlyDefaultsToLocalhost() {
+
+        JdbcUrl parsed = JdbcUrlParser.parse("jdbc:postgresql:mydb?user=postgres");
+
+        assertEquals(List.of(Host.of("localhost")), parsed.hosts());
+        assertEquals("mydb", parsed.databaseName());
+        assertEquals("postgres", parsed.getPropertyValue("user"));
+        assertEquals(parsed.hosts(), JdbcUrlParser.extractHosts("jdbc:postgresql:mydb?user=postgres"));
+    }
+
+
+    @Test
+    void testPostgreSQLSlashOnlyDefaultsToLocalhost() {
+
+        PostgreSQLUrl parsed = JdbcUrlParser.parsePostgreSQL("jdbc:postgresql:/");
+
+        assertEquals(List.of(Host.of("localhost", 5432)), parsed.hosts());
+        assertEquals("", parsed.jdbcUrl().databaseName());
+    }
+
+
+    @Test
+    void testPostgreSQLEmptyHostListDefaultsToLocalhost() {
+
+        JdbcUrl parsed = JdbcUrlParser.parse("jdbc:postgresql:///mydb");
+
+        assertEquals("localhost", parsed.getPrimaryHost().hostname());
+        assertEquals("mydb", parsed.databaseName());
+    }
+
+
+    @Test
+    void testPostgreSQLFailoverMetadata() {
+
+        String url = "jdbc:postgresql://pg1,pg2:5433/mydb?targetServerType=preferSlave&loadBalanceHosts=true&hostRecheckSeconds=30";
+        PostgreSQLUrl parsed = JdbcUrlParser.parsePostgreSQL(url);
+
+        assertEquals(List.of(Host.of("pg1", 5432), Host.of("pg2", 5433)), parsed.hosts());
+        assertNull(parsed.jdbcUrl().hosts().get(0).port());
+        assertTrue(parsed.isMultiHost());
+        assertEquals(TargetServerType.PREFER_SECONDARY, parsed.targetServerType());
+        assertTrue(parsed.loadBalanceHosts());
+        assertEquals(30, parsed.hostRecheckSeconds());
+    }
+
+
+    @Test
+    void testPostgreSQLFailoverDefaults() {
+
+        PostgreSQLUrl parsed = JdbcUrlParser.parsePostgreSQL("jdbc:postgresql://pg1/mydb");
+
+        assertFalse(parsed.isMultiHost());
+        assertEquals(TargetServerType.ANY, parsed.targetServerType());
+        assertFalse(parsed.loadBalanceHosts());
+        assertEquals(PostgreSQLUrl.DEFAULT_HOST_RECHECK_SECONDS, parsed.hostRecheckSeconds());
+    }
+
+
+    @Test
+    void testPostgreSQLInvalidFailoverProperties() {
+
+        assertThrows(JdbcUrlParseException.class, () -> JdbcUrlParser.parsePostgreSQL("jdbc:postgresql://pg1/db?targetServerType=leader"));
+        assertThrows(JdbcUrlParseException.class, () -> JdbcUrlParser.parsePostgreSQL("jdbc:postgresql://pg1/db?hostRecheckSeconds=soon"));
+    }
 }
@@ -1,8 +1,12 @@
 package net.osslabz.jdbc;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.List;
 import org.junit.jupiter.api.Test;
 
 
@@ -58,6 +62,7 @@ class SQLServerParserTest {
 
         assertEquals("localhost", parsed.hosts().get(0).hostname());
         assertEquals("SQLEXPRESS", parsed.hosts().get(0).instanceName());
+        assertNull(parsed.hosts().get(0).port());
         assertEquals("mydb", parsed.databaseName());
     }
 
@@ -107,4 +112,62 @@ class SQLServerParserTest {
         assertEquals("mydb", parsed.databaseName());
         assertEquals("true", parsed.getPropertyValue("integratedSecurity"));
     }
+
+
+    @Test
+    void testPropertyDrivenHostsWithFailoverPartner() {
+
+        String url = "jdbc:sqlserver://;serverName=db1;portNumber=1444;failoverPartner=db2;databaseName=erp";
+        SQLServerUrl parsed = JdbcUrlParser.parseSQLServer(url);
+
+        assertEquals(Host.of("db1", 1444), parsed.server());
+        assertEquals(Host.of("db2"), parsed.failoverPartner());
+        assertEquals(List.of(Host.of("db1", 1444), Host.of("db2")), parsed.jdbcUrl().hosts());
+        assertEquals(parsed.jdbcUrl().hosts(), JdbcUrlParser.extractHosts(url));
+        assertEquals("erp", parsed.jdbcUrl().databaseName());
+        assertFalse(parsed.multiSubnetFailover());
+    }
+
+
+    @Test
+    void testPropertiesOverrideHostCaseInsensitively() {
+
+        String url = "jdbc:sqlserver://ignored:1433;SERVERNAME=db1\\REPORTING;port=1500;MultiSubnetFailover=TRUE;DATABASE=erp";
+        SQLServerUrl parsed = JdbcUrlParser.parseSQLServer(url);
+
+        assertEquals(new Host("db1", 1500, "REPORTING"), parsed.server());
+        assertTrue(parsed.multiSubnetFailover());
+        assertFalse(parsed.hasFailoverPartner());
+        assertEquals("erp", parsed.jdbcUrl().databaseName());
+
+        SQLServerUrl instance = JdbcUrlParser.parseSQLServer("jdbc:sqlserver://db1;instanceName=REPORTING;portNumber=1500;portNumber=1501");
+        assertEquals(new Host("db1", 1501, "REPORTING"), instance.server());
+        assertFalse(instance.requiresInstanceResolution());
+
+        String synonym = "jdbc:sqlserver://;server=db9;databaseName=x";
+        assertEquals(Host.of("db9"), JdbcUrlParser.parseSQLServer(synonym).server());
+        assertEquals(List.of(Host.of("db9")), JdbcUrlParser.extractHosts(synonym));
+    }
+
+
+    @Test
+    void testInstanceWithoutPortRequiresResolution() {
+
+        SQLServerUrl parsed = JdbcUrlParser.parseSQLServer("jdbc:sqlserver://db1\\REPORTING;failoverPartner=db2\\MIRROR");
+
+        assertNull(parsed.server().port());
+        assertTrue(parsed.requiresInstanceResolution());
+        assertEquals(new Host("db2", null, "MIRROR"), parsed.failoverPartner());
+
+        assertEquals(Host.of("localhost"), JdbcUrlParser.parseSQLServer("jdbc:sqlserver://;databaseName=erp").server());
+    }
+
+
+    @Test
+    void testInvalidPortNumber() {
+
+        assertThrows(JdbcUrlParseException.class, () -> JdbcUrlParser.parseSQLServer("jdbc:sqlserver://db1;portNumber=abc"));
+        assertThrows(JdbcUrlParseException.class, () -> JdbcUrlParser.parseSQLServer("jdbc:sqlserver://db1;portNumber=70000"));
+        assertThrows(JdbcUrlParseException.class, () -> JdbcUrlParser.parseSQLServer("jdbc:postgresql://db1/erp"));
+    }
 }
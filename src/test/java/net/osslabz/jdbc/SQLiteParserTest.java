@@ -1,6 +1,8 @@
 package net.osslabz.jdbc;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.junit.jupiter.api.Test;
@@ -111,4 +113,50 @@ class SQLiteParserTest {
         assertEquals("shared", parsed.getPropertyValue("cache"));
         assertEquals("ro", parsed.getPropertyValue("mode"));
     }
+
+
+    @Test
+    void testSQLiteUriSharedMemory() {
+
+        SQLiteUrl named = JdbcUrlParser.parseSQLite("jdbc:sqlite:file:cache.db?mode=memory&cache=shared");
+        assertTrue(named.uriFilename());
+        assertEquals("cache.db", named.path());
+        assertTrue(named.inMemory());
+        assertTrue(named.isSharedMemoryDatabase());
+        assertEquals("MEMORY", named.jdbcUrl().getPropertyValue("MODE"));
+        assertEquals("MEMORY", JdbcUrlParser.extractProperty("jdbc:sqlite:file:cache.db?mode=memory&cache=shared", "MODE"));
+
+        SQLiteUrl anonymous = JdbcUrlParser.parseSQLite("jdbc:sqlite:file::memory:?cache=shared");
+        assertEquals(SQLiteUrl.MEMORY, anonymous.path());
+        assertTrue(anonymous.isSharedMemoryDatabase());
+
+        SQLiteUrl privateMemory = JdbcUrlParser.parseSQLite("jdbc:sqlite::memory:");
+        assertTrue(privateMemory.inMemory());
+        assertFalse(privateMemory.isSharedMemoryDatabase());
+        assertFalse(privateMemory.uriFilename());
+    }
+
+
+    @Test
+    void testSQLiteUriFileParameters() {
+
+        SQLiteUrl readOnly = JdbcUrlParser.parseSQLite("jdbc:sqlite:file:///data/my%20app.db?mode=ro&vfs=unix-dotfile#ignored");
+        assertEquals("/data/my app.db", readOnly.path());
+        assertEquals("/data/my app.db", readOnly.jdbcUrl().databaseName());
+        assertTrue(readOnly.readOnly());
+        assertFalse(readOnly.inMemory());
+        assertFalse(readOnly.sharedCache());
+        assertEquals("unix-dotfile", readOnly.vfs());
+        assertEquals("FILE", readOnly.jdbcUrl().getPropertyValue("MODE"));
+
+        assertEquals("/data/app.db", JdbcUrlParser.parseSQLite("jdbc:sqlite:file://localhost/data/app.db").path());
+        assertEquals("C:/data/app.db", JdbcUrlParser.parseSQLite("jdbc:sqlite:file:/C:/data/app.db").path());
+        assertEquals("data/%zz.db", JdbcUrlParser.parseSQLite("jdbc:sqlite:file:data/%zz.db").path());
+        assertTrue(JdbcUrlParser.parseSQLite("jdbc:sqlite:file:app.db?immutable=1").readOnly());
+
+        SQLiteUrl plain = JdbcUrlParser.parseSQLite("jdbc:sqlite:/data/app.db");
+        assertFalse(plain.uriFilename());
+        assertFalse(plain.readOnly());
+        assertNull(plain.vfs());
+    }
 }
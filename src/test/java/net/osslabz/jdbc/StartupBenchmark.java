@@ -0,0 +1,146 @@
+package net.osslabz.jdbc;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+
+/**
+ * Measures the cold-start cost of the parser: each measurement starts a fresh JVM that parses a single URL and reports the time to the first parse result and the classes it loaded.
+ *
+ * <p>Run after {@code mvn test-compile}, the optional argument is the number of JVMs started per database product (default 10):
+ * <pre>
+ * java -cp target/classes:target/test-classes:path/to/slf4j-api.jar net.osslabz.jdbc.StartupBenchmark 20
+ * </pre>
+ *
+ * <p>Logging backends are removed from the class path of the measured JVMs, so the numbers only contain the parser and the JDK.
+ */
+public class StartupBenchmark {
+
+    private static final String PROBE_ARGUMENT = "--probe";
+
+    private static final String FIRST_PARSE_PREFIX = "first-parse-nanos=";
+
+    private static final String CLASS_LOAD_TAG = "[class,load] ";
+
+
+    public static void main(String[] args) throws Exception {
+
+        if (args.length == 2 && PROBE_ARGUMENT.equals(args[0])) {
+            probe(args[1]);
+            return;
+        }
+
+        // Not a static field, the probe JVM must not initialize anything before the first parse
+        Map<DatabaseProduct, String> urls = new LinkedHashMap<>();
+        urls.put(DatabaseProduct.POSTGRESQL, "jdbc:postgresql://db1:5432,db2:5432/orders?targetServerType=primary&ssl=true");
+        urls.put(DatabaseProduct.MYSQL, "jdbc:mysql://db1:3306/orders?useSSL=true&serverTimezone=UTC");
+        urls.put(DatabaseProduct.ORACLE, "jdbc:oracle:thin:@//db1:1521/ORCLPDB1");
+        urls.put(DatabaseProduct.SQLSERVER, "jdbc:sqlserver://db1:1433;databaseName=orders;encrypt=true");
+        urls.put(DatabaseProduct.H2, "jdbc:h2:mem:orders;DB_CLOSE_DELAY=-1");
+
+        int runs = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+        System.out.printf("%-12s %14s %18s %14s %16s%n", "product", "jvm total ms", "first parse us", "classes", "library classes");
+        for (Map.Entry<DatabaseProduct, String> entry : urls.entrySet()) {
+            List<Result> results = new ArrayList<>();
+            for (int i = 0; i < runs; i++) {
+                results.add(measure(entry.getValue()));
+            }
+            Result last = results.get(results.size() - 1);
+            System.out.printf("%-12s %14.1f %18.1f %14d %16d%n", entry.getKey(),
+                median(results.stream().mapToLong(Result::wallNanos).toArray()) / 1_000_000.0,
+                median(results.stream().mapToLong(Result::firstParseNanos).toArray()) / 1_000.0,
+                last.loadedClasses().size(), last.libraryClasses().size());
+        }
+    }
+
+
+    /**
+     * Starts a fresh JVM that parses the URL once.
+     *
+     * @param url the URL to parse
+     * @return the measurement
+     */
+    static Result measure(String url) throws IOException, InterruptedException {
+
+        String classPath = Arrays.stream(System.getProperty("java.class.path").split(File.pathSeparator))
+            .filter(entry -> !entry.contains("logback"))
+            .collect(Collectors.joining(File.pathSeparator));
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(java, "-Xshare:auto", "-Xlog:class+load=info:stdout", "-cp", classPath, StartupBenchmark.class.getName(), PROBE_ARGUMENT, url)
+            .redirectErrorStream(true)
+            .start();
+
+        long firstParseNanos = -1;
+        List<String> loadedClasses = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int tagIndex = line.indexOf(CLASS_LOAD_TAG);
+                if (tagIndex >= 0) {
+                    String className = line.substring(tagIndex + CLASS_LOAD_TAG.length());
+                    int sourceIndex = className.indexOf(' ');
+                    loadedClasses.add(sourceIndex > 0 ? className.substring(0, sourceIndex) : className);
+                } else if (line.startsWith(FIRST_PARSE_PREFIX)) {
+                    firstParseNanos = Long.parseLong(line.substring(FIRST_PARSE_PREFIX.length()));
+                }
+            }
+        }
+        int exitCode = process.waitFor();
+        long wallNanos = System.nanoTime() - start;
+
+        if (exitCode != 0 || firstParseNanos < 0) {
+            throw new IllegalStateException("Startup probe failed with exit code " + exitCode);
+        }
+        return new Result(wallNanos, firstParseNanos, loadedClasses);
+    }
+
+
+    private static void probe(String url) {
+
+        long start = System.nanoTime();
+        JdbcUrlParser.parse(url);
+        System.out.println(FIRST_PARSE_PREFIX + (System.nanoTime() - start));
+    }
+
+
+    private static double median(long[] values) {
+
+        Arrays.sort(values);
+        return values[values.length / 2];
+    }
+
+
+    /**
+     * Result of a single fresh-JVM measurement.
+     *
+     * @param wallNanos       time from starting the JVM until it exited
+     * @param firstParseNanos time of the first parse inside the JVM, including class loading and initialization
+     * @param loadedClasses   names of all classes loaded by the JVM, in load order
+     */
+    record Result(long wallNanos, long firstParseNanos, List<String> loadedClasses) {
+
+        /**
+         * Gets the classes of this library that were loaded.
+         *
+         * @return the class names
+         */
+        List<String> libraryClasses() {
+
+            return loadedClasses.stream()
+                .filter(name -> name.startsWith("net.osslabz.jdbc.") && !name.startsWith(StartupBenchmark.class.getName()))
+                .toList();
+        }
+    }
+}
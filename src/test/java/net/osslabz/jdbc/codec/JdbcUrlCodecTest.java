@@ -0,0 +1,156 @@
+package net.osslabz.jdbc.codec;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import net.osslabz.jdbc.Host;
+import net.osslabz.jdbc.JdbcUrl;
+import net.osslabz.jdbc.JdbcUrlParser;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+
+/**
+ * Tests for the binary JDBC URL codec.
+ */
+class JdbcUrlCodecTest {
+
+    private static final List<String> URLS = List.of(
+        "jdbc:mysql://db1:3306,db2/orders?useSSL=true&serverTimezone=UTC",
+        "jdbc:postgresql://pg1,pg2:5433/billing?targetServerType=primary",
+        "jdbc:oracle:thin:@(DESCRIPTION=(ADDRESS=(PROTOCOL=TCP)(HOST=ora1)(PORT=1521))(CONNECT_DATA=(SERVICE_NAME=orcl)))",
+        "jdbc:sqlserver://mssql\\SQLEXPRESS:1433;databaseName=crm;encrypt=true",
+        "jdbc:h2:mem:test;DB_CLOSE_DELAY=-1",
+        "jdbc:derby:memory:demo;create=true",
+        "jdbc:sqlite::memory:",
+        "jdbc:mariadb://maria/ünïcödé?password=pa%C3%9F");
+
+    @TempDir
+    Path tempDir;
+
+
+    @Test
+    void testRoundTrip() throws IOException {
+
+        List<JdbcUrl> urls = URLS.stream().map(JdbcUrlParser::parse).toList();
+
+        byte[] snapshot = encode(urls, 16);
+
+        try (JdbcUrlReader reader = new JdbcUrlReader(ByteBuffer.wrap(snapshot))) {
+            assertEquals(urls, reader.readAll());
+            assertNull(reader.read());
+        }
+        try (JdbcUrlReader reader = new JdbcUrlReader(Channels.newChannel(new ByteArrayInputStream(snapshot)))) {
+            assertEquals(urls, reader.readAll());
+        }
+    }
+
+
+    @Test
+    void testRoundTripsAnyPort() throws IOException {
+
+        List<JdbcUrl> urls = new ArrayList<>();
+        for (int port : new int[] {0, -1, 65535, Integer.MAX_VALUE, Integer.MIN_VALUE}) {
+            JdbcUrl parsed = JdbcUrlParser.parse("jdbc:postgresql://db1/orders");
+            urls.add(new JdbcUrl(parsed.originalUrl(), parsed.databaseProduct(), parsed.protocol(), List.of(Host.of("db1", port), Host.of("db2")), parsed.databaseName(),
+                parsed.properties()));
+        }
+        urls.add(JdbcUrlParser.parse("jdbc:mysql://db1/after"));
+
+        try (JdbcUrlReader reader = new JdbcUrlReader(ByteBuffer.wrap(encode(urls, 16)))) {
+            assertEquals(urls, reader.readAll());
+        }
+    }
+
+
+    @Test
+    void testDictionaryKeepsSnapshotsSmall() throws IOException {
+
+        List<JdbcUrl> urls = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            urls.add(JdbcUrlParser.parse("jdbc:postgresql://db-" + (i % 10) + ".example.com:5432/app" + i + "?sslmode=require&ApplicationName=orders"));
+        }
+
+        byte[] snapshot = encode(urls, 64 * 1024);
+        int urlCharacters = urls.stream().mapToInt(url -> url.originalUrl().length()).sum();
+
+        // The original URL is always kept, everything else is mostly dictionary references
+        assertTrue(snapshot.length < urlCharacters * 1.3, snapshot.length + " bytes for " + urlCharacters + " URL characters");
+    }
+
+
+    @Test
+    void testStreamsThroughFileChannel() throws IOException {
+
+        Path file = tempDir.resolve("inventory.bin");
+        List<JdbcUrl> urls = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            urls.add(JdbcUrlParser.parse("jdbc:mysql://host" + i + ":3306/db?useSSL=" + (i % 2 == 0) + "&comment=" + "x".repeat(i % 200)));
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+             JdbcUrlWriter writer = new JdbcUrlWriter(channel, 1024)) {
+            for (JdbcUrl url : urls) {
+                writer.write(url);
+            }
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+             JdbcUrlReader reader = new JdbcUrlReader(channel)) {
+            assertEquals(urls, reader.readAll());
+        }
+    }
+
+
+    @Test
+    void testRejectsInvalidSnapshots() throws IOException {
+
+        assertThrows(IOException.class, () -> new JdbcUrlReader(ByteBuffer.wrap("not a snapshot".getBytes())));
+
+        byte[] snapshot = encode(List.of(JdbcUrlParser.parse(URLS.get(0))), 64);
+        byte[] unsupportedVersion = snapshot.clone();
+        unsupportedVersion[4] = 99;
+        assertThrows(IOException.class, () -> new JdbcUrlReader(ByteBuffer.wrap(unsupportedVersion)));
+
+        byte[] truncated = Arrays.copyOf(snapshot, snapshot.length - 10);
+        JdbcUrlReader reader = new JdbcUrlReader(Channels.newChannel(new ByteArrayInputStream(truncated)));
+        assertThrows(EOFException.class, reader::read);
+
+        byte[] corrupt = snapshot.clone();
+        corrupt[6] = 42;
+        assertThrows(IOException.class, () -> new JdbcUrlReader(ByteBuffer.wrap(corrupt)).read());
+
+        // Header, record marker and product followed by a URL length of almost 2 GB
+        byte[] corruptLength = Arrays.copyOf(snapshot, 17);
+        System.arraycopy(new byte[] {(byte) 0xFE, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07}, 0, corruptLength, 7, 5);
+        JdbcUrlReader channelReader = new JdbcUrlReader(Channels.newChannel(new ByteArrayInputStream(corruptLength)));
+        assertThrows(EOFException.class, channelReader::read);
+    }
+
+
+    private static byte[] encode(List<JdbcUrl> urls, int bufferSize) throws IOException {
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JdbcUrlWriter writer = new JdbcUrlWriter(Channels.newChannel(out), bufferSize)) {
+            for (JdbcUrl url : urls) {
+                writer.write(url);
+            }
+        }
+        return out.toByteArray();
+    }
+}
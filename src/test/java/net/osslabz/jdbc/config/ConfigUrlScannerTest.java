@@ -0,0 +1,152 @@
+package net.osslabz.jdbc.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import net.osslabz.jdbc.DatabaseProduct;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+
+/**
+ * Tests for scanning configuration files for datasource URLs.
+ */
+class ConfigUrlScannerTest {
+
+    @TempDir
+    Path directory;
+
+
+    @Test
+    void testProperties() throws IOException {
+
+        Path file = write("application.properties", """
+            # primary
+            spring.datasource.url=jdbc:postgresql://db1:5432/orders?ssl=true
+            spring.datasource.username = app
+            reporting.hikari.jdbc-url : jdbc:mysql://rep1/\\
+                reports
+            ! legacy
+            legacy.url jdbc:derby://old:1527/legacy
+            server.port=8080
+            """);
+
+        List<ConfigUrl> urls = new ConfigUrlScanner().scanFile(file);
+
+        assertEquals(3, urls.size());
+        assertEquals("spring.datasource.url", urls.get(0).key());
+        assertEquals(2, urls.get(0).line());
+        assertEquals(DatabaseProduct.POSTGRESQL, urls.get(0).jdbcUrl().databaseProduct());
+        assertEquals("reporting.hikari.jdbc-url", urls.get(1).key());
+        assertEquals(4, urls.get(1).line());
+        assertEquals("reports", urls.get(1).jdbcUrl().databaseName());
+        assertEquals(7, urls.get(2).line());
+        assertEquals(DatabaseProduct.DERBY, urls.get(2).jdbcUrl().databaseProduct());
+    }
+
+
+    @Test
+    void testYaml() throws IOException {
+
+        Path file = write("application.yml", """
+            spring:
+              datasource:
+                url: "jdbc:h2:mem:test;DB_CLOSE_DELAY=-1"  # in memory
+                username: sa
+            app:
+              datasources:
+              - name: orders
+                url: 'jdbc:postgresql://db1/orders'
+              - name: billing
+                connection:
+                  jdbc-url: jdbc:sqlserver://db2;databaseName=billing
+              fallbacks:
+                - jdbc:mysql://fb1/app
+            description: |
+              jdbc:mysql://not-a-datasource/x
+            ---
+            spring.datasource.url: jdbc:oracle:thin:@db3:1521/prod
+            """);
+
+        List<ConfigUrl> urls = new ConfigUrlScanner().scanFile(file);
+
+        assertEquals(List.of("spring.datasource.url", "app.datasources[0].url", "app.datasources[1].connection.jdbc-url", "app.fallbacks[0]", "spring.datasource.url"),
+            urls.stream().map(ConfigUrl::key).toList());
+        assertEquals(List.of(3, 8, 11, 13, 17), urls.stream().map(ConfigUrl::line).toList());
+        assertTrue(urls.stream().allMatch(ConfigUrl::isParsed));
+        assertEquals("test", urls.get(0).jdbcUrl().databaseName());
+        assertEquals("billing", urls.get(2).jdbcUrl().databaseName());
+    }
+
+
+    @Test
+    void testDotenvAndPlaceholders() throws IOException {
+
+        Path file = write(".env.production", """
+            export JDBC_DATABASE_URL="jdbc:postgresql://${DB_HOST}:5432/app"
+            SPRING_DATASOURCE_URL=${DATASOURCE_URL}
+            CACHE_JDBC_URL='jdbc:h2:mem:${CACHE_NAME:-cache}'  # defaulted
+            OTHER=jdbc:nonsense
+            """);
+
+        List<ConfigUrl> unresolved = new ConfigUrlScanner().scanFile(file);
+        assertEquals(ConfigUrl.Status.UNRESOLVED, unresolved.get(0).status());
+        assertEquals("jdbc:postgresql://${DB_HOST}:5432/app", unresolved.get(0).value());
+        assertNull(unresolved.get(0).jdbcUrl());
+        assertEquals(ConfigUrl.Status.UNRESOLVED, unresolved.get(1).status());
+        assertEquals("jdbc:h2:mem:cache", unresolved.get(2).value());
+        assertEquals(ConfigUrl.Status.INVALID, unresolved.get(3).status());
+
+        List<ConfigUrl> resolved = new ConfigUrlScanner(Map.of("DB_HOST", "db9", "DATASOURCE_URL", "jdbc:mysql://db8/app")).scanFile(file);
+        assertEquals("db9", resolved.get(0).jdbcUrl().getPrimaryHost().hostname());
+        assertEquals(DatabaseProduct.MYSQL, resolved.get(1).jdbcUrl().databaseProduct());
+    }
+
+
+    @Test
+    void testScanTreeInParallel() throws IOException {
+
+        for (int i = 0; i < 50; i++) {
+            write("app" + i + "/application.properties", "spring.datasource.url=jdbc:postgresql://db" + i + "/app\n");
+        }
+        write("app0/readme.txt", "url=jdbc:mysql://ignored/x\n");
+
+        List<ConfigUrl> urls = new ConfigUrlScanner().scanTree(directory);
+
+        assertEquals(50, urls.size());
+        assertTrue(urls.stream().allMatch(ConfigUrl::isParsed));
+        assertEquals(directory.resolve("app0/application.properties"), urls.get(0).source());
+    }
+
+
+    @Test
+    void testUrlKeysAndPlaceholders() {
+
+        assertTrue(ConfigUrlScanner.isUrlKey("SPRING_DATASOURCE_URL"));
+        assertTrue(ConfigUrlScanner.isUrlKey("spring.datasource.hikari.jdbcUrl"));
+        assertTrue(ConfigUrlScanner.isUrlKey("ORDERS_JDBC_URL"));
+        assertTrue(ConfigUrlScanner.isUrlKey("app.orders.datasource.url"));
+        assertFalse(ConfigUrlScanner.isUrlKey("server.url"));
+
+        ConfigUrlScanner scanner = new ConfigUrlScanner(Map.of("HOST", "db1"));
+        assertEquals("jdbc:mysql://db1:3306/x", scanner.resolvePlaceholders("jdbc:mysql://${HOST}:${PORT:3306}/x"));
+        assertNull(scanner.resolvePlaceholders("jdbc:mysql://${MISSING}/x"));
+        assertNull(scanner.resolvePlaceholders("jdbc:mysql://${A:${HOST}}/x"));
+        assertNull(scanner.resolvePlaceholders("jdbc:mysql://${HOST/x"));
+    }
+
+
+    private Path write(String name, String content) throws IOException {
+
+        Path file = directory.resolve(name);
+        Files.createDirectories(file.getParent());
+        return Files.writeString(file, content);
+    }
+}
@@ -0,0 +1,108 @@
+package net.osslabz.jdbc.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Map;
+import java.util.Properties;
+import net.osslabz.jdbc.JdbcUrl;
+import net.osslabz.jdbc.JdbcUrlParser;
+import net.osslabz.jdbc.PropertySource;
+import org.junit.jupiter.api.Test;
+
+
+/**
+ * Tests for assembling driver properties from URL properties and external layers.
+ */
+class DriverPropertiesAssemblerTest {
+
+    private final DriverPropertiesAssembler assembler = new DriverPropertiesAssembler(
+        PropertyLayer.of("pool-defaults", Map.of("loginTimeout", "10", "encrypt", "false", "applicationName", "pool")),
+        PropertyLayer.url(PropertySource.PATH, PropertySource.QUERY),
+        PropertyLayer.of("environment", Map.of("encrypt", "true")));
+
+
+    @Test
+    void testPrecedence() {
+
+        JdbcUrl url = JdbcUrlParser.parse("jdbc:sqlserver://db1:1433;databaseName=orders;loginTimeout=30;encrypt=false");
+
+        DriverProperties properties = assembler.assemble(url, Map.of("user", "app", "loginTimeout", "5"));
+
+        assertEquals("5", properties.get("loginTimeout"));
+        assertEquals(DriverPropertiesAssembler.OVERRIDES, properties.getLayer("loginTimeout"));
+        assertEquals("true", properties.get("encrypt"));
+        assertEquals("environment", properties.getLayer("encrypt"));
+        assertEquals("orders", properties.get("databaseName"));
+        assertEquals(PropertyLayer.URL, properties.getLayer("databaseName"));
+        assertEquals("pool", properties.get("applicationName"));
+        assertEquals("app", properties.get("user"));
+        assertEquals(5, properties.asMap().size());
+    }
+
+
+    @Test
+    void testUnlistedSourcesAreLeftOut() {
+
+        JdbcUrl url = JdbcUrlParser.parse("jdbc:h2:tcp://db1:9092/~/orders;DB_CLOSE_DELAY=-1");
+        DriverPropertiesAssembler pathOnly = new DriverPropertiesAssembler(PropertyLayer.url(PropertySource.PATH));
+
+        DriverProperties properties = pathOnly.assemble(url);
+
+        assertEquals(Map.of("DB_CLOSE_DELAY", "-1"), properties.asMap());
+        assertNull(properties.get("MODE"));
+    }
+
+
+    @Test
+    void testResultsAreCachedByUrlAndOverrides() {
+
+        DriverProperties first = assembler.assemble(JdbcUrlParser.parse("jdbc:postgresql://db1/orders?ssl=true"), Map.of("user", "app"));
+        DriverProperties second = assembler.assemble(JdbcUrlParser.parse("jdbc:postgresql://db1/orders?ssl=true"), Map.of("user", "app"));
+        DriverProperties otherUser = assembler.assemble(JdbcUrlParser.parse("jdbc:postgresql://db1/orders?ssl=true"), Map.of("user", "batch"));
+
+        assertSame(first, second);
+        assertNotSame(first, otherUser);
+        assertEquals(2, assembler.cacheSize());
+
+        assembler.clear();
+        assertEquals(0, assembler.cacheSize());
+        assertEquals(first, assembler.assemble(JdbcUrlParser.parse("jdbc:postgresql://db1/orders?ssl=true"), Map.of("user", "app")));
+    }
+
+
+    @Test
+    void testPropertiesObjects() {
+
+        DriverProperties properties = assembler.assemble(JdbcUrlParser.parse("jdbc:mysql://db1/orders?useSSL=true"));
+
+        Properties shared = properties.asProperties();
+        assertSame(shared, properties.asProperties());
+        assertEquals("true", shared.getProperty("useSSL"));
+        assertThrows(UnsupportedOperationException.class, () -> shared.setProperty("useSSL", "false"));
+        assertThrows(UnsupportedOperationException.class, () -> shared.entrySet().clear());
+        assertThrows(UnsupportedOperationException.class, () -> shared.keySet().remove("useSSL"));
+
+        Properties copy = properties.toProperties();
+        copy.setProperty("useSSL", "false");
+        assertEquals("false", copy.getProperty("useSSL"));
+        assertEquals("true", shared.getProperty("useSSL"));
+        assertEquals(shared.size(), properties.asMap().size());
+    }
+
+
+    @Test
+    void testValidation() {
+
+        assertThrows(IllegalArgumentException.class, DriverPropertiesAssembler::new);
+        assertThrows(IllegalArgumentException.class,
+            () -> new DriverPropertiesAssembler(PropertyLayer.url(PropertySource.QUERY), PropertyLayer.url(PropertySource.QUERY, PropertySource.PATH)));
+        assertThrows(IllegalArgumentException.class, () -> PropertyLayer.of(" ", Map.of()));
+        JdbcUrl url = JdbcUrlParser.parse("jdbc:mysql://db1/orders");
+        assertThrows(IllegalArgumentException.class, () -> assembler.assemble(url, null));
+        assertThrows(IllegalArgumentException.class, () -> assembler.assemble(null));
+    }
+}
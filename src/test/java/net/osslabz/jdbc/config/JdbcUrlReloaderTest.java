@@ -0,0 +1,130 @@
+package net.osslabz.jdbc.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import net.osslabz.jdbc.Host;
+import net.osslabz.jdbc.JdbcUrl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+
+/**
+ * Tests for reloading datasource configuration files.
+ */
+class JdbcUrlReloaderTest {
+
+    @TempDir
+    Path tempDir;
+
+
+    @Test
+    void testInitialLoadPublishesAddedDatasources() throws Exception {
+
+        Path file = tempDir.resolve("datasources.properties");
+        Files.writeString(file, "orders=jdbc:postgresql://db1/orders\nname=not a url\n");
+
+        try (JdbcUrlReloader reloader = new JdbcUrlReloader(changes -> { })) {
+            List<DatasourceChange> changes = reloader.watch(file);
+
+            assertEquals(1, changes.size());
+            assertEquals(DatasourceChange.Kind.ADDED, changes.get(0).kind());
+            assertEquals("orders", changes.get(0).name());
+            assertEquals(List.of(Host.of("db1")), changes.get(0).addedHosts());
+            assertEquals(Set.of("orders"), reloader.datasources().keySet());
+        }
+    }
+
+
+    @Test
+    void testFirstLoadedFileWinsDuplicateNames() throws Exception {
+
+        Path first = tempDir.resolve("z-first.properties");
+        Path second = tempDir.resolve("a-second.properties");
+        Files.writeString(first, "orders=jdbc:postgresql://db1/orders\n");
+        Files.writeString(second, "orders=jdbc:postgresql://db2/orders\nbilling=jdbc:postgresql://db2/billing\n");
+
+        try (JdbcUrlReloader reloader = new JdbcUrlReloader(changes -> { })) {
+            reloader.watch(first);
+            reloader.watch(second);
+
+            assertEquals(List.of(Host.of("db1")), reloader.datasources().get("orders").hosts());
+            assertEquals(Set.of("orders", "billing"), reloader.datasources().keySet());
+            assertEquals(List.of(Host.of("db2")), reloader.datasources(second).get("orders").hosts());
+
+            Files.writeString(first, "orders=jdbc:postgresql://db3/orders\n");
+            reloader.reload(first);
+            assertEquals(List.of(Host.of("db3")), reloader.datasources().get("orders").hosts());
+        }
+    }
+
+
+    @Test
+    void testReloadOnlyReparsesChangedUrls() throws Exception {
+
+        Path file = tempDir.resolve("datasources.properties");
+        Files.writeString(file, "orders=jdbc:postgresql://db1/orders\nbilling=jdbc:mysql://db2/billing?useSSL=false\nlegacy=jdbc:h2:mem:legacy\n");
+
+        try (JdbcUrlReloader reloader = new JdbcUrlReloader(changes -> { })) {
+            reloader.watch(file);
+            JdbcUrl orders = reloader.datasources().get("orders");
+
+            Files.writeString(file, "orders=jdbc:postgresql://db1/orders\nbilling=jdbc:mysql://db2,db3/billing?useSSL=true\n");
+            List<DatasourceChange> changes = reloader.reload(file);
+
+            assertEquals(2, changes.size());
+            DatasourceChange billing = changes.get(0);
+            assertEquals(DatasourceChange.Kind.CHANGED, billing.kind());
+            assertEquals(List.of(Host.of("db3")), billing.addedHosts());
+            assertTrue(billing.removedHosts().isEmpty());
+            assertEquals(Set.of("useSSL"), billing.changedProperties());
+            assertEquals(DatasourceChange.Kind.REMOVED, changes.get(1).kind());
+            assertEquals("legacy", changes.get(1).name());
+
+            assertSame(orders, reloader.datasources().get("orders"));
+            assertTrue(reloader.reload(file).isEmpty());
+        }
+    }
+
+
+    @Test
+    void testWatcherReloadsModifiedFile() throws Exception {
+
+        Path file = tempDir.resolve("datasources.properties");
+        Files.writeString(file, "orders=jdbc:postgresql://db1/orders\n");
+        BlockingQueue<List<DatasourceChange>> published = new LinkedBlockingQueue<>();
+
+        try (JdbcUrlReloader reloader = new JdbcUrlReloader(published::add)) {
+            reloader.watch(file);
+            reloader.start();
+            published.clear();
+
+            // Rewrite in place in two steps, like editors and configuration management tools that don't replace the file atomically
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                Thread.sleep(50);
+                channel.write(ByteBuffer.wrap("orders=jdbc:postgresql://db2/orders\n".getBytes(StandardCharsets.UTF_8)));
+            }
+
+            List<DatasourceChange> changes = published.poll(30, TimeUnit.SECONDS);
+            assertNotNull(changes);
+            assertEquals(DatasourceChange.Kind.CHANGED, changes.get(0).kind());
+            assertEquals(List.of(Host.of("db2")), changes.get(0).addedHosts());
+            assertEquals(List.of(Host.of("db1")), changes.get(0).removedHosts());
+            assertNull(published.poll(1, TimeUnit.SECONDS), "the truncated file must not publish removals");
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package net.osslabz.jdbc.inventory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import net.osslabz.jdbc.DatabaseProduct;
+import net.osslabz.jdbc.Host;
+import net.osslabz.jdbc.JdbcUrl;
+import net.osslabz.jdbc.JdbcUrlParser;
+import org.junit.jupiter.api.Test;
+
+
+/**
+ * Tests for the inverted JDBC URL index.
+ */
+class JdbcUrlIndexTest {
+
+    @Test
+    void testFindByHostAppliesDefaultPort() {
+
+        JdbcUrlIndex index = new JdbcUrlIndex();
+        JdbcUrl implicitPort = JdbcUrlParser.parse("jdbc:postgresql://DB-17/orders");
+        JdbcUrl explicitPort = JdbcUrlParser.parse("jdbc:postgresql://db-17:5432/billing");
+        JdbcUrl otherPort = JdbcUrlParser.parse("jdbc:postgresql://db-17:5433/billing");
+        index.add(implicitPort);
+        index.add(explicitPort);
+        index.add(otherPort);
+
+        assertEquals(List.of(implicitPort, explicitPort), index.findByHost("db-17", 5432));
+        assertEquals(List.of(otherPort), index.findByHost("db-17", 5433));
+        assertEquals(3, index.findByHostname("db-17").size());
+        assertTrue(index.hosts().contains(Host.of("db-17", 5433)));
+
+        JdbcUrl negativePort = JdbcUrlParser.parse("jdbc:postgresql://db-18:-1/orders");
+        index.add(negativePort);
+        assertEquals(List.of(negativePort), index.findByHost("db-18", -1));
+        assertTrue(index.hosts().contains(Host.of("db-18", -1)));
+    }
+
+
+    @Test
+    void testFindByProductDatabaseAndProperty() {
+
+        JdbcUrlIndex index = new JdbcUrlIndex("useSSL");
+        JdbcUrl mysql = JdbcUrlParser.parse("jdbc:mysql://host1,host2/shop?useSSL=false");
+        JdbcUrl h2 = JdbcUrlParser.parse("jdbc:h2:mem:shop");
+        index.add(mysql);
+        index.add(h2);
+
+        assertEquals(List.of(mysql), index.findByProduct(DatabaseProduct.MYSQL));
+        assertEquals(List.of(mysql, h2), index.findByDatabaseName("shop"));
+        assertEquals(List.of(mysql), index.findByProperty("useSSL", "false"));
+        assertTrue(index.findByProperty("useSSL", "true").isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> index.findByProperty("user", "sa"));
+    }
+
+
+    @Test
+    void testRemoveAndReuseIds() {
+
+        JdbcUrlIndex index = new JdbcUrlIndex();
+        int first = index.add(JdbcUrlParser.parse("jdbc:mysql://host1/db"));
+        int second = index.add(JdbcUrlParser.parse("jdbc:mysql://host2/db"));
+
+        assertTrue(index.remove(first));
+        assertFalse(index.remove(first));
+        assertNull(index.get(first));
+        assertEquals(1, index.size());
+        assertTrue(index.findByHostname("host1").isEmpty());
+        assertEquals(1, index.findByDatabaseName("db").size());
+
+        JdbcUrl third = JdbcUrlParser.parse("jdbc:mysql://host3/db");
+        int thirdId = index.add(third);
+        assertEquals(first, thirdId);
+        assertEquals(third, index.get(thirdId));
+        assertEquals(2, index.findByDatabaseName("db").size());
+        assertEquals(1, second);
+    }
+
+
+    @Test
+    void testConcurrentUpdates() throws Exception {
+
+        JdbcUrlIndex index = new JdbcUrlIndex();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 500; i++) {
+                        int id = index.add(JdbcUrlParser.parse("jdbc:postgresql://db-" + (i % 10) + "/t" + thread));
+                        if (i % 2 == 0) {
+                            index.remove(id);
+                        }
+                        index.findByHost("db-" + (i % 10), 5432);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(1000, index.size());
+        assertEquals(1000, index.findByProduct(DatabaseProduct.POSTGRESQL).size());
+        assertEquals(200, index.findByHost("db-1", 5432).size());
+    }
+}
@@ -0,0 +1,102 @@
+package net.osslabz.jdbc.inventory;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import net.osslabz.jdbc.DatabaseProduct;
+import net.osslabz.jdbc.Host;
+import net.osslabz.jdbc.JdbcUrl;
+import net.osslabz.jdbc.JdbcUrlParser;
+import net.osslabz.jdbc.PropertySource;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+
+/**
+ * Tests for the columnar JDBC URL table.
+ */
+class JdbcUrlTableTest {
+
+    private static final List<String> URLS = List.of(
+        "jdbc:mysql://db1:3306,db2/orders?useSSL=false&serverTimezone=UTC",
+        "jdbc:postgresql://pg1/billing?ssl=true",
+        "jdbc:oracle:thin:@//ora1:1521/orcl",
+        "jdbc:sqlserver://mssql\\SQLEXPRESS:1433;databaseName=crm;encrypt=true",
+        "jdbc:h2:mem:test;DB_CLOSE_DELAY=-1",
+        "jdbc:sqlite::memory:",
+        "jdbc:mariadb://maria/ünïcödé?useSSL=false",
+        "jdbc:postgresql://pg2:-1/negative");
+
+
+    @ParameterizedTest
+    @EnumSource(JdbcUrlTable.Storage.class)
+    void testRowsMatchParsedUrls(JdbcUrlTable.Storage storage) {
+
+        JdbcUrlTable table = new JdbcUrlTable(storage);
+        List<JdbcUrl> urls = new ArrayList<>();
+        // Enough rows to grow every column
+        for (int i = 0; i < 3_000; i++) {
+            JdbcUrl url = JdbcUrlParser.parse(URLS.get(i % URLS.size()));
+            urls.add(url);
+            assertEquals(i, table.add(url));
+        }
+
+        assertEquals(urls.size(), table.size());
+        for (int i = 0; i < urls.size(); i++) {
+            JdbcUrl expected = urls.get(i);
+            JdbcUrlTable.Row row = table.row(i);
+
+            assertEquals(expected, row.toJdbcUrl());
+            assertEquals(expected.originalUrl(), row.originalUrl());
+            assertEquals(expected.databaseProduct(), row.databaseProduct());
+            assertEquals(expected.hosts(), row.hosts());
+            assertEquals(expected.getPrimaryHost(), row.getPrimaryHost());
+            assertEquals(expected.properties(), row.properties());
+            assertEquals(expected.isFileBased(), row.isFileBased());
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> table.row(urls.size()));
+    }
+
+
+    @Test
+    void testScansCompareDictionaryIds() {
+
+        JdbcUrlTable table = new JdbcUrlTable();
+        URLS.forEach(url -> table.add(JdbcUrlParser.parse(url)));
+
+        assertArrayEquals(new int[] {0, 6}, table.rowsWithProperty("useSSL", "false"));
+        assertArrayEquals(new int[0], table.rowsWithProperty("useSSL", "maybe"));
+        assertArrayEquals(new int[] {0}, table.rowsWithProduct(DatabaseProduct.MYSQL));
+        assertArrayEquals(new int[] {0}, table.rowsWithHost("DB2", 3306));
+        assertArrayEquals(new int[] {1}, table.rowsWithHost("pg1", 5432));
+        assertArrayEquals(new int[] {7}, table.rowsWithHost("pg2", -1));
+        assertArrayEquals(new int[0], table.rowsWithHost("pg2", 5432));
+
+        JdbcUrlTable.Row sqlServer = table.row(3);
+        assertEquals(new Host("mssql", 1433, "SQLEXPRESS"), sqlServer.getPrimaryHost());
+        assertEquals(PropertySource.PATH, sqlServer.getProperty("encrypt").source());
+        assertNull(sqlServer.getPropertyValue("useSSL"));
+        assertNull(sqlServer.getPropertyValue("unknownKey"));
+    }
+
+
+    @Test
+    void testRepeatedStringsAreStoredOnce() {
+
+        JdbcUrlTable table = new JdbcUrlTable();
+        for (int i = 0; i < 20_000; i++) {
+            table.add(JdbcUrlParser.parse("jdbc:postgresql://db-" + (i % 10) + ":5432/app?sslmode=require&ApplicationName=orders"));
+        }
+
+        // protocol, database name, 10 hostnames, 2 keys and 2 values
+        assertEquals(16, table.dictionarySize());
+        // About 80 bytes of URL text per row plus growth slack, far below the footprint of a JdbcUrl object graph
+        assertTrue(table.allocatedBytes() < 20_000 * 200, "allocated " + table.allocatedBytes());
+    }
+}
@@ -0,0 +1,105 @@
+package net.osslabz.jdbc.inventory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import net.osslabz.jdbc.DatabaseProduct;
+import net.osslabz.jdbc.JdbcUrl;
+import net.osslabz.jdbc.JdbcUrlParser;
+import net.osslabz.jdbc.PropertySource;
+import org.junit.jupiter.api.Test;
+
+
+/**
+ * Tests for compiled URL predicates.
+ */
+class UrlQueryTest {
+
+    private static final JdbcUrl MYSQL_PLAIN = JdbcUrlParser.parse("jdbc:mysql://db1/shop?useSSL=FALSE");
+
+    private static final JdbcUrl MYSQL_SSL = JdbcUrlParser.parse("jdbc:mysql://db2:3307/shop?useSSL=true");
+
+    private static final JdbcUrl SQLSERVER_ENCRYPTED = JdbcUrlParser.parse("jdbc:sqlserver://mssql1;databaseName=erp;encrypt=true");
+
+    private static final JdbcUrl SQLSERVER_PLAIN = JdbcUrlParser.parse("jdbc:sqlserver://mssql2;databaseName=erp");
+
+    private static final JdbcUrl H2_MEMORY = JdbcUrlParser.parse("jdbc:h2:mem:shop");
+
+    private static final JdbcUrl POSTGRES = JdbcUrlParser.parse("jdbc:postgresql://DB1/orders");
+
+    private static final List<JdbcUrl> INVENTORY = List.of(MYSQL_PLAIN, MYSQL_SSL, SQLSERVER_ENCRYPTED, SQLSERVER_PLAIN, H2_MEMORY, POSTGRES);
+
+
+    @Test
+    void testComplianceQueries() {
+
+        UrlQuery mysqlWithoutSsl = UrlQuery.compile(UrlPredicate.and(
+                UrlPredicate.product(DatabaseProduct.MYSQL),
+                UrlPredicate.propertyEqualsIgnoreCase("useSSL", "false")));
+        assertEquals(List.of(MYSQL_PLAIN), mysqlWithoutSsl.filter(INVENTORY));
+
+        UrlQuery unencrypted = UrlQuery.compile(UrlPredicate.and(
+                UrlPredicate.product(DatabaseProduct.SQLSERVER),
+                UrlPredicate.not(UrlPredicate.propertyEqualsIgnoreCase("encrypt", "true"))));
+        assertEquals(List.of(SQLSERVER_PLAIN), unencrypted.filter(INVENTORY));
+
+        UrlQuery inMemory = UrlQuery.compile(UrlPredicate.and(
+                UrlPredicate.propertyEquals("MODE", "MEMORY"),
+                UrlPredicate.propertySource("MODE", PropertySource.DERIVED)));
+        assertEquals(List.of(H2_MEMORY), inMemory.filter(INVENTORY));
+    }
+
+
+    @Test
+    void testHostPortAndDatabaseName() {
+
+        assertEquals(List.of(MYSQL_PLAIN, POSTGRES), UrlQuery.compile(UrlPredicate.host("db1")).filter(INVENTORY));
+        assertEquals(List.of(MYSQL_PLAIN), UrlQuery.compile(UrlPredicate.port(3306)).filter(INVENTORY));
+        assertEquals(List.of(MYSQL_SSL), UrlQuery.compile(UrlPredicate.port(3307)).filter(INVENTORY));
+        assertEquals(List.of(SQLSERVER_ENCRYPTED, SQLSERVER_PLAIN), UrlQuery.compile(UrlPredicate.databaseName("erp")).filter(INVENTORY));
+        assertEquals(2, UrlQuery.compile(UrlPredicate.hasProperty("useSSL")).count(INVENTORY, false));
+    }
+
+
+    @Test
+    void testBooleanCombinators() {
+
+        UrlQuery query = UrlQuery.compile(UrlPredicate.or(
+                UrlPredicate.product(DatabaseProduct.H2, DatabaseProduct.POSTGRESQL),
+                UrlPredicate.or(UrlPredicate.databaseName("erp"), UrlPredicate.not(UrlPredicate.not(UrlPredicate.port(3307))))));
+        assertEquals(List.of(MYSQL_SSL, SQLSERVER_ENCRYPTED, SQLSERVER_PLAIN, H2_MEMORY, POSTGRES), query.filter(INVENTORY));
+
+        assertTrue(UrlQuery.compile(UrlPredicate.and()).test(POSTGRES));
+        assertFalse(UrlQuery.compile(UrlPredicate.or()).test(POSTGRES));
+        assertFalse(UrlQuery.compile(UrlPredicate.product()).anyMatch(INVENTORY));
+    }
+
+
+    @Test
+    void testParallelMatchesSequential() {
+
+        List<JdbcUrl> large = new ArrayList<>();
+        for (int i = 0; i < INVENTORY.size() * UrlQuery.PARALLEL_THRESHOLD / 2; i++) {
+            large.add(INVENTORY.get(i % INVENTORY.size()));
+        }
+        UrlQuery query = UrlQuery.compile(UrlPredicate.or(UrlPredicate.host("db1"), UrlPredicate.product(DatabaseProduct.H2)));
+
+        List<JdbcUrl> sequential = query.filter(large, false);
+        assertEquals(sequential, query.filter(large, true));
+        assertEquals(sequential.size(), query.count(large, true));
+        assertEquals(large.size() / 2, sequential.size());
+    }
+
+
+    @Test
+    void testRejectsNull() {
+
+        assertThrows(IllegalArgumentException.class, () -> UrlQuery.compile(null));
+        assertThrows(IllegalArgumentException.class, () -> UrlQuery.compile(UrlPredicate.host("db1")).test(null));
+        assertThrows(NullPointerException.class, () -> UrlPredicate.host(null));
+    }
+}
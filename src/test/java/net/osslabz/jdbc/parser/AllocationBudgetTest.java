@@ -0,0 +1,153 @@
+package net.osslabz.jdbc.parser;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import net.osslabz.jdbc.DatabaseProduct;
+import net.osslabz.jdbc.PropertySource;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+
+/**
+ * Checks the bytes allocated per parse against the budgets in allocation-budgets.properties, so that a change that makes a parser allocate considerably more fails the build.
+ *
+ * <p>Each case is run until the JIT compiler has optimized it, then the allocations of the parsing thread are measured over many runs and averaged. Budgets are set about a quarter above the measured
+ * values to absorb differences between JVM versions; when a change lowers the allocations, lower the budget along with it.
+ */
+class AllocationBudgetTest {
+
+    private static final String BUDGETS = "allocation-budgets.properties";
+
+    private static final int WARMUP_RUNS = 20_000;
+
+    private static final int MEASURED_RUNS = 10_000;
+
+    private static final Map<DatabaseProduct, String> URLS = Map.of(
+        DatabaseProduct.MYSQL, "jdbc:mysql://db1:3306,db2:3306/orders?useSSL=true&serverTimezone=UTC",
+        DatabaseProduct.MARIADB, "jdbc:mariadb://db1:3306/orders?useSsl=true",
+        DatabaseProduct.POSTGRESQL, "jdbc:postgresql://db1:5432,db2:5432/orders?ssl=true&targetServerType=primary",
+        DatabaseProduct.ORACLE, "jdbc:oracle:thin:@(DESCRIPTION=(ADDRESS_LIST=(ADDRESS=(PROTOCOL=TCP)(HOST=db1)(PORT=1521))"
+                                + "(ADDRESS=(PROTOCOL=TCP)(HOST=db2)(PORT=1521)))(CONNECT_DATA=(SERVICE_NAME=orders)))",
+        DatabaseProduct.SQLSERVER, "jdbc:sqlserver://db1:1433;databaseName=orders;encrypt=true;trustServerCertificate=false",
+        DatabaseProduct.H2, "jdbc:h2:tcp://db1:9092/~/orders;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+        DatabaseProduct.HSQLDB, "jdbc:hsqldb:hsql://db1:9001/orders;ifexists=true",
+        DatabaseProduct.DERBY, "jdbc:derby://db1:1527/orders;create=true;user=app",
+        DatabaseProduct.SQLITE, "jdbc:sqlite:file:/data/orders.db?mode=ro&cache=shared");
+
+    private static com.sun.management.ThreadMXBean threadBean;
+
+    private static Properties budgets;
+
+
+    @BeforeAll
+    static void setUp() throws IOException {
+
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean && bean.isThreadAllocatedMemorySupported()) {
+            bean.setThreadAllocatedMemoryEnabled(true);
+            threadBean = bean;
+        }
+
+        budgets = new Properties();
+        try (InputStream in = AllocationBudgetTest.class.getResourceAsStream(BUDGETS)) {
+            assertNotNull(in, BUDGETS);
+            budgets.load(in);
+        }
+    }
+
+
+    @Test
+    void testEveryProductHasABudget() {
+
+        Set<String> expected = EnumSet.complementOf(EnumSet.of(DatabaseProduct.UNKNOWN)).stream().map(product -> "parse." + product.name()).collect(Collectors.toCollection(TreeSet::new));
+        Set<String> actual = budgets.stringPropertyNames().stream().filter(key -> key.startsWith("parse.")).collect(Collectors.toCollection(TreeSet::new));
+
+        assertEquals(expected, actual);
+        assertEquals(expected.size(), URLS.size());
+    }
+
+
+    @Test
+    void testParsers() {
+
+        for (Map.Entry<DatabaseProduct, String> entry : URLS.entrySet()) {
+            UrlParser parser = createParser(entry.getKey());
+            String url = entry.getValue();
+            assertWithinBudget("parse." + entry.getKey().name(), () -> parser.parse(url));
+        }
+    }
+
+
+    @Test
+    void testHelpers() {
+
+        AbstractUrlParser helpers = new DerbyParser();
+        String properties = "user=app;password=secret;create=true;encrypt=false;loginTimeout=30;ssl=basic";
+        String hosts = "db1:3306,db2:3306,db3";
+
+        assertWithinBudget("helper.parseProperties", () -> helpers.parseProperties(properties, PropertySource.PATH));
+        assertWithinBudget("helper.findPropertyValue", () -> helpers.findPropertyValue(properties, "loginTimeout"));
+        assertWithinBudget("helper.parseHost", () -> helpers.parseHost("db1.example.com:5432"));
+        assertWithinBudget("helper.parseMultipleHosts", () -> helpers.parseMultipleHosts(hosts));
+        assertWithinBudget("helper.splitByFirstPropertyDelimiter", () -> helpers.splitByFirstPropertyDelimiter("orders;create=true?x=1"));
+        assertWithinBudget("helper.parseStandardNetworkUrl", () -> helpers.parseStandardNetworkUrl("jdbc:derby://db1:1527/orders?x=1", DatabaseProduct.DERBY));
+    }
+
+
+    private static UrlParser createParser(DatabaseProduct product) {
+
+        return switch (product) {
+            case MYSQL, MARIADB -> new MySQLParser();
+            case POSTGRESQL -> new PostgreSQLParser();
+            case ORACLE -> new OracleParser(null);
+            case SQLSERVER -> new SQLServerParser();
+            case H2 -> new H2Parser();
+            case HSQLDB -> new HSQLDBParser();
+            case DERBY -> new DerbyParser();
+            case SQLITE -> new SQLiteParser();
+            case UNKNOWN -> throw new IllegalArgumentException(product.name());
+        };
+    }
+
+
+    private static void assertWithinBudget(String name, Supplier<Object> operation) {
+
+        assumeTrue(threadBean != null, "Thread allocation counters not supported by this JVM");
+        String budgetValue = budgets.getProperty(name);
+        assertNotNull(budgetValue, "No budget for " + name + " in " + BUDGETS);
+        long budget = Long.parseLong(budgetValue.trim());
+
+        long bytesPerRun = measure(operation);
+        assertTrue(bytesPerRun <= budget, name + " allocates " + bytesPerRun + " bytes per run, budget is " + budget);
+    }
+
+
+    private static long measure(Supplier<Object> operation) {
+
+        Object[] sink = new Object[1];
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            sink[0] = operation.get();
+        }
+
+        long before = threadBean.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            sink[0] = operation.get();
+        }
+        long after = threadBean.getCurrentThreadAllocatedBytes();
+        assertNotNull(sink[0]);
+        return (after - before) / MEASURED_RUNS;
+    }
+}
@@ -0,0 +1,24 @@
+package net.osslabz.jdbc.parser;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+import org.junit.jupiter.api.Test;
+
+
+/**
+ * Tests for the delimiter scanner. On a Java 21 build JDK the java21 profile runs these against the Java 21 variant, once without and once with the Vector API; VectorDelimiterScannerTest
+ * compares the vector scan with the scalar scan.
+ */
+class DelimiterScannerTest {
+
+    @Test
+    void testScanFindsAllDelimiters() {
+
+        String value = "jdbc:sqlserver://h;a=1&b=(x,y)?z";
+
+        assertArrayEquals(new int[] {15, 16, 18, 20, 22, 24, 25, 27, 29, 30}, DelimiterScanner.scan(value, 0, value.length()));
+        assertArrayEquals(new int[] {20, 22}, DelimiterScanner.scan(value, 19, 24));
+        assertArrayEquals(new int[0], DelimiterScanner.scan(value, 0, 4));
+    }
+
+}
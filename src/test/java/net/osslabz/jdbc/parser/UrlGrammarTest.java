@@ -0,0 +1,198 @@
+package net.osslabz.jdbc.parser;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+import net.osslabz.jdbc.DatabaseProduct;
+import net.osslabz.jdbc.Host;
+import net.osslabz.jdbc.JdbcProperty;
+import net.osslabz.jdbc.JdbcUrl;
+import net.osslabz.jdbc.JdbcUrlParseException;
+import net.osslabz.jdbc.PropertySource;
+import net.osslabz.jdbc.parser.UrlGrammar.Format;
+import net.osslabz.jdbc.parser.UrlGrammar.HostList;
+import net.osslabz.jdbc.parser.UrlGrammar.Option;
+import net.osslabz.jdbc.parser.UrlGrammar.PropertySection;
+import org.junit.jupiter.api.Test;
+
+
+/**
+ * Tests for the declarative URL grammar and the parser driven by it.
+ */
+class UrlGrammarTest {
+
+    private static final UrlGrammar GRAMMAR = UrlGrammar.of(DatabaseProduct.MARIADB,
+        Format.path("/", "LOCAL", PropertySection.of("?", PropertySource.QUERY)),
+        Format.network("//", "NETWORK", HostList.MULTIPLE, PropertySection.of("?", PropertySource.QUERY)).withDefaultHost("localhost"),
+        Format.path("mem:", "MEMORY", PropertySection.pathOrQuery()));
+
+
+    @Test
+    void testLongestPrefixSelectsFormat() {
+
+        String remainder = "//db1:3306,db2/orders/archive?ssl=true";
+        UrlGrammar.Segments segments = GRAMMAR.scan(remainder);
+
+        assertEquals("NETWORK", segments.format().mode());
+        assertEquals("db1:3306,db2", remainder.substring(segments.hostsStart(), segments.hostsEnd()));
+        assertEquals("orders/archive", remainder.substring(segments.databaseStart(), segments.databaseEnd()));
+        assertEquals("ssl=true", remainder.substring(segments.propertiesStart()));
+
+        assertEquals("LOCAL", GRAMMAR.scan("/orders").format().mode());
+        assertNull(GRAMMAR.scan("orders"), "no fallback format declared");
+    }
+
+
+    @Test
+    void testHostsWithoutDatabase() {
+
+        String remainder = "//db1?ssl=true";
+        UrlGrammar.Segments segments = GRAMMAR.scan(remainder);
+
+        assertEquals("db1", remainder.substring(segments.hostsStart(), segments.hostsEnd()));
+        assertEquals(segments.databaseStart(), segments.databaseEnd());
+    }
+
+
+    @Test
+    void testPathOrQuerySource() {
+
+        assertEquals(PropertySource.PATH, GRAMMAR.scan("mem:db;a=1").propertySource());
+        assertEquals(PropertySource.QUERY, GRAMMAR.scan("mem:db?a=1").propertySource());
+        assertEquals(PropertySource.QUERY, GRAMMAR.scan("mem:db;a=1?b=2").propertySource());
+        assertEquals(-1, GRAMMAR.scan("mem:db").propertiesStart());
+    }
+
+
+    @Test
+    void testGrammarParser() {
+
+        GrammarUrlParser parser = new GrammarUrlParser(GRAMMAR);
+
+        JdbcUrl url = parser.parse("jdbc:mariadb://db1:3307,db2/shop?MODE=x&user=app");
+        assertEquals(List.of(Host.of("db1", 3307), Host.of("db2")), url.hosts());
+        assertEquals("shop", url.databaseName());
+        assertEquals("NETWORK", url.getPropertyValue("MODE"));
+        assertEquals(PropertySource.DERIVED, url.getProperty("MODE").source());
+        assertEquals("app", url.getPropertyValue("user"));
+
+        assertEquals(List.of(Host.of("localhost")), parser.parse("jdbc:mariadb:///shop").hosts());
+        assertEquals(List.of(), parser.parse("jdbc:mariadb:mem:cache").hosts());
+        assertThrows(JdbcUrlParseException.class, () -> parser.parse("jdbc:mariadb:shop"));
+    }
+
+
+    @Test
+    void testOptions() {
+
+        PropertySection query = PropertySection.of("?", PropertySource.QUERY);
+        UrlGrammar grammar = UrlGrammar.of(DatabaseProduct.MYSQL,
+            Format.network("replication://", null, HostList.MULTIPLE, query).withOptions(Option.IGNORE_CASE, Option.NESTED_HOSTS),
+            Format.network("//", null, HostList.SINGLE, PropertySection.of(";", PropertySource.PATH)).withOptions(Option.NO_DATABASE),
+            Format.path("file:", null, query).withOptions(Option.FRAGMENT));
+
+        String nested = "REPLICATION://(host=a,port=1),[b/c?d]/orders?ssl=true";
+        UrlGrammar.Segments segments = grammar.scan(nested);
+        assertEquals("(host=a,port=1),[b/c?d]", nested.substring(segments.hostsStart(), segments.hostsEnd()));
+        assertEquals("orders", nested.substring(segments.databaseStart(), segments.databaseEnd()));
+
+        String noDatabase = "//host\\sql/x;databaseName=orders";
+        segments = grammar.scan(noDatabase);
+        assertEquals("host\\sql/x", noDatabase.substring(segments.hostsStart(), segments.hostsEnd()));
+        assertEquals(segments.databaseStart(), segments.databaseEnd());
+
+        String fragment = "file:/data/db#x?y=1";
+        segments = grammar.scan(fragment);
+        assertEquals("/data/db", fragment.substring(segments.databaseStart(), segments.databaseEnd()));
+        assertEquals(-1, segments.propertiesStart());
+        assertEquals(fragment.indexOf('#'), segments.end());
+        assertNull(grammar.scan("FILE:/data/db"), "prefix is case-sensitive without IGNORE_CASE");
+    }
+
+
+    @Test
+    void testQualifiedGrammar() {
+
+        UrlGrammar grammar = UrlGrammar.qualified(DatabaseProduct.ORACLE, "driver type",
+            Format.path("@(", null, null),
+            Format.path("@", null, PropertySection.of("?", PropertySource.QUERY)));
+        GrammarUrlParser parser = new GrammarUrlParser(grammar);
+
+        JdbcUrl url = parser.parse("jdbc:oracle:thin:@(A=1)?(B=2)");
+        assertEquals("A=1)?(B=2)", url.databaseName());
+        assertEquals(Map.of(), url.properties());
+
+        url = parser.parse("jdbc:oracle:oci:@db?x=1");
+        assertEquals("db", url.databaseName());
+        assertEquals("1", url.getPropertyValue("x"));
+
+        assertTrue(assertThrows(JdbcUrlParseException.class, () -> parser.parse("jdbc:oracle:@db")).getMessage().contains("missing driver type"));
+        assertThrows(JdbcUrlParseException.class, () -> parser.parse("jdbc:oracle:thin:db"));
+    }
+
+
+    @Test
+    void testHooksAndModeIfAbsent() {
+
+        UrlGrammar grammar = UrlGrammar.of(DatabaseProduct.H2,
+            Format.path("", "FILE", PropertySection.pathOrQuery()).withOptions(Option.MODE_IF_ABSENT));
+        GrammarUrlParser parser = new GrammarUrlParser(grammar) {
+
+            @Override
+            protected String parseDatabaseName(ScannedUrl scanned, Map<String, JdbcProperty> properties) {
+
+                return scanned.database().toUpperCase();
+            }
+
+
+            @Override
+            protected void deriveProperties(ScannedUrl scanned, String databaseName, Map<String, JdbcProperty> properties) {
+
+                super.deriveProperties(scanned, databaseName, properties);
+                addDerivedProperty(properties, "NAME_LENGTH", String.valueOf(databaseName.length()));
+            }
+        };
+
+        JdbcUrl url = parser.parse("jdbc:h2:orders;MODE=MySQL");
+        assertEquals("ORDERS", url.databaseName());
+        assertEquals("MySQL", url.getPropertyValue("MODE"));
+        assertEquals("6", url.getPropertyValue("NAME_LENGTH"));
+        assertEquals("FILE", parser.parse("jdbc:h2:orders").getPropertyValue("MODE"));
+        assertEquals("MySQL", parser.extractProperty("jdbc:h2:orders;MODE=MySQL", "MODE"));
+        assertEquals("FILE", parser.extractProperty("jdbc:h2:orders", "MODE"));
+    }
+
+
+    @Test
+    void testGrammarPerProduct() {
+
+        UrlGrammar mysql = UrlGrammar.of(DatabaseProduct.MYSQL, Format.network("//", "MYSQL", HostList.MULTIPLE, PropertySection.of("?", PropertySource.QUERY)));
+        GrammarUrlParser parser = new GrammarUrlParser(mysql, GRAMMAR);
+
+        assertTrue(parser.supports(DatabaseProduct.MYSQL));
+        assertTrue(parser.supports(DatabaseProduct.MARIADB));
+        assertEquals("MYSQL", parser.parse("jdbc:mysql://db1/shop").getPropertyValue("MODE"));
+        assertEquals(DatabaseProduct.MARIADB, parser.parse("jdbc:mariadb://db1/shop").databaseProduct());
+        assertEquals("LOCAL", parser.parse("jdbc:mariadb:/shop").getPropertyValue("MODE"));
+        assertThrows(JdbcUrlParseException.class, () -> parser.parse("jdbc:postgresql://db1/shop"));
+        assertThrows(IllegalArgumentException.class, () -> new GrammarUrlParser(GRAMMAR, GRAMMAR));
+    }
+
+
+    @Test
+    void testInvalidDefinitions() {
+
+        PropertySection query = PropertySection.of("?", PropertySource.QUERY);
+
+        assertThrows(IllegalArgumentException.class, () -> UrlGrammar.of(DatabaseProduct.H2));
+        assertThrows(IllegalArgumentException.class, () -> UrlGrammar.of(DatabaseProduct.H2, Format.path("", null, query), Format.path("", "FILE", query)));
+        assertThrows(IllegalArgumentException.class, () -> PropertySection.of("/", PropertySource.PATH));
+        assertThrows(IllegalArgumentException.class, () -> PropertySection.of("", PropertySource.PATH));
+        assertThrows(IllegalArgumentException.class, () -> new GrammarUrlParser(null));
+        assertThrows(IllegalArgumentException.class, () -> UrlGrammar.qualified(DatabaseProduct.ORACLE, " ", Format.path("@", null, query)));
+    }
+}
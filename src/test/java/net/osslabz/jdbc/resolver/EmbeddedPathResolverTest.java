@@ -0,0 +1,114 @@
+package net.osslabz.jdbc.resolver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import net.osslabz.jdbc.JdbcUrlParser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+
+/**
+ * Tests for canonical path resolution of embedded database URLs.
+ */
+class EmbeddedPathResolverTest {
+
+    @TempDir
+    Path directory;
+
+    private Path home;
+
+    private Path work;
+
+    private EmbeddedPathResolver resolver;
+
+
+    @BeforeEach
+    void setUp() throws IOException {
+
+        home = Files.createDirectories(directory.resolve("home")).toRealPath();
+        work = Files.createDirectories(directory.resolve("work")).toRealPath();
+        resolver = new EmbeddedPathResolver(home, work, Path.of("derby"));
+    }
+
+
+    private Path resolve(String url) {
+
+        return resolver.resolve(JdbcUrlParser.parse(url));
+    }
+
+
+    @Test
+    void testH2HomeBaseDirAndStorageFormat() {
+
+        Path expected = home.resolve("data/app.mv.db");
+        assertEquals(expected, resolve("jdbc:h2:~/data/app"));
+        assertEquals(work.resolve("data/app.mv.db"), resolve("jdbc:h2:file:./data/app"));
+        assertEquals(expected, new EmbeddedPathResolver(home, work, Path.of("derby"), Path.of("~")).resolve(JdbcUrlParser.parse("jdbc:h2:file:./data/app")));
+        assertEquals(expected, resolve("jdbc:h2:nio:" + home + "/data/../data/app;AUTO_SERVER=TRUE"));
+        assertEquals(work.resolve("app.h2.db"), resolve("jdbc:h2:./app;MV_STORE=FALSE"));
+    }
+
+
+    @Test
+    void testVendorSpecificBaseDirectories() {
+
+        assertEquals(home.resolve("db/test.script"), resolve("jdbc:hsqldb:file:~/db/test;shutdown=true"));
+        assertEquals(work.resolve("test.script"), resolve("jdbc:hsqldb:test"));
+        assertEquals(work.resolve("derby/orders"), resolve("jdbc:derby:orders;create=true"));
+        assertEquals(work.resolve("derby/orders"), resolve("jdbc:derby:directory:orders"));
+        assertEquals(home.resolve("app.db"), resolve("jdbc:sqlite:" + home + "/app.db"));
+        assertEquals(work.resolve("my app.db"), resolve("jdbc:sqlite:file:my%20app.db?mode=ro"));
+    }
+
+
+    @Test
+    void testNonFileDatabasesHaveNoPath() {
+
+        assertNull(resolve("jdbc:h2:mem:test"));
+        assertNull(resolve("jdbc:h2:memFS:test"));
+        assertNull(resolve("jdbc:h2:tcp://localhost/~/test"));
+        assertNull(resolve("jdbc:hsqldb:mem:test"));
+        assertNull(resolve("jdbc:hsqldb:res:/db/test"));
+        assertNull(resolve("jdbc:derby:memory:test"));
+        assertNull(resolve("jdbc:derby:classpath:db/test"));
+        assertNull(resolve("jdbc:sqlite::memory:"));
+        assertNull(resolve("jdbc:sqlite:file:cache?mode=memory&cache=shared"));
+        assertNull(resolve("jdbc:postgresql://localhost/test"));
+    }
+
+
+    @Test
+    void testSymbolicLinksAreResolved() throws IOException {
+
+        Path target = Files.createDirectories(home.resolve("real"));
+        Files.createSymbolicLink(work.resolve("link"), target);
+
+        assertEquals(target.resolve("app.db"), resolve("jdbc:sqlite:link/app.db"));
+        assertEquals(resolve("jdbc:h2:~/real/app"), resolve("jdbc:h2:./link/app"));
+    }
+
+
+    @Test
+    void testResultsAreCachedUntilCleared() throws IOException {
+
+        Path link = work.resolve("current");
+        Files.createSymbolicLink(link, Files.createDirectories(home.resolve("v1")));
+        Path first = resolve("jdbc:sqlite:current/app.db");
+        assertEquals(home.resolve("v1/app.db"), first);
+
+        Files.delete(link);
+        Files.createSymbolicLink(link, Files.createDirectories(home.resolve("v2")));
+        assertSame(first, resolve("jdbc:sqlite:current/app.db"));
+
+        resolver.clear();
+        assertNotEquals(first, resolve("jdbc:sqlite:current/app.db"));
+        assertEquals(home.resolve("v2/app.db"), resolve("jdbc:sqlite:current/app.db"));
+    }
+}
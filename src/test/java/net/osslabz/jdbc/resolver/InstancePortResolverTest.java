@@ -0,0 +1,234 @@
+package net.osslabz.jdbc.resolver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import net.osslabz.jdbc.Host;
+import net.osslabz.jdbc.JdbcUrlParser;
+import org.junit.jupiter.api.Test;
+
+
+/**
+ * Tests for SQL Server instance port resolution against a local SQL Server Browser stand-in.
+ */
+class InstancePortResolverTest {
+
+    @Test
+    void testResolvesThroughBrowserAndCaches() throws Exception {
+
+        try (BrowserStandIn browser = new BrowserStandIn("tcp;50123")) {
+            InstancePortResolver resolver = new InstancePortResolver(browser.client(), Duration.ofMinutes(1));
+            Host server = JdbcUrlParser.parseSQLServer("jdbc:sqlserver://localhost\\REPORTING;databaseName=erp").server();
+
+            assertEquals(new Host("localhost", 50123, "REPORTING"), resolver.resolve(server));
+            assertEquals(new Host("LOCALHOST", 50123, "reporting"), resolver.resolve(new Host("LOCALHOST", null, "reporting")));
+            assertEquals(1, browser.requests.get());
+            assertEquals("REPORTING", browser.lastInstanceName);
+
+            resolver.invalidate(server);
+            resolver.resolve(server);
+            assertEquals(2, browser.requests.get());
+
+            Host withPort = new Host("localhost", 1500, "REPORTING");
+            assertSame(withPort, resolver.resolve(withPort));
+            Host withoutInstance = Host.of("localhost");
+            assertSame(withoutInstance, resolver.resolve(withoutInstance));
+            assertEquals(2, browser.requests.get());
+        }
+    }
+
+
+    @Test
+    void testCachedPortExpires() throws Exception {
+
+        AtomicInteger lookups = new AtomicInteger();
+        AtomicLong clock = new AtomicLong();
+        InstancePortResolver resolver = new InstancePortResolver((hostname, instanceName) -> 40000 + lookups.incrementAndGet(), Duration.ofSeconds(10), clock::get);
+        Host host = new Host("db1", null, "REPORTING");
+
+        assertEquals(40001, resolver.resolve(host).port());
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(9));
+        assertEquals(40001, resolver.resolve(host).port());
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertEquals(40002, resolver.resolve(host).port());
+    }
+
+
+    @Test
+    void testCoalescesConcurrentLookups() throws Exception {
+
+        AtomicInteger lookups = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        InstancePortResolver resolver = new InstancePortResolver((hostname, instanceName) -> {
+            lookups.incrementAndGet();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return 50123;
+        }, Duration.ofMinutes(1));
+
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch started = new CountDownLatch(threads);
+            List<Future<Host>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(() -> {
+                    started.countDown();
+                    return resolver.resolve(new Host("db1", null, "REPORTING"));
+                }));
+            }
+            started.await(5, TimeUnit.SECONDS);
+            Thread.sleep(100);
+            release.countDown();
+
+            for (Future<Host> result : results) {
+                assertEquals(50123, result.get(5, TimeUnit.SECONDS).port());
+            }
+            assertEquals(1, lookups.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+
+    @Test
+    void testFailedLookupsAreNotCached() throws Exception {
+
+        try (DatagramSocket silent = new DatagramSocket(0, InetAddress.getLoopbackAddress())) {
+            UdpSqlBrowserClient client = new UdpSqlBrowserClient(silent.getLocalPort(), Duration.ofMillis(100));
+            InstancePortResolver resolver = new InstancePortResolver(client, Duration.ofMinutes(1));
+
+            assertThrows(SocketTimeoutException.class, () -> resolver.resolve(new Host("localhost", null, "REPORTING")));
+        }
+
+        try (BrowserStandIn browser = new BrowserStandIn("np;\\\\db1\\pipe\\sql\\query")) {
+            InstancePortResolver resolver = new InstancePortResolver(browser.client(), Duration.ofMinutes(1));
+            Host host = new Host("localhost", null, "REPORTING");
+
+            assertThrows(IOException.class, () -> resolver.resolve(host));
+            assertThrows(IOException.class, () -> resolver.resolve(host));
+            assertEquals(2, browser.requests.get());
+        }
+    }
+
+
+    @Test
+    void testParseResponse() throws Exception {
+
+        byte[] response = response("ServerName;DB1;InstanceName;REPORTING;IsClustered;No;Version;15.0.2000.5;TCP;1533;;");
+        assertEquals(1533, UdpSqlBrowserClient.parseTcpPort(response, response.length, "REPORTING"));
+
+        byte[] invalid = {0x01, 0x00, 0x00};
+        assertThrows(IOException.class, () -> UdpSqlBrowserClient.parseTcpPort(invalid, invalid.length, "REPORTING"));
+
+        assertEquals(List.of((byte) 0x04, (byte) 'A', (byte) 0x00), toList(UdpSqlBrowserClient.encodeRequest("A")));
+        assertThrows(IllegalArgumentException.class, () -> UdpSqlBrowserClient.encodeRequest("X".repeat(33)));
+    }
+
+
+    private static byte[] response(String data) {
+
+        byte[] payload = data.getBytes(StandardCharsets.US_ASCII);
+        byte[] response = new byte[payload.length + 3];
+        response[0] = 0x05;
+        response[1] = (byte) payload.length;
+        response[2] = (byte) (payload.length >> 8);
+        System.arraycopy(payload, 0, response, 3, payload.length);
+        return response;
+    }
+
+
+    private static List<Byte> toList(byte[] bytes) {
+
+        List<Byte> list = new ArrayList<>();
+        for (byte b : bytes) {
+            list.add(b);
+        }
+        return list;
+    }
+
+
+    /**
+     * Answers CLNT_UCAST_INST requests on a loopback UDP port like the SQL Server Browser does.
+     */
+    private static final class BrowserStandIn implements AutoCloseable {
+
+        private final DatagramSocket socket;
+
+        private final Thread thread;
+
+        private final AtomicInteger requests = new AtomicInteger();
+
+        private volatile String lastInstanceName;
+
+
+        BrowserStandIn(String endpoints) throws SocketException {
+
+            this.socket = new DatagramSocket(0, InetAddress.getLoopbackAddress());
+            this.thread = new Thread(() -> serve(endpoints), "sql-browser-stand-in");
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+
+        UdpSqlBrowserClient client() {
+
+            return new UdpSqlBrowserClient(socket.getLocalPort(), Duration.ofSeconds(2));
+        }
+
+
+        private void serve(String endpoints) {
+
+            byte[] buffer = new byte[256];
+            while (!socket.isClosed()) {
+                try {
+                    DatagramPacket request = new DatagramPacket(buffer, buffer.length);
+                    socket.receive(request);
+                    if (request.getLength() < 2 || buffer[0] != 0x04) {
+                        continue;
+                    }
+                    int nameEnd = 1;
+                    while (nameEnd < request.getLength() && buffer[nameEnd] != 0) {
+                        nameEnd++;
+                    }
+                    lastInstanceName = new String(buffer, 1, nameEnd - 1, StandardCharsets.US_ASCII);
+                    requests.incrementAndGet();
+
+                    byte[] reply = response("ServerName;DB1;InstanceName;" + lastInstanceName + ";IsClustered;No;Version;15.0.2000.5;" + endpoints + ";;");
+                    socket.send(new DatagramPacket(reply, reply.length, request.getSocketAddress()));
+                } catch (IOException e) {
+                    return;
+                }
+            }
+        }
+
+
+        @Override
+        public void close() throws InterruptedException {
+
+            socket.close();
+            thread.join(1000);
+        }
+    }
+}
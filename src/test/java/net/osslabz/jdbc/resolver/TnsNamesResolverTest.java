@@ -0,0 +1,126 @@
+package net.osslabz.jdbc.resolver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import net.osslabz.jdbc.Host;
+import net.osslabz.jdbc.JdbcUrlParseException;
+import net.osslabz.jdbc.OracleUrl;
+import net.osslabz.jdbc.parser.OracleParser;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+
+/**
+ * Tests for tnsnames.ora alias resolution.
+ */
+class TnsNamesResolverTest {
+
+    private static final String TNSNAMES = """
+        # Production
+        PRODDB, PRODDB.EXAMPLE.COM =
+          (DESCRIPTION =
+            (ADDRESS_LIST =
+              (ADDRESS = (PROTOCOL = TCP)(HOST = db1)(PORT = 1521))
+              (ADDRESS = (PROTOCOL = TCP)(HOST = db2)(PORT = 1522)) # standby
+            )
+            (CONNECT_DATA = (SERVICE_NAME = prod.example.com))
+          )
+
+        IFILE = includes/reporting.ora
+        """;
+
+    @TempDir
+    Path directory;
+
+
+    @Test
+    void testResolvesAliasesAndIncludes() throws IOException {
+
+        Path file = write("tnsnames.ora", TNSNAMES);
+        write("includes/reporting.ora", "reporting=(DESCRIPTION=(ADDRESS=(PROTOCOL=TCPS)(HOST=rep1)(PORT=2484))(CONNECT_DATA=(SID=REP)))\n");
+        TnsNamesResolver resolver = new TnsNamesResolver(file);
+
+        assertEquals("(DESCRIPTION=(ADDRESS_LIST=(ADDRESS=(PROTOCOL=TCP)(HOST=db1)(PORT=1521))(ADDRESS=(PROTOCOL=TCP)(HOST=db2)(PORT=1522)))"
+            + "(CONNECT_DATA=(SERVICE_NAME=prod.example.com)))", resolver.resolve("proddb"));
+        assertEquals(resolver.resolve("PRODDB"), resolver.resolve("ProdDB.example.com"));
+        assertTrue(resolver.resolve("REPORTING").contains("(SID=REP)"));
+        assertNull(resolver.resolve("MISSING"));
+        assertEquals(Set.of("PRODDB", "PRODDB.EXAMPLE.COM", "REPORTING"), resolver.aliases());
+    }
+
+
+    @Test
+    void testReadsFileAgainOnlyWhenModified() throws IOException {
+
+        Path file = write("tnsnames.ora", "A=(DESCRIPTION=(ADDRESS=(HOST=h1)(PORT=1521)))\n");
+        Instant modified = Instant.parse("2024-01-01T00:00:00Z");
+        Files.setLastModifiedTime(file, FileTime.from(modified));
+        AtomicLong clock = new AtomicLong();
+        TnsNamesResolver resolver = new TnsNamesResolver(file, Duration.ofSeconds(5), clock::get);
+        assertTrue(resolver.resolve("A").contains("h1"));
+
+        // Same modification time: the cached entries are kept
+        Files.writeString(file, "A=(DESCRIPTION=(ADDRESS=(HOST=h2)(PORT=1521)))\n");
+        Files.setLastModifiedTime(file, FileTime.from(modified));
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        assertTrue(resolver.resolve("A").contains("h1"));
+
+        // Modified, but within the check interval
+        Files.setLastModifiedTime(file, FileTime.from(modified.plusSeconds(1)));
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertTrue(resolver.resolve("A").contains("h1"));
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(5));
+        assertTrue(resolver.resolve("A").contains("h2"));
+    }
+
+
+    @Test
+    void testOracleParserResolvesAlias() throws IOException {
+
+        Path file = write("tnsnames.ora", TNSNAMES);
+        write("includes/reporting.ora", "");
+        OracleParser parser = new OracleParser(new TnsNamesResolver(file));
+
+        OracleUrl url = parser.parseOracleUrl("jdbc:oracle:thin:@PRODDB");
+        assertEquals(List.of(Host.of("db1", 1521), Host.of("db2", 1522)), url.jdbcUrl().hosts());
+        assertEquals("prod.example.com", url.serviceName());
+        assertEquals("prod.example.com", url.jdbcUrl().databaseName());
+        assertEquals("PRODDB", url.jdbcUrl().getPropertyValue("TNS_ALIAS"));
+        assertEquals("tcp", url.networkProtocol());
+
+        assertThrows(JdbcUrlParseException.class, () -> parser.parse("jdbc:oracle:thin:@UNKNOWN"));
+        assertThrows(JdbcUrlParseException.class, () -> new OracleParser(null).parse("jdbc:oracle:thin:@PRODDB"));
+    }
+
+
+    @Test
+    void testMalformedFile() throws IOException {
+
+        Path file = write("tnsnames.ora", "A=(DESCRIPTION=(ADDRESS=(HOST=h1)\n");
+        assertThrows(IOException.class, () -> new TnsNamesResolver(file).resolve("A"));
+        assertThrows(IOException.class, () -> new TnsNamesResolver(directory.resolve("missing.ora")).resolve("A"));
+    }
+
+
+    private Path write(String name, String content) throws IOException {
+
+        Path file = directory.resolve(name);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content);
+        return file;
+    }
+}
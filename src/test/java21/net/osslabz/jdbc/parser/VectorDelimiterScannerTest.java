@@ -0,0 +1,78 @@
+package net.osslabz.jdbc.parser;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+import jdk.incubator.vector.ShortVector;
+import org.junit.jupiter.api.Test;
+
+
+/**
+ * Tests for the Vector API delimiter scanner against the scalar scan. Compiled and run by the java21 profile with {@code --add-modules jdk.incubator.vector}.
+ */
+class VectorDelimiterScannerTest {
+
+    private static final int LANES = ShortVector.SPECIES_PREFERRED.length();
+
+    private static final String ALPHABET = ";?&=/,()abcXYZ09 :@ĻĦ⼽";
+
+
+    @Test
+    void testVectorScanIsUsed() {
+
+        assertTrue(DelimiterScanner.isVectorized(), "jdk.incubator.vector is not available to the tests");
+    }
+
+
+    @Test
+    void testRegionAndTailBoundaries() {
+
+        Random random = new Random(42);
+        String value = randomString(random, 8 * LANES + 7);
+
+        // Every region start and end around the vector boundaries: empty regions, regions without a full vector and regions with a tail of every length
+        for (int from = 0; from <= 2 * LANES + 1; from++) {
+            for (int to = from; to <= value.length(); to++) {
+                assertArrayEquals(ScalarDelimiterScanner.scan(value, from, to), VectorDelimiterScanner.scan(value, from, to), "region " + from + ".." + to);
+            }
+        }
+    }
+
+
+    @Test
+    void testDenseDelimiters() {
+
+        // More delimiters than the initial position array holds, and a delimiter in every lane
+        String value = ";?&=/,()".repeat(LANES * 4) + "x";
+
+        assertArrayEquals(ScalarDelimiterScanner.scan(value, 0, value.length()), VectorDelimiterScanner.scan(value, 0, value.length()));
+        assertArrayEquals(ScalarDelimiterScanner.scan(value, 3, value.length() - 1), VectorDelimiterScanner.scan(value, 3, value.length() - 1));
+    }
+
+
+    @Test
+    void testMatchesScalarScanOnRandomInput() {
+
+        Random random = new Random(7);
+
+        for (int run = 0; run < 5_000; run++) {
+            String value = randomString(random, random.nextInt(1_000));
+            int from = value.isEmpty() ? 0 : random.nextInt(value.length());
+            int to = from + random.nextInt(value.length() - from + 1);
+
+            assertArrayEquals(ScalarDelimiterScanner.scan(value, from, to), VectorDelimiterScanner.scan(value, from, to), value);
+            assertArrayEquals(ScalarDelimiterScanner.scan(value, from, to), DelimiterScanner.scan(value, from, to), value);
+        }
+    }
+
+
+    private static String randomString(Random random, int length) {
+
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        }
+        return builder.toString();
+    }
+}